@@ -19,11 +19,15 @@ module tornado.api {
     exports uk.ac.manchester.tornado.api;
     exports uk.ac.manchester.tornado.api.annotations;
     exports uk.ac.manchester.tornado.api.common;
+    exports uk.ac.manchester.tornado.api.compression;
+    exports uk.ac.manchester.tornado.api.costmodel;
     exports uk.ac.manchester.tornado.api.enums;
     exports uk.ac.manchester.tornado.api.exceptions;
     exports uk.ac.manchester.tornado.api.memory;
     exports uk.ac.manchester.tornado.api.profiler;
+    exports uk.ac.manchester.tornado.api.reductions;
     exports uk.ac.manchester.tornado.api.runtime;
+    exports uk.ac.manchester.tornado.api.streaming;
     exports uk.ac.manchester.tornado.api.internal.annotations;
     exports uk.ac.manchester.tornado.api.utils;
 
@@ -36,5 +36,14 @@ public enum DRMode {
      * {@link TornadoExecutionPlan} and run the expressions on the target devices.
      * Each physical accelerator handler is mapped to a Java thread.
      */
-    PARALLEL //
+    PARALLEL, //
+
+    /**
+     * A predicted mode means that the runtime does not evaluate the devices. It
+     * selects the device with the lowest time predicted by a
+     * {@link uk.ac.manchester.tornado.api.costmodel.CostModel}, using the code
+     * features of the kernels, the input sizes and the device descriptors.
+     * Measured times are fed back to the model to calibrate it.
+     */
+    PREDICTED //
 }
@@ -18,10 +18,13 @@
 package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
+import java.util.List;
 
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.profiler.CompilationReport;
 import uk.ac.manchester.tornado.api.runtime.ExecutorFrame;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 
 /**
  * A {@link TaskGraph} is encapsulated in this class and all actions over a task
@@ -117,6 +120,10 @@ public class ImmutableTaskGraph {
         return taskGraph.getProfileLog();
     }
 
+    List<CompilationReport> getCompilationReports() {
+        return taskGraph.getCompilationReports();
+    }
+
     boolean isFinished() {
         return taskGraph.isFinished();
     }
@@ -149,6 +156,18 @@ public class ImmutableTaskGraph {
         taskGraph.withoutMemoryLimit();
     }
 
+    void withIterations(int maxIterations, IntArray convergenceFlag, int checkInterval) {
+        taskGraph.withIterations(maxIterations, convergenceFlag, checkInterval);
+    }
+
+    int getIterations() {
+        return taskGraph.getIterations();
+    }
+
+    boolean bind(String taskName, int parameterIndex, Object value) {
+        return taskGraph.bind(taskName, parameterIndex, value);
+    }
+
     TornadoDevice getDevice() {
         return taskGraph.getDevice();
     }
@@ -19,6 +19,7 @@ package uk.ac.manchester.tornado.api;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import uk.ac.manchester.tornado.api.common.Access;
@@ -41,10 +42,14 @@ import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task6;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task7;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task8;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task9;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 import uk.ac.manchester.tornado.api.exceptions.TornadoTaskRuntimeException;
+import uk.ac.manchester.tornado.api.profiler.CompilationReport;
 import uk.ac.manchester.tornado.api.runtime.ExecutorFrame;
 import uk.ac.manchester.tornado.api.runtime.TornadoAPIProvider;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
 /**
  * Tornado Task Graph API.
@@ -735,6 +740,27 @@ public class TaskGraph implements TaskGraphInterface {
         return this;
     }
 
+    /**
+     * Creates an array that is only used between tasks of the task-graph (e.g.,
+     * an intermediate result). The elements of the array are only allocated on
+     * the device, and the array cannot be transferred to the host. If the
+     * task-graph runs the Java sequential implementation, the host memory is
+     * allocated at that point.
+     *
+     * @param type
+     *     The class of the array (e.g., {@link uk.ac.manchester.tornado.api.types.arrays.FloatArray}).
+     * @param numberOfElements
+     *     Number of elements of the array.
+     * @return The device-only array, to be passed as an argument of the tasks.
+     */
+    @Override
+    public <T extends TornadoNativeArray> T deviceTemporary(Class<T> type, int numberOfElements) {
+        T array = TornadoNativeArray.createDeviceOnly(type, numberOfElements);
+        // Only the header of the array is transferred
+        taskGraphImpl.transferToDevice(DataTransferMode.FIRST_EXECUTION, array);
+        return array;
+    }
+
     /**
      * Function that closes a task-graph definition and creates an immutable
      * task-graph ready for execution.
@@ -773,6 +799,18 @@ public class TaskGraph implements TaskGraphInterface {
         taskGraphImpl.withoutMemoryLimit();
     }
 
+    void withIterations(int maxIterations, IntArray convergenceFlag, int checkInterval) {
+        taskGraphImpl.withIterations(maxIterations, convergenceFlag, checkInterval);
+    }
+
+    int getIterations() {
+        return taskGraphImpl.getIterations();
+    }
+
+    boolean bind(String taskName, int parameterIndex, Object value) {
+        return taskGraphImpl.bind(taskName, parameterIndex, value);
+    }
+
     void execute(ExecutorFrame executionPackage) {
         taskGraphImpl.execute(executionPackage).waitOn();
     }
@@ -874,6 +912,10 @@ public class TaskGraph implements TaskGraphInterface {
         return taskGraphImpl.getProfileLog();
     }
 
+    List<CompilationReport> getCompilationReports() {
+        return taskGraphImpl.getCompilationReports();
+    }
+
     public Collection<?> getOutputs() {
         return taskGraphImpl.getOutputs();
     }
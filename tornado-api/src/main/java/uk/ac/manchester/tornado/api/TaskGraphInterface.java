@@ -33,6 +33,7 @@ import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task6;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task7;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task8;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task9;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
 /**
  * Base interface of the Tornado API.
@@ -575,6 +576,20 @@ public interface TaskGraphInterface {
      */
     TaskGraphInterface transferToHost(int mode, Object... objects);
 
+    /**
+     * Creates an array that is only used between tasks of the task-graph. The
+     * array is never transferred from or to the host, and its elements are only
+     * allocated on the device. The host memory is allocated lazily if the
+     * task-graph runs the Java sequential implementation.
+     *
+     * @param type
+     *     The class of the array (e.g., {@link uk.ac.manchester.tornado.api.types.arrays.FloatArray}).
+     * @param numberOfElements
+     *     Number of elements of the array.
+     * @return The device-only array, to be passed as an argument of the tasks.
+     */
+    <T extends TornadoNativeArray> T deviceTemporary(Class<T> type, int numberOfElements);
+
     /**
      * Function that closes a task-graph definition and creates an immutable
      * task-graph ready for execution.
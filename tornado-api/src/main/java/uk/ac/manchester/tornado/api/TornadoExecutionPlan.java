@@ -28,8 +28,10 @@ import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBackendNotFound;
 import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.profiler.CompilationReport;
 import uk.ac.manchester.tornado.api.runtime.ExecutorFrame;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 
 /**
  * Object to create and optimize an execution plan for running a set of
@@ -316,6 +318,89 @@ public class TornadoExecutionPlan implements AutoCloseable {
         return this;
     }
 
+    /**
+     * It binds a new object to a parameter of a task, so the same execution plan
+     * can process new data without building a new task-graph. The new object
+     * replaces the old one in all tasks and data transfers of the task-graph.
+     * The plan is not recompiled, and the device buffers of the old object are
+     * reused if the new object has the same size. If the size is different, new
+     * buffers are allocated and the tasks that use the object are recompiled in
+     * the next execution.
+     *
+     * <p>
+     * Scalar parameters cannot be rebound, since their values are folded into
+     * the generated kernels. This method must not be called while the plan is
+     * running.
+     * </p>
+     *
+     * @param taskName
+     *     Name of the task (e.g., "t0"), or its full name (e.g., "s0.t0").
+     * @param parameterIndex
+     *     Index of the parameter in the task, starting from 0.
+     * @param value
+     *     New object of the same type as the old one.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan bind(String taskName, int parameterIndex, Object value) {
+        tornadoExecutor.bind(taskName, parameterIndex, value);
+        return this;
+    }
+
+    /**
+     * It executes the task-graphs of the plan the given number of times in each
+     * call to {@link #execute()}, without returning to the application between
+     * iterations. The data is copied to the device before the first iteration
+     * and copied back to the host after the last iteration, so the tasks must
+     * keep the state of the algorithm on the device (e.g., by updating arrays in
+     * place). Iterations are only supported in execution plans with a single
+     * task-graph, and they cannot be combined with batch processing.
+     *
+     * @param iterations
+     *     Number of iterations.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withIterations(int iterations) {
+        tornadoExecutor.withIterations(iterations, null, 0);
+        return this;
+    }
+
+    /**
+     * It executes the task-graphs of the plan up to the given number of times in
+     * each call to {@link #execute()}, as in {@link #withIterations(int)}. Every
+     * {@code checkInterval} iterations, the runtime copies the convergence flag
+     * to the host, and it stops iterating if a task wrote a value different
+     * from zero in the first element of the flag. The number of iterations
+     * executed is returned by {@link TornadoExecutionResult#getIterations()}.
+     *
+     * @param maxIterations
+     *     Maximum number of iterations.
+     * @param convergenceFlag
+     *     Array written by a task of the task-graph in every iteration. It
+     *     must be specified in the data transfers of the task-graph (e.g., with
+     *     {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#FIRST_EXECUTION}).
+     * @param checkInterval
+     *     Number of iterations between reads of the convergence flag.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withIterations(int maxIterations, IntArray convergenceFlag, int checkInterval) {
+        tornadoExecutor.withIterations(maxIterations, convergenceFlag, checkInterval);
+        return this;
+    }
+
+    /**
+     * It executes the task-graphs once per call to {@link #execute()}. This is
+     * the default action.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan withoutIterations() {
+        tornadoExecutor.withIterations(1, null, 0);
+        return this;
+    }
+
     /**
      * It disables the memory limit for the current instance of an
      * {@link TornadoExecutionPlan}. This is the default action.
@@ -426,6 +511,29 @@ public class TornadoExecutionPlan implements AutoCloseable {
             immutableTaskGraphList.forEach(ImmutableTaskGraph::withoutMemoryLimit);
         }
 
+        void withIterations(int maxIterations, IntArray convergenceFlag, int checkInterval) {
+            // Each task-graph runs its own iterations, so the iterations of several
+            // task-graphs would not interleave
+            if (maxIterations > 1 && immutableTaskGraphList.size() > 1) {
+                throw new TornadoRuntimeException("[ERROR] Iterations are only supported in execution plans with a single task-graph");
+            }
+            immutableTaskGraphList.forEach(immutableTaskGraph -> immutableTaskGraph.withIterations(maxIterations, convergenceFlag, checkInterval));
+        }
+
+        int getIterations() {
+            return immutableTaskGraphList.stream().mapToInt(ImmutableTaskGraph::getIterations).max().orElse(0);
+        }
+
+        void bind(String taskName, int parameterIndex, Object value) {
+            boolean bound = false;
+            for (ImmutableTaskGraph immutableTaskGraph : immutableTaskGraphList) {
+                bound |= immutableTaskGraph.bind(taskName, parameterIndex, value);
+            }
+            if (!bound) {
+                throw new TornadoRuntimeException(STR."[ERROR] Task \{taskName} not found in the execution plan");
+            }
+        }
+
         /**
          * For all task-graphs contained in an Executor, update the device.
          *
@@ -518,6 +626,10 @@ public class TornadoExecutionPlan implements AutoCloseable {
             return immutableTaskGraphList.stream().map(ImmutableTaskGraph::getProfileLog).collect(Collectors.joining());
         }
 
+        List<CompilationReport> getCompilationReports() {
+            return immutableTaskGraphList.stream().flatMap(immutableTaskGraph -> immutableTaskGraph.getCompilationReports().stream()).toList();
+        }
+
         void dumpProfiles() {
             immutableTaskGraphList.forEach(ImmutableTaskGraph::dumpProfiles);
         }
@@ -47,6 +47,18 @@ public class TornadoExecutionResult {
         return tornadoProfilerResult;
     }
 
+    /**
+     * Returns the number of iterations executed in the latest execution. It is
+     * lower than the maximum number of iterations set with
+     * {@link TornadoExecutionPlan#withIterations(int, uk.ac.manchester.tornado.api.types.arrays.IntArray, int)}
+     * if the task-graph converged.
+     *
+     * @return int
+     */
+    public int getIterations() {
+        return tornadoProfilerResult.getExecutor().getIterations();
+    }
+
     /**
      * Transfer data from device to host. This is applied for all immutable
      * task-graphs within an executor. This method is used when a task-graph defines
@@ -17,8 +17,12 @@
  */
 package uk.ac.manchester.tornado.api;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan.TornadoExecutor;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.profiler.CompilationReport;
 import uk.ac.manchester.tornado.api.profiler.ProfileInterface;
 
 /**
@@ -168,6 +172,28 @@ public class TornadoProfilerResult implements ProfileInterface {
         return executor.getProfileLog();
     }
 
+    /**
+     * Returns the breakdown of the JIT compilation (time and graph size of each
+     * compiler phase, sketch, LIR generation, code emission and driver build) of
+     * the tasks compiled by the executor. Reports are only collected if the
+     * option {@code -Dtornado.compiler.report=True} is set.
+     *
+     * @return List of {@link CompilationReport}
+     */
+    @Override
+    public List<CompilationReport> getCompilationReports() {
+        return executor.getCompilationReports();
+    }
+
+    /**
+     * Returns the compilation reports of all tasks as a JSON array.
+     *
+     * @return String
+     */
+    public String getCompilationReportsJson() {
+        return getCompilationReports().stream().map(CompilationReport::toJson).collect(Collectors.joining(",\n", "[\n", "\n]"));
+    }
+
     TornadoExecutor getExecutor() {
         return executor;
     }
@@ -28,6 +28,7 @@ import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 import uk.ac.manchester.tornado.api.memory.TaskMetaDataInterface;
 import uk.ac.manchester.tornado.api.profiler.ProfileInterface;
 import uk.ac.manchester.tornado.api.runtime.ExecutorFrame;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 
 public interface TornadoTaskGraphInterface extends ProfileInterface {
 
@@ -53,6 +54,12 @@ public interface TornadoTaskGraphInterface extends ProfileInterface {
 
     void withoutMemoryLimit();
 
+    void withIterations(int maxIterations, IntArray convergenceFlag, int checkInterval);
+
+    int getIterations();
+
+    boolean bind(String taskName, int parameterIndex, Object value);
+
     void apply(Consumer<SchedulableTask> consumer);
 
     void mapAllToInner(TornadoDevice device);
@@ -17,6 +17,7 @@
  */
 package uk.ac.manchester.tornado.api.common;
 
+import java.lang.foreign.Arena;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -192,6 +193,17 @@ public interface TornadoDevice {
         return Runtime.getRuntime().availableProcessors();
     }
 
+    /**
+     * Returns an arena that allocates page-locked host memory for this device.
+     * Native arrays allocated in this arena (e.g.,
+     * {@code new FloatArray(size, arena)}) are copied to and from the device
+     * without intermediate copies. Backends without page-locked allocations
+     * return a shared arena.
+     */
+    default Arena createPinnedArena() {
+        return Arena.ofShared();
+    }
+
     Object getAtomic();
 
     void setAtomicsMapping(ConcurrentHashMap<Object, Integer> mappingAtomics);
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.compression;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Array transferred to the device in the compressed format of
+ * {@link SparseBitmapCodec}. Instances are created with
+ * {@link CompressedTransfers#compress(TornadoNativeArray)}.
+ *
+ * <p>
+ * If the compression ratio of the array is lower than
+ * {@link CompressedTransfers#MIN_COMPRESSION_RATIO}, the array is not encoded
+ * and it is transferred as it is.
+ * </p>
+ *
+ * @param <T>
+ *     Type of the array.
+ */
+public final class CompressedArray<T extends TornadoNativeArray> {
+
+    private final T source;
+    private final IntArray index;
+    private final T values;
+
+    CompressedArray(T source, IntArray index, T values) {
+        this.source = source;
+        this.index = index;
+        this.values = values;
+    }
+
+    /**
+     * @return The array that is decoded on the device.
+     */
+    public T getSource() {
+        return source;
+    }
+
+    /**
+     * @return The index of the encoded array, or null if the array is not
+     *     compressed.
+     */
+    public IntArray getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The non-zero values of the encoded array, or null if the array is
+     *     not compressed.
+     */
+    public T getValues() {
+        return values;
+    }
+
+    /**
+     * @return true if the array is transferred in the compressed format.
+     */
+    public boolean isCompressed() {
+        return index != null;
+    }
+
+    /**
+     * @return Number of bytes transferred to the device for the array.
+     */
+    public long getNumBytesTransferred() {
+        if (!isCompressed()) {
+            return source.getNumBytesOfSegment();
+        }
+        return index.getNumBytesOfSegment() + values.getNumBytesOfSegment();
+    }
+
+    /**
+     * @return Ratio between the size of the array and the number of bytes
+     *     transferred to the device.
+     */
+    public float getCompressionRatio() {
+        return (float) source.getNumBytesOfSegment() / getNumBytesTransferred();
+    }
+
+    /**
+     * Encodes the current contents of the source array. It must be invoked
+     * before executing the task-graph when the source array is updated on the
+     * host and it is transferred with
+     * {@link uk.ac.manchester.tornado.api.enums.DataTransferMode#EVERY_EXECUTION}.
+     * It has no effect if the array is not compressed.
+     *
+     * @throws TornadoRuntimeException
+     *     If the non-zero values of the array exceed the capacity given when
+     *     the array was compressed.
+     */
+    public void update() {
+        if (!isCompressed()) {
+            return;
+        }
+        if (SparseBitmapCodec.encode(source, index, values) < 0) {
+            throw new TornadoRuntimeException(STR."[ERROR] The non-zero values of the array exceed the capacity of the compressed transfer (\{values.getSize()} elements)");
+        }
+    }
+}
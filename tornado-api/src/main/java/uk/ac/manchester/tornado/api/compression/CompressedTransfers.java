@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.compression;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Compressed host-to-device transfers for sparse arrays. The array is encoded
+ * on the host with {@link SparseBitmapCodec}, only the encoded array is
+ * transferred, and a decoding task appended to the task-graph writes the
+ * decoded elements into the device buffer of the array. The array is not
+ * copied from the host, so the following tasks of the task-graph use the
+ * decoded array as if it was transferred with
+ * {@link TaskGraph#transferToDevice(int, Object...)}.
+ *
+ * <p>
+ * Arrays with a compression ratio lower than {@link #MIN_COMPRESSION_RATIO}
+ * (e.g., dense arrays) are transferred without compression.
+ * </p>
+ *
+ * <p>
+ * How to use?
+ * </p>
+ *
+ * <code>
+ * CompressedArray&lt;FloatArray&gt; compressed = CompressedTransfers.compress(input);
+ * TaskGraph taskGraph = new TaskGraph("s0");
+ * CompressedTransfers.transferToDevice(taskGraph, "decode", DataTransferMode.FIRST_EXECUTION, compressed);
+ * taskGraph.task("t0", MyClass::compute, input, output) //
+ *     .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+ * </code>
+ *
+ * <p>
+ * The decoding task runs on every execution of the task-graph, so the decoded
+ * array must be read-only for the following tasks.
+ * </p>
+ */
+public final class CompressedTransfers {
+
+    /**
+     * Minimum ratio between the size of the array and the size of the encoded
+     * array to transfer the array in the compressed format.
+     */
+    public static final float MIN_COMPRESSION_RATIO = 2.0f;
+
+    private CompressedTransfers() {
+    }
+
+    /**
+     * Compresses the array with enough capacity for its current non-zero
+     * values.
+     *
+     * @param array
+     *     {@link FloatArray} or {@link IntArray} to compress.
+     * @return {@link CompressedArray}
+     */
+    public static <T extends TornadoNativeArray> CompressedArray<T> compress(T array) {
+        return compress(array, SparseBitmapCodec.countNonZeros(array));
+    }
+
+    /**
+     * Compresses the array with capacity for the given number of non-zero
+     * values. A capacity higher than the current number of non-zero values
+     * allows the array to be updated with
+     * {@link CompressedArray#update()} between executions.
+     *
+     * @param array
+     *     {@link FloatArray} or {@link IntArray} to compress.
+     * @param capacity
+     *     Maximum number of non-zero values of the array.
+     * @return {@link CompressedArray}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends TornadoNativeArray> CompressedArray<T> compress(T array, int capacity) {
+        if (!(array instanceof FloatArray) && !(array instanceof IntArray)) {
+            throw new IllegalArgumentException(STR."Compressed transfers are not supported for \{array.getClass().getName()}");
+        }
+        if (array.isDeviceOnly()) {
+            throw new IllegalArgumentException("Device temporaries cannot be transferred from the host");
+        }
+
+        capacity = Math.max(1, capacity);
+        final int indexSize = Math.max(1, SparseBitmapCodec.indexSize(array.getSize()));
+        final long numBytesEncoded = ((long) indexSize + capacity) * Integer.BYTES;
+        if (array.getNumBytesOfSegment() < numBytesEncoded * MIN_COMPRESSION_RATIO) {
+            return new CompressedArray<>(array, null, null);
+        }
+
+        IntArray index = new IntArray(indexSize);
+        T values = (T) (array instanceof FloatArray ? new FloatArray(capacity) : new IntArray(capacity));
+        CompressedArray<T> compressed = new CompressedArray<>(array, index, values);
+        compressed.update();
+        return compressed;
+    }
+
+    /**
+     * Decoding task for {@link FloatArray}.
+     */
+    public static void decodeFloats(IntArray index, FloatArray values, FloatArray output) {
+        final int numBlocks = SparseBitmapCodec.numBlocks(output.getSize());
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            int position = SparseBitmapCodec.position(index, numBlocks, i);
+            float value = 0.0f;
+            if (position >= 0) {
+                value = values.get(position);
+            }
+            output.set(i, value);
+        }
+    }
+
+    /**
+     * Decoding task for {@link IntArray}.
+     */
+    public static void decodeInts(IntArray index, IntArray values, IntArray output) {
+        final int numBlocks = SparseBitmapCodec.numBlocks(output.getSize());
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            int position = SparseBitmapCodec.position(index, numBlocks, i);
+            int value = 0;
+            if (position >= 0) {
+                value = values.get(position);
+            }
+            output.set(i, value);
+        }
+    }
+
+    /**
+     * Appends the transfer of a compressed array to the task-graph. If the array
+     * is compressed, the encoded array is transferred with the given mode and a
+     * task with the given name decodes it on the device. Otherwise, the array is
+     * transferred as it is.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the transfer is appended.
+     * @param taskName
+     *     Name of the decoding task.
+     * @param mode
+     *     {@link uk.ac.manchester.tornado.api.enums.DataTransferMode} of the
+     *     encoded array.
+     * @param compressed
+     *     {@link CompressedArray} to transfer.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph transferToDevice(TaskGraph taskGraph, String taskName, int mode, CompressedArray<?> compressed) {
+        if (!compressed.isCompressed()) {
+            return taskGraph.transferToDevice(mode, compressed.getSource());
+        }
+        taskGraph.transferToDevice(mode, compressed.getIndex(), compressed.getValues());
+        if (compressed.getSource() instanceof FloatArray output) {
+            taskGraph.task(taskName, CompressedTransfers::decodeFloats, compressed.getIndex(), (FloatArray) compressed.getValues(), output);
+        } else {
+            taskGraph.task(taskName, CompressedTransfers::decodeInts, compressed.getIndex(), (IntArray) compressed.getValues(), (IntArray) compressed.getSource());
+        }
+        return taskGraph;
+    }
+}
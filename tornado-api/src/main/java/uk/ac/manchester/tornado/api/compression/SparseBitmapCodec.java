@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.compression;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.lang.foreign.MemorySegment;
+
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+
+/**
+ * Sparse bitmap codec for arrays of 32-bit elements (e.g.,
+ * {@link uk.ac.manchester.tornado.api.types.arrays.IntArray} and
+ * {@link uk.ac.manchester.tornado.api.types.arrays.FloatArray}) in which most
+ * of the elements are zero.
+ *
+ * <p>
+ * The array is split in blocks of {@link #BLOCK_SIZE} elements. The encoded
+ * array is composed of an index and the list of non-zero values in order:
+ * </p>
+ * <ul>
+ * <li>The index stores one bit per element ({@link #MASK_WORDS_PER_BLOCK}
+ * words per block) that is set if the element is not zero, followed by one word
+ * per block with the number of non-zero values in the previous blocks.</li>
+ * <li>The values array stores the non-zero values of the array.</li>
+ * </ul>
+ *
+ * <p>
+ * Each element can be decoded independently with a few bit-counts over the
+ * masks of its block, so the decoder runs with one thread per element on the
+ * device. Elements are compared with their bit representation, so
+ * {@code -0.0f} is stored as a non-zero value.
+ * </p>
+ */
+public final class SparseBitmapCodec {
+
+    /**
+     * Number of elements per block.
+     */
+    public static final int BLOCK_SIZE = 256;
+
+    /**
+     * Number of 32-bit words of the bitmap of each block.
+     */
+    public static final int MASK_WORDS_PER_BLOCK = BLOCK_SIZE / 32;
+
+    private SparseBitmapCodec() {
+    }
+
+    /**
+     * Returns the number of blocks used to encode an array with the given number
+     * of elements.
+     *
+     * @param numElements
+     *     Number of elements of the array.
+     * @return int
+     */
+    public static int numBlocks(int numElements) {
+        return (numElements + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Returns the number of words of the index used to encode an array with the
+     * given number of elements.
+     *
+     * @param numElements
+     *     Number of elements of the array.
+     * @return int
+     */
+    public static int indexSize(int numElements) {
+        return numBlocks(numElements) * (MASK_WORDS_PER_BLOCK + 1);
+    }
+
+    private static void checkElementSize(TornadoNativeArray array) {
+        if (array.getElementSize() != Integer.BYTES) {
+            throw new IllegalArgumentException(STR."The sparse bitmap codec only supports arrays of 32-bit elements: \{array.getClass().getName()}");
+        }
+    }
+
+    /**
+     * Counts the elements of the array that are not zero.
+     *
+     * @param array
+     *     Array of 32-bit elements.
+     * @return int
+     */
+    public static int countNonZeros(TornadoNativeArray array) {
+        checkElementSize(array);
+        MemorySegment segment = array.getSegment();
+        int count = 0;
+        for (int i = 0; i < array.getSize(); i++) {
+            if (segment.getAtIndex(JAVA_INT, i) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Encodes the source array into the index and the values array.
+     *
+     * @param source
+     *     Array of 32-bit elements to encode.
+     * @param index
+     *     Index of size {@link #indexSize(int)}.
+     * @param values
+     *     Array of the same type as the source that receives the non-zero
+     *     values.
+     * @return The number of non-zero values, or -1 if they do not fit in the
+     *     values array. In that case, the contents of the index and values
+     *     array are undefined.
+     */
+    public static int encode(TornadoNativeArray source, IntArray index, TornadoNativeArray values) {
+        checkElementSize(source);
+        checkElementSize(values);
+        final int numElements = source.getSize();
+        final int numBlocks = numBlocks(numElements);
+        if (index.getSize() < indexSize(numElements)) {
+            throw new IllegalArgumentException(STR."The index requires \{indexSize(numElements)} elements");
+        }
+
+        MemorySegment sourceSegment = source.getSegment();
+        MemorySegment valuesSegment = values.getSegment();
+        final int capacity = values.getSize();
+        int count = 0;
+        for (int block = 0; block < numBlocks; block++) {
+            index.set(numBlocks * MASK_WORDS_PER_BLOCK + block, count);
+            for (int word = 0; word < MASK_WORDS_PER_BLOCK; word++) {
+                int mask = 0;
+                int base = block * BLOCK_SIZE + word * 32;
+                int limit = Math.min(32, numElements - base);
+                for (int bit = 0; bit < limit; bit++) {
+                    int value = sourceSegment.getAtIndex(JAVA_INT, base + bit);
+                    if (value != 0) {
+                        if (count == capacity) {
+                            return -1;
+                        }
+                        valuesSegment.setAtIndex(JAVA_INT, count++, value);
+                        mask |= 1 << bit;
+                    }
+                }
+                index.set(block * MASK_WORDS_PER_BLOCK + word, mask);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the position in the values array of the element {@code i}, or -1
+     * if the element is zero. This method is also compiled as part of the
+     * decoding tasks.
+     *
+     * @param index
+     *     Index of the encoded array.
+     * @param numBlocks
+     *     Number of blocks of the encoded array.
+     * @param i
+     *     Position of the element in the decoded array.
+     * @return int
+     */
+    public static int position(IntArray index, int numBlocks, int i) {
+        int block = i / BLOCK_SIZE;
+        int lane = i % BLOCK_SIZE;
+        int word = lane / 32;
+        int bit = lane % 32;
+        int mask = index.get(block * MASK_WORDS_PER_BLOCK + word);
+        if (((mask >>> bit) & 1) == 0) {
+            return -1;
+        }
+        int position = index.get(numBlocks * MASK_WORDS_PER_BLOCK + block);
+        for (int w = 0; w < word; w++) {
+            position += Integer.bitCount(index.get(block * MASK_WORDS_PER_BLOCK + w));
+        }
+        return position + Integer.bitCount(mask & ((1 << bit) - 1));
+    }
+
+    /**
+     * Decodes the index and the values array into the output array on the host.
+     *
+     * @param index
+     *     Index of the encoded array.
+     * @param values
+     *     Non-zero values of the encoded array.
+     * @param output
+     *     Array of the same type and size as the encoded array.
+     */
+    public static void decode(IntArray index, TornadoNativeArray values, TornadoNativeArray output) {
+        checkElementSize(values);
+        checkElementSize(output);
+        MemorySegment valuesSegment = values.getSegment();
+        MemorySegment outputSegment = output.getSegment();
+        final int numBlocks = numBlocks(output.getSize());
+        for (int i = 0; i < output.getSize(); i++) {
+            int position = position(index, numBlocks, i);
+            outputSegment.setAtIndex(JAVA_INT, i, position < 0 ? 0 : valuesSegment.getAtIndex(JAVA_INT, position));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.costmodel;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+
+/**
+ * Default {@link CostModel}. It estimates the cycles per work-item from the
+ * kernel features, divides the iteration space among the parallel lanes of the
+ * device and adds the launch overhead and the cost of the data transfers.
+ *
+ * <p>
+ * The constants are coarse and device-class wide. Measured kernel times passed
+ * to {@link #calibrate} are used to keep a correction factor per kernel and
+ * device. The factor only scales the predicted kernel time, so the launch
+ * overhead and the transfers are not distorted by the calibration.
+ * </p>
+ */
+public class AnalyticalCostModel implements CostModel {
+
+    /**
+     * Trip count assumed for each sequential loop inside a kernel.
+     */
+    static final int ESTIMATED_LOOP_TRIP_COUNT = 32;
+
+    /**
+     * Weight of a new measurement in the correction factor.
+     */
+    static final double CALIBRATION_WEIGHT = 0.3;
+
+    private static final int MATH_FUNCTION_CYCLES = 8;
+    private static final int BRANCH_CYCLES = 1;
+    private static final int DIVERGENT_BRANCH_CYCLES = 4;
+
+    private final ConcurrentHashMap<CalibrationKey, Double> corrections = new ConcurrentHashMap<>();
+
+    private record CalibrationKey(String kernelId, String deviceName) {
+    }
+
+    /**
+     * Creates a cost model without calibration data.
+     */
+    public AnalyticalCostModel() {
+    }
+
+    @Override
+    public double predict(String kernelId, KernelFeatures features, long problemSize, long transferBytes, DeviceDescriptor device) {
+        double kernelTime = estimateKernelTime(features, problemSize, device);
+        if (Double.isInfinite(kernelTime)) {
+            return kernelTime;
+        }
+        kernelTime *= corrections.getOrDefault(new CalibrationKey(kernelId, device.name()), 1.0);
+        if (device.host()) {
+            return kernelTime;
+        }
+        return launchOverhead(device) + kernelTime + transferBytes / bandwidth(device);
+    }
+
+    @Override
+    public void calibrate(String kernelId, KernelFeatures features, long problemSize, DeviceDescriptor device, double measuredKernelTime) {
+        double estimation = estimateKernelTime(features, problemSize, device);
+        if (estimation <= 0 || Double.isInfinite(estimation) || measuredKernelTime <= 0) {
+            return;
+        }
+        double ratio = measuredKernelTime / estimation;
+        corrections.merge(new CalibrationKey(kernelId, device.name()), ratio, (previous, current) -> (1 - CALIBRATION_WEIGHT) * previous + CALIBRATION_WEIGHT * current);
+    }
+
+    /**
+     * Kernel time without the correction factor, the launch overhead and the
+     * transfers.
+     */
+    double estimateKernelTime(KernelFeatures features, long problemSize, DeviceDescriptor device) {
+        if (features.doubleOps() > 0 && !device.fp64Supported()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double cycles = cyclesPerWorkItem(features, device);
+        long lanes = parallelLanes(device);
+        long steps = (Math.max(1, problemSize) + lanes - 1) / lanes;
+        return steps * cycles / clockInGHz(device);
+    }
+
+    private static double cyclesPerWorkItem(KernelFeatures features, DeviceDescriptor device) {
+        double cycles = features.integerOps() + features.floatOps() //
+                + features.doubleOps() * doublePrecisionCycles(device) //
+                + features.mathFunctions() * MATH_FUNCTION_CYCLES //
+                + features.globalAccesses() * globalMemoryCycles(device) //
+                + features.localAccesses() //
+                + features.branches() * (device.deviceType() == TornadoDeviceType.GPU ? DIVERGENT_BRANCH_CYCLES : BRANCH_CYCLES);
+        cycles = Math.max(1, cycles);
+        return cycles * Math.pow(ESTIMATED_LOOP_TRIP_COUNT, Math.min(features.loops(), 2));
+    }
+
+    private static long parallelLanes(DeviceDescriptor device) {
+        if (device.host()) {
+            return 1;
+        }
+        long lanesPerUnit = switch (device.deviceType()) {
+            case GPU -> Math.min(64, Math.max(1, device.maxWorkGroupSize()));
+            case CPU -> 8;
+            case ACCELERATOR -> 32;
+            default -> 1;
+        };
+        return Math.max(1, device.computeUnits()) * lanesPerUnit;
+    }
+
+    private static double clockInGHz(DeviceDescriptor device) {
+        if (device.clockFrequency() > 0) {
+            return device.clockFrequency() / 1000.0;
+        }
+        return device.host() || device.deviceType() == TornadoDeviceType.CPU ? 2.5 : 1.0;
+    }
+
+    private static double doublePrecisionCycles(DeviceDescriptor device) {
+        return device.deviceType() == TornadoDeviceType.GPU ? 8 : 1;
+    }
+
+    private static double globalMemoryCycles(DeviceDescriptor device) {
+        return device.deviceType() == TornadoDeviceType.GPU ? 4 : 2;
+    }
+
+    /**
+     * Kernel launch overhead in nanoseconds.
+     */
+    private static double launchOverhead(DeviceDescriptor device) {
+        return device.deviceType() == TornadoDeviceType.FPGA ? 50_000 : 10_000;
+    }
+
+    /**
+     * Host-device bandwidth in bytes per nanosecond.
+     */
+    private static double bandwidth(DeviceDescriptor device) {
+        return device.deviceType() == TornadoDeviceType.CPU ? 20 : 12;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.costmodel;
+
+/**
+ * Predicts the execution time of a task-graph on a device from the code
+ * features of its kernels, the size of the problem and the description of the
+ * device. Implementations are used by {@link DeviceSelector} to place a
+ * task-graph without running it on every device first.
+ *
+ * <p>
+ * A custom model can be plugged into the runtime with
+ * {@code -Dtornado.costmodel.class=<fully qualified class name>}. The class
+ * must have a public constructor without arguments.
+ * </p>
+ */
+public interface CostModel {
+
+    /**
+     * Predicts the execution time.
+     *
+     * @param kernelId
+     *     Identifier of the kernels of the task-graph (e.g., their method
+     *     names). Models that calibrate their predictions keep the measurements
+     *     of each kernel apart with it.
+     * @param features
+     *     {@link KernelFeatures} of the task-graph.
+     * @param problemSize
+     *     Number of elements of the largest parameter.
+     * @param transferBytes
+     *     Bytes copied between the host and the device. It is zero when only the
+     *     kernel time is relevant.
+     * @param device
+     *     {@link DeviceDescriptor} of the candidate device.
+     * @return predicted time in nanoseconds. {@link Double#POSITIVE_INFINITY} if
+     *     the device cannot run the task-graph.
+     */
+    double predict(String kernelId, KernelFeatures features, long problemSize, long transferBytes, DeviceDescriptor device);
+
+    /**
+     * Feeds back a measured kernel time, so the model can correct its
+     * predictions online. The measurement does not include the data transfers.
+     * The default implementation ignores the measurement.
+     *
+     * @param kernelId
+     *     Identifier of the kernels of the task-graph, as given to
+     *     {@link #predict}.
+     * @param features
+     *     {@link KernelFeatures} of the task-graph.
+     * @param problemSize
+     *     Number of elements of the largest parameter.
+     * @param device
+     *     {@link DeviceDescriptor} of the device that executed the task-graph.
+     * @param measuredKernelTime
+     *     Measured kernel time in nanoseconds.
+     */
+    default void calibrate(String kernelId, KernelFeatures features, long problemSize, DeviceDescriptor device, double measuredKernelTime) {
+    }
+}
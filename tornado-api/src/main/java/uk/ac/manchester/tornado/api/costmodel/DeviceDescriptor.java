@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.costmodel;
+
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+
+/**
+ * Hardware description of a candidate device for the {@link CostModel}.
+ *
+ * @param name
+ *     Device name. It is also used as the key for calibration.
+ * @param deviceType
+ *     {@link TornadoDeviceType}.
+ * @param computeUnits
+ *     Number of compute units (or cores for the host).
+ * @param maxWorkGroupSize
+ *     Maximum number of threads per work-group.
+ * @param clockFrequency
+ *     Maximum clock frequency in MHz. A value of {@code 0} means unknown.
+ * @param fp64Supported
+ *     Whether the device supports double precision.
+ * @param host
+ *     Whether the descriptor represents the host (sequential Java execution).
+ */
+public record DeviceDescriptor(String name, TornadoDeviceType deviceType, int computeUnits, long maxWorkGroupSize, int clockFrequency, boolean fp64Supported, boolean host) {
+
+    /**
+     * Name used for the host (sequential Java) descriptor.
+     */
+    public static final String HOST_NAME = "JVM";
+
+    /**
+     * Descriptor of the host. Tasks selected for the host run as sequential Java
+     * code, so it is described as a single core.
+     *
+     * @return {@link DeviceDescriptor}
+     */
+    public static DeviceDescriptor ofHost() {
+        return new DeviceDescriptor(HOST_NAME, TornadoDeviceType.CPU, 1, 1, 0, true, true);
+    }
+}
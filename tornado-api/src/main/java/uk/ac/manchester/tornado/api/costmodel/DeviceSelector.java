@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.costmodel;
+
+import java.util.List;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+
+/**
+ * Selects the device with the lowest predicted time according to a
+ * {@link CostModel}.
+ */
+public class DeviceSelector {
+
+    private final CostModel costModel;
+
+    public DeviceSelector(CostModel costModel) {
+        this.costModel = costModel;
+    }
+
+    public CostModel getCostModel() {
+        return costModel;
+    }
+
+    /**
+     * Predicts the time of the task-graph on each candidate device.
+     *
+     * @return array with the predicted times in nanoseconds, in the same order as
+     *     the devices.
+     */
+    public double[] predict(String kernelId, KernelFeatures features, long problemSize, long transferBytes, List<DeviceDescriptor> devices) {
+        double[] predictions = new double[devices.size()];
+        for (int i = 0; i < devices.size(); i++) {
+            predictions[i] = costModel.predict(kernelId, features, problemSize, transferBytes, devices.get(i));
+        }
+        return predictions;
+    }
+
+    /**
+     * Selects a device. On equal predictions, the device that comes first in the
+     * list is selected.
+     *
+     * @param kernelId
+     *     Identifier of the kernels of the task-graph.
+     * @param features
+     *     {@link KernelFeatures} of the task-graph.
+     * @param problemSize
+     *     Number of elements of the largest parameter.
+     * @param transferBytes
+     *     Bytes copied between the host and the device.
+     * @param devices
+     *     Candidate devices.
+     * @return index of the selected device in {@code devices}.
+     */
+    public int select(String kernelId, KernelFeatures features, long problemSize, long transferBytes, List<DeviceDescriptor> devices) {
+        double[] predictions = predict(kernelId, features, problemSize, transferBytes, devices);
+        int selected = -1;
+        for (int i = 0; i < predictions.length; i++) {
+            if (!Double.isNaN(predictions[i]) && predictions[i] != Double.POSITIVE_INFINITY && (selected == -1 || predictions[i] < predictions[selected])) {
+                selected = i;
+            }
+        }
+        if (selected == -1) {
+            throw new TornadoRuntimeException("[ERROR] No device can execute the task-graph according to the cost model");
+        }
+        return selected;
+    }
+}
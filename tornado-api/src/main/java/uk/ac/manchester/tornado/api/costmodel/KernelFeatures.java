@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.costmodel;
+
+/**
+ * Static code features of a kernel, as counted by the TornadoVM JIT compiler
+ * in the low-tier feature extraction. Counters are per work-item: they
+ * describe the body executed by one thread of the parallel iteration space.
+ *
+ * @param globalLoads
+ *     Loads from global memory.
+ * @param globalStores
+ *     Stores to global memory.
+ * @param localAccesses
+ *     Loads and stores to local memory.
+ * @param integerOps
+ *     Integer and logic operations.
+ * @param floatOps
+ *     Single precision floating point operations.
+ * @param doubleOps
+ *     Double precision floating point operations.
+ * @param mathFunctions
+ *     Calls to math intrinsics.
+ * @param branches
+ *     If statements and switch cases.
+ * @param loops
+ *     Sequential loops inside the kernel.
+ * @param parallelLoops
+ *     Parallel dimensions of the kernel.
+ */
+public record KernelFeatures(int globalLoads, int globalStores, int localAccesses, int integerOps, int floatOps, int doubleOps, int mathFunctions, int branches, int loops, int parallelLoops) {
+
+    /**
+     * Features assumed for a kernel that has not been compiled yet: a streaming
+     * map with two loads, one store and one floating point operation per element.
+     */
+    public static final KernelFeatures UNKNOWN = new KernelFeatures(2, 1, 0, 1, 1, 0, 0, 0, 0, 1);
+
+    /**
+     * Features with all counters set to zero.
+     */
+    public static final KernelFeatures EMPTY = new KernelFeatures(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Adds the counters of two kernels. It is used to describe a task-graph with
+     * several tasks.
+     *
+     * @param other
+     *     Features of the other kernel.
+     * @return {@link KernelFeatures}
+     */
+    public KernelFeatures add(KernelFeatures other) {
+        return new KernelFeatures(globalLoads + other.globalLoads, //
+                globalStores + other.globalStores, //
+                localAccesses + other.localAccesses, //
+                integerOps + other.integerOps, //
+                floatOps + other.floatOps, //
+                doubleOps + other.doubleOps, //
+                mathFunctions + other.mathFunctions, //
+                branches + other.branches, //
+                loops + other.loops, //
+                parallelLoops + other.parallelLoops);
+    }
+
+    /**
+     * @return total number of arithmetic operations per work-item.
+     */
+    public int arithmeticOps() {
+        return integerOps + floatOps + doubleOps + mathFunctions;
+    }
+
+    /**
+     * @return total number of global memory accesses per work-item.
+     */
+    public int globalAccesses() {
+        return globalLoads + globalStores;
+    }
+}
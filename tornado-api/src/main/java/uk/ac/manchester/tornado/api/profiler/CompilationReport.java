@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.profiler;
+
+import java.util.List;
+
+/**
+ * Breakdown of the JIT compilation of a task: the time and the change in the
+ * number of graph nodes of every phase of the high, mid and low tiers, and the
+ * time of the sketch, LIR generation, code emission and driver build stages.
+ * All times are in nanoseconds.
+ *
+ * @param taskName
+ *     name of the task (task-graph.task)
+ * @param backend
+ *     backend that compiled the task
+ * @param phases
+ *     phases of the compiler tiers, in the order they were applied
+ * @param sketchTime
+ *     time to build the sketch of the method (bytecode parsing and sketch tier)
+ * @param lirGenerationTime
+ *     time to generate the LIR from the final graph
+ * @param codeEmissionTime
+ *     time to emit the kernel code from the LIR
+ * @param driverBuildTime
+ *     time of the device driver to build the kernel binary
+ */
+public record CompilationReport(String taskName, String backend, List<PhaseTiming> phases, long sketchTime, long lirGenerationTime, long codeEmissionTime, long driverBuildTime) {
+
+    /**
+     * Time and node counts of a single compiler phase.
+     */
+    public record PhaseTiming(String tier, String phase, long time, int nodesBefore, int nodesAfter) {
+
+        public int nodeDelta() {
+            return nodesAfter - nodesBefore;
+        }
+    }
+
+    /**
+     * @return time spent in all the phases of the given tier.
+     */
+    public long getTierTime(String tier) {
+        return phases.stream().filter(p -> p.tier().equals(tier)).mapToLong(PhaseTiming::time).sum();
+    }
+
+    /**
+     * @return total compilation time, from the sketch to the device binary.
+     */
+    public long getTotalTime() {
+        return sketchTime + phases.stream().mapToLong(PhaseTiming::time).sum() + lirGenerationTime + codeEmissionTime + driverBuildTime;
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("    \"task\": \"").append(taskName).append("\",\n");
+        json.append("    \"backend\": \"").append(backend).append("\",\n");
+        json.append("    \"sketch\": ").append(sketchTime).append(",\n");
+        json.append("    \"phases\": [\n");
+        for (int i = 0; i < phases.size(); i++) {
+            PhaseTiming phase = phases.get(i);
+            json.append("        { \"tier\": \"").append(phase.tier()).append("\", \"phase\": \"").append(phase.phase()).append("\", \"time\": ").append(phase.time()) //
+                    .append(", \"nodesBefore\": ").append(phase.nodesBefore()).append(", \"nodesAfter\": ").append(phase.nodesAfter()).append(" }");
+            json.append(i < phases.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("    ],\n");
+        json.append("    \"lirGeneration\": ").append(lirGenerationTime).append(",\n");
+        json.append("    \"codeEmission\": ").append(codeEmissionTime).append(",\n");
+        json.append("    \"driverBuild\": ").append(driverBuildTime).append(",\n");
+        json.append("    \"total\": ").append(getTotalTime()).append("\n");
+        json.append("}");
+        return json.toString();
+    }
+}
@@ -17,6 +17,8 @@
  */
 package uk.ac.manchester.tornado.api.profiler;
 
+import java.util.List;
+
 public interface ProfileInterface {
 
     long getTotalTime();
@@ -41,4 +43,6 @@ public interface ProfileInterface {
 
     String getProfileLog();
 
+    List<CompilationReport> getCompilationReports();
+
 }
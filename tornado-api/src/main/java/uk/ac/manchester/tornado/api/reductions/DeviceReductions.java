@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.reductions;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Device-side reductions with combiners that cannot be expressed with the
+ * {@link uk.ac.manchester.tornado.api.annotations.Reduce} annotation: arg-max
+ * and arg-min with the index of the element, compensated sum, and mean/variance
+ * with the Welford update.
+ *
+ * <p>
+ * Each reduction is composed of two {@link KernelContext} tasks. The first task
+ * reduces the input into one partial result per work-group, and the second task
+ * reduces the partial results with a single work-group. Both stages are tree
+ * reductions in local memory, so the result is never copied to the host unless
+ * the programmer requests it with
+ * {@link TaskGraph#transferToHost(int, Object...)}, and it can be consumed by
+ * the following tasks of the same task-graph.
+ * </p>
+ *
+ * <p>
+ * How to use?
+ * </p>
+ *
+ * <code>
+ * GridScheduler gridScheduler = new GridScheduler();
+ * TaskGraph taskGraph = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+ * DeviceReductions.argMax(taskGraph, gridScheduler, "argMax", input, maxValue, maxIndex);
+ * taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, maxValue, maxIndex);
+ * new TornadoExecutionPlan(taskGraph.snapshot()).withGridScheduler(gridScheduler).execute();
+ * </code>
+ */
+public final class DeviceReductions {
+
+    /**
+     * Number of threads per work-group in both stages. It must match the size of
+     * the local arrays allocated in the kernels.
+     */
+    public static final int LOCAL_SIZE = 256;
+
+    /**
+     * Maximum number of work-groups of the first stage. It bounds the number of
+     * partial results reduced by the second stage.
+     */
+    public static final int MAX_GROUPS = 256;
+
+    private static final String PARTIAL_SUFFIX = "_partial";
+    private static final String FINAL_SUFFIX = "_final";
+
+    private DeviceReductions() {
+    }
+
+    /**
+     * Returns the number of work-groups used in the first stage to reduce an
+     * input of the given size.
+     *
+     * @param size
+     *     Number of elements of the input.
+     * @return int
+     */
+    public static int numGroups(int size) {
+        int groups = (size + LOCAL_SIZE - 1) / LOCAL_SIZE;
+        return Math.max(1, Math.min(MAX_GROUPS, groups));
+    }
+
+    /**
+     * Combine step shared by arg-max and arg-min. An index lower than zero marks
+     * an empty slot (e.g. a thread without elements to process). Ties are broken
+     * by the lowest index, so the result is deterministic.
+     */
+    private static boolean isBetter(float candidate, int candidateIndex, float current, int currentIndex, boolean max) {
+        if (candidateIndex < 0) {
+            return false;
+        }
+        if (currentIndex < 0) {
+            return true;
+        }
+        if (candidate == current) {
+            return candidateIndex < currentIndex;
+        }
+        return max ? candidate > current : candidate < current;
+    }
+
+    private static void argPartial(KernelContext context, FloatArray input, FloatArray partialValues, IntArray partialIndices, boolean max) {
+        int localIdx = context.localIdx;
+        float[] localValues = context.allocateFloatLocalArray(LOCAL_SIZE);
+        int[] localIndices = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        float best = 0.0f;
+        int bestIndex = -1;
+        for (int i = context.globalIdx; i < input.getSize(); i += context.globalGroupSizeX) {
+            float value = input.get(i);
+            if (isBetter(value, i, best, bestIndex, max)) {
+                best = value;
+                bestIndex = i;
+            }
+        }
+        localValues[localIdx] = best;
+        localIndices[localIdx] = bestIndex;
+
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                if (isBetter(localValues[localIdx + stride], localIndices[localIdx + stride], localValues[localIdx], localIndices[localIdx], max)) {
+                    localValues[localIdx] = localValues[localIdx + stride];
+                    localIndices[localIdx] = localIndices[localIdx + stride];
+                }
+            }
+        }
+        if (localIdx == 0) {
+            partialValues.set(context.groupIdx, localValues[0]);
+            partialIndices.set(context.groupIdx, localIndices[0]);
+        }
+    }
+
+    private static void argFinal(KernelContext context, FloatArray partialValues, IntArray partialIndices, FloatArray value, IntArray index, boolean max) {
+        int localIdx = context.localIdx;
+        float[] localValues = context.allocateFloatLocalArray(LOCAL_SIZE);
+        int[] localIndices = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        float best = 0.0f;
+        int bestIndex = -1;
+        for (int i = localIdx; i < partialValues.getSize(); i += context.localGroupSizeX) {
+            if (isBetter(partialValues.get(i), partialIndices.get(i), best, bestIndex, max)) {
+                best = partialValues.get(i);
+                bestIndex = partialIndices.get(i);
+            }
+        }
+        localValues[localIdx] = best;
+        localIndices[localIdx] = bestIndex;
+
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                if (isBetter(localValues[localIdx + stride], localIndices[localIdx + stride], localValues[localIdx], localIndices[localIdx], max)) {
+                    localValues[localIdx] = localValues[localIdx + stride];
+                    localIndices[localIdx] = localIndices[localIdx + stride];
+                }
+            }
+        }
+        if (localIdx == 0) {
+            value.set(0, localValues[0]);
+            index.set(0, localIndices[0]);
+        }
+    }
+
+    public static void argMaxPartial(KernelContext context, FloatArray input, FloatArray partialValues, IntArray partialIndices) {
+        argPartial(context, input, partialValues, partialIndices, true);
+    }
+
+    public static void argMaxFinal(KernelContext context, FloatArray partialValues, IntArray partialIndices, FloatArray maxValue, IntArray maxIndex) {
+        argFinal(context, partialValues, partialIndices, maxValue, maxIndex, true);
+    }
+
+    public static void argMinPartial(KernelContext context, FloatArray input, FloatArray partialValues, IntArray partialIndices) {
+        argPartial(context, input, partialValues, partialIndices, false);
+    }
+
+    public static void argMinFinal(KernelContext context, FloatArray partialValues, IntArray partialIndices, FloatArray minValue, IntArray minIndex) {
+        argFinal(context, partialValues, partialIndices, minValue, minIndex, false);
+    }
+
+    /**
+     * Compensated sum (Kahan-Babuska-Neumaier). Each thread accumulates a strided
+     * slice of the input and keeps the rounding error of every addition (Knuth's
+     * TwoSum) in a separate compensation term. Partial results are combined in
+     * the same way.
+     *
+     * <p>
+     * Note that fast-math compiler options can remove the compensation. Run with
+     * {@code -Dtornado.enable.fastMathOptimizations=False} when the extra
+     * precision is required.
+     * </p>
+     */
+    public static void compensatedSumPartial(KernelContext context, FloatArray input, FloatArray partialSums, FloatArray partialErrors) {
+        int localIdx = context.localIdx;
+        float[] localSums = context.allocateFloatLocalArray(LOCAL_SIZE);
+        float[] localErrors = context.allocateFloatLocalArray(LOCAL_SIZE);
+
+        float sum = 0.0f;
+        float error = 0.0f;
+        for (int i = context.globalIdx; i < input.getSize(); i += context.globalGroupSizeX) {
+            float value = input.get(i);
+            float t = sum + value;
+            float virtualValue = t - sum;
+            error += (sum - (t - virtualValue)) + (value - virtualValue);
+            sum = t;
+        }
+        localSums[localIdx] = sum;
+        localErrors[localIdx] = error;
+
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                float a = localSums[localIdx];
+                float b = localSums[localIdx + stride];
+                float t = a + b;
+                float virtualB = t - a;
+                localErrors[localIdx] += localErrors[localIdx + stride] + (a - (t - virtualB)) + (b - virtualB);
+                localSums[localIdx] = t;
+            }
+        }
+        if (localIdx == 0) {
+            partialSums.set(context.groupIdx, localSums[0]);
+            partialErrors.set(context.groupIdx, localErrors[0]);
+        }
+    }
+
+    public static void compensatedSumFinal(KernelContext context, FloatArray partialSums, FloatArray partialErrors, FloatArray result) {
+        int localIdx = context.localIdx;
+        float[] localSums = context.allocateFloatLocalArray(LOCAL_SIZE);
+        float[] localErrors = context.allocateFloatLocalArray(LOCAL_SIZE);
+
+        float sum = 0.0f;
+        float error = 0.0f;
+        for (int i = localIdx; i < partialSums.getSize(); i += context.localGroupSizeX) {
+            float value = partialSums.get(i);
+            float t = sum + value;
+            float virtualValue = t - sum;
+            error += partialErrors.get(i) + (sum - (t - virtualValue)) + (value - virtualValue);
+            sum = t;
+        }
+        localSums[localIdx] = sum;
+        localErrors[localIdx] = error;
+
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                float a = localSums[localIdx];
+                float b = localSums[localIdx + stride];
+                float t = a + b;
+                float virtualB = t - a;
+                localErrors[localIdx] += localErrors[localIdx + stride] + (a - (t - virtualB)) + (b - virtualB);
+                localSums[localIdx] = t;
+            }
+        }
+        if (localIdx == 0) {
+            result.set(0, localSums[0] + localErrors[0]);
+        }
+    }
+
+    /**
+     * Mean and variance with the Welford update. Each thread updates the
+     * {@code (count, mean, M2)} triple for a strided slice of the input, and
+     * triples are merged with the parallel formula from Chan et al.
+     */
+    public static void meanVariancePartial(KernelContext context, FloatArray input, FloatArray partialCounts, FloatArray partialMeans, FloatArray partialM2) {
+        int localIdx = context.localIdx;
+        float[] localCounts = context.allocateFloatLocalArray(LOCAL_SIZE);
+        float[] localMeans = context.allocateFloatLocalArray(LOCAL_SIZE);
+        float[] localM2 = context.allocateFloatLocalArray(LOCAL_SIZE);
+
+        float count = 0.0f;
+        float mean = 0.0f;
+        float m2 = 0.0f;
+        for (int i = context.globalIdx; i < input.getSize(); i += context.globalGroupSizeX) {
+            float value = input.get(i);
+            count += 1.0f;
+            float delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        }
+        localCounts[localIdx] = count;
+        localMeans[localIdx] = mean;
+        localM2[localIdx] = m2;
+
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                float countB = localCounts[localIdx + stride];
+                if (countB > 0.0f) {
+                    float countA = localCounts[localIdx];
+                    float total = countA + countB;
+                    float delta = localMeans[localIdx + stride] - localMeans[localIdx];
+                    localMeans[localIdx] += delta * countB / total;
+                    localM2[localIdx] += localM2[localIdx + stride] + delta * delta * countA * countB / total;
+                    localCounts[localIdx] = total;
+                }
+            }
+        }
+        if (localIdx == 0) {
+            partialCounts.set(context.groupIdx, localCounts[0]);
+            partialMeans.set(context.groupIdx, localMeans[0]);
+            partialM2.set(context.groupIdx, localM2[0]);
+        }
+    }
+
+    /**
+     * Final stage of the mean/variance reduction. The result array stores
+     * {@code [count, mean, population variance]}.
+     */
+    public static void meanVarianceFinal(KernelContext context, FloatArray partialCounts, FloatArray partialMeans, FloatArray partialM2, FloatArray result) {
+        int localIdx = context.localIdx;
+        float[] localCounts = context.allocateFloatLocalArray(LOCAL_SIZE);
+        float[] localMeans = context.allocateFloatLocalArray(LOCAL_SIZE);
+        float[] localM2 = context.allocateFloatLocalArray(LOCAL_SIZE);
+
+        float count = 0.0f;
+        float mean = 0.0f;
+        float m2 = 0.0f;
+        for (int i = localIdx; i < partialCounts.getSize(); i += context.localGroupSizeX) {
+            float countB = partialCounts.get(i);
+            if (countB > 0.0f) {
+                float total = count + countB;
+                float delta = partialMeans.get(i) - mean;
+                mean += delta * countB / total;
+                m2 += partialM2.get(i) + delta * delta * count * countB / total;
+                count = total;
+            }
+        }
+        localCounts[localIdx] = count;
+        localMeans[localIdx] = mean;
+        localM2[localIdx] = m2;
+
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                float countB = localCounts[localIdx + stride];
+                if (countB > 0.0f) {
+                    float countA = localCounts[localIdx];
+                    float total = countA + countB;
+                    float delta = localMeans[localIdx + stride] - localMeans[localIdx];
+                    localMeans[localIdx] += delta * countB / total;
+                    localM2[localIdx] += localM2[localIdx + stride] + delta * delta * countA * countB / total;
+                    localCounts[localIdx] = total;
+                }
+            }
+        }
+        if (localIdx == 0) {
+            float total = localCounts[0];
+            result.set(0, total);
+            result.set(1, localMeans[0]);
+            result.set(2, total > 0.0f ? localM2[0] / total : 0.0f);
+        }
+    }
+
+    private static void setWorkerGrids(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, int numGroups) {
+        WorkerGrid partialWorker = new WorkerGrid1D(numGroups * LOCAL_SIZE);
+        partialWorker.setLocalWork(LOCAL_SIZE, 1, 1);
+        WorkerGrid finalWorker = new WorkerGrid1D(LOCAL_SIZE);
+        finalWorker.setLocalWork(LOCAL_SIZE, 1, 1);
+        gridScheduler.setWorkerGrid(taskGraph.getTaskGraphName() + "." + taskName + PARTIAL_SUFFIX, partialWorker);
+        gridScheduler.setWorkerGrid(taskGraph.getTaskGraphName() + "." + taskName + FINAL_SUFFIX, finalWorker);
+    }
+
+    /**
+     * Appends an arg-max reduction to the task-graph. The maximum value is stored
+     * in {@code maxValue[0]} and its index in {@code maxIndex[0]}. The input must
+     * be already transferred to the device (or produced by a previous task).
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the reduction tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the reduction tasks.
+     * @param input
+     *     Input array.
+     * @param maxValue
+     *     Output array of size 1 with the maximum value.
+     * @param maxIndex
+     *     Output array of size 1 with the index of the maximum value.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph argMax(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, FloatArray maxValue, IntArray maxIndex) {
+        int numGroups = numGroups(input.getSize());
+        FloatArray partialValues = new FloatArray(numGroups);
+        IntArray partialIndices = new IntArray(numGroups);
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, partialValues, partialIndices) //
+                .task(taskName + PARTIAL_SUFFIX, DeviceReductions::argMaxPartial, context, input, partialValues, partialIndices) //
+                .task(taskName + FINAL_SUFFIX, DeviceReductions::argMaxFinal, context, partialValues, partialIndices, maxValue, maxIndex);
+        setWorkerGrids(taskGraph, gridScheduler, taskName, numGroups);
+        return taskGraph;
+    }
+
+    /**
+     * Appends an arg-min reduction to the task-graph. The minimum value is stored
+     * in {@code minValue[0]} and its index in {@code minIndex[0]}.
+     *
+     * @see #argMax(TaskGraph, GridScheduler, String, FloatArray, FloatArray,
+     *     IntArray)
+     */
+    public static TaskGraph argMin(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, FloatArray minValue, IntArray minIndex) {
+        int numGroups = numGroups(input.getSize());
+        FloatArray partialValues = new FloatArray(numGroups);
+        IntArray partialIndices = new IntArray(numGroups);
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, partialValues, partialIndices) //
+                .task(taskName + PARTIAL_SUFFIX, DeviceReductions::argMinPartial, context, input, partialValues, partialIndices) //
+                .task(taskName + FINAL_SUFFIX, DeviceReductions::argMinFinal, context, partialValues, partialIndices, minValue, minIndex);
+        setWorkerGrids(taskGraph, gridScheduler, taskName, numGroups);
+        return taskGraph;
+    }
+
+    /**
+     * Appends a compensated sum to the task-graph. The result is stored in
+     * {@code result[0]}.
+     *
+     * @see #compensatedSumPartial(KernelContext, FloatArray, FloatArray,
+     *     FloatArray)
+     */
+    public static TaskGraph compensatedSum(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, FloatArray result) {
+        int numGroups = numGroups(input.getSize());
+        FloatArray partialSums = new FloatArray(numGroups);
+        FloatArray partialErrors = new FloatArray(numGroups);
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, partialSums, partialErrors) //
+                .task(taskName + PARTIAL_SUFFIX, DeviceReductions::compensatedSumPartial, context, input, partialSums, partialErrors) //
+                .task(taskName + FINAL_SUFFIX, DeviceReductions::compensatedSumFinal, context, partialSums, partialErrors, result);
+        setWorkerGrids(taskGraph, gridScheduler, taskName, numGroups);
+        return taskGraph;
+    }
+
+    /**
+     * Appends a mean/variance reduction to the task-graph. The result array (of
+     * size 3) stores {@code [count, mean, population variance]}.
+     *
+     * @see #meanVariancePartial(KernelContext, FloatArray, FloatArray,
+     *     FloatArray, FloatArray)
+     */
+    public static TaskGraph meanVariance(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, FloatArray result) {
+        int numGroups = numGroups(input.getSize());
+        FloatArray partialCounts = new FloatArray(numGroups);
+        FloatArray partialMeans = new FloatArray(numGroups);
+        FloatArray partialM2 = new FloatArray(numGroups);
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, partialCounts, partialMeans, partialM2) //
+                .task(taskName + PARTIAL_SUFFIX, DeviceReductions::meanVariancePartial, context, input, partialCounts, partialMeans, partialM2) //
+                .task(taskName + FINAL_SUFFIX, DeviceReductions::meanVarianceFinal, context, partialCounts, partialMeans, partialM2, result);
+        setWorkerGrids(taskGraph, gridScheduler, taskName, numGroups);
+        return taskGraph;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Sequential destination of the results of a {@link StreamingExecution}.
+ *
+ * @see ChunkSinks
+ */
+public interface ChunkSink extends Closeable {
+
+    /**
+     * Appends the contents of the segment to the sink. The segment is reused
+     * after this method returns, so implementations must not keep a reference
+     * to it.
+     *
+     * @param source
+     *     Segment with the results of a chunk.
+     * @throws IOException
+     *     If the sink cannot be written.
+     */
+    void write(MemorySegment source) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
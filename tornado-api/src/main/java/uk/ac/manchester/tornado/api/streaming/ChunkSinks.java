@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.streaming;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Factory methods of {@link ChunkSink}.
+ */
+public final class ChunkSinks {
+
+    private ChunkSinks() {
+    }
+
+    /**
+     * Creates a sink that writes a file. The file is created if it does not
+     * exist, and truncated otherwise.
+     *
+     * @param path
+     *     Path of the file.
+     * @return {@link ChunkSink}
+     * @throws IOException
+     *     If the file cannot be opened.
+     */
+    public static ChunkSink ofFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new ChunkSink() {
+            @Override
+            public void write(MemorySegment source) throws IOException {
+                ByteBuffer buffer = source.asByteBuffer();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * Creates a sink that writes a memory segment, for example, a region of a
+     * file mapped with {@link FileChannel#map}.
+     *
+     * @param segment
+     *     Segment to write.
+     * @return {@link ChunkSink}
+     */
+    public static ChunkSink ofSegment(MemorySegment segment) {
+        return new ChunkSink() {
+            private long offset;
+
+            @Override
+            public void write(MemorySegment source) {
+                MemorySegment.copy(source, 0, segment, offset, source.byteSize());
+                offset += source.byteSize();
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.streaming;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Sequential source of data for a {@link StreamingExecution}. The data is read
+ * in chunks, so the source does not need to be resident in host memory.
+ *
+ * @see ChunkSources
+ */
+public interface ChunkSource extends Closeable {
+
+    /**
+     * Reads the next bytes of the source into the destination segment. The
+     * destination is filled completely unless the end of the source is reached.
+     *
+     * @param destination
+     *     Segment that receives the data.
+     * @return The number of bytes read, or 0 if the end of the source was
+     *     reached.
+     * @throws IOException
+     *     If the source cannot be read.
+     */
+    long read(MemorySegment destination) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.streaming;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Factory methods of {@link ChunkSource}.
+ */
+public final class ChunkSources {
+
+    private ChunkSources() {
+    }
+
+    /**
+     * Creates a source that reads a file from the beginning.
+     *
+     * @param path
+     *     Path of the file.
+     * @return {@link ChunkSource}
+     * @throws IOException
+     *     If the file cannot be opened.
+     */
+    public static ChunkSource ofFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new ChunkSource() {
+            @Override
+            public long read(MemorySegment destination) throws IOException {
+                ByteBuffer buffer = destination.asByteBuffer();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        break;
+                    }
+                }
+                return buffer.position();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+
+    /**
+     * Creates a source that reads a memory segment, for example, a region of a
+     * file mapped with {@link FileChannel#map}.
+     *
+     * @param segment
+     *     Segment to read.
+     * @return {@link ChunkSource}
+     */
+    public static ChunkSource ofSegment(MemorySegment segment) {
+        return new ChunkSource() {
+            private long offset;
+
+            @Override
+            public long read(MemorySegment destination) {
+                long numBytes = Math.min(destination.byteSize(), segment.byteSize() - offset);
+                MemorySegment.copy(segment, offset, destination, 0, numBytes);
+                offset += numBytes;
+                return numBytes;
+            }
+        };
+    }
+
+    /**
+     * Creates a source that reads the segments returned by an iterator in
+     * order. The segments can have different sizes.
+     *
+     * @param segments
+     *     Iterator of segments.
+     * @return {@link ChunkSource}
+     */
+    public static ChunkSource ofSegments(Iterator<MemorySegment> segments) {
+        return new ChunkSource() {
+            private MemorySegment current;
+            private long offset;
+
+            @Override
+            public long read(MemorySegment destination) {
+                long numBytesRead = 0;
+                while (numBytesRead < destination.byteSize()) {
+                    if (current == null || offset == current.byteSize()) {
+                        if (!segments.hasNext()) {
+                            break;
+                        }
+                        current = segments.next();
+                        offset = 0;
+                        continue;
+                    }
+                    long numBytes = Math.min(destination.byteSize() - numBytesRead, current.byteSize() - offset);
+                    MemorySegment.copy(current, offset, destination, numBytesRead, numBytes);
+                    offset += numBytes;
+                    numBytesRead += numBytes;
+                }
+                return numBytesRead;
+            }
+        };
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.streaming;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.api.utils.TornadoAPIUtils;
+
+/**
+ * Out-of-core execution of a task-graph over a {@link ChunkSource} that does
+ * not fit in the memory of the device (or in the memory of the host).
+ *
+ * <p>
+ * The task-graph is built once over an input and an output array of
+ * {@link #getChunkSize()} elements. The chunk size is derived from the device
+ * memory budget, which is also set as the memory limit of the execution plan
+ * (see {@link TornadoExecutionPlan#withMemoryLimit(String)}). Then, for each
+ * chunk of the source, the input array is filled, the task-graph is executed,
+ * and the output array is written to the {@link ChunkSink}. The next chunk is
+ * read from the source and the previous results are written to the sink in
+ * background threads while the task-graph is executed.
+ * </p>
+ *
+ * <p>
+ * The tasks must write the element {@code i} of the output from the element
+ * {@code i} of the input (e.g., map or scoring kernels). The input of the last
+ * chunk is padded with zeros, and only the results of the elements read from
+ * the source are written to the sink.
+ * </p>
+ *
+ * <p>
+ * How to use?
+ * </p>
+ *
+ * <code>
+ * try (StreamingExecution&lt;FloatArray, FloatArray&gt; streaming = new StreamingExecution&lt;&gt;("s0", "16GB", FloatArray::new, FloatArray::new, //
+ *         (taskGraph, input, output) -&gt; taskGraph.task("t0", MyClass::score, input, output)); //
+ *         ChunkSource source = ChunkSources.ofFile(inputPath); //
+ *         ChunkSink sink = ChunkSinks.ofFile(outputPath)) {
+ *     streaming.execute(source, sink);
+ * }
+ * </code>
+ *
+ * @param <I>
+ *     Type of the input array.
+ * @param <O>
+ *     Type of the output array.
+ */
+public final class StreamingExecution<I extends TornadoNativeArray, O extends TornadoNativeArray> implements AutoCloseable {
+
+    /**
+     * Appends the tasks of the streaming execution to the task-graph. The
+     * transfers of the input and output arrays are added by the
+     * {@link StreamingExecution}.
+     */
+    @FunctionalInterface
+    public interface ChunkTasks<I, O> {
+        void append(TaskGraph taskGraph, I input, O output);
+    }
+
+    /**
+     * The chunk size is a multiple of this number of elements.
+     */
+    public static final int CHUNK_ALIGNMENT = 1024;
+
+    private final int chunkSize;
+    private final I input;
+    private final O output;
+    private final TornadoExecutionPlan executionPlan;
+
+    /**
+     * Creates a streaming execution with the chunk size derived from the device
+     * memory budget.
+     *
+     * @param taskGraphName
+     *     Name of the task-graph.
+     * @param deviceMemoryBudget
+     *     Memory budget on the device in a string format. E.g., "16GB",
+     *     "512MB".
+     * @param inputAllocator
+     *     Allocator of the input array (e.g., {@code FloatArray::new}).
+     * @param outputAllocator
+     *     Allocator of the output array.
+     * @param tasks
+     *     {@link ChunkTasks} that append the tasks to the task-graph.
+     */
+    public StreamingExecution(String taskGraphName, String deviceMemoryBudget, IntFunction<I> inputAllocator, IntFunction<O> outputAllocator, ChunkTasks<I, O> tasks) {
+        this(taskGraphName, chunkSize(TornadoAPIUtils.parseSizeToBytes(deviceMemoryBudget), inputAllocator.apply(1).getElementSize(), outputAllocator.apply(1).getElementSize()), inputAllocator, outputAllocator,
+                tasks);
+        executionPlan.withMemoryLimit(deviceMemoryBudget);
+    }
+
+    /**
+     * Creates a streaming execution with the given chunk size.
+     *
+     * @param taskGraphName
+     *     Name of the task-graph.
+     * @param chunkSize
+     *     Number of elements of each chunk. It cannot exceed
+     *     {@link #maxChunkSize(int)} for the input or output elements.
+     * @param inputAllocator
+     *     Allocator of the input array (e.g., {@code FloatArray::new}).
+     * @param outputAllocator
+     *     Allocator of the output array.
+     * @param tasks
+     *     {@link ChunkTasks} that append the tasks to the task-graph.
+     */
+    public StreamingExecution(String taskGraphName, int chunkSize, IntFunction<I> inputAllocator, IntFunction<O> outputAllocator, ChunkTasks<I, O> tasks) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be greater than zero");
+        }
+        int maxChunkSize = Math.min(maxChunkSize(inputAllocator.apply(1).getElementSize()), maxChunkSize(outputAllocator.apply(1).getElementSize()));
+        if (chunkSize > maxChunkSize) {
+            throw new IllegalArgumentException(STR."The chunk size cannot exceed \{maxChunkSize} elements for the input and output types");
+        }
+        this.chunkSize = chunkSize;
+        this.input = inputAllocator.apply(chunkSize);
+        this.output = outputAllocator.apply(chunkSize);
+        TaskGraph taskGraph = new TaskGraph(taskGraphName).transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        tasks.append(taskGraph, input, output);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+        this.executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+    }
+
+    /**
+     * Returns the number of elements of each chunk for the given device memory
+     * budget. The budget is shared by the input and output arrays.
+     *
+     * @param deviceMemoryBudget
+     *     Memory budget on the device in bytes.
+     * @param inputElementSize
+     *     Size in bytes of the elements of the input.
+     * @param outputElementSize
+     *     Size in bytes of the elements of the output.
+     * @return int
+     */
+    public static int chunkSize(long deviceMemoryBudget, int inputElementSize, int outputElementSize) {
+        long numElements = deviceMemoryBudget / (inputElementSize + outputElementSize);
+        numElements -= numElements % CHUNK_ALIGNMENT;
+        if (numElements == 0) {
+            throw new TornadoRuntimeException(STR."[ERROR] The device memory budget (\{deviceMemoryBudget} bytes) is too small for a chunk of \{CHUNK_ALIGNMENT} elements");
+        }
+        return (int) Math.min(numElements, Math.min(maxChunkSize(inputElementSize), maxChunkSize(outputElementSize)));
+    }
+
+    /**
+     * Returns the maximum number of elements of a chunk for the given element
+     * size. The array of a chunk, including its header, must fit in an int
+     * number of bytes, as native arrays and byte buffers are indexed with ints.
+     *
+     * @param elementSize
+     *     Size in bytes of the elements.
+     * @return int
+     */
+    public static int maxChunkSize(int elementSize) {
+        long numElements = (Integer.MAX_VALUE - TornadoNativeArray.ARRAY_HEADER) / elementSize;
+        return (int) (numElements - numElements % CHUNK_ALIGNMENT);
+    }
+
+    /**
+     * @return The number of elements of each chunk.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Returns the execution plan of the task-graph, for example, to select the
+     * device or to set a grid scheduler before the first execution.
+     *
+     * @return {@link TornadoExecutionPlan}
+     */
+    public TornadoExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TornadoRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new TornadoRuntimeException(STR."[ERROR] Streaming I/O failed: \{e.getCause().getMessage()}");
+        }
+    }
+
+    /**
+     * Executes the task-graph over all the chunks of the source, and writes the
+     * results to the sink. The size of the source must be a multiple of the
+     * size of the input elements.
+     *
+     * @param source
+     *     {@link ChunkSource} with the input elements.
+     * @param sink
+     *     {@link ChunkSink} that receives the output elements.
+     * @return The number of elements processed.
+     */
+    public long execute(ChunkSource source, ChunkSink sink) {
+        final int inputElementSize = input.getElementSize();
+        final int outputElementSize = output.getElementSize();
+        final long chunkBytes = (long) chunkSize * inputElementSize;
+        final MemorySegment inputSegment = input.getSegment();
+        final MemorySegment outputSegment = output.getSegment();
+
+        try (Arena arena = Arena.ofShared(); //
+                ExecutorService reader = Executors.newSingleThreadExecutor(); //
+                ExecutorService writer = Executors.newSingleThreadExecutor()) {
+            // The next chunk is read into one staging buffer while the current chunk is copied from the other one
+            final MemorySegment[] readBuffers = { arena.allocate(chunkBytes, Long.BYTES), arena.allocate(chunkBytes, Long.BYTES) };
+            final MemorySegment writeBuffer = arena.allocate((long) chunkSize * outputElementSize, Long.BYTES);
+
+            Future<Long> pendingRead = reader.submit(() -> source.read(readBuffers[0]));
+            Future<?> pendingWrite = CompletableFuture.completedFuture(null);
+            long numElementsProcessed = 0;
+            for (int chunk = 0;; chunk++) {
+                final long numBytesRead = await(pendingRead);
+                if (numBytesRead == 0) {
+                    break;
+                }
+                if (numBytesRead % inputElementSize != 0) {
+                    throw new TornadoRuntimeException(STR."[ERROR] The size of the chunked source is not a multiple of the element size (\{inputElementSize} bytes)");
+                }
+
+                MemorySegment.copy(readBuffers[chunk % 2], 0, inputSegment, 0, numBytesRead);
+                if (numBytesRead < chunkBytes) {
+                    // Last chunk
+                    inputSegment.asSlice(numBytesRead).fill((byte) 0);
+                    pendingRead = CompletableFuture.completedFuture(0L);
+                } else {
+                    final MemorySegment nextBuffer = readBuffers[(chunk + 1) % 2];
+                    pendingRead = reader.submit(() -> source.read(nextBuffer));
+                }
+
+                executionPlan.execute();
+
+                final int numElements = (int) (numBytesRead / inputElementSize);
+                final MemorySegment results = writeBuffer.asSlice(0, (long) numElements * outputElementSize);
+                await(pendingWrite);
+                MemorySegment.copy(outputSegment, 0, results, 0, results.byteSize());
+                pendingWrite = writer.submit(() -> {
+                    sink.write(results);
+                    return null;
+                });
+                numElementsProcessed += numElements;
+            }
+            await(pendingWrite);
+            return numElementsProcessed;
+        }
+    }
+
+    @Override
+    public void close() throws TornadoExecutionPlanException {
+        executionPlan.close();
+    }
+}
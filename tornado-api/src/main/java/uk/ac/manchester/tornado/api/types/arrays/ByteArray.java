@@ -51,15 +51,45 @@ public final class ByteArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public ByteArray(int numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link ByteArray} that will store a user-specified number of elements,
+     * allocated in the given {@link Arena}. The native memory is released when the arena is closed.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param arena
+     *     The {@link Arena} used to allocate the native memory.
+     */
+    public ByteArray(int numberOfElements, Arena arena) {
+        this(numberOfElements, arena.allocate((long) numberOfElements * BYTE_BYTES + TornadoNativeArray.ARRAY_HEADER, 1));
+    }
+
+    /**
+     * Internal constructor that wraps an already allocated {@link MemorySegment}, including the header, without copying it.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} that stores the header and the elements.
+     */
+    ByteArray(int numberOfElements, MemorySegment segmentWithHeader) {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / BYTE_BYTES;
         segmentByteSize = numberOfElements * BYTE_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = segmentWithHeader;
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    @Override
+    protected void setSegmentWithHeader(MemorySegment segmentWithHeader) {
+        segment = segmentWithHeader;
+    }
+
     /**
      * Constructs a new {@link ByteArray} instance by concatenating the contents of the given array of {@link ByteArray} instances.
      *
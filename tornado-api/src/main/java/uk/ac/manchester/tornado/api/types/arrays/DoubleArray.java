@@ -52,16 +52,46 @@ public final class DoubleArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public DoubleArray(int numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link DoubleArray} that will store a user-specified number of elements,
+     * allocated in the given {@link Arena}. The native memory is released when the arena is closed.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param arena
+     *     The {@link Arena} used to allocate the native memory.
+     */
+    public DoubleArray(int numberOfElements, Arena arena) {
+        this(numberOfElements, arena.allocate((long) numberOfElements * DOUBLE_BYTES + TornadoNativeArray.ARRAY_HEADER, 1));
+    }
+
+    /**
+     * Internal constructor that wraps an already allocated {@link MemorySegment}, including the header, without copying it.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} that stores the header and the elements.
+     */
+    DoubleArray(int numberOfElements, MemorySegment segmentWithHeader) {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         assert arrayHeaderSize >= 8;
         baseIndex = arrayHeaderSize / DOUBLE_BYTES;
         segmentByteSize = numberOfElements * DOUBLE_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = segmentWithHeader;
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    @Override
+    protected void setSegmentWithHeader(MemorySegment segmentWithHeader) {
+        segment = segmentWithHeader;
+    }
+
     /**
      * Constructs a new {@link DoubleArray} instance by concatenating the contents of the given array of {@link DoubleArray} instances.
      *
@@ -53,15 +53,45 @@ public final class FloatArray extends TornadoNativeArray {
      *     The number of elements in the array.
      */
     public FloatArray(int numberOfElements) {
+        this(numberOfElements, Arena.ofAuto());
+    }
+
+    /**
+     * Constructs a new instance of the {@link FloatArray} that will store a user-specified number of elements,
+     * allocated in the given {@link Arena}. The native memory is released when the arena is closed.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param arena
+     *     The {@link Arena} used to allocate the native memory.
+     */
+    public FloatArray(int numberOfElements, Arena arena) {
+        this(numberOfElements, arena.allocate((long) numberOfElements * FLOAT_BYTES + TornadoNativeArray.ARRAY_HEADER, 1));
+    }
+
+    /**
+     * Internal constructor that wraps an already allocated {@link MemorySegment}, including the header, without copying it.
+     *
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @param segmentWithHeader
+     *     The {@link MemorySegment} that stores the header and the elements.
+     */
+    FloatArray(int numberOfElements, MemorySegment segmentWithHeader) {
         this.numberOfElements = numberOfElements;
         arrayHeaderSize = (int) TornadoNativeArray.ARRAY_HEADER;
         baseIndex = arrayHeaderSize / FLOAT_BYTES;
         segmentByteSize = numberOfElements * FLOAT_BYTES + arrayHeaderSize;
 
-        segment = Arena.ofAuto().allocate(segmentByteSize, 1);
+        segment = segmentWithHeader;
         segment.setAtIndex(JAVA_INT, 0, numberOfElements);
     }
 
+    @Override
+    protected void setSegmentWithHeader(MemorySegment segmentWithHeader) {
+        segment = segmentWithHeader;
+    }
+
     /**
      * Constructs a new {@link FloatArray} instance by concatenating the contents of the given array of {@link FloatArray} instances.
      *
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.api.types.arrays;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.ref.Cleaner;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Size-bucketed pool of native memory for short-lived arrays.
+ *
+ * <p>
+ * Every buffer of the pool is allocated in its own shared {@link Arena}, with a
+ * size rounded up to the next power of two. When an array obtained from the pool
+ * is closed, its buffer goes back to the bucket of its size, so the next
+ * allocation of a similar size reuses it. If the bucket is full, or the pool has
+ * been closed, the arena of the buffer is closed and the native memory is
+ * released immediately. A pool created with zero buffers per bucket never keeps
+ * memory: every array releases its native memory as soon as it is closed.
+ * </p>
+ *
+ * <p>
+ * Arrays that are never closed return their buffer to the pool once they
+ * become unreachable, so the native memory is not leaked.
+ * </p>
+ *
+ * <p>
+ * Arrays are zero-initialized, as the ones created with the constructors.
+ * </p>
+ *
+ * <pre>
+ * try (NativeArrayPool pool = new NativeArrayPool()) {
+ *     try (FloatArray input = pool.allocateFloatArray(size); FloatArray output = pool.allocateFloatArray(size)) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public final class NativeArrayPool implements AutoCloseable {
+
+    /**
+     * Default number of free buffers kept per bucket.
+     */
+    public static final int DEFAULT_BUFFERS_PER_BUCKET = 8;
+
+    private static final long MIN_BUFFER_SIZE = 64;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final int maxBuffersPerBucket;
+    private final Map<Long, ArrayDeque<PooledBuffer>> buckets = new HashMap<>();
+    private long pooledBytes;
+    private boolean closed;
+
+    private record PooledBuffer(Arena arena, MemorySegment segment) {
+    }
+
+    public NativeArrayPool() {
+        this(DEFAULT_BUFFERS_PER_BUCKET);
+    }
+
+    /**
+     * @param maxBuffersPerBucket
+     *     Maximum number of free buffers kept for each size. Zero disables the reuse.
+     */
+    public NativeArrayPool(int maxBuffersPerBucket) {
+        if (maxBuffersPerBucket < 0) {
+            throw new IllegalArgumentException("The number of buffers per bucket must be positive or zero");
+        }
+        this.maxBuffersPerBucket = maxBuffersPerBucket;
+    }
+
+    static long bucketSize(long byteSize) {
+        long size = Math.max(MIN_BUFFER_SIZE, byteSize);
+        long highest = Long.highestOneBit(size);
+        return highest == size ? size : highest << 1;
+    }
+
+    private synchronized PooledBuffer acquire(long byteSize) {
+        if (closed) {
+            throw new IllegalStateException("The pool is closed");
+        }
+        long bucketSize = bucketSize(byteSize);
+        ArrayDeque<PooledBuffer> bucket = buckets.get(bucketSize);
+        if (bucket != null && !bucket.isEmpty()) {
+            PooledBuffer buffer = bucket.pop();
+            pooledBytes -= bucketSize;
+            buffer.segment().fill((byte) 0);
+            return buffer;
+        }
+        Arena arena = Arena.ofShared();
+        return new PooledBuffer(arena, arena.allocate(bucketSize, 1));
+    }
+
+    private synchronized void release(PooledBuffer buffer) {
+        if (closed) {
+            buffer.arena().close();
+            return;
+        }
+        long bucketSize = buffer.segment().byteSize();
+        ArrayDeque<PooledBuffer> bucket = buckets.computeIfAbsent(bucketSize, size -> new ArrayDeque<>());
+        if (bucket.size() >= maxBuffersPerBucket) {
+            buffer.arena().close();
+        } else {
+            bucket.push(buffer);
+            pooledBytes += bucketSize;
+        }
+    }
+
+    private <T extends TornadoNativeArray> T allocate(int numberOfElements, int elementSize, BiFunction<Integer, MemorySegment, T> constructor) {
+        long byteSize = (long) numberOfElements * elementSize + TornadoNativeArray.ARRAY_HEADER;
+        PooledBuffer buffer = acquire(byteSize);
+        T array = constructor.apply(numberOfElements, buffer.segment().asSlice(0, byteSize));
+        // The cleaning action must not reference the array, so it can run once the array is unreachable
+        Cleaner.Cleanable cleanable = CLEANER.register(array, () -> release(buffer));
+        array.setMemoryRelease(cleanable::clean);
+        return array;
+    }
+
+    public ByteArray allocateByteArray(int numberOfElements) {
+        return allocate(numberOfElements, 1, ByteArray::new);
+    }
+
+    public CharArray allocateCharArray(int numberOfElements) {
+        return allocate(numberOfElements, 2, CharArray::new);
+    }
+
+    public ShortArray allocateShortArray(int numberOfElements) {
+        return allocate(numberOfElements, 2, ShortArray::new);
+    }
+
+    public HalfFloatArray allocateHalfFloatArray(int numberOfElements) {
+        return allocate(numberOfElements, 2, HalfFloatArray::new);
+    }
+
+    public IntArray allocateIntArray(int numberOfElements) {
+        return allocate(numberOfElements, 4, IntArray::new);
+    }
+
+    public FloatArray allocateFloatArray(int numberOfElements) {
+        return allocate(numberOfElements, 4, FloatArray::new);
+    }
+
+    public LongArray allocateLongArray(int numberOfElements) {
+        return allocate(numberOfElements, 8, LongArray::new);
+    }
+
+    public DoubleArray allocateDoubleArray(int numberOfElements) {
+        return allocate(numberOfElements, 8, DoubleArray::new);
+    }
+
+    /**
+     * @return number of bytes held by the free buffers of the pool.
+     */
+    public synchronized long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    /**
+     * Releases the native memory of all free buffers. Arrays still in use release
+     * their memory when they are closed.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        buckets.values().forEach(bucket -> bucket.forEach(buffer -> buffer.arena().close()));
+        buckets.clear();
+        pooledBytes = 0;
+    }
+}
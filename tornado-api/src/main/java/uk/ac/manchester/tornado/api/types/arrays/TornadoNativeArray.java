@@ -17,7 +17,12 @@
  */
 package uk.ac.manchester.tornado.api.types.arrays;
 
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import uk.ac.manchester.tornado.api.types.tensors.Tensor;
 
@@ -34,8 +39,16 @@ import uk.ac.manchester.tornado.api.types.tensors.Tensor;
  * <p>
  * The constant {@link ARRAY_HEADER} represents the size of the header in bytes.
  * </p>
+ *
+ * <p>
+ * Native arrays are {@link AutoCloseable}. Closing an array releases its device
+ * buffers and, for arrays obtained from a {@link NativeArrayPool}, returns its
+ * native memory to the pool. Arrays allocated with a user {@link java.lang.foreign.Arena}
+ * release their native memory when the arena is closed. A closed array must not be
+ * accessed or passed to a task-graph.
+ * </p>
  */
-public abstract sealed class TornadoNativeArray //
+public abstract sealed class TornadoNativeArray implements AutoCloseable //
         permits ByteArray, CharArray, DoubleArray, //
         FloatArray, HalfFloatArray, IntArray, //
         LongArray, ShortArray, Tensor {
@@ -88,4 +101,132 @@ public abstract sealed class TornadoNativeArray //
 
     public abstract int getElementSize();
 
+    private final Map<Object, Runnable> releaseActions = new ConcurrentHashMap<>();
+
+    private volatile Runnable memoryRelease;
+
+    private volatile boolean closed;
+
+    private volatile boolean deviceOnly;
+
+    /**
+     * Creates a device-only array: the array only allocates its header on the host, and the runtime allocates
+     * the whole array on the device. The host memory for the elements is allocated on the first call to
+     * {@link #allocateHostMemory()}, for example, when the task-graph falls back to the Java sequential
+     * implementation.
+     *
+     * @param type
+     *     The class of the array (e.g., {@link FloatArray}).
+     * @param numberOfElements
+     *     The number of elements in the array.
+     * @return A new device-only array.
+     */
+    public static <T extends TornadoNativeArray> T createDeviceOnly(Class<T> type, int numberOfElements) {
+        MemorySegment header = Arena.ofAuto().allocate(ARRAY_HEADER, 1);
+        TornadoNativeArray array;
+        if (type == ByteArray.class) {
+            array = new ByteArray(numberOfElements, header);
+        } else if (type == CharArray.class) {
+            array = new CharArray(numberOfElements, header);
+        } else if (type == ShortArray.class) {
+            array = new ShortArray(numberOfElements, header);
+        } else if (type == HalfFloatArray.class) {
+            array = new HalfFloatArray(numberOfElements, header);
+        } else if (type == IntArray.class) {
+            array = new IntArray(numberOfElements, header);
+        } else if (type == FloatArray.class) {
+            array = new FloatArray(numberOfElements, header);
+        } else if (type == LongArray.class) {
+            array = new LongArray(numberOfElements, header);
+        } else if (type == DoubleArray.class) {
+            array = new DoubleArray(numberOfElements, header);
+        } else {
+            throw new IllegalArgumentException("Device-only arrays are not supported for " + type.getName());
+        }
+        array.deviceOnly = true;
+        return type.cast(array);
+    }
+
+    /**
+     * @return true if the elements of the array are only allocated on the device.
+     */
+    public boolean isDeviceOnly() {
+        return deviceOnly;
+    }
+
+    /**
+     * Allocates the host memory of a device-only array. The contents of the array are initialized to zero. It has
+     * no effect for arrays that are already allocated on the host.
+     */
+    public synchronized void allocateHostMemory() {
+        if (!deviceOnly) {
+            return;
+        }
+        MemorySegment segmentWithHeader = Arena.ofAuto().allocate(getNumBytesOfSegmentWithHeader(), 1);
+        segmentWithHeader.setAtIndex(JAVA_INT, 0, getSize());
+        setSegmentWithHeader(segmentWithHeader);
+        deviceOnly = false;
+    }
+
+    /**
+     * Replaces the memory segment, including the header, of the array.
+     */
+    protected abstract void setSegmentWithHeader(MemorySegment segmentWithHeader);
+
+    /**
+     * Registers an action to release a resource associated with this array, such as a device buffer. It runs
+     * once, when the array is closed. Registering an action with a key that is already registered has no
+     * effect. This method is used by the TornadoVM runtime.
+     *
+     * @param key
+     *     Identifier of the resource.
+     * @param action
+     *     Action that releases the resource.
+     */
+    public void registerReleaseAction(Object key, Runnable action) {
+        releaseActions.putIfAbsent(key, action);
+    }
+
+    /**
+     * @param key
+     *     Identifier of the resource.
+     * @return true if a release action has been registered with the given key.
+     */
+    public boolean hasReleaseAction(Object key) {
+        return releaseActions.containsKey(key);
+    }
+
+    /**
+     * Sets the action that releases the native memory of the array when it is closed.
+     */
+    void setMemoryRelease(Runnable memoryRelease) {
+        this.memoryRelease = memoryRelease;
+    }
+
+    /**
+     * @return true if the array has been closed.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases the device buffers of the array and, if the array belongs to a {@link NativeArrayPool}, returns
+     * its native memory to the pool. Closing an array more than once has no effect.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        releaseActions.values().forEach(Runnable::run);
+        releaseActions.clear();
+        if (memoryRelease != null) {
+            memoryRelease.run();
+        }
+    }
+
 }
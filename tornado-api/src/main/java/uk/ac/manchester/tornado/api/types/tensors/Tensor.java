@@ -17,6 +17,8 @@
  */
 package uk.ac.manchester.tornado.api.types.tensors;
 
+import java.lang.foreign.MemorySegment;
+
 import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 
 public abstract non-sealed class Tensor extends TornadoNativeArray {
@@ -34,4 +36,13 @@ public abstract non-sealed class Tensor extends TornadoNativeArray {
 
     public abstract DType getDType();
 
+    /**
+     * Tensors keep their elements in a native array of their own and are never
+     * device-only, so their memory segment is not replaced.
+     */
+    @Override
+    protected void setSegmentWithHeader(MemorySegment segmentWithHeader) {
+        throw new UnsupportedOperationException(STR."The memory segment of \{getClass().getName()} cannot be replaced");
+    }
+
 }
@@ -21,6 +21,8 @@ import uk.ac.manchester.tornado.api.types.HalfFloat;
 
 import java.lang.reflect.Array;
 import java.nio.ByteBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public final class TornadoAPIUtils {
 
@@ -28,6 +30,8 @@ public final class TornadoAPIUtils {
     public static final int ONE_MEGABYTE = 1024 * 1024;
     public static final int ONE_KILOBYTE = 1024;
 
+    private static final Pattern SIZE_PATTERN = Pattern.compile("(\\d+)(MB|mb|GB|gb)");
+
     private TornadoAPIUtils() {
     }
 
@@ -49,6 +53,26 @@ public final class TornadoAPIUtils {
         }
     }
 
+    /**
+     * Parses the sizes given to the batch and memory limit options of the
+     * execution plan (e.g., "512MB" or "2GB"). The units are decimal.
+     *
+     * @param size
+     *     size with a MB or GB suffix.
+     * @return the size in bytes.
+     */
+    public static long parseSizeToBytes(String size) {
+        Matcher matcher = SIZE_PATTERN.matcher(size);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Invalid size format");
+        }
+        long value = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2).toUpperCase()) {
+            case "MB" -> value * 1_000_000;
+            default -> value * 1_000_000_000;
+        };
+    }
+
     /**
      * Conversion from byte sizes into human readable format<br>
      * Based on code from http://stackoverflow.com/questions/3758606/how-to-convert
@@ -9,6 +9,7 @@ if not errorlevel 1 (
 	echo:
 	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXJITCompiler
 	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXTornadoCompiler
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXStagingBuffers
 )
 echo %backends% | findstr "\<ptx\>" >nul
 if not errorlevel 1 (
@@ -17,6 +18,10 @@ if not errorlevel 1 (
 	echo:
 	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLJITCompiler
 	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLTornadoCompiler
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLZeroCopy
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLEventRing
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLSketchCache
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLObjectSerialiser
 )
 echo %backends% | findstr "\<spirv\>" >nul
 if not errorlevel 1 (
@@ -25,9 +30,14 @@ if not errorlevel 1 (
 	echo:
 	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVJITCompiler
 	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVTornadoCompiler
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVModuleOptimizer
 	echo:
 	echo Testing the native OpenCL API
 	echo:
 	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLJITCompiler
 	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLTornadoCompiler
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLZeroCopy
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLEventRing
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLSketchCache
+	python %TORNADO_SDK%\bin\tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLObjectSerialiser
 )
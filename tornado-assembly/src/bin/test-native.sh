@@ -22,12 +22,17 @@ if [[ $selected_backends == *"ptx"* ]]; then
   echo -e "\nTesting the Native PTX API\n"
   tornado uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXJITCompiler
   tornado uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXTornadoCompiler
+  tornado uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXStagingBuffers
 fi
 
 if [[ $selected_backends == *"opencl"* ]]; then
   echo -e "\nTesting the Native OpenCL API\n"
   tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLJITCompiler
   tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLTornadoCompiler
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLZeroCopy
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLEventRing
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLSketchCache
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLObjectSerialiser
 fi
 
 if [[ $selected_backends == *"spirv"* ]]; then
@@ -37,11 +42,16 @@ if [[ $selected_backends == *"spirv"* ]]; then
   echo -e "\nTesting the Native SPIR-V API\n"
   tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVJITCompiler
   tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVTornadoCompiler
+  tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVModuleOptimizer
 
 
   echo -e "\nTesting the Native OpenCL API\n"
   tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLJITCompiler
   tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLTornadoCompiler
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLZeroCopy
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLEventRing
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLSketchCache
+  tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLObjectSerialiser
 fi
 
 echo " "
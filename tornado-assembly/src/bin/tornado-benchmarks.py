@@ -70,6 +70,7 @@ __DISABLE_LEVEL_ZERO_DEFAULT_SCHEDULER__ = (
     " -Dtornado.spirv.levelzero.thread.dispatcher=False "
 )
 __ENABLE_SPIRV_OPTIMIZER__ = " -Dtornado.spirv.loadstore=True "
+__HOST_RUNTIME_BENCHMARKS__ = "uk.ac.manchester.tornado.benchmarks.runtime"
 ## ========================================================================================
 
 ## ========================================================================================
@@ -261,6 +262,15 @@ def runWithJMH(args):
     os.system(command)
 
 
+def runHostRuntimeWithJMH(args):
+    jvm_options, tornado_options = composeAllOptions(args)
+    print(Colors.CYAN + "[INFO] TornadoVM options: " + tornado_options +
+          jvm_options + Colors.RESET)
+    command = __TORNADO_COMMAND__ + tornado_options + " -jar tornado-benchmarks/target/jmhbenchmarks.jar " + __HOST_RUNTIME_BENCHMARKS__
+    print(command)
+    os.system(command)
+
+
 def runDefaultSizePerBenchmark(args):
     printBenchmarks()
     jvm_options, tornado_options = composeAllOptions(args)
@@ -353,6 +363,13 @@ def parseArguments():
     parser.add_argument(
         "--jmh", action="store_true", dest="jmh", default=False, help="Run with JMH"
     )
+    parser.add_argument(
+        "--jmhHost",
+        action="store_true",
+        dest="jmhHost",
+        default=False,
+        help="Run the JMH benchmarks of the host-side runtime on a stub device",
+    )
     parser.add_argument(
         "--jvm",
         "-J",
@@ -396,6 +413,9 @@ def main():
     elif args.jmh:
         print("[INFO] Running default size with JMH")
         runWithJMH(args)
+    elif args.jmhHost:
+        print("[INFO] Running host-side runtime benchmarks with JMH")
+        runHostRuntimeWithJMH(args)
     else:
         print(Colors.BLUE + "Running TornadoVM Benchmarks" + Colors.RESET)
         print(
@@ -22,6 +22,7 @@ module tornado.benchmarks {
 
     requires transitive tornado.api;
     requires transitive tornado.matrices;
+    requires tornado.drivers.common;
 
     exports uk.ac.manchester.tornado.benchmarks;
     exports uk.ac.manchester.tornado.benchmarks.addImage;
@@ -40,6 +41,7 @@ module tornado.benchmarks {
     exports uk.ac.manchester.tornado.benchmarks.nbody;
     exports uk.ac.manchester.tornado.benchmarks.rotateimage;
     exports uk.ac.manchester.tornado.benchmarks.rotatevector;
+    exports uk.ac.manchester.tornado.benchmarks.runtime;
     exports uk.ac.manchester.tornado.benchmarks.saxpy;
     exports uk.ac.manchester.tornado.benchmarks.sgemm;
     exports uk.ac.manchester.tornado.benchmarks.sgemv;
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.common.TaskPackage;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.runtime.analyzer.TaskUtils;
+import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
+import uk.ac.manchester.tornado.runtime.tasks.TornadoGraphBitcodes;
+
+/**
+ * Builds the task-graphs used by the host-side benchmarks. All tasks are
+ * pre-built tasks mapped to a {@link StubXPUDevice}, so no kernel is sketched
+ * or compiled and the benchmarks only exercise the TornadoVM runtime.
+ */
+final class HostGraphs {
+
+    static final String ENTRY_POINT = "stubKernel";
+    static final String KERNEL_FILE = "stubKernel.cl";
+
+    /**
+     * Same size as the high-level code buffer of a task-graph.
+     */
+    private static final int HIGH_LEVEL_CODE_SIZE = 2048;
+
+    private HostGraphs() {
+    }
+
+    /**
+     * Creates the arguments of a task. The last array is the output and all the
+     * others are inputs.
+     */
+    static FloatArray[] createArguments(int numArgs, int numElements) {
+        FloatArray[] arguments = new FloatArray[numArgs];
+        for (int i = 0; i < numArgs; i++) {
+            arguments[i] = new FloatArray(numElements);
+            arguments[i].init(i);
+        }
+        return arguments;
+    }
+
+    static Access[] createAccesses(int numArgs) {
+        Access[] accesses = new Access[numArgs];
+        Arrays.fill(accesses, Access.READ_ONLY);
+        accesses[numArgs - 1] = Access.WRITE_ONLY;
+        return accesses;
+    }
+
+    private static Object[] inputsOf(FloatArray[] arguments) {
+        return Arrays.copyOf(arguments, arguments.length - 1, Object[].class);
+    }
+
+    private static FloatArray outputOf(FloatArray[] arguments) {
+        return arguments[arguments.length - 1];
+    }
+
+    static TaskGraph createTaskGraph(String name, StubXPUDevice device, int numTasks, FloatArray[] arguments) {
+        Access[] accesses = createAccesses(arguments.length);
+        int[] dimensions = new int[] { outputOf(arguments).getSize() };
+
+        TaskGraph taskGraph = new TaskGraph(name).transferToDevice(DataTransferMode.EVERY_EXECUTION, inputsOf(arguments));
+        for (int i = 0; i < numTasks; i++) {
+            taskGraph.prebuiltTask("t" + i, ENTRY_POINT, KERNEL_FILE, arguments, accesses, device, dimensions);
+        }
+        return taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, outputOf(arguments));
+    }
+
+    /**
+     * Builds the execution context and the high-level code of a task-graph in
+     * the same way {@link TaskGraph} does, without going through the execution
+     * plan.
+     */
+    static EncodedGraph createEncodedGraph(String name, StubXPUDevice device, int numTasks, FloatArray[] arguments) {
+        TornadoExecutionContext executionContext = new TornadoExecutionContext(name);
+        ByteBuffer highLevelCode = ByteBuffer.allocate(HIGH_LEVEL_CODE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (Object input : inputsOf(arguments)) {
+            executionContext.getLocalStateObject(input).setStreamIn(true);
+        }
+
+        Access[] accesses = createAccesses(arguments.length);
+        int[] dimensions = new int[] { outputOf(arguments).getSize() };
+        for (int i = 0; i < numTasks; i++) {
+            SchedulableTask task = TaskUtils.createTask(executionContext.meta(), TaskPackage.createPrebuiltTask("t" + i, ENTRY_POINT, KERNEL_FILE, arguments, accesses, device, dimensions));
+            int taskIndex = executionContext.addTask(task);
+
+            highLevelCode.put(TornadoGraphBitcodes.CONTEXT.index());
+            highLevelCode.putInt(executionContext.getTaskCountAndIncrement());
+            highLevelCode.putInt(taskIndex);
+            highLevelCode.put(TornadoGraphBitcodes.ARG_LIST.index());
+            highLevelCode.putInt(arguments.length);
+            for (Object argument : arguments) {
+                highLevelCode.put(TornadoGraphBitcodes.LOAD_REF.index());
+                highLevelCode.putInt(executionContext.insertVariable(argument));
+            }
+            highLevelCode.put(TornadoGraphBitcodes.LAUNCH.index());
+        }
+
+        executionContext.getLocalStateObject(outputOf(arguments)).setStreamOut(true);
+        executionContext.scheduleTaskToDevices();
+        highLevelCode.flip();
+        return new EncodedGraph(executionContext, highLevelCode);
+    }
+
+    record EncodedGraph(TornadoExecutionContext executionContext, ByteBuffer highLevelCode) {
+
+        /**
+         * @return A view of the high-level code that can be consumed by the graph
+         *     builder without modifying the original buffer.
+         */
+        ByteBuffer code() {
+            return highLevelCode.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+}
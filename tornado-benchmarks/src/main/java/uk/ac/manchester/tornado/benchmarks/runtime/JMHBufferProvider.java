@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+
+/**
+ * Host cost of the allocation churn in {@link TornadoBufferProvider}: buffers
+ * of mixed sizes are requested and released, so most requests are served from
+ * the list of free buffers. Native allocations are replaced by a counter.
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.runtime.JMHBufferProvider
+ * </code>
+ */
+public class JMHBufferProvider {
+
+    private static final long[] BUFFER_SIZES = { 4096, 65536, 1024, 1048576, 16384, 262144 };
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        @Param({ "16", "256" })
+        private int numBuffers;
+
+        private StubBufferProvider bufferProvider;
+        private long[] buffers;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            bufferProvider = new StubBufferProvider();
+            buffers = new long[numBuffers];
+        }
+    }
+
+    private static final class StubBufferProvider extends TornadoBufferProvider {
+
+        private long nextBuffer;
+
+        StubBufferProvider() {
+            super(new StubXPUDevice.StubDeviceContext());
+        }
+
+        @Override
+        protected long allocateBuffer(long size) {
+            return ++nextBuffer;
+        }
+
+        @Override
+        protected void releaseBuffer(long buffer) {
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void allocateAndRelease(BenchmarkSetup state, Blackhole blackhole) {
+        long[] buffers = state.buffers;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = state.bufferProvider.getOrAllocateBufferWithSize(BUFFER_SIZES[i % BUFFER_SIZES.length]);
+        }
+        for (long buffer : buffers) {
+            state.bufferProvider.markBufferReleased(buffer);
+        }
+        blackhole.consume(buffers);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHBufferProvider.class.getName() + ".*") //
+                .build();
+        new Runner(opt).run();
+    }
+}
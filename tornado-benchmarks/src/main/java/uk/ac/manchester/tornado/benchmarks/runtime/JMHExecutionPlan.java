@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+
+/**
+ * Host cost of {@link TornadoExecutionPlan#execute()} when all tasks run on a
+ * {@link StubXPUDevice}. This is the per-call latency that a small kernel pays
+ * on top of its device time, with and without the profiler enabled.
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.runtime.JMHExecutionPlan
+ * </code>
+ */
+public class JMHExecutionPlan {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        @Param({ "1", "8" })
+        private int numTasks;
+
+        private TornadoExecutionPlan executionPlan;
+        private TornadoExecutionPlan executionPlanWithProfiler;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            StubXPUDevice device = new StubXPUDevice();
+            FloatArray[] arguments = HostGraphs.createArguments(3, 1024);
+            FloatArray[] argumentsProfiled = HostGraphs.createArguments(3, 1024);
+
+            executionPlan = new TornadoExecutionPlan(HostGraphs.createTaskGraph("benchmark", device, numTasks, arguments).snapshot());
+            executionPlan.withDevice(device).withWarmUp();
+
+            executionPlanWithProfiler = new TornadoExecutionPlan(HostGraphs.createTaskGraph("benchmarkProfiled", device, numTasks, argumentsProfiled).snapshot());
+            executionPlanWithProfiler.withDevice(device).withProfiler(ProfilerMode.SILENT).withWarmUp();
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() throws TornadoExecutionPlanException {
+            executionPlan.close();
+            executionPlanWithProfiler.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void execute(BenchmarkSetup state, Blackhole blackhole) {
+        blackhole.consume(state.executionPlan.execute());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void executeWithProfiler(BenchmarkSetup state, Blackhole blackhole) {
+        blackhole.consume(state.executionPlanWithProfiler.execute());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHExecutionPlan.class.getName() + ".*") //
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import uk.ac.manchester.tornado.runtime.TornadoVM;
+import uk.ac.manchester.tornado.runtime.graph.TornadoGraph;
+import uk.ac.manchester.tornado.runtime.graph.TornadoGraphBuilder;
+import uk.ac.manchester.tornado.runtime.profiler.EmptyProfiler;
+import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+
+/**
+ * Host cost of the TornadoVM stages that run below the execution plan: building
+ * the {@link TornadoGraph}, generating the TornadoVM bytecodes and dispatching
+ * them through the interpreter. The interpreter runs on a
+ * {@link StubXPUDevice}, so the dispatch benchmarks measure argument
+ * marshalling and bytecode interpretation only.
+ * <p>
+ * How to run in isolation?
+ * </p>
+ * <code>
+ * tornado -jar tornado-benchmarks/target/jmhbenchmarks.jar uk.ac.manchester.tornado.benchmarks.runtime.JMHTornadoVMBytecodes
+ * </code>
+ */
+public class JMHTornadoVMBytecodes {
+
+    @State(Scope.Thread)
+    public static class BenchmarkSetup {
+
+        @Param({ "1", "8" })
+        private int numTasks;
+
+        @Param({ "3", "15" })
+        private int numArgs;
+
+        private HostGraphs.EncodedGraph encodedGraph;
+        private TornadoVM tornadoVM;
+        private EmptyProfiler emptyProfiler;
+        private TimeProfiler timeProfiler;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            StubXPUDevice device = new StubXPUDevice();
+            encodedGraph = HostGraphs.createEncodedGraph("benchmark", device, numTasks, HostGraphs.createArguments(numArgs, 1024));
+            emptyProfiler = new EmptyProfiler();
+            timeProfiler = new TimeProfiler();
+
+            TornadoGraph graph = TornadoGraphBuilder.buildGraph(encodedGraph.executionContext(), encodedGraph.code());
+            tornadoVM = new TornadoVM(encodedGraph.executionContext(), graph, emptyProfiler);
+            // The first execution installs the code of each task
+            tornadoVM.execute(false, emptyProfiler);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void buildGraph(BenchmarkSetup state, Blackhole blackhole) {
+        blackhole.consume(TornadoGraphBuilder.buildGraph(state.encodedGraph.executionContext(), state.encodedGraph.code()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void generateBytecodes(BenchmarkSetup state, Blackhole blackhole) {
+        TornadoGraph graph = TornadoGraphBuilder.buildGraph(state.encodedGraph.executionContext(), state.encodedGraph.code());
+        blackhole.consume(new TornadoVM(state.encodedGraph.executionContext(), graph, state.emptyProfiler));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void dispatch(BenchmarkSetup state, Blackhole blackhole) {
+        blackhole.consume(state.tornadoVM.execute(false, state.emptyProfiler));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Fork(1)
+    public void dispatchWithProfiler(BenchmarkSetup state, Blackhole blackhole) {
+        state.timeProfiler.clean();
+        blackhole.consume(state.tornadoVM.execute(false, state.timeProfiler));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder() //
+                .include(JMHTornadoVMBytecodes.class.getName() + ".*") //
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,619 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.benchmarks.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
+import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.common.SchedulableTask;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.memory.DeviceBufferState;
+import uk.ac.manchester.tornado.api.memory.TornadoMemoryProvider;
+import uk.ac.manchester.tornado.api.memory.XPUBuffer;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.EmptyEvent;
+import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * A {@link TornadoXPUDevice} that accepts every request of the TornadoVM
+ * interpreter without touching any hardware. Buffers, transfers and kernel
+ * launches are no-ops, so benchmarks built on top of this device only measure
+ * the host-side work of the runtime.
+ *
+ * <p>
+ * The device reports driver index 0, so a TornadoVM installation with at least
+ * one backend is still required to build task meta-data.
+ * </p>
+ */
+public class StubXPUDevice implements TornadoXPUDevice {
+
+    private static final long DEVICE_MEMORY = 1L << 32;
+
+    private final StubDeviceContext deviceContext;
+    private final StubTargetDevice targetDevice;
+    private final AtomicLong launchedKernels;
+
+    public StubXPUDevice() {
+        this.targetDevice = new StubTargetDevice();
+        this.deviceContext = new StubDeviceContext(targetDevice);
+        this.launchedKernels = new AtomicLong();
+    }
+
+    /**
+     * @return Number of kernel launches dispatched by the interpreter to this
+     *     device.
+     */
+    public long getLaunchedKernels() {
+        return launchedKernels.get();
+    }
+
+    private static void allocateBuffer(Object object, long batchSize, DeviceBufferState state) {
+        if (!state.hasObjectBuffer()) {
+            state.setXPUBuffer(new StubXPUBuffer());
+        }
+        state.getXPUBuffer().allocate(object, batchSize);
+    }
+
+    @Override
+    public int allocate(Object object, long batchSize, DeviceBufferState state) {
+        allocateBuffer(object, batchSize, state);
+        return -1;
+    }
+
+    @Override
+    public int allocateObjects(Object[] objects, long batchSize, DeviceBufferState[] states) {
+        for (int i = 0; i < objects.length; i++) {
+            allocateBuffer(objects[i], batchSize, states[i]);
+        }
+        return -1;
+    }
+
+    @Override
+    public int deallocate(DeviceBufferState state) {
+        if (state.isLockedBuffer()) {
+            return -1;
+        }
+        state.getXPUBuffer().deallocate();
+        state.setContents(false);
+        state.setXPUBuffer(null);
+        return -1;
+    }
+
+    @Override
+    public List<Integer> ensurePresent(long executionPlanId, Object object, DeviceBufferState objectState, int[] events, long batchSize, long hostOffset) {
+        if (!objectState.hasContent()) {
+            objectState.setContents(true);
+            return objectState.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, hostOffset, events, events == null);
+        }
+        return null;
+    }
+
+    @Override
+    public List<Integer> streamIn(long executionPlanId, Object object, long batchSize, long hostOffset, DeviceBufferState objectState, int[] events) {
+        objectState.setContents(true);
+        return objectState.getXPUBuffer().enqueueWrite(executionPlanId, object, batchSize, hostOffset, events, events == null);
+    }
+
+    @Override
+    public int streamOut(long executionPlanId, Object object, long hostOffset, DeviceBufferState objectState, int[] events) {
+        return objectState.getXPUBuffer().enqueueRead(executionPlanId, object, hostOffset, events, events == null);
+    }
+
+    @Override
+    public int streamOutBlocking(long executionPlanId, Object object, long hostOffset, DeviceBufferState objectState, int[] events) {
+        return objectState.getXPUBuffer().read(executionPlanId, object, hostOffset, 0, events, events == null);
+    }
+
+    @Override
+    public Event resolveEvent(long executionPlanId, int event) {
+        return new EmptyEvent();
+    }
+
+    @Override
+    public void ensureLoaded(long executionPlanId) {
+    }
+
+    @Override
+    public void flushEvents(long executionPlanId) {
+    }
+
+    @Override
+    public int enqueueBarrier(long executionPlanId) {
+        return -1;
+    }
+
+    @Override
+    public int enqueueBarrier(long executionPlanId, int[] events) {
+        return -1;
+    }
+
+    @Override
+    public int enqueueMarker(long executionPlanId) {
+        return -1;
+    }
+
+    @Override
+    public int enqueueMarker(long executionPlanId, int[] events) {
+        return -1;
+    }
+
+    @Override
+    public void sync(long executionPlanId) {
+    }
+
+    @Override
+    public void flush(long executionPlanId) {
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Override
+    public void dumpEvents(long executionPlanId) {
+    }
+
+    @Override
+    public String getDeviceName() {
+        return targetDevice.getDeviceName();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Stub device for host-side benchmarks";
+    }
+
+    @Override
+    public String getPlatformName() {
+        return "stub";
+    }
+
+    @Override
+    public TornadoDeviceContext getDeviceContext() {
+        return deviceContext;
+    }
+
+    @Override
+    public TornadoTargetDevice getPhysicalDevice() {
+        return targetDevice;
+    }
+
+    @Override
+    public TornadoMemoryProvider getMemoryProvider() {
+        return () -> DEVICE_MEMORY;
+    }
+
+    @Override
+    public TornadoDeviceType getDeviceType() {
+        return TornadoDeviceType.CPU;
+    }
+
+    @Override
+    public long getMaxAllocMemory() {
+        return DEVICE_MEMORY;
+    }
+
+    @Override
+    public long getMaxGlobalMemory() {
+        return DEVICE_MEMORY;
+    }
+
+    @Override
+    public long getDeviceLocalMemorySize() {
+        return targetDevice.getDeviceLocalMemorySize();
+    }
+
+    @Override
+    public long[] getDeviceMaxWorkgroupDimensions() {
+        return targetDevice.getDeviceMaxWorkItemSizes();
+    }
+
+    @Override
+    public String getDeviceOpenCLCVersion() {
+        return "";
+    }
+
+    @Override
+    public Object getDeviceInfo() {
+        return targetDevice.getDeviceInfo();
+    }
+
+    @Override
+    public int getDriverIndex() {
+        return 0;
+    }
+
+    @Override
+    public Object getAtomic() {
+        return null;
+    }
+
+    @Override
+    public void setAtomicsMapping(ConcurrentHashMap<Object, Integer> mappingAtomics) {
+    }
+
+    @Override
+    public TornadoVMBackendType getTornadoVMBackend() {
+        return TornadoVMBackendType.JAVA;
+    }
+
+    @Override
+    public boolean isSPIRVSupported() {
+        return false;
+    }
+
+    @Override
+    public TornadoSchedulingStrategy getPreferredSchedule() {
+        return TornadoSchedulingStrategy.PER_ITERATION;
+    }
+
+    @Override
+    public KernelStackFrame createKernelStackFrame(int numArgs) {
+        return new StubKernelStackFrame(numArgs);
+    }
+
+    @Override
+    public XPUBuffer createOrReuseAtomicsBuffer(int[] arr) {
+        return null;
+    }
+
+    @Override
+    public TornadoInstalledCode installCode(SchedulableTask task) {
+        return new StubInstalledCode(launchedKernels);
+    }
+
+    @Override
+    public boolean isFullJITMode(SchedulableTask task) {
+        return false;
+    }
+
+    @Override
+    public TornadoInstalledCode getCodeFromCache(SchedulableTask task) {
+        return null;
+    }
+
+    @Override
+    public int[] checkAtomicsForTask(SchedulableTask task) {
+        return null;
+    }
+
+    @Override
+    public int[] checkAtomicsForTask(SchedulableTask task, int[] array, int paramIndex, Object value) {
+        return array;
+    }
+
+    @Override
+    public int[] updateAtomicRegionAndObjectState(SchedulableTask task, int[] array, int paramIndex, Object value, XPUDeviceBufferState objectState) {
+        return array;
+    }
+
+    @Override
+    public int getAtomicsGlobalIndexForTask(SchedulableTask task, int paramIndex) {
+        return -1;
+    }
+
+    @Override
+    public boolean checkAtomicsParametersForTask(SchedulableTask task) {
+        return false;
+    }
+
+    @Override
+    public void enableThreadSharing() {
+    }
+
+    @Override
+    public void setAtomicRegion(XPUBuffer bufferAtomics) {
+    }
+
+    @Override
+    public String toString() {
+        return getDeviceName();
+    }
+
+    private static final class StubTargetDevice implements TornadoTargetDevice {
+
+        @Override
+        public String getDeviceName() {
+            return "stub-device";
+        }
+
+        @Override
+        public long getDeviceGlobalMemorySize() {
+            return DEVICE_MEMORY;
+        }
+
+        @Override
+        public long getDeviceLocalMemorySize() {
+            return 64 * 1024;
+        }
+
+        @Override
+        public int getDeviceMaxComputeUnits() {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        @Override
+        public long[] getDeviceMaxWorkItemSizes() {
+            return new long[] { 1024, 1024, 1024 };
+        }
+
+        @Override
+        public long[] getDeviceMaxWorkGroupSize() {
+            return new long[] { 1024 };
+        }
+
+        @Override
+        public int getMaxThreadsPerBlock() {
+            return 1024;
+        }
+
+        @Override
+        public int getDeviceMaxClockFrequency() {
+            return 1000;
+        }
+
+        @Override
+        public long getDeviceMaxConstantBufferSize() {
+            return 64 * 1024;
+        }
+
+        @Override
+        public long getDeviceMaxAllocationSize() {
+            return DEVICE_MEMORY;
+        }
+
+        @Override
+        public String getDeviceInfo() {
+            return getDeviceName();
+        }
+    }
+
+    /**
+     * Device context of the stub device. It is also used as the device context of
+     * the buffer provider benchmarks.
+     */
+    static final class StubDeviceContext implements TornadoDeviceContext {
+
+        private final TornadoTargetDevice targetDevice;
+        private final Set<Long> registeredPlanIds;
+
+        StubDeviceContext(TornadoTargetDevice targetDevice) {
+            this.targetDevice = targetDevice;
+            this.registeredPlanIds = ConcurrentHashMap.newKeySet();
+        }
+
+        StubDeviceContext() {
+            this(new StubTargetDevice());
+        }
+
+        @Override
+        public TornadoTargetDevice getDevice() {
+            return targetDevice;
+        }
+
+        @Override
+        public TornadoMemoryProvider getMemoryManager() {
+            return () -> DEVICE_MEMORY;
+        }
+
+        @Override
+        public boolean wasReset() {
+            return false;
+        }
+
+        @Override
+        public void setResetToFalse() {
+        }
+
+        @Override
+        public boolean isPlatformFPGA() {
+            return false;
+        }
+
+        @Override
+        public boolean isPlatformXilinxFPGA() {
+            return false;
+        }
+
+        @Override
+        public boolean isFP64Supported() {
+            return true;
+        }
+
+        @Override
+        public boolean isCached(String methodName, SchedulableTask task) {
+            return false;
+        }
+
+        @Override
+        public int getDeviceIndex() {
+            return 0;
+        }
+
+        @Override
+        public int getDevicePlatform() {
+            return 0;
+        }
+
+        @Override
+        public String getDeviceName() {
+            return targetDevice.getDeviceName();
+        }
+
+        @Override
+        public int getDriverIndex() {
+            return 0;
+        }
+
+        @Override
+        public Set<Long> getRegisteredPlanIds() {
+            return registeredPlanIds;
+        }
+    }
+
+    private static final class StubXPUBuffer implements XPUBuffer {
+
+        private long size;
+        private long subRegionSize;
+        private long bufferOffset;
+
+        @Override
+        public long toBuffer() {
+            return 0;
+        }
+
+        @Override
+        public void setBuffer(XPUBufferWrapper bufferWrapper) {
+            bufferOffset = bufferWrapper.bufferOffset;
+        }
+
+        @Override
+        public long getBufferOffset() {
+            return bufferOffset;
+        }
+
+        @Override
+        public void read(long executionPlanId, Object reference) {
+        }
+
+        @Override
+        public int read(long executionPlanId, Object reference, long hostOffset, long partialReadSize, int[] events, boolean useDeps) {
+            return -1;
+        }
+
+        @Override
+        public void write(long executionPlanId, Object reference) {
+        }
+
+        @Override
+        public int enqueueRead(long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+            return -1;
+        }
+
+        @Override
+        public List<Integer> enqueueWrite(long executionPlanId, Object reference, long batchSize, long hostOffset, int[] events, boolean useDeps) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void allocate(Object reference, long batchSize) {
+            if (batchSize > 0) {
+                size = batchSize;
+            } else if (reference instanceof TornadoNativeArray nativeArray) {
+                size = nativeArray.getNumBytesOfSegment();
+            } else {
+                size = 0;
+            }
+        }
+
+        @Override
+        public void deallocate() {
+            size = 0;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void setSizeSubRegion(long batchSize) {
+            subRegionSize = batchSize;
+        }
+
+        @Override
+        public long getSizeSubRegionSize() {
+            return subRegionSize;
+        }
+    }
+
+    private static final class StubInstalledCode implements TornadoInstalledCode {
+
+        private final AtomicLong launchedKernels;
+        private boolean valid;
+
+        StubInstalledCode(AtomicLong launchedKernels) {
+            this.launchedKernels = launchedKernels;
+            this.valid = true;
+        }
+
+        @Override
+        public int launchWithDependencies(long executionPlanId, KernelStackFrame callWrapper, XPUBuffer atomicSpace, TaskMetaData meta, long batchThreads, int[] waitEvents) {
+            launchedKernels.incrementAndGet();
+            return -1;
+        }
+
+        @Override
+        public int launchWithoutDependencies(long executionPlanId, KernelStackFrame callWrapper, XPUBuffer atomicSpace, TaskMetaData meta, long batchThreads) {
+            launchedKernels.incrementAndGet();
+            return -1;
+        }
+
+        @Override
+        public boolean isValid() {
+            return valid;
+        }
+
+        @Override
+        public void invalidate() {
+            valid = false;
+        }
+    }
+
+    private static final class StubKernelStackFrame implements KernelStackFrame {
+
+        private final List<CallArgument> callArguments;
+
+        StubKernelStackFrame(int numArgs) {
+            this.callArguments = new ArrayList<>(numArgs);
+        }
+
+        @Override
+        public void reset() {
+            callArguments.clear();
+        }
+
+        @Override
+        public List<CallArgument> getCallArguments() {
+            return callArguments;
+        }
+
+        @Override
+        public void addCallArgument(Object value, boolean isReferenceType) {
+            callArguments.add(new CallArgument(value, isReferenceType));
+        }
+
+        @Override
+        public void setKernelContext(HashMap<Integer, Integer> map) {
+        }
+    }
+}
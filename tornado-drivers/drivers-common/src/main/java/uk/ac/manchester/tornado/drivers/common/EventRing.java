@@ -0,0 +1,218 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common;
+
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ring of event slots used by the event pools of the backends. Slots are
+ * claimed in order and recycled once the ring wraps around, while retained
+ * slots are skipped.
+ *
+ * <p>
+ * Native events are not released when their slot is claimed again. Instead,
+ * {@link #releaseAhead()} releases in one batch the events that the next
+ * registrations will overwrite. The backends call it after flushing or
+ * synchronising their queues, so that no native event is released while the
+ * commands of an execution are being enqueued. Slots are claimed with atomic
+ * operations, so interpreters that share a pool do not need a lock.
+ * </p>
+ */
+public class EventRing {
+
+    /**
+     * Access to the native events stored by an event pool.
+     */
+    @FunctionalInterface
+    public interface NativeEvents {
+        /**
+         * Releases the native event stored in a slot.
+         *
+         * @param slot
+         *     Index of the slot.
+         */
+        void release(int slot);
+    }
+
+    private static final int FREE = 0;
+    private static final int BUSY = 1;
+    private static final int LIVE = 2;
+    private static final int RETAINED = 3;
+
+    private final int capacity;
+    private final boolean circular;
+    private final NativeEvents nativeEvents;
+    private final AtomicIntegerArray states;
+    private final AtomicLong cursor;
+    private final AtomicInteger usedSlots;
+    private final AtomicInteger claimedSinceRelease;
+    private final AtomicInteger inlineReleases;
+
+    /**
+     * @param capacity
+     *     Number of slots of the ring.
+     * @param circular
+     *     Whether slots are recycled once all of them have been used. Otherwise,
+     *     the ring is full until it is reset.
+     * @param nativeEvents
+     *     Releases the native events of the pool.
+     */
+    public EventRing(int capacity, boolean circular, NativeEvents nativeEvents) {
+        this.capacity = capacity;
+        this.circular = circular;
+        this.nativeEvents = nativeEvents;
+        this.states = new AtomicIntegerArray(capacity);
+        this.cursor = new AtomicLong();
+        this.usedSlots = new AtomicInteger();
+        this.claimedSinceRelease = new AtomicInteger();
+        this.inlineReleases = new AtomicInteger();
+    }
+
+    /**
+     * Claims the next slot that is not retained. The caller stores its event in
+     * the slot and then calls {@link #publish(int)}.
+     *
+     * @return The index of the slot.
+     */
+    public int claim() {
+        for (int attempt = 0; attempt < capacity; attempt++) {
+            final long position = cursor.getAndIncrement();
+            if (!circular && position >= capacity) {
+                throw shouldNotReachHere("event window is full (retained=%d, capacity=%d)", getNumberOfRetainedEvents(), capacity);
+            }
+            final int slot = (int) (position % capacity);
+            if (states.compareAndSet(slot, FREE, BUSY)) {
+                return claimed(slot);
+            }
+            if (states.compareAndSet(slot, LIVE, BUSY)) {
+                // The event was not released ahead of the cursor
+                nativeEvents.release(slot);
+                inlineReleases.incrementAndGet();
+                return claimed(slot);
+            }
+        }
+        throw shouldNotReachHere("event window is full (retained=%d, capacity=%d)", getNumberOfRetainedEvents(), capacity);
+    }
+
+    private int claimed(int slot) {
+        usedSlots.accumulateAndGet(slot + 1, Math::max);
+        claimedSinceRelease.incrementAndGet();
+        return slot;
+    }
+
+    /**
+     * Makes the event stored in a claimed slot visible to the other operations of
+     * the ring.
+     *
+     * @param slot
+     *     Index returned by {@link #claim()}.
+     */
+    public void publish(int slot) {
+        states.set(slot, LIVE);
+    }
+
+    public void retain(int slot) {
+        states.compareAndSet(slot, LIVE, RETAINED);
+    }
+
+    public void unretain(int slot) {
+        states.compareAndSet(slot, RETAINED, LIVE);
+    }
+
+    public boolean isLive(int slot) {
+        final int state = states.get(slot);
+        return state == LIVE || state == RETAINED;
+    }
+
+    /**
+     * Releases the events in the slots that the next registrations will claim.
+     * The number of slots matches the number of slots claimed since the previous
+     * call, up to half of the ring, so the most recent events stay valid.
+     *
+     * @return The number of native events released.
+     */
+    public int releaseAhead() {
+        final int count = Math.min(claimedSinceRelease.getAndSet(0), capacity / 2);
+        final long start = cursor.get();
+        int released = 0;
+        for (int i = 0; i < count; i++) {
+            final long position = start + i;
+            if (!circular && position >= capacity) {
+                break;
+            }
+            final int slot = (int) (position % capacity);
+            if (states.compareAndSet(slot, LIVE, BUSY)) {
+                nativeEvents.release(slot);
+                states.set(slot, FREE);
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Releases all the events of the ring, including the retained ones. Only the
+     * slots used since the last reset are visited.
+     */
+    public void reset() {
+        final int used = usedSlots.getAndSet(0);
+        for (int slot = 0; slot < used; slot++) {
+            final int state = states.getAndSet(slot, FREE);
+            if (state == LIVE || state == RETAINED) {
+                nativeEvents.release(slot);
+            }
+        }
+        cursor.set(0);
+        claimedSinceRelease.set(0);
+    }
+
+    /**
+     * @return The number of slots used since the last reset. Slots above this
+     *     index have never held an event.
+     */
+    public int getUsedSlots() {
+        return usedSlots.get();
+    }
+
+    /**
+     * @return The number of events released while claiming their slot, because
+     *     they were not released ahead of the cursor.
+     */
+    public int getNumberOfInlineReleases() {
+        return inlineReleases.get();
+    }
+
+    private int getNumberOfRetainedEvents() {
+        int retained = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (states.get(slot) == RETAINED) {
+                retained++;
+            }
+        }
+        return retained;
+    }
+}
@@ -110,6 +110,23 @@ public abstract class TornadoBufferProvider {
         return minBufferIndex;
     }
 
+    /**
+     * It looks for a free buffer that can be reused for a requested size without
+     * wasting more than the requested size (best fit, up to twice the size).
+     *
+     * @param sizeInBytes
+     *     Size in bytes for the requested buffer.
+     * @return returns the index position of a free buffer within the free buffer
+     *     list. It returns -1 if no compatible buffer is found.
+     */
+    private synchronized int bufferIndexOfACompatibleFreeSpace(long sizeInBytes) {
+        int minBufferIndex = bufferIndexOfAFreeSpace(sizeInBytes);
+        if (minBufferIndex != -1 && freeBuffers.get(minBufferIndex).size / 2 > sizeInBytes) {
+            return -1;
+        }
+        return minBufferIndex;
+    }
+
     /**
      * There is no buffer to fulfill the size. Start freeing unused buffers and try
      * to allocate.
@@ -141,6 +158,13 @@ public abstract class TornadoBufferProvider {
      */
     public synchronized long getOrAllocateBufferWithSize(long sizeInBytes) {
         TornadoTargetDevice device = deviceContext.getDevice();
+        if (TornadoOptions.BUFFER_LIVENESS) {
+            // Buffers of intermediates released early are reused before allocating new ones
+            int freeBufferIndex = bufferIndexOfACompatibleFreeSpace(sizeInBytes);
+            if (freeBufferIndex != -1) {
+                return markBufferUsed(freeBufferIndex).buffer;
+            }
+        }
         if (sizeInBytes <= currentMemoryAvailable && sizeInBytes < device.getDeviceMaxAllocationSize()) {
             // Allocate if there is enough device memory.
             return allocate(sizeInBytes);
@@ -61,7 +61,9 @@ import org.graalvm.compiler.nodes.memory.address.AddressNode;
 import org.graalvm.compiler.phases.Phase;
 
 import jdk.vm.ci.meta.JavaKind;
+import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.TornadoDeviceContext;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkCastNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkFloatingPointIntrinsicsNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkGlobalThreadID;
@@ -71,6 +73,7 @@ import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkOCLWriteNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkVectorLoad;
 import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkVectorValueNode;
 import uk.ac.manchester.tornado.runtime.profiler.FeatureExtractionUtilities;
+import uk.ac.manchester.tornado.runtime.profiler.KernelFeatureRegistry;
 import uk.ac.manchester.tornado.runtime.profiler.ProfilerCodeFeatures;
 
 public class TornadoFeatureExtraction extends Phase {
@@ -90,7 +93,13 @@ public class TornadoFeatureExtraction extends Phase {
 
         irfeatures = extractFeatures(graph, FeatureExtractionUtilities.initializeFeatureMap());
 
-        FeatureExtractionUtilities.emitFeatureProfileJsonFile(irfeatures, graph, tornadoDeviceContext);
+        if (TornadoOptions.COST_MODEL_FEATURES && graph.method() != null) {
+            ResolvedJavaMethod method = graph.method();
+            KernelFeatureRegistry.register(KernelFeatureRegistry.getKernelKey(method.getDeclaringClass().toJavaName(), method.getName(), method.getSignature().toMethodDescriptor()), irfeatures);
+        }
+        if (TornadoOptions.FEATURE_EXTRACTION) {
+            FeatureExtractionUtilities.emitFeatureProfileJsonFile(irfeatures, graph, tornadoDeviceContext);
+        }
     }
 
     private LinkedHashMap<ProfilerCodeFeatures, Integer> extractFeatures(StructuredGraph graph, LinkedHashMap<ProfilerCodeFeatures, Integer> initMap) {
@@ -0,0 +1,227 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common.mm;
+
+import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jdk.vm.ci.hotspot.HotSpotResolvedJavaField;
+import jdk.vm.ci.meta.JavaKind;
+
+/**
+ * Copies the instance fields of an object into the device image of the object
+ * and back. The image follows the layout of the object in the host heap: an
+ * empty hub at {@code hubOffset} followed by every field at its field offset.
+ *
+ * <p>
+ * A serialiser is built once per class and byte order. The fields are resolved
+ * and turned into getter and setter method handles when the serialiser is
+ * built, so copying an object does not look up fields by name and does not box
+ * primitive values.
+ * </p>
+ */
+public final class ObjectSerialiser {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ConcurrentHashMap<Key, ObjectSerialiser> SERIALISERS = new ConcurrentHashMap<>();
+
+    private final Class<?> type;
+    private final int hubOffset;
+    private final FieldAccessor[] accessors;
+
+    private final ValueLayout.OfShort shortLayout;
+    private final ValueLayout.OfChar charLayout;
+    private final ValueLayout.OfInt intLayout;
+    private final ValueLayout.OfFloat floatLayout;
+    private final ValueLayout.OfLong longLayout;
+    private final ValueLayout.OfDouble doubleLayout;
+
+    private ObjectSerialiser(Class<?> type, HotSpotResolvedJavaField[] fields, int hubOffset, ByteOrder byteOrder) {
+        this.type = type;
+        this.hubOffset = hubOffset;
+        // The segments are views of heap byte arrays, which are only byte aligned
+        this.shortLayout = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(byteOrder);
+        this.charLayout = ValueLayout.JAVA_CHAR_UNALIGNED.withOrder(byteOrder);
+        this.intLayout = ValueLayout.JAVA_INT_UNALIGNED.withOrder(byteOrder);
+        this.floatLayout = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(byteOrder);
+        this.longLayout = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(byteOrder);
+        this.doubleLayout = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(byteOrder);
+
+        accessors = new FieldAccessor[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Field field = findField(type, fields[i].getName());
+            accessors[i] = new FieldAccessor(field, fields[i].getJavaKind(), fields[i].getOffset(), getter(field), setter(field));
+        }
+    }
+
+    /**
+     * Returns the serialiser for objects of the given class.
+     *
+     * @param type
+     *     class of the objects to serialise.
+     * @param fields
+     *     instance fields of the class, in the order used by the caller.
+     * @param hubOffset
+     *     offset of the hub within the object.
+     * @param byteOrder
+     *     byte order of the device.
+     * @return the cached serialiser.
+     */
+    public static ObjectSerialiser forType(Class<?> type, HotSpotResolvedJavaField[] fields, int hubOffset, ByteOrder byteOrder) {
+        return SERIALISERS.computeIfAbsent(new Key(type, byteOrder), key -> new ObjectSerialiser(type, fields, hubOffset, byteOrder));
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> klass = type; klass != null; klass = klass.getSuperclass()) {
+            try {
+                Field field = klass.getDeclaredField(name);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException | SecurityException e) {
+                // Keep looking in the super-class
+            }
+        }
+        throw shouldNotReachHere("unable to get field: class=%s, field=%s", type.getName(), name);
+    }
+
+    private static MethodHandle getter(Field field) {
+        try {
+            return LOOKUP.unreflectGetter(field).asType(MethodType.methodType(field.getType(), Object.class));
+        } catch (IllegalAccessException e) {
+            throw shouldNotReachHere("unable to read field: %s", e.getMessage());
+        }
+    }
+
+    private static MethodHandle setter(Field field) {
+        try {
+            return LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, field.getType()));
+        } catch (IllegalAccessException e) {
+            // Final fields of records and hidden classes cannot be updated
+            return null;
+        }
+    }
+
+    /**
+     * Returns the reflected field with the given index.
+     *
+     * @param index
+     *     index of the field in the array given to {@link #forType}.
+     * @return the field.
+     */
+    public Field getField(int index) {
+        return accessors[index].field();
+    }
+
+    /**
+     * Writes the fields of the object into the segment. Reference fields are
+     * written as the values given in {@code references}, which is indexed as the
+     * fields.
+     *
+     * @param object
+     *     object to serialise.
+     * @param segment
+     *     device image of the object.
+     * @param references
+     *     device addresses or offsets of the reference fields.
+     */
+    public void serialise(Object object, MemorySegment segment, long[] references) {
+        segment.set(longLayout, hubOffset, 0L);
+        try {
+            for (int i = 0; i < accessors.length; i++) {
+                FieldAccessor accessor = accessors[i];
+                MethodHandle getter = accessor.getter();
+                long offset = accessor.offset();
+                switch (accessor.kind()) {
+                    case Boolean -> segment.set(ValueLayout.JAVA_BOOLEAN, offset, (boolean) getter.invokeExact(object));
+                    case Byte -> segment.set(ValueLayout.JAVA_BYTE, offset, (byte) getter.invokeExact(object));
+                    case Short -> segment.set(shortLayout, offset, (short) getter.invokeExact(object));
+                    case Char -> segment.set(charLayout, offset, (char) getter.invokeExact(object));
+                    case Int -> segment.set(intLayout, offset, (int) getter.invokeExact(object));
+                    case Float -> segment.set(floatLayout, offset, (float) getter.invokeExact(object));
+                    case Long -> segment.set(longLayout, offset, (long) getter.invokeExact(object));
+                    case Double -> segment.set(doubleLayout, offset, (double) getter.invokeExact(object));
+                    case Object -> segment.set(longLayout, offset, references[i]);
+                    default -> throw shouldNotReachHere("unexpected field kind: %s", accessor.kind());
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw shouldNotReachHere("unable to serialise object of type %s: %s", type.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the primitive fields of the object from the segment. Reference
+     * fields are left untouched.
+     *
+     * @param object
+     *     object to update.
+     * @param segment
+     *     device image of the object.
+     */
+    public void deserialise(Object object, MemorySegment segment) {
+        try {
+            for (FieldAccessor accessor : accessors) {
+                if (accessor.kind() == JavaKind.Object) {
+                    continue;
+                }
+                MethodHandle setter = accessor.setter();
+                if (setter == null) {
+                    throw shouldNotReachHere("unable to update final field: class=%s, field=%s", type.getName(), accessor.field().getName());
+                }
+                long offset = accessor.offset();
+                switch (accessor.kind()) {
+                    case Boolean -> setter.invokeExact(object, segment.get(ValueLayout.JAVA_BOOLEAN, offset));
+                    case Byte -> setter.invokeExact(object, segment.get(ValueLayout.JAVA_BYTE, offset));
+                    case Short -> setter.invokeExact(object, segment.get(shortLayout, offset));
+                    case Char -> setter.invokeExact(object, segment.get(charLayout, offset));
+                    case Int -> setter.invokeExact(object, segment.get(intLayout, offset));
+                    case Float -> setter.invokeExact(object, segment.get(floatLayout, offset));
+                    case Long -> setter.invokeExact(object, segment.get(longLayout, offset));
+                    case Double -> setter.invokeExact(object, segment.get(doubleLayout, offset));
+                    default -> throw shouldNotReachHere("unexpected field kind: %s", accessor.kind());
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw shouldNotReachHere("unable to deserialise object of type %s: %s", type.getName(), e.getMessage());
+        }
+    }
+
+    private record Key(Class<?> type, ByteOrder byteOrder) {
+    }
+
+    private record FieldAccessor(Field field, JavaKind kind, long offset, MethodHandle getter, MethodHandle setter) {
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common.mm;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoOutOfMemoryException;
+
+/**
+ * Arena whose segments are allocated in page-locked host memory. Native arrays
+ * allocated in this arena (e.g., {@code new FloatArray(size, arena)}) are copied
+ * to and from the device with DMA, without staging.
+ */
+public class PinnedArena implements Arena {
+
+    /**
+     * Page-locked allocations are aligned to the page size.
+     */
+    private static final long MAX_ALIGNMENT = 4096;
+
+    /**
+     * Address and size of all live page-locked allocations.
+     */
+    private static final NavigableMap<Long, Long> PINNED_REGIONS = new ConcurrentSkipListMap<>();
+
+    private final Arena arena;
+    private final HostMemoryAllocator allocator;
+    private final List<Long> addresses;
+
+    public PinnedArena(HostMemoryAllocator allocator) {
+        this.arena = Arena.ofShared();
+        this.allocator = allocator;
+        this.addresses = new ArrayList<>();
+    }
+
+    /**
+     * Checks whether the host memory region is within a page-locked allocation.
+     */
+    public static boolean isPinned(long address, long numBytes) {
+        Map.Entry<Long, Long> region = PINNED_REGIONS.floorEntry(address);
+        return region != null && address + numBytes <= region.getKey() + region.getValue();
+    }
+
+    @Override
+    public MemorySegment allocate(long byteSize, long byteAlignment) {
+        if (byteAlignment > MAX_ALIGNMENT) {
+            throw new IllegalArgumentException(STR."[ERROR] Unsupported alignment for pinned memory: \{byteAlignment}");
+        }
+        final long numBytes = Math.max(byteSize, 1);
+        final long address;
+        synchronized (addresses) {
+            address = allocator.allocate(numBytes);
+            if (address == 0) {
+                throw new TornadoOutOfMemoryException(STR."[ERROR] Unable to allocate \{numBytes} bytes of pinned memory");
+            }
+            addresses.add(address);
+        }
+        PINNED_REGIONS.put(address, numBytes);
+        return MemorySegment.ofAddress(address).reinterpret(byteSize, arena, null);
+    }
+
+    @Override
+    public MemorySegment.Scope scope() {
+        return arena.scope();
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+        synchronized (addresses) {
+            for (long address : addresses) {
+                PINNED_REGIONS.remove(address);
+                allocator.free(address);
+            }
+            addresses.clear();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common.mm;
+
+import java.lang.foreign.MemorySegment;
+
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool.StagingBuffer;
+
+/**
+ * Copies between pageable host memory and a device buffer through two pinned
+ * staging buffers. While the device copies one chunk with DMA, the host copies
+ * the next (or previous) chunk into (or out of) the other staging buffer.
+ */
+public final class StagedTransfer {
+
+    /**
+     * Driver operations used by a staged transfer.
+     */
+    public interface ChunkTransfer {
+
+        /**
+         * Enqueues an asynchronous copy of {@code numBytes} between the staging
+         * buffer at {@code stagingAddress} and the device buffer at
+         * {@code deviceOffset}.
+         *
+         * @return The event of the copy.
+         */
+        int enqueue(long stagingAddress, long deviceOffset, long numBytes);
+
+        void waitFor(int event);
+
+        /**
+         * Returns the staging buffer to the pool once the copy of {@code event} has
+         * completed, without waiting for it.
+         */
+        void releaseAfter(StagingBufferPool pool, StagingBuffer buffer, int event);
+    }
+
+    private static final int NO_EVENT = -1;
+
+    private StagedTransfer() {
+    }
+
+    private static StagingBuffer[] acquireBuffers(StagingBufferPool pool, long numBytes) {
+        StagingBuffer first = pool.acquire(numBytes);
+        StagingBuffer second = first != null ? pool.acquire(numBytes) : null;
+        if (second == null) {
+            if (first != null) {
+                pool.release(first);
+            }
+            return null;
+        }
+        return new StagingBuffer[] { first, second };
+    }
+
+    private static void releaseBuffers(StagingBufferPool pool, StagingBuffer[] buffers, int[] pending, ChunkTransfer transfer) {
+        for (int i = 0; i < buffers.length; i++) {
+            if (pending[i] != NO_EVENT) {
+                transfer.waitFor(pending[i]);
+            }
+            pool.release(buffers[i]);
+        }
+    }
+
+    /**
+     * Copies {@code numBytes} from {@code source} to the device. A non-blocking
+     * write returns once the last chunk is in a staging buffer: the staging
+     * buffers still being copied are chained on their events and go back to the
+     * pool when the copies complete.
+     *
+     * @return The event of the last chunk, or -1 if the staging buffers could not
+     *     be allocated. In that case nothing was copied.
+     */
+    public static int write(StagingBufferPool pool, MemorySegment source, long numBytes, boolean blocking, ChunkTransfer transfer) {
+        StagingBuffer[] buffers = acquireBuffers(pool, numBytes);
+        if (buffers == null) {
+            return NO_EVENT;
+        }
+        final long chunkSize = buffers[0].size();
+        int[] pending = { NO_EVENT, NO_EVENT };
+        int lastEvent = NO_EVENT;
+        int slot = 0;
+        for (long offset = 0; offset < numBytes; offset += chunkSize) {
+            if (pending[slot] != NO_EVENT) {
+                // The DMA that reads this staging buffer must finish before it is overwritten
+                transfer.waitFor(pending[slot]);
+            }
+            long length = Math.min(chunkSize, numBytes - offset);
+            MemorySegment.copy(source, offset, buffers[slot].asSegment(), 0, length);
+            lastEvent = transfer.enqueue(buffers[slot].address(), offset, length);
+            pending[slot] = lastEvent;
+            slot ^= 1;
+        }
+        if (blocking) {
+            releaseBuffers(pool, buffers, pending, transfer);
+        } else {
+            for (int i = 0; i < buffers.length; i++) {
+                if (pending[i] != NO_EVENT) {
+                    transfer.releaseAfter(pool, buffers[i], pending[i]);
+                } else {
+                    pool.release(buffers[i]);
+                }
+            }
+        }
+        return lastEvent;
+    }
+
+    /**
+     * Copies {@code numBytes} from the device to {@code destination}. The call
+     * returns once the data is in {@code destination}.
+     *
+     * @return The event of the last chunk, or -1 if the staging buffers could not
+     *     be allocated. In that case nothing was copied.
+     */
+    public static int read(StagingBufferPool pool, MemorySegment destination, long numBytes, ChunkTransfer transfer) {
+        StagingBuffer[] buffers = acquireBuffers(pool, numBytes);
+        if (buffers == null) {
+            return NO_EVENT;
+        }
+        final long chunkSize = buffers[0].size();
+        int[] pending = { NO_EVENT, NO_EVENT };
+        long[] offsets = new long[2];
+        int lastEvent = NO_EVENT;
+        int slot = 0;
+        for (long offset = 0; offset < numBytes; offset += chunkSize) {
+            long length = Math.min(chunkSize, numBytes - offset);
+            lastEvent = transfer.enqueue(buffers[slot].address(), offset, length);
+            pending[slot] = lastEvent;
+            offsets[slot] = offset;
+            // Copy out the previous chunk while the device copies this one
+            slot ^= 1;
+            copyOut(buffers[slot], pending, offsets, slot, destination, numBytes, transfer);
+        }
+        slot ^= 1;
+        copyOut(buffers[slot], pending, offsets, slot, destination, numBytes, transfer);
+        releaseBuffers(pool, buffers, pending, transfer);
+        return lastEvent;
+    }
+
+    private static void copyOut(StagingBuffer buffer, int[] pending, long[] offsets, int slot, MemorySegment destination, long numBytes, ChunkTransfer transfer) {
+        if (pending[slot] == NO_EVENT) {
+            return;
+        }
+        transfer.waitFor(pending[slot]);
+        pending[slot] = NO_EVENT;
+        long length = Math.min(buffer.size(), numBytes - offsets[slot]);
+        MemorySegment.copy(buffer.asSegment(), 0, destination, offsets[slot], length);
+    }
+}
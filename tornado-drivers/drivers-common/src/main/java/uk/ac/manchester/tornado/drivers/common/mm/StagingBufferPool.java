@@ -0,0 +1,120 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.common.mm;
+
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pool of host staging buffers allocated with a {@link HostMemoryAllocator}.
+ * Buffers are grouped in power-of-two size classes and recycled once they are
+ * released, so the (expensive) page-locked allocations only happen the first
+ * time a size class is used.
+ */
+public class StagingBufferPool {
+
+    /**
+     * Smallest size class.
+     */
+    public static final long MIN_BUFFER_SIZE = 64 * 1024;
+
+    private final HostMemoryAllocator allocator;
+    private final long maxBufferSize;
+    private final Map<Long, ArrayDeque<StagingBuffer>> freeBuffers;
+    private final List<StagingBuffer> allocatedBuffers;
+
+    public record StagingBuffer(long address, long size) {
+
+        public MemorySegment asSegment() {
+            return MemorySegment.ofAddress(address).reinterpret(size);
+        }
+    }
+
+    /**
+     * @param allocator
+     *     Allocator for the host memory of the buffers.
+     * @param maxBufferSize
+     *     Size of the largest buffer. Larger requests receive a buffer of
+     *     this size and must be copied in chunks.
+     */
+    public StagingBufferPool(HostMemoryAllocator allocator, long maxBufferSize) {
+        this.allocator = allocator;
+        this.maxBufferSize = sizeClass(maxBufferSize);
+        this.freeBuffers = new HashMap<>();
+        this.allocatedBuffers = new ArrayList<>();
+    }
+
+    public static long sizeClass(long numBytes) {
+        if (numBytes <= MIN_BUFFER_SIZE) {
+            return MIN_BUFFER_SIZE;
+        }
+        return Long.highestOneBit(numBytes - 1) << 1;
+    }
+
+    public long getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    /**
+     * Returns a buffer of at least {@code min(numBytes, maxBufferSize)} bytes.
+     *
+     * @return The buffer, or null if the host memory could not be allocated.
+     */
+    public synchronized StagingBuffer acquire(long numBytes) {
+        final long size = Math.min(sizeClass(numBytes), maxBufferSize);
+        ArrayDeque<StagingBuffer> buffers = freeBuffers.get(size);
+        if (buffers != null && !buffers.isEmpty()) {
+            return buffers.pop();
+        }
+        long address = allocator.allocate(size);
+        if (address == 0) {
+            return null;
+        }
+        StagingBuffer buffer = new StagingBuffer(address, size);
+        allocatedBuffers.add(buffer);
+        return buffer;
+    }
+
+    public synchronized void release(StagingBuffer buffer) {
+        freeBuffers.computeIfAbsent(buffer.size(), size -> new ArrayDeque<>()).push(buffer);
+    }
+
+    public synchronized int getNumberOfAllocations() {
+        return allocatedBuffers.size();
+    }
+
+    /**
+     * Frees the host memory of all buffers. Buffers must not be in use.
+     */
+    public synchronized void free() {
+        for (StagingBuffer buffer : allocatedBuffers) {
+            allocator.free(buffer.address());
+        }
+        allocatedBuffers.clear();
+        freeBuffers.clear();
+    }
+}
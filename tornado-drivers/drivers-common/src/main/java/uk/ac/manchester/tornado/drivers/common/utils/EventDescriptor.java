@@ -40,6 +40,8 @@ public enum EventDescriptor {
     DESC_READ_FLOAT("readFromDevice - float[]"),
     DESC_READ_DOUBLE("readFromDevice - double[]"),
     DESC_READ_SEGMENT("readFromDevice - long"),
+    DESC_MAP_SEGMENT("mapBuffer - long"),
+    DESC_UNMAP_SEGMENT("unmapBuffer - long"),
     DESC_SYNC_MARKER("sync - marker"),
     DESC_SYNC_BARRIER("sync - barrier"),
     EVENT_NONE("none");
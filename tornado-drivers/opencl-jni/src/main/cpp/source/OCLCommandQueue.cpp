@@ -193,6 +193,51 @@ JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQ
     return (jlong) event;
 }
 
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueMapBuffer
+ * Signature: (JJZJJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueMapBuffer
+(JNIEnv *env, jclass clazz, jlong queue_id, jlong device_ptr, jboolean blocking, jlong map_flags, jlong offset, jlong num_bytes, jlongArray array) {
+    jlong *arrayEvents = static_cast<jlong *>((array != NULL) ? env->GetPrimitiveArrayCritical(array, NULL) : NULL);
+    jlong *events = (array != NULL) ? &arrayEvents[1] : NULL;
+    jsize len = (array != NULL) ? arrayEvents[0] : 0;
+
+    cl_bool blocking_map = blocking ? CL_TRUE : CL_FALSE;
+    cl_event event;
+    cl_int status;
+    // Buffers created with CL_MEM_USE_HOST_PTR are mapped at host_ptr + offset, so the
+    // pointer returned is not needed to unmap the region later.
+    clEnqueueMapBuffer((cl_command_queue) queue_id, (cl_mem) device_ptr, blocking_map, (cl_map_flags) map_flags,
+                       (size_t) offset, (size_t) num_bytes, (cl_uint) len, (cl_event *) events, &event, &status);
+    LOG_OCL_AND_VALIDATE("clEnqueueMapBuffer", status);
+    if (array != NULL) {
+        env->ReleasePrimitiveArrayCritical(array, arrayEvents, JNI_ABORT);
+    }
+    return (jlong) event;
+}
+
+/*
+ * Class:     uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue
+ * Method:    clEnqueueUnmapMemObject
+ * Signature: (JJJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_uk_ac_manchester_tornado_drivers_opencl_OCLCommandQueue_clEnqueueUnmapMemObject
+(JNIEnv *env, jclass clazz, jlong queue_id, jlong device_ptr, jlong mapped_ptr, jlongArray array) {
+    jlong *arrayEvents = static_cast<jlong *>((array != NULL) ? env->GetPrimitiveArrayCritical(array, NULL) : NULL);
+    jlong *events = (array != NULL) ? &arrayEvents[1] : NULL;
+    jsize len = (array != NULL) ? arrayEvents[0] : 0;
+
+    cl_event event;
+    cl_int status = clEnqueueUnmapMemObject((cl_command_queue) queue_id, (cl_mem) device_ptr, (void *) mapped_ptr, (cl_uint) len, (cl_event *) events, &event);
+    LOG_OCL_AND_VALIDATE("clEnqueueUnmapMemObject", status);
+    if (array != NULL) {
+        env->ReleasePrimitiveArrayCritical(array, arrayEvents, JNI_ABORT);
+    }
+    return (jlong) event;
+}
+
 jlong transferFromHostToDevice(JNIEnv * env, jclass javaClass,
                                jlong commandQueue,          // Pointer to the OpenCL Command Queue
                                jbyteArray hostArray,        // Host Array
@@ -32,6 +32,7 @@ import java.nio.ByteBuffer;
 
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMapFlags;
 import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
 import uk.ac.manchester.tornado.runtime.EmptyEvent;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
@@ -126,6 +127,10 @@ public class OCLCommandQueue {
 
     static native long clEnqueueBarrierWithWaitList(long queueId, long[] events) throws OCLException;
 
+    static native long clEnqueueMapBuffer(long queueId, long ptr, boolean blocking, long mapFlags, long offset, long bytes, long[] events) throws OCLException;
+
+    static native long clEnqueueUnmapMemObject(long queueId, long ptr, long mappedPointer, long[] events) throws OCLException;
+
     static native void clFlush(long queueId) throws OCLException;
 
     static native void clFinish(long queueId) throws OCLException;
@@ -364,6 +369,32 @@ public class OCLCommandQueue {
         }
     }
 
+    /**
+     * Maps a region of a buffer created with {@code CL_MEM_USE_HOST_PTR}. Once the
+     * map completes, the host pointer holds the contents of the buffer.
+     */
+    public long enqueueMapBuffer(long devicePtr, boolean blocking, long mapFlags, long offset, long bytes, long[] waitEvents) {
+        if (openclVersion < 120 && (mapFlags & OCLMapFlags.CL_MAP_WRITE_INVALIDATE_REGION) != 0) {
+            mapFlags = (mapFlags & ~OCLMapFlags.CL_MAP_WRITE_INVALIDATE_REGION) | OCLMapFlags.CL_MAP_WRITE;
+        }
+        try {
+            return clEnqueueMapBuffer(commandQueuePtr, devicePtr, blocking, mapFlags, offset, bytes, waitEvents);
+        } catch (OCLException e) {
+            TornadoLogger.error(e.getMessage());
+            throw new TornadoBailoutRuntimeException(e.getMessage());
+        }
+    }
+
+    public long enqueueUnmapBuffer(long devicePtr, long mappedPointer, long[] waitEvents) {
+        guarantee(mappedPointer != 0, "null mapped pointer");
+        try {
+            return clEnqueueUnmapMemObject(commandQueuePtr, devicePtr, mappedPointer, waitEvents);
+        } catch (OCLException e) {
+            TornadoLogger.error(e.getMessage());
+            throw new TornadoBailoutRuntimeException(e.getMessage());
+        }
+    }
+
     public void finish() {
         try {
             clFinish(commandQueuePtr);
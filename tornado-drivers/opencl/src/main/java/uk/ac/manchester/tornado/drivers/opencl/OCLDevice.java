@@ -167,6 +167,7 @@ public class OCLDevice implements OCLTargetDevice {
         return deviceVendorID;
     }
 
+    @Override
     public int getDeviceMemoryBaseAlignment() {
         if (deviceMemoryBaseAlignment != INIT_VALUE) {
             return deviceMemoryBaseAlignment;
@@ -396,6 +397,7 @@ public class OCLDevice implements OCLTargetDevice {
         return deviceAddressBits;
     }
 
+    @Override
     public boolean hasDeviceUnifiedMemory() {
         queryOpenCLAPI(OCLDeviceInfo.CL_DEVICE_HOST_UNIFIED_MEMORY.getValue());
         return buffer.getInt() == OpenCL.CL_TRUE;
@@ -145,6 +145,7 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
             commandQueue.flush();
         }
         commandQueue.finish();
+        getOCLEventPool(executionPlanId).releaseEventsAhead();
     }
 
     @Override
@@ -274,11 +275,7 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
     }
 
     private OCLEventPool getOCLEventPool(long executionPlanId) {
-        if (!oclEventPool.containsKey(executionPlanId)) {
-            OCLEventPool eventPool = new OCLEventPool(EVENT_WINDOW);
-            oclEventPool.put(executionPlanId, eventPool);
-        }
-        return oclEventPool.get(executionPlanId);
+        return oclEventPool.computeIfAbsent(executionPlanId, id -> new OCLEventPool(EVENT_WINDOW));
     }
 
     public int enqueueWriteBuffer(long executionPlanId, long bufferId, long deviceOffset, long bytes, long hostPointer, long hostOffset, int[] waitEvents) {
@@ -493,6 +490,25 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
                 : null), EventDescriptor.DESC_READ_SEGMENT, commandQueue);
     }
 
+    /*
+     * Map and unmap buffers that wrap host memory
+     */
+    public int mapBuffer(long executionPlanId, long bufferId, boolean blocking, long mapFlags, long offset, long bytes, int[] waitEvents) {
+        OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
+        OCLEventPool eventPool = getOCLEventPool(executionPlanId);
+        return eventPool.registerEvent(commandQueue.enqueueMapBuffer(bufferId, blocking, mapFlags, offset, bytes, eventPool.serialiseEvents(waitEvents, commandQueue)
+                ? eventPool.waitEventsBuffer
+                : null), EventDescriptor.DESC_MAP_SEGMENT, commandQueue);
+    }
+
+    public int unmapBuffer(long executionPlanId, long bufferId, long mappedPointer, int[] waitEvents) {
+        OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
+        OCLEventPool eventPool = getOCLEventPool(executionPlanId);
+        return eventPool.registerEvent(commandQueue.enqueueUnmapBuffer(bufferId, mappedPointer, eventPool.serialiseEvents(waitEvents, commandQueue)
+                ? eventPool.waitEventsBuffer
+                : null), EventDescriptor.DESC_UNMAP_SEGMENT, commandQueue);
+    }
+
     @Override
     public int enqueueBarrier(long executionPlanId, int[] events) {
         OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
@@ -597,6 +613,8 @@ public class OCLDeviceContext implements OCLDeviceContextInterface {
     public void flush(long executionPlanId) {
         OCLCommandQueue commandQueue = getCommandQueue(executionPlanId);
         commandQueue.flush();
+        // The commands are already submitted, so the old events can be released
+        getOCLEventPool(executionPlanId).releaseEventsAhead();
     }
 
     public void finish(long executionPlanId) {
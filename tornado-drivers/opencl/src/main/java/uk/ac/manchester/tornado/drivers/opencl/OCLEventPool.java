@@ -23,7 +23,6 @@
 
 package uk.ac.manchester.tornado.drivers.opencl;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
 import static uk.ac.manchester.tornado.drivers.opencl.enums.OCLCommandQueueProperties.CL_QUEUE_OUT_OF_ORDER_EXEC_MODE_ENABLE;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.MAX_WAIT_EVENTS;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.debug;
@@ -31,11 +30,12 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.fatal;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EVENTS;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 
+import uk.ac.manchester.tornado.drivers.common.EventRing;
 import uk.ac.manchester.tornado.drivers.common.utils.EventDescriptor;
+import uk.ac.manchester.tornado.drivers.opencl.exceptions.OCLException;
+import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
 
 /**
  * Class which holds mapping between OpenCL events and TornadoVM runtime events,
@@ -44,6 +44,8 @@ import uk.ac.manchester.tornado.drivers.common.utils.EventDescriptor;
  *
  * <p>
  * Each device holds an event pool. Only one instance of the pool per device.
+ * The slots of the pool are recycled through an {@link EventRing}, which
+ * releases the OpenCL events in batches when the command queue is flushed.
  * </p>
  *
  * <p>
@@ -55,31 +57,18 @@ class OCLEventPool {
     protected final long[] waitEventsBuffer;
     private final long[] events;
     private final EventDescriptor[] descriptors;
-    private final BitSet retain;
     private final OCLCommandQueue[] eventQueues;
-    private final OCLEvent internalEvent;
-    private int eventIndex;
-    private int eventPoolSize;
+    private final EventRing ring;
 
     protected OCLEventPool(int poolSize) {
-        this.eventPoolSize = poolSize;
-        this.retain = new BitSet(eventPoolSize);
-        this.retain.clear();
-        this.events = new long[eventPoolSize];
-        this.descriptors = new EventDescriptor[eventPoolSize];
-        this.eventQueues = new OCLCommandQueue[eventPoolSize];
-        this.eventIndex = 0;
+        this.events = new long[poolSize];
+        this.descriptors = new EventDescriptor[poolSize];
+        this.eventQueues = new OCLCommandQueue[poolSize];
         this.waitEventsBuffer = new long[MAX_WAIT_EVENTS];
-        this.internalEvent = new OCLEvent();
+        this.ring = new EventRing(poolSize, CIRCULAR_EVENTS, this::releaseOCLEvent);
     }
 
     protected int registerEvent(long oclEventId, EventDescriptor descriptorId, OCLCommandQueue queue) {
-        if (retain.get(eventIndex)) {
-            findNextEventSlot();
-        }
-        final int currentEvent = eventIndex;
-        guarantee(!retain.get(currentEvent), "overwriting retained event");
-
         /*
          * OpenCL can produce an out of resources error which results in an invalid
          * event (-1). If this happens, then we log a fatal exception and gracefully
@@ -91,27 +80,24 @@ class OCLEventPool {
             System.exit(-1);
         }
 
-        if (events[currentEvent] > 0 && !retain.get(currentEvent)) {
-            internalEvent.setEventId(currentEvent, events[currentEvent]);
-            releaseEvent(currentEvent);
-            internalEvent.release();
-        }
+        final int currentEvent = ring.claim();
         events[currentEvent] = oclEventId;
         descriptors[currentEvent] = descriptorId;
         eventQueues[currentEvent] = queue;
-
-        findNextEventSlot();
+        ring.publish(currentEvent);
         return currentEvent;
     }
 
-    private void findNextEventSlot() {
-        eventIndex = retain.nextClearBit(eventIndex + 1);
-
-        if (CIRCULAR_EVENTS && (eventIndex >= events.length)) {
-            eventIndex = 0;
+    private void releaseOCLEvent(int localEventID) {
+        final long oclEventId = events[localEventID];
+        events[localEventID] = 0;
+        if (oclEventId > 0) {
+            try {
+                OCLEvent.clReleaseEvent(oclEventId);
+            } catch (OCLException e) {
+                TornadoLogger.error(e.getMessage());
+            }
         }
-
-        guarantee(eventIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), eventPoolSize);
     }
 
     protected boolean serialiseEvents(int[] dependencies, OCLCommandQueue queue) {
@@ -120,8 +106,8 @@ class OCLEventPool {
             return false;
         }
 
-        Arrays.fill(waitEventsBuffer, 0);
-
+        // The first element holds the number of events, so the rest of the buffer
+        // does not need to be cleared
         int index = 0;
         for (final int value : dependencies) {
             if (value != -1) {
@@ -137,9 +123,9 @@ class OCLEventPool {
 
     public List<OCLEvent> getEvents() {
         List<OCLEvent> result = new ArrayList<>();
-        for (int i = 0; i < eventIndex; i++) {
+        for (int i = 0; i < ring.getUsedSlots(); i++) {
             final long eventId = events[i];
-            if (eventId <= 0) {
+            if (eventId <= 0 || !ring.isLive(i)) {
                 continue;
             }
             result.add(new OCLEvent(getDescriptor(i).getNameDescription(), eventQueues[i], i, eventId));
@@ -147,24 +133,24 @@ class OCLEventPool {
         return result;
     }
 
+    /**
+     * Releases the OpenCL events of the slots that the next registrations will
+     * use. It is called once the commands of the queue have been flushed.
+     */
+    protected void releaseEventsAhead() {
+        ring.releaseAhead();
+    }
+
     protected void reset() {
-        for (int index = 0; index < events.length; index++) {
-            if (events[index] > 0) {
-                internalEvent.setEventId(index, events[index]);
-                releaseEvent(index);
-                internalEvent.release();
-            }
-        }
-        Arrays.fill(events, 0);
-        eventIndex = 0;
+        ring.reset();
     }
 
     protected void retainEvent(int localEventID) {
-        retain.set(localEventID);
+        ring.retain(localEventID);
     }
 
     protected void releaseEvent(int localEventID) {
-        retain.clear(localEventID);
+        ring.unretain(localEventID);
     }
 
     protected long getOCLEvent(int localEventID) {
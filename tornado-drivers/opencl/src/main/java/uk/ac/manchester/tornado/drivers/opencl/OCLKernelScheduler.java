@@ -122,6 +122,11 @@ public abstract class OCLKernelScheduler {
             if (!meta.isLocalWorkDefined()) {
                 calculateLocalWork(meta);
             }
+            if (meta.getRequiredLocalWork() != null) {
+                // The kernel was compiled for a fixed work-group size (e.g., local memory tiles)
+                long[] required = meta.getRequiredLocalWork();
+                System.arraycopy(required, 0, meta.getLocalWork(), 0, required.length);
+            }
         } else {
             checkLocalWorkGroupFitsOnDevice(meta);
         }
@@ -54,6 +54,10 @@ public interface OCLTargetDevice extends TornadoTargetDevice {
 
     boolean isLittleEndian();
 
+    boolean hasDeviceUnifiedMemory();
+
+    int getDeviceMemoryBaseAlignment();
+
     OCLDeviceContextInterface getDeviceContext();
 
     void setDeviceContext(OCLDeviceContextInterface deviceContext);
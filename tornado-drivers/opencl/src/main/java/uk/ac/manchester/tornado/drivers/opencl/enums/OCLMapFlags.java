@@ -0,0 +1,41 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.opencl.enums;
+
+/**
+ * OpenCL flags for mapping buffer objects into the host address space.
+ *
+ * Link: https://github.com/KhronosGroup/OpenCL-Headers/blob/master/CL/cl.h
+ *
+ */
+public class OCLMapFlags {
+
+    // @formatter:off
+    public static final long CL_MAP_READ                    = (1 << 0);
+    public static final long CL_MAP_WRITE                   = (1 << 1);
+    public static final long CL_MAP_WRITE_INVALIDATE_REGION = (1 << 2);
+    // @formatter:on
+
+    private OCLMapFlags() {
+    }
+}
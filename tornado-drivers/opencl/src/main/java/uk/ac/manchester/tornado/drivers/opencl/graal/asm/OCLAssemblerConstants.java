@@ -32,6 +32,8 @@ public class OCLAssemblerConstants {
     public static final String LOCAL_MEM_MODIFIER = "__local";
     public static final String PRIVATE_MEM_MODIFIER = "__private";
     public static final String CONSTANT_MEM_MODIFIER = "__constant";
+    public static final String CONST_QUALIFIER = "const";
+    public static final String RESTRICT_QUALIFIER = "restrict";
 
     public static final String GLOBAL_REGION_NAME = "_global_region";
     public static final String LOCAL_REGION_NAME = "_local_region";
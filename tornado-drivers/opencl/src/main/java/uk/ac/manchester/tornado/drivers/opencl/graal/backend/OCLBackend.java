@@ -69,6 +69,7 @@ import jdk.vm.ci.meta.Local;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import jdk.vm.ci.meta.ResolvedJavaType;
 import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.internal.annotations.Vector;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
@@ -310,10 +311,15 @@ public class OCLBackend extends XPUBackend<OCLProviders> implements FrameMap.Ref
 
                 asm.emitSymbol(attribute);
                 asm.emitLine("");
+            } else if (crb.getTaskMetaData() != null && crb.getTaskMetaData().getRequiredLocalWork() != null) {
+                long[] local = crb.getTaskMetaData().getRequiredLocalWork();
+                asm.emitSymbol(FPGAWorkGroupSizeNode.FPGA_THREAD_ATTRIBUTE_PREFIX + local[0] + ", " + (local.length > 1 ? local[1] : 1) + ", " + (local.length > 2 ? local[2] : 1)
+                        + FPGAWorkGroupSizeNode.FPGA_THREAD_ATTRIBUTE_SUFFIX);
+                asm.emitLine("");
             }
 
             asm.emit("%s void %s(%s", OCLAssemblerConstants.KERNEL_MODIFIER, methodName, architecture.getABI());
-            emitMethodParameters(asm, method, incomingArguments, true);
+            emitMethodParameters(asm, method, incomingArguments, true, crb.getTaskMetaData());
             asm.emitLine(")");
 
             asm.beginScope();
@@ -342,7 +348,7 @@ public class OCLBackend extends XPUBackend<OCLProviders> implements FrameMap.Ref
             }
             asm.emit("%s %s(%s", returnStr, methodName, architecture.getABI());
 
-            emitMethodParameters(asm, method, incomingArguments, false);
+            emitMethodParameters(asm, method, incomingArguments, false, null);
             asm.emit(")");
             asm.eol();
             asm.beginScope();
@@ -359,7 +365,15 @@ public class OCLBackend extends XPUBackend<OCLProviders> implements FrameMap.Ref
         return parameterName;
     }
 
-    private void emitMethodParameters(OCLAssembler asm, ResolvedJavaMethod method, CallingConvention incomingArguments, boolean isKernel) {
+    /**
+     * A kernel parameter is declared as restrict (and const when it is only read)
+     * if the runtime determined that all array arguments of the task are distinct.
+     */
+    private static boolean isNoAliasParameter(TaskMetaData taskMetaData, int index) {
+        return taskMetaData != null && taskMetaData.isNoAliasArguments() && index < taskMetaData.getArgumentsAccess().length;
+    }
+
+    private void emitMethodParameters(OCLAssembler asm, ResolvedJavaMethod method, CallingConvention incomingArguments, boolean isKernel, TaskMetaData taskMetaData) {
         final Local[] locals = method.getLocalVariableTable().getLocalsAt(0);
 
         for (int i = 0; i < incomingArguments.getArgumentCount(); i++) {
@@ -380,7 +394,12 @@ public class OCLBackend extends XPUBackend<OCLProviders> implements FrameMap.Ref
                     }
                     asm.emit(", ");
                     String parameterName = getParameterName(locals[i]);
-                    asm.emit("__global %s *%s", "uchar", parameterName);
+                    if (isNoAliasParameter(taskMetaData, i)) {
+                        String qualifier = (taskMetaData.getArgumentsAccess()[i] == Access.READ_ONLY) ? OCLAssemblerConstants.CONST_QUALIFIER + " " : "";
+                        asm.emit("%s__global %s * %s %s", qualifier, "uchar", OCLAssemblerConstants.RESTRICT_QUALIFIER, parameterName);
+                    } else {
+                        asm.emit("__global %s *%s", "uchar", parameterName);
+                    }
                 }
             } else {
                 final AllocatableValue param = incomingArguments.getArgument(i);
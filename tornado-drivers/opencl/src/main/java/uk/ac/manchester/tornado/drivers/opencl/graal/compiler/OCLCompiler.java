@@ -94,6 +94,7 @@ import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoCompilerIdentifier
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoLowTierContext;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoMidTierContext;
+import uk.ac.manchester.tornado.runtime.profiler.CompilationRecorder;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -135,7 +136,7 @@ public class OCLCompiler {
             if (r.meta != null && (r.meta.isParallel() || (r.meta.isGridSchedulerEnabled() && !r.meta.isGridSequential()))) {
                 isParallel = true;
             }
-            emitBackEnd(r.graph, null, r.installedCodeOwner, r.backend, r.compilationResult, null, r.lirSuites, r.isKernel, isParallel, r.profiler);
+            emitBackEnd(r.graph, null, r.installedCodeOwner, r.backend, r.compilationResult, null, r.lirSuites, r.isKernel, isParallel, r.profiler, r.meta);
         } catch (Throwable e) {
             throw getDebugContext().handle(e);
         }
@@ -177,16 +178,16 @@ public class OCLCompiler {
                     getDebugContext().dump(DebugContext.INFO_LEVEL, graph, "initial state");
                 }
             }
-            suites.getHighTier().apply(graph, highTierContext);
+            CompilationRecorder.applyTier(meta, CompilationRecorder.HIGH_TIER, suites.getHighTier(), graph, highTierContext);
             graph.maybeCompress();
 
             final TornadoMidTierContext midTierContext = new TornadoMidTierContext(providers, backend, optimisticOpts, profilingInfo, method, args, meta);
-            suites.getMidTier().apply(graph, midTierContext);
+            CompilationRecorder.applyTier(meta, CompilationRecorder.MID_TIER, suites.getMidTier(), graph, midTierContext);
 
             graph.maybeCompress();
 
             final TornadoLowTierContext lowTierContext = new TornadoLowTierContext(providers, backend, meta);
-            suites.getLowTier().apply(graph, lowTierContext);
+            CompilationRecorder.applyTier(meta, CompilationRecorder.LOW_TIER, suites.getLowTier(), graph, lowTierContext);
 
             getDebugContext().dump(DebugContext.BASIC_LEVEL, graph.getLastSchedule(), "Final HIR schedule");
         } catch (Throwable e) {
@@ -195,13 +196,22 @@ public class OCLCompiler {
     }
 
     private static <T extends OCLCompilationResult> void emitBackEnd(StructuredGraph graph, Object stub, ResolvedJavaMethod installedCodeOwner, OCLBackend backend, T compilationResult,
-            RegisterConfig registerConfig, TornadoLIRSuites lirSuites, boolean isKernel, boolean isParallel, TornadoProfiler profiler) {
+            RegisterConfig registerConfig, TornadoLIRSuites lirSuites, boolean isKernel, boolean isParallel, TornadoProfiler profiler, TaskMetaData meta) {
         try (DebugContext.Scope s = getDebugContext().scope("OpenCLBackend", graph.getLastSchedule()); DebugCloseable a = BackEnd.start(getDebugContext())) {
+            final CompilationRecorder recorder = CompilationRecorder.of(meta);
             LIRGenerationResult lirGen = null;
+            long start = System.nanoTime();
             lirGen = emitLIR(backend, graph, stub, registerConfig, lirSuites, compilationResult, isKernel);
+            if (recorder != null) {
+                recorder.addLIRGenerationTime(System.nanoTime() - start);
+            }
             try (DebugContext.Scope s2 = getDebugContext().scope("OpenCLCodeGen", lirGen, lirGen.getLIR())) {
                 compilationResult.setHasUnsafeAccess(graph.hasUnsafeAccess());
+                start = System.nanoTime();
                 emitCode(backend, graph.getAssumptions(), graph.method(), graph.getMethods(), lirGen, compilationResult, installedCodeOwner, isKernel, isParallel, profiler);
+                if (recorder != null) {
+                    recorder.addCodeEmissionTime(System.nanoTime() - start);
+                }
             } catch (Throwable e) {
                 throw getDebugContext().handle(e);
             }
@@ -51,6 +51,7 @@ import uk.ac.manchester.tornado.drivers.common.compiler.phases.memalloc.TornadoL
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.memalloc.TornadoNewArrayDevirtualizationReplacement;
 import uk.ac.manchester.tornado.drivers.common.compiler.phases.memalloc.TornadoPrivateArrayPiRemoval;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoHalfFloatReplacement;
+import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoLocalMemoryTiling;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoOpenCLIntrinsicsReplacements;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoParallelScheduler;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoTaskSpecialisation;
@@ -126,6 +127,10 @@ public class OCLHighTier extends TornadoHighTier {
 
         appendPhase(new TornadoLocalMemoryAllocation());
 
+        if (!deviceContext.isPlatformFPGA()) {
+            appendPhase(new TornadoLocalMemoryTiling());
+        }
+
         appendPhase(new ExceptionSuppression());
     }
 
@@ -49,6 +49,7 @@ import uk.ac.manchester.tornado.drivers.opencl.graal.phases.OCLFPGAThreadSchedul
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoAtomicsParametersPhase;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoAtomicsScheduling;
 import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoHalfFloatVectorOffset;
+import uk.ac.manchester.tornado.drivers.opencl.graal.phases.TornadoMemoryAccessVectorisation;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoLowTier;
 
@@ -76,6 +77,10 @@ public class OCLLowTier extends TornadoLowTier {
         }
         appendPhase(new UseTrappingNullChecksPhase());
 
+        if (TornadoOptions.VECTORISE_MEMORY_ACCESSES) {
+            appendPhase(new TornadoMemoryAccessVectorisation());
+        }
+
         appendPhase(new AddressLoweringByNodePhase(addressLowering));
 
         appendPhase(new DeadCodeEliminationPhase(DeadCodeEliminationPhase.Optionality.Required));
@@ -103,7 +108,7 @@ public class OCLLowTier extends TornadoLowTier {
 
         appendPhase(new SchedulePhase(SchedulePhase.SchedulingStrategy.LATEST_OUT_OF_LOOPS));
 
-        if (TornadoOptions.FEATURE_EXTRACTION) {
+        if (TornadoOptions.FEATURE_EXTRACTION || TornadoOptions.COST_MODEL_FEATURES) {
             appendPhase(new TornadoFeatureExtraction(tornadoDeviceContext));
         }
 
@@ -85,7 +85,12 @@ public class OCLGenTool {
 
         Variable result = (oclKind.isVector()) ? gen.newVariable(LIRKind.value(oclTarget.getOCLKind(JavaKind.Object))) : gen.newVariable(lirKind);
         String parameterName = getParameterName(local);
-        gen.append(new AssignStmt(result, new OCLNullary.Parameter(OCLUnaryOp.CAST_TO_ULONG + parameterName, lirKind)));
+        if (local.getType().getJavaKind().isPrimitive()) {
+            // Scalars that have not been folded by the task specialisation keep their own type
+            gen.append(new AssignStmt(result, new OCLNullary.Parameter(parameterName, lirKind)));
+        } else {
+            gen.append(new AssignStmt(result, new OCLNullary.Parameter(OCLUnaryOp.CAST_TO_ULONG + parameterName, lirKind)));
+        }
         parameterToVariable.put(paramNode, result);
 
         if (oclKind.isVector()) {
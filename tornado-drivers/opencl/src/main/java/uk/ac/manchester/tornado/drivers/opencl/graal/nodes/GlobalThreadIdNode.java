@@ -51,6 +51,10 @@ public class GlobalThreadIdNode extends FloatingNode implements LIRLowerable, Ma
         index = value;
     }
 
+    public ConstantNode getIndex() {
+        return index;
+    }
+
     @Override
     public void generate(NodeLIRBuilderTool gen) {
         LIRGeneratorTool tool = gen.getLIRGeneratorTool();
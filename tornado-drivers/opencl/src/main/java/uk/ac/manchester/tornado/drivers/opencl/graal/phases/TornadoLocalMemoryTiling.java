@@ -0,0 +1,532 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009, 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.phases;
+
+import static uk.ac.manchester.tornado.drivers.providers.TornadoMemoryOrder.GPU_MEMORY_MODE;
+import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getDebugContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.graalvm.compiler.core.common.memory.BarrierType;
+import org.graalvm.compiler.core.common.type.PrimitiveStamp;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.nodes.AbstractBeginNode;
+import org.graalvm.compiler.nodes.BeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.EndNode;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.GraphState;
+import org.graalvm.compiler.nodes.IfNode;
+import org.graalvm.compiler.nodes.LogicNode;
+import org.graalvm.compiler.nodes.LoopBeginNode;
+import org.graalvm.compiler.nodes.LoopEndNode;
+import org.graalvm.compiler.nodes.LoopExitNode;
+import org.graalvm.compiler.nodes.MergeNode;
+import org.graalvm.compiler.nodes.NamedLocationIdentity;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.ProfileData.BranchProbabilityData;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.ValuePhiNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.AndNode;
+import org.graalvm.compiler.nodes.calc.BinaryNode;
+import org.graalvm.compiler.nodes.calc.IntegerEqualsNode;
+import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
+import org.graalvm.compiler.nodes.calc.LeftShiftNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.UnaryNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.extended.JavaReadNode;
+import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.nodes.loop.LoopEx;
+import org.graalvm.compiler.nodes.loop.LoopsData;
+import org.graalvm.compiler.nodes.memory.FixedAccessNode;
+import org.graalvm.compiler.nodes.memory.ReadNode;
+import org.graalvm.compiler.nodes.memory.WriteNode;
+import org.graalvm.compiler.nodes.memory.address.OffsetAddressNode;
+import org.graalvm.compiler.phases.BasePhase;
+
+import jdk.vm.ci.meta.JavaKind;
+import uk.ac.manchester.tornado.api.common.Access;
+import uk.ac.manchester.tornado.drivers.opencl.graal.OCLArchitecture;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.GlobalThreadIdNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalArrayNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalThreadIdNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLBarrierNode;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.domain.IntDomain;
+import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoLoopsData;
+import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Stages tiles of read-only arrays in local memory for 2D parallel loop nests
+ * with an inner reduction loop, such as:
+ *
+ * <pre>
+ * for (@Parallel int i = 0; i < N; i++)
+ *     for (@Parallel int j = 0; j < M; j++)
+ *         for (int k = 0; k < K; k++)
+ *             sum += a[i * K + k] * b[k * M + j];
+ * </pre>
+ *
+ * All work-items in the same row of a TxT work-group read the same elements of
+ * {@code a}, and all work-items in the same column read the same elements of
+ * {@code b}. Each time {@code k} enters a new tile, the work-group copies the
+ * TxT elements it is about to use into local memory, and the reads of the
+ * k-loop are replaced with reads from local memory:
+ *
+ * <pre>
+ * if ((k & (T - 1)) == 0) {
+ *     barrier(CLK_LOCAL_MEM_FENCE);
+ *     tileA[li * T + lj] = a[i * K + (k + lj)];
+ *     tileB[li * T + lj] = b[(k + li) * M + j];
+ *     barrier(CLK_LOCAL_MEM_FENCE);
+ * }
+ * sum += tileA[li * T + (k & (T - 1))] * tileB[(k & (T - 1)) * T + lj];
+ * </pre>
+ *
+ * The tile size is the largest power of two that fits in the maximum
+ * work-group size and in local memory, and divides the three loop bounds, so
+ * all work-items reach the barriers. The kernel is then launched with a fixed
+ * local work-group size of TxT.
+ */
+public class TornadoLocalMemoryTiling extends BasePhase<TornadoHighTierContext> {
+
+    private static final int MAX_TILE_SIZE = 16;
+    private static final int MIN_TILE_SIZE = 4;
+
+    private static final int ROW = 1;
+    private static final int COLUMN = 1 << 1;
+    private static final int REDUCTION = 1 << 2;
+
+    @Override
+    public Optional<NotApplicable> notApplicableTo(GraphState graphState) {
+        return ALWAYS_APPLICABLE;
+    }
+
+    /**
+     * A read in the body of the reduction loop that is shared by a row (it
+     * depends on i and k) or by a column (it depends on k and j) of the
+     * work-group.
+     */
+    private record TiledRead(FixedAccessNode read, OffsetAddressNode address, JavaKind kind, boolean isRow) {
+    }
+
+    private record LoopNest(LoopBeginNode loopBegin, AbstractBeginNode body, ValuePhiNode reductionPhi, int reductionBound, int rowDimension, int columnDimension, List<TiledRead> reads) {
+    }
+
+    private static boolean isApplicable(TornadoHighTierContext context) {
+        if (!context.hasMeta() || !context.isKernel() || context.getBatchThreads() > 0 || context.isGridSchedulerEnabled()) {
+            return false;
+        }
+
+        TaskMetaData meta = context.getMeta();
+        if (!meta.enableParallelization() || meta.enableThreadCoarsener() || meta.isLocalWorkDefined() || meta.shouldUseOpenCLDriverScheduling()) {
+            return false;
+        }
+
+        if (context.getDeviceMapping().getPreferredSchedule() != TornadoSchedulingStrategy.PER_ITERATION) {
+            return false;
+        }
+
+        DomainTree domain = meta.getDomain();
+        if (domain == null || domain.getDepth() != 2) {
+            return false;
+        }
+        for (int i = 0; i < domain.getDepth(); i++) {
+            if (!(domain.get(i) instanceof IntDomain intDomain) || intDomain.getOffset() != 0 || intDomain.getStep() != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConstant(ValueNode node, int value) {
+        return node.isJavaConstant() && node.asJavaConstant().getJavaKind().isNumericInteger() && node.asJavaConstant().asLong() == value;
+    }
+
+    private static boolean isUnitStrideFromZero(ValuePhiNode phi) {
+        if (phi.valueCount() != 2 || !isConstant(phi.valueAt(0), 0)) {
+            return false;
+        }
+        return phi.valueAt(1) instanceof AddNode add && ((add.getX() == phi && isConstant(add.getY(), 1)) || (add.getY() == phi && isConstant(add.getX(), 1)));
+    }
+
+    private static AbstractBeginNode loopBody(LoopBeginNode loopBegin) {
+        if (loopBegin.next() instanceof IfNode condition) {
+            return (condition.trueSuccessor() instanceof LoopExitNode) ? condition.falseSuccessor() : condition.trueSuccessor();
+        }
+        return null;
+    }
+
+    /**
+     * Every work-item has to reach the barriers, so the path from the body of the
+     * outer loop to the inner loop must not contain any branch.
+     */
+    private static boolean reachesUnconditionally(AbstractBeginNode body, LoopBeginNode inner) {
+        FixedNode node = body;
+        while (node instanceof FixedWithNextNode fixedWithNextNode) {
+            node = fixedWithNextNode.next();
+        }
+        return node instanceof EndNode end && end.merge() == inner;
+    }
+
+    /**
+     * With the PER_ITERATION schedule, a parallel loop starts at the global
+     * thread-id of its dimension and runs a single iteration per work-item.
+     *
+     * @return the dimension of the parallel loop, or -1 if the loop was not
+     *     scheduled over a global thread-id.
+     */
+    private static int threadDimension(LoopBeginNode loopBegin, ValuePhiNode[] inductionVariable) {
+        for (ValuePhiNode phi : loopBegin.phis().filter(ValuePhiNode.class)) {
+            ValueNode init = phi.valueAt(0);
+            while (true) {
+                if (init instanceof AddNode add && isConstant(add.getY(), 0)) {
+                    init = add.getX();
+                } else if (init instanceof MulNode mul && isConstant(mul.getY(), 1)) {
+                    init = mul.getX();
+                } else {
+                    break;
+                }
+            }
+            if (init instanceof GlobalThreadIdNode threadId && threadId.getIndex().isJavaConstant()) {
+                inductionVariable[0] = phi;
+                return threadId.getIndex().asJavaConstant().asInt();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return a bit set of the loop variables (ROW, COLUMN, REDUCTION) the index
+     *     expression depends on, or -1 if the expression contains a node that
+     *     cannot be rewritten.
+     */
+    private static int dependencies(ValueNode node, ValuePhiNode row, ValuePhiNode column, ValuePhiNode reduction, Map<ValueNode, Integer> visited) {
+        if (node == row) {
+            return ROW;
+        } else if (node == column) {
+            return COLUMN;
+        } else if (node == reduction) {
+            return REDUCTION;
+        } else if (node instanceof ConstantNode) {
+            return 0;
+        }
+
+        Integer cached = visited.get(node);
+        if (cached != null) {
+            return cached;
+        }
+
+        int result;
+        if (node instanceof AddNode || node instanceof SubNode || node instanceof MulNode || node instanceof LeftShiftNode) {
+            BinaryNode binary = (BinaryNode) node;
+            int x = dependencies(binary.getX(), row, column, reduction, visited);
+            int y = dependencies(binary.getY(), row, column, reduction, visited);
+            result = (x < 0 || y < 0) ? -1 : (x | y);
+        } else if (node instanceof SignExtendNode || node instanceof ZeroExtendNode) {
+            result = dependencies(((UnaryNode) node).getValue(), row, column, reduction, visited);
+        } else {
+            result = -1;
+        }
+        visited.put(node, result);
+        return result;
+    }
+
+    private static ParameterNode resolveParameter(ValueNode base, LoopEx loop) {
+        ValueNode node = base;
+        while (node != null) {
+            if (node instanceof FixedNode && loop.inside().nodes().isMarked(node)) {
+                // The base has to be available before the reduction loop
+                return null;
+            }
+            if (node instanceof ParameterNode parameterNode) {
+                return parameterNode;
+            } else if (node instanceof PiNode piNode) {
+                node = piNode.object();
+            } else if (node instanceof LoadFieldNode loadFieldNode) {
+                node = loadFieldNode.object();
+            } else if (node instanceof FixedAccessNode access && access.getAddress() instanceof OffsetAddressNode address) {
+                node = address.getBase();
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static JavaKind elementKind(FixedAccessNode read) {
+        Stamp stamp = read.stamp(NodeView.DEFAULT);
+        if (!(stamp instanceof PrimitiveStamp)) {
+            return null;
+        }
+        JavaKind kind = stamp.getStackKind();
+        if (kind != JavaKind.Int && kind != JavaKind.Long && kind != JavaKind.Float && kind != JavaKind.Double) {
+            return null;
+        }
+        if (read instanceof JavaReadNode javaReadNode) {
+            return (javaReadNode.getReadKind() == kind) ? kind : null;
+        }
+        return read.getLocationIdentity().equals(NamedLocationIdentity.getArrayLocation(kind)) ? kind : null;
+    }
+
+    private static TiledRead classify(FixedAccessNode read, LoopEx loop, TaskMetaData meta, ValuePhiNode row, ValuePhiNode column, ValuePhiNode reduction) {
+        if (!(read.getAddress() instanceof OffsetAddressNode address)) {
+            return null;
+        }
+        JavaKind kind = elementKind(read);
+        if (kind == null) {
+            return null;
+        }
+
+        ParameterNode parameter = resolveParameter(address.getBase(), loop);
+        Access[] access = meta.getArgumentsAccess();
+        if (parameter == null || parameter.index() >= access.length || access[parameter.index()] != Access.READ_ONLY) {
+            return null;
+        }
+
+        int dependencies = dependencies(address.getOffset(), row, column, reduction, new HashMap<>());
+        if (dependencies == (ROW | REDUCTION)) {
+            return new TiledRead(read, address, kind, true);
+        } else if (dependencies == (COLUMN | REDUCTION)) {
+            return new TiledRead(read, address, kind, false);
+        }
+        return null;
+    }
+
+    private static LoopNest analyse(LoopEx loop, TaskMetaData meta) {
+        LoopEx columnLoop = loop.parent();
+        if (columnLoop == null || columnLoop.parent() == null || columnLoop.parent().parent() != null) {
+            return null;
+        }
+        LoopEx rowLoop = columnLoop.parent();
+
+        LoopBeginNode loopBegin = loop.loopBegin();
+        if (loopBegin.loopEnds().count() != 1 || !(loopBegin.next() instanceof IfNode loopCondition)) {
+            return null;
+        }
+        if (!(loopCondition.condition() instanceof IntegerLessThanNode lessThan) || !(lessThan.getX() instanceof ValuePhiNode reductionPhi) || reductionPhi.merge() != loopBegin || !lessThan.getY()
+                .isJavaConstant()) {
+            return null;
+        }
+        AbstractBeginNode body = loopCondition.trueSuccessor();
+        if (body instanceof LoopExitNode || !isUnitStrideFromZero(reductionPhi)) {
+            return null;
+        }
+
+        ValuePhiNode[] row = new ValuePhiNode[1];
+        ValuePhiNode[] column = new ValuePhiNode[1];
+        int rowDimension = threadDimension(rowLoop.loopBegin(), row);
+        int columnDimension = threadDimension(columnLoop.loopBegin(), column);
+        if (rowDimension < 0 || columnDimension < 0 || rowDimension == columnDimension || rowDimension > 1 || columnDimension > 1) {
+            return null;
+        }
+
+        AbstractBeginNode rowBody = loopBody(rowLoop.loopBegin());
+        AbstractBeginNode columnBody = loopBody(columnLoop.loopBegin());
+        if (rowBody == null || columnBody == null || !reachesUnconditionally(rowBody, columnLoop.loopBegin()) || !reachesUnconditionally(columnBody, loopBegin)) {
+            return null;
+        }
+
+        // The body of the reduction loop must be a straight sequence of reads
+        List<TiledRead> reads = new ArrayList<>();
+        FixedNode node = body.next();
+        while (node instanceof FixedWithNextNode current) {
+            if (!(current instanceof ReadNode || current instanceof JavaReadNode)) {
+                return null;
+            }
+            TiledRead tiledRead = classify((FixedAccessNode) current, loop, meta, row[0], column[0], reductionPhi);
+            if (tiledRead != null) {
+                reads.add(tiledRead);
+            }
+            node = current.next();
+        }
+        if (!(node instanceof LoopEndNode loopEnd) || loopEnd.loopBegin() != loopBegin || reads.isEmpty()) {
+            return null;
+        }
+
+        return new LoopNest(loopBegin, body, reductionPhi, lessThan.getY().asJavaConstant().asInt(), rowDimension, columnDimension, reads);
+    }
+
+    private static int selectTileSize(TornadoXPUDevice device, TaskMetaData meta, LoopNest nest) {
+        long maxWorkGroupSize = device.getPhysicalDevice().getDeviceMaxWorkGroupSize()[0];
+        long[] maxWorkItemSizes = device.getPhysicalDevice().getDeviceMaxWorkItemSizes();
+        long localMemorySize = device.getPhysicalDevice().getDeviceLocalMemorySize();
+        int rows = meta.getDomain().get(nest.rowDimension()).cardinality();
+        int columns = meta.getDomain().get(nest.columnDimension()).cardinality();
+
+        int elementBytes = 0;
+        for (TiledRead read : nest.reads()) {
+            elementBytes += read.kind().getByteCount();
+        }
+
+        for (int tile = MAX_TILE_SIZE; tile >= MIN_TILE_SIZE; tile >>= 1) {
+            boolean fitsDevice = (long) tile * tile <= maxWorkGroupSize && tile <= maxWorkItemSizes[nest.rowDimension()] && tile <= maxWorkItemSizes[nest.columnDimension()];
+            boolean dividesBounds = rows % tile == 0 && columns % tile == 0 && nest.reductionBound() % tile == 0;
+            if (fitsDevice && dividesBounds && (long) tile * tile * elementBytes <= localMemorySize) {
+                return tile;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the index expression of a read, replacing the reduction induction
+     * variable with a new value.
+     */
+    private static ValueNode substitute(ValueNode node, ValuePhiNode from, ValueNode to, Map<ValueNode, ValueNode> copies) {
+        if (node == from) {
+            return to;
+        } else if (node instanceof ConstantNode || node instanceof ValuePhiNode) {
+            return node;
+        }
+
+        ValueNode copy = copies.get(node);
+        if (copy != null) {
+            return copy;
+        }
+
+        ValueNode result = node;
+        for (Node input : node.inputs().snapshot()) {
+            ValueNode replacement = substitute((ValueNode) input, from, to, copies);
+            if (replacement != input) {
+                if (result == node) {
+                    result = (ValueNode) node.copyWithInputs(true);
+                }
+                result.replaceAllInputs(input, replacement);
+            }
+        }
+        copies.put(node, result);
+        return result;
+    }
+
+    private static FixedWithNextNode append(FixedWithNextNode last, FixedWithNextNode node) {
+        last.setNext(node);
+        return node;
+    }
+
+    private static void tile(StructuredGraph graph, LoopNest nest, int tileSize) {
+        final ConstantNode tile = ConstantNode.forInt(tileSize, graph);
+        final ValueNode rowId = graph.addOrUnique(new LocalThreadIdNode(ConstantNode.forInt(nest.rowDimension(), graph)));
+        final ValueNode columnId = graph.addOrUnique(new LocalThreadIdNode(ConstantNode.forInt(nest.columnDimension(), graph)));
+        final ValueNode offsetInTile = graph.addOrUnique(new AndNode(nest.reductionPhi(), ConstantNode.forInt(tileSize - 1, graph)));
+        final LogicNode isTileStart = graph.addOrUnique(new IntegerEqualsNode(offsetInTile, ConstantNode.forInt(0, graph)));
+        final ValueNode storeIndex = graph.addOrUnique(new AddNode(graph.addOrUnique(new MulNode(rowId, tile)), columnId));
+
+        BeginNode loadBegin = graph.add(new BeginNode());
+        BeginNode skipBegin = graph.add(new BeginNode());
+
+        FixedWithNextNode last = append(loadBegin, graph.add(new OCLBarrierNode(OCLBarrierNode.OCLMemFenceFlags.LOCAL)));
+        for (TiledRead tiledRead : nest.reads()) {
+            FixedAccessNode read = tiledRead.read();
+            Stamp stamp = read.stamp(NodeView.DEFAULT);
+            LocalArrayNode localArray = graph.addWithoutUnique(new LocalArrayNode(OCLArchitecture.localSpace, tiledRead.kind(), ConstantNode.forInt(tileSize * tileSize, graph)));
+
+            // Each work-item loads the element of the tile at its own local position
+            ValueNode shiftedReduction = graph.addOrUnique(new AddNode(nest.reductionPhi(), tiledRead.isRow() ? columnId : rowId));
+            ValueNode globalOffset = substitute(tiledRead.address().getOffset(), nest.reductionPhi(), shiftedReduction, new HashMap<>());
+            OffsetAddressNode globalAddress = graph.unique(new OffsetAddressNode(tiledRead.address().getBase(), globalOffset));
+            ReadNode globalRead = graph.add(new ReadNode(globalAddress, read.getLocationIdentity(), stamp, BarrierType.NONE, GPU_MEMORY_MODE));
+            last = append(last, globalRead);
+
+            OffsetAddressNode storeAddress = graph.unique(new OffsetAddressNode(localArray, storeIndex));
+            WriteNode localWrite = graph.add(new WriteNode(storeAddress, NamedLocationIdentity.getArrayLocation(tiledRead.kind()), globalRead, BarrierType.NONE, GPU_MEMORY_MODE));
+            localWrite.setStateAfter(nest.loopBegin().stateAfter());
+            last = append(last, localWrite);
+
+            // The original read now takes the element from the tile
+            ValueNode loadIndex = tiledRead.isRow() //
+                    ? graph.addOrUnique(new AddNode(graph.addOrUnique(new MulNode(rowId, tile)), offsetInTile)) //
+                    : graph.addOrUnique(new AddNode(graph.addOrUnique(new MulNode(offsetInTile, tile)), columnId));
+            OffsetAddressNode loadAddress = graph.unique(new OffsetAddressNode(localArray, loadIndex));
+            ReadNode localRead = graph.add(new ReadNode(loadAddress, NamedLocationIdentity.getArrayLocation(tiledRead.kind()), stamp, BarrierType.NONE, GPU_MEMORY_MODE));
+            graph.replaceFixedWithFixed(read, localRead);
+        }
+        last = append(last, graph.add(new OCLBarrierNode(OCLBarrierNode.OCLMemFenceFlags.LOCAL)));
+
+        EndNode loadEnd = graph.add(new EndNode());
+        last.setNext(loadEnd);
+        EndNode skipEnd = graph.add(new EndNode());
+        skipBegin.setNext(skipEnd);
+
+        MergeNode merge = graph.add(new MergeNode());
+        merge.addForwardEnd(loadEnd);
+        merge.addForwardEnd(skipEnd);
+
+        AbstractBeginNode body = nest.body();
+        FixedNode first = body.next();
+        body.setNext(null);
+        merge.setNext(first);
+        body.setNext(graph.add(new IfNode(isTileStart, loadBegin, skipBegin, BranchProbabilityData.unknown())));
+    }
+
+    @Override
+    protected void run(StructuredGraph graph, TornadoHighTierContext context) {
+        if (!TornadoOptions.LOCAL_MEMORY_TILING || !graph.hasLoops() || !isApplicable(context)) {
+            return;
+        }
+
+        final TaskMetaData meta = context.getMeta();
+        final LoopsData data = new TornadoLoopsData(graph);
+        data.detectCountedLoops();
+
+        for (LoopEx loop : data.countedLoops()) {
+            LoopNest nest = analyse(loop, meta);
+            if (nest == null) {
+                continue;
+            }
+            int tileSize = selectTileSize(context.getDeviceMapping(), meta, nest);
+            if (tileSize < 0) {
+                continue;
+            }
+
+            tile(graph, nest, tileSize);
+
+            // The generated code is only valid for a TxT work-group
+            long[] localWork = new long[] { 1, 1, 1 };
+            localWork[nest.rowDimension()] = tileSize;
+            localWork[nest.columnDimension()] = tileSize;
+            meta.setRequiredLocalWork(localWork);
+
+            getDebugContext().dump(DebugContext.BASIC_LEVEL, graph, "after local memory tiling");
+            // A kernel is launched with a single local work-group size
+            return;
+        }
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * Copyright (c) 2009, 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ */
+package uk.ac.manchester.tornado.drivers.opencl.graal.phases;
+
+import static uk.ac.manchester.tornado.drivers.providers.TornadoMemoryOrder.GPU_MEMORY_MODE;
+import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getDebugContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.graalvm.compiler.core.common.memory.BarrierType;
+import org.graalvm.compiler.core.common.type.FloatStamp;
+import org.graalvm.compiler.core.common.type.IntegerStamp;
+import org.graalvm.compiler.core.common.type.Stamp;
+import org.graalvm.compiler.debug.DebugContext;
+import org.graalvm.compiler.nodeinfo.Verbosity;
+import org.graalvm.compiler.nodes.AbstractBeginNode;
+import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FixedNode;
+import org.graalvm.compiler.nodes.FixedWithNextNode;
+import org.graalvm.compiler.nodes.GraphState;
+import org.graalvm.compiler.nodes.NodeView;
+import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PiNode;
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.nodes.ValueNode;
+import org.graalvm.compiler.nodes.calc.AddNode;
+import org.graalvm.compiler.nodes.calc.LeftShiftNode;
+import org.graalvm.compiler.nodes.calc.MulNode;
+import org.graalvm.compiler.nodes.calc.NarrowNode;
+import org.graalvm.compiler.nodes.calc.SignExtendNode;
+import org.graalvm.compiler.nodes.calc.SubNode;
+import org.graalvm.compiler.nodes.calc.ZeroExtendNode;
+import org.graalvm.compiler.nodes.memory.FixedAccessNode;
+import org.graalvm.compiler.nodes.memory.ReadNode;
+import org.graalvm.compiler.nodes.memory.WriteNode;
+import org.graalvm.compiler.nodes.memory.address.AddressNode;
+import org.graalvm.compiler.nodes.memory.address.OffsetAddressNode;
+import org.graalvm.compiler.nodes.util.GraphUtil;
+import org.graalvm.compiler.phases.BasePhase;
+import org.graalvm.word.LocationIdentity;
+
+import uk.ac.manchester.tornado.drivers.opencl.graal.OCLStampFactory;
+import uk.ac.manchester.tornado.drivers.opencl.graal.lir.OCLKind;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.FixedArrayNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.LocalArrayNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorLoadElementNode;
+import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.vector.VectorValueNode;
+import uk.ac.manchester.tornado.runtime.graal.phases.TornadoLowTierContext;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Merges scalar reads and writes of consecutive elements of the same kernel
+ * parameter into OpenCL vector loads and stores. For example, a work-item that
+ * processes four elements:
+ *
+ * <pre>
+ * float x = a[4 * i];
+ * float y = a[4 * i + 1];
+ * float z = a[4 * i + 2];
+ * float w = a[4 * i + 3];
+ * </pre>
+ *
+ * is compiled into a single {@code vload4} and four lane selects. In the same
+ * way, writes to consecutive elements are packed into a vector value and
+ * emitted as a single {@code vstoreN}.
+ *
+ * <p>
+ * Two accesses are grouped when they are in the same basic block, use the same
+ * base and element kind, and their byte offsets only differ by a constant. The
+ * offsets are decomposed into a symbolic part and a constant part. Constants
+ * are moved out of sign and zero extensions, which is safe because the
+ * accesses are in bounds, so the 32-bit index arithmetic does not overflow.
+ * Runs of contiguous elements are split into vectors of 16, 8, 4 or 2 lanes.
+ * </p>
+ *
+ * <p>
+ * {@code vloadN} and {@code vstoreN} only require the address to be aligned to
+ * the element type, which holds for the first scalar access of each group.
+ * Wider alignment of the array header is not needed.
+ * </p>
+ *
+ * <p>
+ * This phase runs before address lowering, while addresses are still
+ * {@link OffsetAddressNode}s. Reads are moved up to the first read of a
+ * group, and writes are moved down to the last write of a group. A group is
+ * closed when a node that may conflict with it is found in between: a write to
+ * the same parameter (or to any parameter if the arguments may alias), any
+ * other memory kill, or any other fixed node.
+ * </p>
+ */
+public class TornadoMemoryAccessVectorisation extends BasePhase<TornadoLowTierContext> {
+
+    private static final int[] VECTOR_LENGTHS = { 16, 8, 4, 2 };
+
+    private record AccessKey(ValueNode base, String term, OCLKind elementKind, LocationIdentity location) {
+    }
+
+    private record Access(FixedAccessNode node, long offset, int position) {
+    }
+
+    private record Offset(String term, long constant) {
+    }
+
+    @Override
+    public Optional<NotApplicable> notApplicableTo(GraphState graphState) {
+        return ALWAYS_APPLICABLE;
+    }
+
+    @Override
+    protected void run(StructuredGraph graph, TornadoLowTierContext context) {
+        TaskMetaData meta = context.getMeta();
+        boolean noAlias = meta != null && meta.isNoAliasArguments();
+
+        List<AbstractBeginNode> blocks = graph.getNodes().filter(AbstractBeginNode.class).snapshot();
+        for (AbstractBeginNode begin : blocks) {
+            vectoriseReads(graph, straightLine(begin), noAlias);
+        }
+        for (AbstractBeginNode begin : blocks) {
+            if (begin.isAlive()) {
+                vectoriseWrites(graph, straightLine(begin), noAlias);
+            }
+        }
+
+        getDebugContext().dump(DebugContext.BASIC_LEVEL, graph, "after memory access vectorisation");
+    }
+
+    private static List<FixedNode> straightLine(AbstractBeginNode begin) {
+        List<FixedNode> nodes = new ArrayList<>();
+        FixedNode current = begin.next();
+        while (current != null) {
+            nodes.add(current);
+            current = (current instanceof FixedWithNextNode fixedWithNext) ? fixedWithNext.next() : null;
+        }
+        return nodes;
+    }
+
+    private static void vectoriseReads(StructuredGraph graph, List<FixedNode> nodes, boolean noAlias) {
+        Map<AccessKey, List<Access>> groups = new LinkedHashMap<>();
+        for (int position = 0; position < nodes.size(); position++) {
+            FixedNode node = nodes.get(position);
+            if (node instanceof ReadNode read) {
+                AccessKey key = accessKey(read, read.stamp(NodeView.DEFAULT));
+                if (key != null && read.getGuard() == null) {
+                    long offset = decompose(((OffsetAddressNode) read.getAddress()).getOffset()).constant();
+                    groups.computeIfAbsent(key, k -> new ArrayList<>()).add(new Access(read, offset, position));
+                }
+            } else if (node instanceof WriteNode write) {
+                closeConflictingGroups(graph, groups, write.getAddress(), noAlias, true);
+            } else {
+                closeAllGroups(graph, groups, true);
+            }
+        }
+        closeAllGroups(graph, groups, true);
+    }
+
+    private static void vectoriseWrites(StructuredGraph graph, List<FixedNode> nodes, boolean noAlias) {
+        Map<AccessKey, List<Access>> groups = new LinkedHashMap<>();
+        for (int position = 0; position < nodes.size(); position++) {
+            FixedNode node = nodes.get(position);
+            if (node instanceof WriteNode write) {
+                AccessKey key = accessKey(write, write.value().stamp(NodeView.DEFAULT));
+                if (key == null || !write.hasNoUsages() || write.value() instanceof ConstantNode) {
+                    closeConflictingGroups(graph, groups, write.getAddress(), noAlias, false);
+                    continue;
+                }
+                long offset = decompose(((OffsetAddressNode) write.getAddress()).getOffset()).constant();
+
+                // Writes of other groups that may alias must stay in order
+                List<Access> group = groups.remove(key);
+                closeConflictingGroups(graph, groups, write.getAddress(), noAlias, false);
+                if (group != null && group.stream().anyMatch(access -> access.offset() == offset)) {
+                    vectorise(graph, key, group, false);
+                    group = null;
+                }
+                if (group == null) {
+                    group = new ArrayList<>();
+                }
+                group.add(new Access(write, offset, position));
+                groups.put(key, group);
+            } else if (node instanceof ReadNode read) {
+                closeConflictingGroups(graph, groups, read.getAddress(), noAlias, false);
+            } else {
+                closeAllGroups(graph, groups, false);
+            }
+        }
+        closeAllGroups(graph, groups, false);
+    }
+
+    private static AccessKey accessKey(FixedAccessNode access, Stamp stamp) {
+        if (!(access.getAddress() instanceof OffsetAddressNode address)) {
+            return null;
+        }
+        ValueNode base = parameterOf(address.getBase());
+        OCLKind elementKind = elementKindOf(stamp);
+        if (base == null || elementKind == null) {
+            return null;
+        }
+        return new AccessKey(base, decompose(address.getOffset()).term(), elementKind, access.getLocationIdentity());
+    }
+
+    private static ValueNode parameterOf(ValueNode base) {
+        ValueNode node = base;
+        while (node instanceof PiNode pi) {
+            node = pi.getOriginalNode();
+        }
+        return (node instanceof ParameterNode) ? node : null;
+    }
+
+    private static OCLKind elementKindOf(Stamp stamp) {
+        if (stamp instanceof IntegerStamp integerStamp) {
+            return switch (integerStamp.getBits()) {
+                case 8 -> OCLKind.CHAR;
+                case 16 -> OCLKind.SHORT;
+                case 32 -> OCLKind.INT;
+                default -> null;
+            };
+        } else if (stamp instanceof FloatStamp floatStamp) {
+            return switch (floatStamp.getBits()) {
+                case 32 -> OCLKind.FLOAT;
+                case 64 -> OCLKind.DOUBLE;
+                default -> null;
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Splits an offset into a symbolic term and a constant number of bytes. Two
+     * offsets with the same term refer to the same base address.
+     */
+    private static Offset decompose(ValueNode node) {
+        if (node.isJavaConstant() && node.asJavaConstant().getJavaKind().isNumericInteger()) {
+            return new Offset(null, node.asJavaConstant().asLong());
+        } else if (node instanceof AddNode add) {
+            Offset x = decompose(add.getX());
+            Offset y = decompose(add.getY());
+            return new Offset(combine(x.term(), y.term()), x.constant() + y.constant());
+        } else if (node instanceof SubNode sub && sub.getY().isJavaConstant()) {
+            Offset x = decompose(sub.getX());
+            return new Offset(x.term(), x.constant() - sub.getY().asJavaConstant().asLong());
+        } else if (node instanceof MulNode mul && mul.getY().isJavaConstant()) {
+            long factor = mul.getY().asJavaConstant().asLong();
+            Offset x = decompose(mul.getX());
+            return new Offset(x.term() == null ? null : "(" + x.term() + "*" + factor + ")", x.constant() * factor);
+        } else if (node instanceof LeftShiftNode shift && shift.getY().isJavaConstant()) {
+            int bits = shift.getY().asJavaConstant().asInt();
+            Offset x = decompose(shift.getX());
+            return new Offset(x.term() == null ? null : "(" + x.term() + "<<" + bits + ")", x.constant() << bits);
+        } else if (node instanceof SignExtendNode signExtend) {
+            Offset x = decompose(signExtend.getValue());
+            return new Offset(x.term() == null ? null : "sx(" + x.term() + ")", x.constant());
+        } else if (node instanceof ZeroExtendNode zeroExtend) {
+            Offset x = decompose(zeroExtend.getValue());
+            return new Offset(x.term() == null ? null : "zx(" + x.term() + ")", x.constant());
+        }
+        return new Offset(node.toString(Verbosity.Id), 0);
+    }
+
+    private static String combine(String x, String y) {
+        if (x == null) {
+            return y;
+        } else if (y == null) {
+            return x;
+        }
+        return (x.compareTo(y) < 0) ? "(" + x + "+" + y + ")" : "(" + y + "+" + x + ")";
+    }
+
+    private static void closeConflictingGroups(StructuredGraph graph, Map<AccessKey, List<Access>> groups, AddressNode address, boolean noAlias, boolean reads) {
+        if (!(address instanceof OffsetAddressNode offsetAddress)) {
+            closeAllGroups(graph, groups, reads);
+            return;
+        }
+        ValueNode base = offsetAddress.getBase();
+        if (base instanceof LocalArrayNode || base instanceof FixedArrayNode) {
+            // Local and private memory never alias kernel parameters
+            return;
+        }
+        ValueNode parameter = parameterOf(base);
+        if (parameter == null || !noAlias) {
+            closeAllGroups(graph, groups, reads);
+            return;
+        }
+        List<AccessKey> conflicting = groups.keySet().stream().filter(key -> key.base() == parameter).toList();
+        for (AccessKey key : conflicting) {
+            vectorise(graph, key, groups.remove(key), reads);
+        }
+    }
+
+    private static void closeAllGroups(StructuredGraph graph, Map<AccessKey, List<Access>> groups, boolean reads) {
+        groups.forEach((key, group) -> vectorise(graph, key, group, reads));
+        groups.clear();
+    }
+
+    private static void vectorise(StructuredGraph graph, AccessKey key, List<Access> group, boolean reads) {
+        if (group.size() < 2) {
+            return;
+        }
+        int elementSize = key.elementKind().getSizeInBytes();
+        TreeMap<Long, List<Access>> byOffset = new TreeMap<>();
+        for (Access access : group) {
+            byOffset.computeIfAbsent(access.offset(), k -> new ArrayList<>()).add(access);
+        }
+
+        List<List<List<Access>>> run = new ArrayList<>();
+        long expected = Long.MIN_VALUE;
+        for (Map.Entry<Long, List<Access>> entry : byOffset.entrySet()) {
+            if (entry.getKey() != expected) {
+                emitRun(graph, key, run, reads);
+                run = new ArrayList<>();
+            }
+            run.add(entry.getValue());
+            expected = entry.getKey() + elementSize;
+        }
+        emitRun(graph, key, run, reads);
+    }
+
+    private static void emitRun(StructuredGraph graph, AccessKey key, List<List<List<Access>>> run, boolean reads) {
+        int start = 0;
+        while (run.size() - start >= 2) {
+            int length = 0;
+            for (int candidate : VECTOR_LENGTHS) {
+                if (candidate <= run.size() - start) {
+                    length = candidate;
+                    break;
+                }
+            }
+            List<List<Access>> lanes = run.subList(start, start + length);
+            if (reads) {
+                emitVectorRead(graph, key, lanes);
+            } else {
+                emitVectorWrite(graph, key, lanes);
+            }
+            start += length;
+        }
+    }
+
+    private static void emitVectorRead(StructuredGraph graph, AccessKey key, List<List<Access>> lanes) {
+        OCLKind vectorKind = OCLKind.valueOf(key.elementKind().name() + lanes.size());
+        AddressNode address = lanes.get(0).get(0).node().getAddress();
+        Access first = lanes.stream().flatMap(List::stream).min(Comparator.comparingInt(Access::position)).orElseThrow();
+
+        ReadNode vectorRead = graph.add(new ReadNode(address, key.location(), OCLStampFactory.getStampFor(vectorKind), BarrierType.NONE, GPU_MEMORY_MODE));
+        graph.addBeforeFixed(first.node(), vectorRead);
+
+        for (int lane = 0; lane < lanes.size(); lane++) {
+            ValueNode element = graph.addWithoutUnique(new VectorLoadElementNode(key.elementKind(), vectorRead, ConstantNode.forInt(lane, graph)));
+            int bits = key.elementKind().getSizeInBytes() * Byte.SIZE;
+            if (bits < Integer.SIZE) {
+                element = graph.addOrUnique(new NarrowNode(element, bits));
+            }
+            for (Access access : lanes.get(lane)) {
+                ReadNode read = (ReadNode) access.node();
+                read.replaceAtUsages(element);
+                removeAccess(graph, read, address);
+            }
+        }
+    }
+
+    private static void emitVectorWrite(StructuredGraph graph, AccessKey key, List<List<Access>> lanes) {
+        OCLKind vectorKind = OCLKind.valueOf(key.elementKind().name() + lanes.size());
+        AddressNode address = lanes.get(0).get(0).node().getAddress();
+        Access last = lanes.stream().flatMap(List::stream).max(Comparator.comparingInt(Access::position)).orElseThrow();
+
+        VectorValueNode vector = graph.addWithoutUnique(new VectorValueNode(vectorKind));
+        for (int lane = 0; lane < lanes.size(); lane++) {
+            vector.setElement(lane, ((WriteNode) lanes.get(lane).get(0).node()).value());
+        }
+        WriteNode vectorWrite = graph.add(new WriteNode(address, key.location(), vector, BarrierType.NONE, GPU_MEMORY_MODE));
+        vectorWrite.setStateAfter(((WriteNode) last.node()).stateAfter());
+        graph.addBeforeFixed(last.node(), vectorWrite);
+
+        for (List<Access> lane : lanes) {
+            removeAccess(graph, lane.get(0).node(), address);
+        }
+    }
+
+    private static void removeAccess(StructuredGraph graph, FixedAccessNode access, AddressNode keep) {
+        AddressNode address = access.getAddress();
+        graph.removeFixed(access);
+        if (address != keep) {
+            GraphUtil.tryKillUnused(address);
+        }
+    }
+}
@@ -29,6 +29,8 @@ import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getDebugContex
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -36,8 +38,10 @@ import org.graalvm.compiler.core.common.type.ObjectStamp;
 import org.graalvm.compiler.debug.DebugContext;
 import org.graalvm.compiler.graph.Graph.Mark;
 import org.graalvm.compiler.graph.Node;
+import org.graalvm.compiler.graph.NodeBitMap;
 import org.graalvm.compiler.graph.iterators.NodeIterable;
 import org.graalvm.compiler.nodes.ConstantNode;
+import org.graalvm.compiler.nodes.FixedNode;
 import org.graalvm.compiler.nodes.GraphState;
 import org.graalvm.compiler.nodes.LogicConstantNode;
 import org.graalvm.compiler.nodes.NodeView;
@@ -47,8 +51,10 @@ import org.graalvm.compiler.nodes.PiNode;
 import org.graalvm.compiler.nodes.StructuredGraph;
 import org.graalvm.compiler.nodes.calc.IntegerLessThanNode;
 import org.graalvm.compiler.nodes.calc.IsNullNode;
+import org.graalvm.compiler.nodes.java.AbstractNewArrayNode;
 import org.graalvm.compiler.nodes.java.ArrayLengthNode;
 import org.graalvm.compiler.nodes.java.LoadFieldNode;
+import org.graalvm.compiler.nodes.java.NewMultiArrayNode;
 import org.graalvm.compiler.nodes.util.GraphUtil;
 import org.graalvm.compiler.phases.BasePhase;
 import org.graalvm.compiler.phases.common.CanonicalizerPhase;
@@ -64,8 +70,12 @@ import uk.ac.manchester.tornado.drivers.common.compiler.phases.loops.TornadoLoop
 import uk.ac.manchester.tornado.drivers.opencl.graal.nodes.OCLKernelContextAccessNode;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
+import uk.ac.manchester.tornado.runtime.graal.nodes.AbstractParallelNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.PanamaPrivateMemoryNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
+import uk.ac.manchester.tornado.runtime.graal.nodes.interfaces.MarkLocalArray;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext> {
 
@@ -77,6 +87,7 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
     private final TornadoLoopUnroller loopUnroll;
     private long batchThreads;
     private boolean gridScheduling;
+    private TaskMetaData meta;
     private int index;
     private boolean printOnce = true;
 
@@ -280,6 +291,34 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
         return parameterInLoopBound.get();
     }
 
+    /**
+     * A scalar can only remain as a kernel parameter if the shape of the kernel
+     * does not depend on it: it must not reach the bounds of a parallel loop or
+     * the size of an array allocation.
+     */
+    private static boolean canRemainParameter(ParameterNode parameterNode) {
+        if (!parameterNode.getStackKind().isPrimitive()) {
+            return false;
+        }
+        NodeBitMap visited = parameterNode.graph().createNodeBitMap();
+        Deque<Node> worklist = new ArrayDeque<>();
+        worklist.push(parameterNode);
+        visited.mark(parameterNode);
+        while (!worklist.isEmpty()) {
+            for (Node usage : worklist.pop().usages()) {
+                if (usage instanceof AbstractParallelNode || usage instanceof AbstractNewArrayNode || usage instanceof NewMultiArrayNode || usage instanceof PanamaPrivateMemoryNode
+                        || usage instanceof MarkLocalArray) {
+                    return false;
+                }
+                if (!(usage instanceof FixedNode) && !visited.isMarked(usage)) {
+                    visited.mark(usage);
+                    worklist.push(usage);
+                }
+            }
+        }
+        return true;
+    }
+
     private void propagateParameters(StructuredGraph graph, ParameterNode parameterNode, Object[] args) {
         if (args[parameterNode.index()] != null && RuntimeUtilities.isBoxedPrimitiveClass(args[parameterNode.index()].getClass())) {
             /*
@@ -296,6 +335,8 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
                 OCLKernelContextAccessNode kernelContextAccessNode = graph.addOrUnique(new OCLKernelContextAccessNode(constantValue));
                 parameterNode.replaceAtUsages(kernelContextAccessNode);
                 index++;
+            } else if (meta != null && meta.isGenericScalarArguments() && canRemainParameter(parameterNode)) {
+                meta.getGenericArguments().set(parameterNode.index());
             } else {
                 ConstantNode constant = createConstantFromObject(args[parameterNode.index()], graph);
                 parameterNode.replaceAtUsages(constant);
@@ -314,6 +355,7 @@ public class TornadoTaskSpecialisation extends BasePhase<TornadoHighTierContext>
         boolean hasWork = true;
         this.batchThreads = context.getBatchThreads();
         this.gridScheduling = context.isGridSchedulerEnabled();
+        this.meta = context.getMeta();
 
         while (hasWork) {
             final Mark mark = graph.getMark();
@@ -78,6 +78,14 @@ public class OCLMemoryManager implements TornadoMemoryProvider {
         return deviceContext.getPlatformContext().createBuffer(flags, size);
     }
 
+    /**
+     * Creates a buffer that uses the host memory at {@code hostPointer} as its
+     * storage ({@code CL_MEM_USE_HOST_PTR}).
+     */
+    public OCLContext.OCLBufferResult createHostPointerBuffer(long size, long hostPointer) {
+        return deviceContext.getPlatformContext().createBuffer(OCLMemFlags.CL_MEM_READ_WRITE | OCLMemFlags.CL_MEM_USE_HOST_PTR, size, hostPointer);
+    }
+
     public void releaseBuffer(long bufferId) {
         deviceContext.getPlatformContext().releaseBuffer(bufferId);
     }
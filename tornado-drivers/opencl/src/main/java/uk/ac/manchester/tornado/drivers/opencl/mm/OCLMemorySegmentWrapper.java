@@ -37,8 +37,13 @@ import uk.ac.manchester.tornado.api.types.collections.TornadoCollectionInterface
 import uk.ac.manchester.tornado.api.types.images.TornadoImagesInterface;
 import uk.ac.manchester.tornado.api.types.matrix.TornadoMatrixInterface;
 import uk.ac.manchester.tornado.api.types.volumes.TornadoVolumesInterface;
+import uk.ac.manchester.tornado.drivers.opencl.OCLContext;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
+import uk.ac.manchester.tornado.drivers.opencl.OpenCLBlocking;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLMapFlags;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.exceptions.TornadoUnsupportedError;
 
 public class OCLMemorySegmentWrapper implements XPUBuffer {
@@ -51,6 +56,12 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
     private boolean onDevice;
     private long bufferSize;
 
+    /**
+     * The buffer wraps the host segment ({@code CL_MEM_USE_HOST_PTR}), so
+     * transfers only map and unmap the buffer.
+     */
+    private boolean useHostPointer;
+
     private long subregionSize;
 
     public OCLMemorySegmentWrapper(OCLDeviceContext deviceContext, long batchSize) {
@@ -105,13 +116,70 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         };
     }
 
+    /**
+     * Device-only arrays only allocate their header on the host. The device buffer
+     * holds the whole array, but only the header is copied to the device, and
+     * the array is never copied back to the host.
+     */
+    private static boolean isDeviceOnly(final Object reference) {
+        return reference instanceof TornadoNativeArray nativeArray && nativeArray.isDeviceOnly();
+    }
+
+    private static void checkHostMemory(final Object reference) {
+        if (isDeviceOnly(reference)) {
+            throw new TornadoMemoryException("[ERROR] Device-only arrays cannot be copied to the host");
+        }
+    }
+
+    /**
+     * A device buffer can use the host segment as its storage when the device
+     * shares its memory with the host, and the segment is off-heap and aligned to
+     * the base address alignment of the device. Otherwise, the OpenCL driver would
+     * copy the data into a buffer of its own.
+     */
+    public static boolean canUseHostPointer(OCLTargetDevice device, MemorySegment segment) {
+        if (!device.hasDeviceUnifiedMemory() || !segment.isNative()) {
+            return false;
+        }
+        final long alignment = Math.max(1, device.getDeviceMemoryBaseAlignment() / Byte.SIZE);
+        return segment.address() % alignment == 0;
+    }
+
+    /**
+     * Makes the host segment visible to the device. The region is mapped for writing
+     * without reading it back, and the unmap publishes the host contents. This is a
+     * no-op for the driver when the memory is shared.
+     *
+     * <p>
+     * The unmap waits for the map event, so the returned event covers both
+     * commands. The asynchronous paths use a non-blocking map: the mapped pointer
+     * is the host segment itself, so it is not needed before the map completes.
+     * </p>
+     */
+    private int syncHostToDevice(long executionPlanId, MemorySegment segment, boolean blocking, int[] events) {
+        int mapEvent = deviceContext.mapBuffer(executionPlanId, toBuffer(), blocking, OCLMapFlags.CL_MAP_WRITE_INVALIDATE_REGION, 0, bufferSize, events);
+        return deviceContext.unmapBuffer(executionPlanId, toBuffer(), segment.address(), new int[] { mapEvent });
+    }
+
+    /**
+     * Makes the device results visible in the host segment. As for
+     * {@link #syncHostToDevice}, the returned unmap event depends on the map event.
+     */
+    private int syncDeviceToHost(long executionPlanId, MemorySegment segment, boolean blocking, int[] events) {
+        int mapEvent = deviceContext.mapBuffer(executionPlanId, toBuffer(), blocking, OCLMapFlags.CL_MAP_READ, 0, bufferSize, events);
+        return deviceContext.unmapBuffer(executionPlanId, toBuffer(), segment.address(), new int[] { mapEvent });
+    }
+
     @Override
     public int read(long executionPlanId, final Object reference, long hostOffset, long partialReadSize, int[] events, boolean useDeps) {
+        checkHostMemory(reference);
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
         final int returnEvent;
         final long numBytes = getSizeSubRegionSize() > 0 ? getSizeSubRegionSize() : bufferSize;
-        if (partialReadSize != 0) {
+        if (useHostPointer) {
+            returnEvent = syncDeviceToHost(executionPlanId, segment, OpenCLBlocking.TRUE, (useDeps) ? events : null);
+        } else if (partialReadSize != 0) {
             // Partial Copy Out due to an under demand copy by the user
             returnEvent = deviceContext.readBuffer(executionPlanId, toBuffer(), TornadoNativeArray.ARRAY_HEADER, partialReadSize, segment.address(), hostOffset, (useDeps) ? events : null);
         } else if (batchSize <= 0) {
@@ -132,8 +200,10 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
     public void write(long executionPlanId, Object reference) {
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
-        if (batchSize <= 0) {
-            deviceContext.writeBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), 0, null);
+        if (useHostPointer) {
+            syncHostToDevice(executionPlanId, segment, OpenCLBlocking.TRUE, null);
+        } else if (batchSize <= 0) {
+            deviceContext.writeBuffer(executionPlanId, toBuffer(), bufferOffset, Math.min(bufferSize, segment.byteSize()), segment.address(), 0, null);
         } else {
             throw new TornadoUnsupportedError("[UNSUPPORTED] batch processing for writeBuffer operation");
         }
@@ -142,11 +212,14 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public int enqueueRead(long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+        checkHostMemory(reference);
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
 
         final int returnEvent;
-        if (batchSize <= 0) {
+        if (useHostPointer) {
+            returnEvent = syncDeviceToHost(executionPlanId, segment, OpenCLBlocking.FALSE, (useDeps) ? events : null);
+        } else if (batchSize <= 0) {
             returnEvent = deviceContext.enqueueReadBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), hostOffset, (useDeps) ? events : null);
         } else {
             throw new TornadoUnsupportedError("[UNSUPPORTED] batch processing for enqueueReadBuffer operation");
@@ -161,8 +234,12 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         segment = getSegmentWithHeader(reference);
 
         int internalEvent;
-        if (batchSize <= 0) {
-            internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), hostOffset, (useDeps) ? events : null);
+        if (useHostPointer) {
+            internalEvent = syncHostToDevice(executionPlanId, segment, OpenCLBlocking.FALSE, (useDeps) ? events : null);
+        } else if (batchSize <= 0) {
+            internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferOffset, Math.min(bufferSize, segment.byteSize()), segment.address(), hostOffset, (useDeps)
+                    ? events
+                    : null);
         } else {
             internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), 0, TornadoNativeArray.ARRAY_HEADER, segment.address(), 0, (useDeps) ? events : null);
             returnEvents.add(internalEvent);
@@ -179,8 +256,11 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         MemorySegment segment;
         segment = getSegmentWithHeader(reference);
 
-        if (batchSize <= 0) {
+        if (batchSize <= 0 && TornadoOptions.OPENCL_ZERO_COPY && !isDeviceOnly(reference) && canUseHostPointer(deviceContext.getDevice(), segment)) {
             bufferSize = segment.byteSize();
+            bufferId = allocateHostPointerBuffer(segment);
+        } else if (batchSize <= 0) {
+            bufferSize = isDeviceOnly(reference) ? ((TornadoNativeArray) reference).getNumBytesOfSegmentWithHeader() : segment.byteSize();
             bufferId = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize);
         } else {
             bufferSize = batchSize;
@@ -196,10 +276,26 @@ public class OCLMemorySegmentWrapper implements XPUBuffer {
         }
     }
 
+    private long allocateHostPointerBuffer(MemorySegment segment) {
+        OCLContext.OCLBufferResult result = deviceContext.getMemoryManager().createHostPointerBuffer(bufferSize, segment.address());
+        if (result != null && result.getBuffer() != 0) {
+            useHostPointer = true;
+            return result.getBuffer();
+        }
+        // Fall back to a device buffer from the buffer provider
+        return deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize);
+    }
+
     @Override
     public void deallocate() throws TornadoMemoryException {
         TornadoInternalError.guarantee(bufferId != INIT_VALUE, "Fatal error: trying to deallocate an invalid buffer");
-        deviceContext.getBufferProvider().markBufferReleased(bufferId);
+        if (useHostPointer) {
+            // Buffers that wrap host memory are bound to one segment, so they are not pooled
+            deviceContext.getMemoryManager().releaseBuffer(bufferId);
+            useHostPointer = false;
+        } else {
+            deviceContext.getBufferProvider().markBufferReleased(bufferId);
+        }
         bufferId = INIT_VALUE;
         bufferSize = INIT_VALUE;
 
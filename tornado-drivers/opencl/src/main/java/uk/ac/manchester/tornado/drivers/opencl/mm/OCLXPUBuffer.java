@@ -25,7 +25,6 @@
  */
 package uk.ac.manchester.tornado.drivers.opencl.mm;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shouldNotReachHere;
 import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.unimplemented;
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getVMConfig;
 import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getVMRuntime;
@@ -34,10 +33,12 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.debug;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.trace;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.warn;
 
+import java.lang.foreign.MemorySegment;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
 import jdk.vm.ci.hotspot.HotSpotResolvedJavaField;
@@ -54,7 +55,7 @@ import uk.ac.manchester.tornado.api.types.arrays.HalfFloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
-import uk.ac.manchester.tornado.drivers.common.mm.PrimitiveSerialiser;
+import uk.ac.manchester.tornado.drivers.common.mm.ObjectSerialiser;
 import uk.ac.manchester.tornado.drivers.opencl.OCLDeviceContext;
 import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.utils.TornadoUtils;
@@ -72,6 +73,9 @@ public class OCLXPUBuffer implements XPUBuffer {
     private long bufferId;
     private long bufferOffset;
     private ByteBuffer buffer;
+    private MemorySegment segment;
+    private long[] references;
+    private ObjectSerialiser serialiser;
     private long setSubRegionSize;
 
     public OCLXPUBuffer(final OCLDeviceContext device, Object object) {
@@ -83,13 +87,14 @@ public class OCLXPUBuffer implements XPUBuffer {
         resolvedType = (HotSpotResolvedJavaType) getVMRuntime().getHostJVMCIBackend().getMetaAccess().lookupJavaType(objectType);
 
         fields = (HotSpotResolvedJavaField[]) resolvedType.getInstanceFields(false);
-        sortFieldsByOffset();
+        Arrays.sort(fields, Comparator.comparingInt(HotSpotResolvedJavaField::getOffset));
+        serialiser = ObjectSerialiser.forType(objectType, fields, hubOffset, deviceContext.getByteOrder());
 
         wrappedFields = new FieldBuffer[fields.length];
 
         for (int index = 0; index < fields.length; index++) {
             HotSpotResolvedJavaField field = fields[index];
-            final Field reflectedField = getField(objectType, field.getName());
+            final Field reflectedField = serialiser.getField(index);
             final Class<?> type = reflectedField.getType();
 
             if (DEBUG) {
@@ -161,6 +166,8 @@ public class OCLXPUBuffer implements XPUBuffer {
             buffer = ByteBuffer.allocate((int) getObjectSize());
             buffer.order(deviceContext.getByteOrder());
         }
+        segment = MemorySegment.ofArray(buffer.array());
+        references = new long[fields.length];
     }
 
     @Override
@@ -184,113 +191,21 @@ public class OCLXPUBuffer implements XPUBuffer {
         bufferId = -1;
     }
 
-    private Field getField(Class<?> type, String name) {
-        Field result = null;
-        try {
-            result = type.getDeclaredField(name);
-            result.setAccessible(true);
-        } catch (NoSuchFieldException | SecurityException e) {
-            if (type.getSuperclass() != null) {
-                result = getField(type.getSuperclass(), name);
-            } else {
-                shouldNotReachHere("unable to get field: class=%s, field=%s", type.getName(), name);
-            }
-        }
-        return result;
-    }
-
-    private void writeFieldToBuffer(int index, Field field, Object obj) {
-        Class<?> fieldType = field.getType();
-        if (fieldType.isPrimitive()) {
-            try {
-                PrimitiveSerialiser.put(buffer, field.get(obj));
-            } catch (IllegalArgumentException | IllegalAccessException e) {
-                shouldNotReachHere("unable to write primitive to buffer: ", e.getMessage());
-            }
-        } else if (wrappedFields[index] != null) {
-            buffer.putLong(wrappedFields[index].getBufferOffset());
-        } else {
-            unimplemented("field type %s", fieldType.getName());
-        }
-    }
-
-    private void readFieldFromBuffer(int index, Field field, Object obj) {
-        Class<?> fieldType = field.getType();
-        if (fieldType.isPrimitive()) {
-            try {
-                if (fieldType == int.class) {
-                    field.setInt(obj, buffer.getInt());
-                } else if (fieldType == long.class) {
-                    field.setLong(obj, buffer.getLong());
-                } else if (fieldType == short.class) {
-                    field.setShort(obj, buffer.getShort());
-                } else if (fieldType == byte.class) {
-                    field.set(obj, buffer.get());
-                } else if (fieldType == float.class) {
-                    field.setFloat(obj, buffer.getFloat());
-                } else if (fieldType == double.class) {
-                    field.setDouble(obj, buffer.getDouble());
-                }
-            } catch (IllegalAccessException e) {
-                shouldNotReachHere("unable to read field: ", e.getMessage());
-            }
-        } else if (wrappedFields[index] != null) {
-            buffer.getLong();
-        } else {
-            unimplemented("field type %s", fieldType.getName());
-        }
-    }
-
-    private void sortFieldsByOffset() {
-        // TODO Replace bubble sort with Arrays.sort + comparator
-        for (int i = 0; i < fields.length; i++) {
-            for (int j = 0; j < fields.length; j++) {
-                if (fields[i].getOffset() < fields[j].getOffset()) {
-                    final HotSpotResolvedJavaField tmp = fields[j];
-                    fields[j] = fields[i];
-                    fields[i] = tmp;
-                }
-            }
-        }
-
-    }
-
     private void serialise(Object object) {
-        buffer.rewind();
-        buffer.position(hubOffset);
-        buffer.putLong(0);
-
-        if (fields.length > 0) {
-            buffer.position(fields[0].getOffset());
-            for (int i = 0; i < fields.length; i++) {
-                HotSpotResolvedJavaField field = fields[i];
-                Field f = getField(objectType, field.getName());
-                if (DEBUG) {
-                    trace("writing field: name=%s, offset=%d", field.getName(), field.getOffset());
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getJavaKind().isObject()) {
+                if (wrappedFields[i] == null) {
+                    unimplemented("field type %s", serialiser.getField(i).getType().getName());
                 }
-
-                buffer.position(field.getOffset());
-                writeFieldToBuffer(i, f, object);
+                references[i] = wrappedFields[i].getBufferOffset();
             }
         }
+        serialiser.serialise(object, segment, references);
+        buffer.position(buffer.capacity());
     }
 
     private void deserialise(Object object) {
-        buffer.rewind();
-
-        if (fields.length > 0) {
-            buffer.position(fields[0].getOffset());
-
-            for (int i = 0; i < fields.length; i++) {
-                HotSpotResolvedJavaField field = fields[i];
-                Field f = getField(objectType, field.getName());
-                f.setAccessible(true);
-                if (DEBUG) {
-                    trace("reading field: name=%s, offset=%d", field.getName(), field.getOffset());
-                }
-                readFieldFromBuffer(i, f, object);
-            }
-        }
+        serialiser.deserialise(object, segment);
     }
 
     @Override
@@ -95,6 +95,7 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.profiler.CompilationRecorder;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -256,6 +257,9 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
         final Access[] sketchAccess = sketch.getArgumentsAccess();
         final Access[] taskAccess = taskMeta.getArgumentsAccess();
         System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
+        taskMeta.setNoAliasArguments(TornadoOptions.RESTRICT_KERNEL_PARAMETERS && taskMeta.hasDistinctArrayArguments(executable.getArguments()));
+        taskMeta.setRequiredLocalWork(null);
+        CompilationRecorder.start(taskMeta, getTornadoVMBackend().name(), sketch.getBuildTime());
 
         try {
             OCLProviders providers = (OCLProviders) getBackend().getProviders();
@@ -282,6 +286,7 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
             profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
 
             profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+            final long driverStart = System.nanoTime();
             // Compile the code
             OCLInstalledCode installedCode;
             if (OCLBackend.isDeviceAnFPGAAccelerator(deviceContext)) {
@@ -291,6 +296,9 @@ public class OCLTornadoDevice implements TornadoXPUDevice {
                 // B) for CPU multi-core or GPU
                 installedCode = deviceContext.installCode(result);
             }
+            if (taskMeta.getCompilationRecorder() != null) {
+                taskMeta.getCompilationRecorder().setDriverBuildTime(System.nanoTime() - driverStart);
+            }
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
 
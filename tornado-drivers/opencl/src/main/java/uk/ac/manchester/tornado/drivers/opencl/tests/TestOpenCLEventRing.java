@@ -0,0 +1,181 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.opencl.tests;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
+import uk.ac.manchester.tornado.drivers.common.EventRing;
+
+/**
+ * Checks the recycling of event slots used by the event pools. The native
+ * events are fake handles, so no OpenCL device is needed.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLEventRing
+ * </code>
+ */
+public class TestOpenCLEventRing {
+
+    private static class FakeEvents implements EventRing.NativeEvents {
+
+        private final AtomicLongArray handles;
+        private final AtomicInteger nextHandle = new AtomicInteger(1);
+        private final AtomicInteger released = new AtomicInteger();
+        private final AtomicBoolean invalidRelease = new AtomicBoolean();
+
+        FakeEvents(int capacity) {
+            handles = new AtomicLongArray(capacity);
+        }
+
+        int register(EventRing ring) {
+            int slot = ring.claim();
+            invalidRelease.compareAndSet(false, handles.getAndSet(slot, nextHandle.getAndIncrement()) != 0);
+            ring.publish(slot);
+            return slot;
+        }
+
+        @Override
+        public void release(int slot) {
+            // Releasing an empty slot means that the event was released twice
+            invalidRelease.compareAndSet(false, handles.getAndSet(slot, 0) == 0);
+            released.incrementAndGet();
+        }
+    }
+
+    private static boolean checkReleaseAhead() {
+        FakeEvents events = new FakeEvents(8);
+        EventRing ring = new EventRing(8, true, events);
+        boolean correct = true;
+        for (int i = 0; i < 8; i++) {
+            correct &= events.register(ring) == i;
+        }
+        correct &= events.released.get() == 0;
+
+        // Only half of the ring is released, so the most recent events stay valid
+        correct &= ring.releaseAhead() == 4;
+        correct &= !ring.isLive(0) && !ring.isLive(3) && ring.isLive(4);
+        for (int i = 0; i < 4; i++) {
+            correct &= events.register(ring) == i;
+        }
+        correct &= ring.getNumberOfInlineReleases() == 0;
+
+        // The next slot was not released ahead
+        correct &= events.register(ring) == 4;
+        correct &= ring.getNumberOfInlineReleases() == 1;
+        return correct && !events.invalidRelease.get();
+    }
+
+    private static boolean checkRetainedEvents() {
+        FakeEvents events = new FakeEvents(4);
+        EventRing ring = new EventRing(4, true, events);
+        int retained = events.register(ring);
+        ring.retain(retained);
+        for (int i = 0; i < 3; i++) {
+            events.register(ring);
+        }
+        boolean correct = events.register(ring) == 1;
+        correct &= ring.isLive(retained);
+
+        ring.unretain(retained);
+        correct &= ring.releaseAhead() == 2;
+        correct &= events.register(ring) == 2;
+        correct &= events.register(ring) == 3;
+        correct &= events.register(ring) == 0;
+        return correct && !events.invalidRelease.get();
+    }
+
+    private static boolean checkReset() {
+        FakeEvents events = new FakeEvents(1024);
+        EventRing ring = new EventRing(1024, true, events);
+        for (int i = 0; i < 3; i++) {
+            events.register(ring);
+        }
+        ring.retain(1);
+        ring.reset();
+        boolean correct = events.released.get() == 3;
+        correct &= ring.getUsedSlots() == 0;
+        correct &= events.register(ring) == 0;
+        return correct && !events.invalidRelease.get();
+    }
+
+    private static boolean checkFullRing() {
+        FakeEvents events = new FakeEvents(2);
+        EventRing ring = new EventRing(2, false, events);
+        events.register(ring);
+        events.register(ring);
+        try {
+            events.register(ring);
+            return false;
+        } catch (TornadoInternalError e) {
+            ring.reset();
+            return events.register(ring) == 0;
+        }
+    }
+
+    private static boolean checkConcurrentRegistrations() throws InterruptedException {
+        final int capacity = 64;
+        final int eventsPerThread = 10_000;
+        FakeEvents events = new FakeEvents(capacity);
+        EventRing ring = new EventRing(capacity, true, events);
+
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < eventsPerThread; j++) {
+                    events.register(ring);
+                    if (j % 100 == 0) {
+                        ring.releaseAhead();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int live = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            live += ring.isLive(slot) ? 1 : 0;
+        }
+        // Every event is either released or still in the ring
+        boolean correct = events.released.get() + live == threads.length * eventsPerThread;
+        return correct && !events.invalidRelease.get();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.print("Running Native: uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLEventRing");
+        boolean correct = checkReleaseAhead() && checkRetainedEvents() && checkReset() && checkFullRing() && checkConcurrentRegistrations();
+        if (!correct) {
+            System.out.println(" ................ [FAIL]");
+        } else {
+            System.out.println(" ................ [PASS]");
+        }
+    }
+}
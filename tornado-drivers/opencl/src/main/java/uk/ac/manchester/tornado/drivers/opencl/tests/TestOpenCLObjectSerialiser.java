@@ -0,0 +1,162 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.opencl.tests;
+
+import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getVMConfig;
+import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getVMRuntime;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import jdk.vm.ci.hotspot.HotSpotResolvedJavaField;
+import jdk.vm.ci.hotspot.HotSpotResolvedJavaType;
+import uk.ac.manchester.tornado.drivers.common.mm.ObjectSerialiser;
+
+/**
+ * Checks that the fields of an object are written into its device image and
+ * read back with the byte order of the device. The image is a heap segment, so
+ * no OpenCL device is needed.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLObjectSerialiser
+ * </code>
+ */
+public class TestOpenCLObjectSerialiser {
+
+    private static final long REFERENCE = 0x0123456789ABCDEFL;
+
+    private static class AllKinds {
+        boolean z;
+        byte b;
+        short s;
+        char c;
+        int i;
+        float f;
+        long l;
+        double d;
+        Object reference;
+    }
+
+    private static AllKinds createObject() {
+        AllKinds object = new AllKinds();
+        object.z = true;
+        object.b = (byte) 0xA5;
+        object.s = (short) 0x1234;
+        object.c = '\u20AC';
+        object.i = 0x12345678;
+        object.f = 3.1415927f;
+        object.l = 0x1122334455667788L;
+        object.d = -2.718281828459045;
+        object.reference = new Object();
+        return object;
+    }
+
+    private static HotSpotResolvedJavaField[] getFields() {
+        HotSpotResolvedJavaType resolvedType = (HotSpotResolvedJavaType) getVMRuntime().getHostJVMCIBackend().getMetaAccess().lookupJavaType(AllKinds.class);
+        HotSpotResolvedJavaField[] fields = (HotSpotResolvedJavaField[]) resolvedType.getInstanceFields(false);
+        Arrays.sort(fields, Comparator.comparingInt(HotSpotResolvedJavaField::getOffset));
+        return fields;
+    }
+
+    /**
+     * Checks every slot of the image against the value of the field, read with
+     * the byte order of the device.
+     */
+    private static boolean checkImage(AllKinds object, HotSpotResolvedJavaField[] fields, MemorySegment segment, ByteOrder byteOrder, int hubOffset) {
+        // With compressed class pointers, the first field may share the 8 bytes of the hub
+        boolean correct = true;
+        for (long offset = hubOffset; offset < Math.min(hubOffset + Long.BYTES, fields[0].getOffset()); offset++) {
+            correct &= segment.get(ValueLayout.JAVA_BYTE, offset) == 0;
+        }
+        for (HotSpotResolvedJavaField field : fields) {
+            long offset = field.getOffset();
+            correct &= switch (field.getName()) {
+                case "z" -> segment.get(ValueLayout.JAVA_BOOLEAN, offset) == object.z;
+                case "b" -> segment.get(ValueLayout.JAVA_BYTE, offset) == object.b;
+                case "s" -> segment.get(ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(byteOrder), offset) == object.s;
+                case "c" -> segment.get(ValueLayout.JAVA_CHAR_UNALIGNED.withOrder(byteOrder), offset) == object.c;
+                case "i" -> segment.get(ValueLayout.JAVA_INT_UNALIGNED.withOrder(byteOrder), offset) == object.i;
+                case "f" -> segment.get(ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(byteOrder), offset) == object.f;
+                case "l" -> segment.get(ValueLayout.JAVA_LONG_UNALIGNED.withOrder(byteOrder), offset) == object.l;
+                case "d" -> segment.get(ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(byteOrder), offset) == object.d;
+                case "reference" -> segment.get(ValueLayout.JAVA_LONG_UNALIGNED.withOrder(byteOrder), offset) == REFERENCE;
+                default -> false;
+            };
+        }
+        return correct;
+    }
+
+    private static boolean checkRoundTrip(ByteOrder byteOrder) {
+        final int hubOffset = getVMConfig().hubOffset;
+        HotSpotResolvedJavaField[] fields = getFields();
+        ObjectSerialiser serialiser = ObjectSerialiser.forType(AllKinds.class, fields, hubOffset, byteOrder);
+
+        long[] references = new long[fields.length];
+        for (int index = 0; index < fields.length; index++) {
+            if (fields[index].getName().equals("reference")) {
+                references[index] = REFERENCE;
+            }
+        }
+        int size = fields[fields.length - 1].getOffset() + Long.BYTES;
+        MemorySegment segment = MemorySegment.ofArray(new byte[size]);
+        // The hub must be cleared by the serialiser
+        segment.fill((byte) 0xFF);
+
+        AllKinds source = createObject();
+        serialiser.serialise(source, segment, references);
+        boolean correct = checkImage(source, fields, segment, byteOrder, hubOffset);
+
+        AllKinds target = new AllKinds();
+        Object reference = new Object();
+        target.reference = reference;
+        serialiser.deserialise(target, segment);
+
+        correct &= target.z == source.z;
+        correct &= target.b == source.b;
+        correct &= target.s == source.s;
+        correct &= target.c == source.c;
+        correct &= target.i == source.i;
+        correct &= Float.compare(target.f, source.f) == 0;
+        correct &= target.l == source.l;
+        correct &= Double.compare(target.d, source.d) == 0;
+        // Reference fields are not updated from the device
+        correct &= target.reference == reference;
+        return correct;
+    }
+
+    public static void main(String[] args) {
+        System.out.print("Running Native: uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLObjectSerialiser");
+        boolean correct = checkRoundTrip(ByteOrder.LITTLE_ENDIAN) && checkRoundTrip(ByteOrder.BIG_ENDIAN);
+        if (!correct) {
+            System.out.println(" ................ [FAIL]");
+        } else {
+            System.out.println(" ................ [PASS]");
+        }
+    }
+}
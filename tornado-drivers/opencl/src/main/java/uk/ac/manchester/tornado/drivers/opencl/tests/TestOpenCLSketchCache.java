@@ -0,0 +1,123 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.opencl.tests;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+import org.graalvm.compiler.phases.util.Providers;
+
+import jdk.vm.ci.meta.ResolvedJavaMethod;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.common.TornadoDevice;
+import uk.ac.manchester.tornado.drivers.common.utils.CompilerUtil;
+import uk.ac.manchester.tornado.drivers.opencl.OCLBackendImpl;
+import uk.ac.manchester.tornado.drivers.opencl.graal.backend.OCLBackend;
+import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
+import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoSuitesProvider;
+import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
+import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
+import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleMetaData;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Checks that the sketches are only reused while the bytecode of a method is
+ * unchanged. A redefined method is emulated with a resolved method that is
+ * equal to the original one but reports a different bytecode.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLSketchCache
+ * </code>
+ */
+public class TestOpenCLSketchCache {
+
+    public static void methodToCompile(int[] a, int[] b) {
+        for (@Parallel int i = 0; i < b.length; i++) {
+            b[i] = a[i] + 1;
+        }
+    }
+
+    private static ResolvedJavaMethod redefine(ResolvedJavaMethod resolvedMethod) {
+        byte[] code = resolvedMethod.getCode();
+        // Replace the last instruction (return) with a nop
+        code[code.length - 1] = 0;
+        return (ResolvedJavaMethod) Proxy.newProxyInstance(TestOpenCLSketchCache.class.getClassLoader(), new Class<?>[] { ResolvedJavaMethod.class }, (proxy, method, args) -> {
+            if (method.getName().equals("getCode")) {
+                return code.clone();
+            }
+            return method.invoke(resolvedMethod, args);
+        });
+    }
+
+    public static void main(String[] args) {
+        System.out.print("Running Native: uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLSketchCache");
+
+        Method methodToCompile = CompilerUtil.getMethodForName(TestOpenCLSketchCache.class, "methodToCompile");
+        TornadoCoreRuntime tornadoRuntime = TornadoCoreRuntime.getTornadoRuntime();
+        ResolvedJavaMethod resolvedMethod = tornadoRuntime.resolveMethod(methodToCompile);
+
+        OCLBackend openCLBackend = tornadoRuntime.getBackend(OCLBackendImpl.class).getDefaultBackend();
+        TornadoDevice device = tornadoRuntime.getBackend(OCLBackendImpl.class).getDefaultDevice();
+
+        int[] a = new int[128];
+        int[] b = new int[128];
+        Arrays.fill(a, 10);
+
+        ScheduleMetaData scheduleMetaData = new ScheduleMetaData("s0");
+        CompilableTask compilableTask = new CompilableTask(scheduleMetaData, "t0", methodToCompile, a, b);
+        TaskMetaData taskMeta = compilableTask.meta();
+        taskMeta.setDevice(device);
+        int driverIndex = taskMeta.getDriverIndex();
+
+        Providers providers = openCLBackend.getProviders();
+        TornadoSuitesProvider suites = openCLBackend.getTornadoSuites();
+        Sketch sketch = CompilerUtil.buildSketchForJavaMethod(resolvedMethod, taskMeta, providers, suites);
+
+        boolean correct = sketch != null;
+        correct &= TornadoSketcher.isCached(resolvedMethod, driverIndex);
+
+        // A second request for the same bytecode reuses the sketch
+        Sketch reused = CompilerUtil.buildSketchForJavaMethod(resolvedMethod, taskMeta, providers, suites);
+        correct &= reused == sketch;
+
+        // The redefined method shares the cache key, but its bytecode has changed
+        ResolvedJavaMethod redefinedMethod = redefine(resolvedMethod);
+        correct &= redefinedMethod.equals(resolvedMethod);
+        correct &= !TornadoSketcher.isCached(redefinedMethod, driverIndex);
+
+        // After an invalidation, the original method misses the cache as well
+        TornadoSketcher.invalidate(resolvedMethod);
+        correct &= !TornadoSketcher.isCached(resolvedMethod, driverIndex);
+
+        if (!correct) {
+            System.out.println(" ................ [FAIL]");
+        } else {
+            System.out.println(" ................ [PASS]");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.opencl.tests;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import uk.ac.manchester.tornado.drivers.opencl.OCLTargetDevice;
+import uk.ac.manchester.tornado.drivers.opencl.enums.OCLDeviceType;
+import uk.ac.manchester.tornado.drivers.opencl.mm.OCLMemorySegmentWrapper;
+import uk.ac.manchester.tornado.drivers.opencl.virtual.VirtualDeviceDescriptor;
+import uk.ac.manchester.tornado.drivers.opencl.virtual.VirtualOCLDevice;
+
+/**
+ * Checks when a device buffer can wrap the host memory of an array instead of
+ * copying it. The devices are virtual, so no OpenCL device is needed.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLZeroCopy
+ * </code>
+ */
+public class TestOpenCLZeroCopy {
+
+    private static OCLTargetDevice createVirtualDevice(OCLDeviceType deviceType, boolean unifiedMemory) {
+        VirtualDeviceDescriptor descriptor = new VirtualDeviceDescriptor("virtualDevice", true, new long[] { 1024, 1024, 64 }, 64, deviceType, "", 1, unifiedMemory);
+        return new VirtualOCLDevice(descriptor);
+    }
+
+    public static void main(String[] args) {
+        System.out.print("Running Native: uk.ac.manchester.tornado.drivers.opencl.tests.TestOpenCLZeroCopy");
+
+        OCLTargetDevice integratedGPU = createVirtualDevice(OCLDeviceType.CL_DEVICE_TYPE_GPU, true);
+        OCLTargetDevice discreteGPU = createVirtualDevice(OCLDeviceType.CL_DEVICE_TYPE_GPU, false);
+        OCLTargetDevice cpu = createVirtualDevice(OCLDeviceType.CL_DEVICE_TYPE_CPU, true);
+        final int alignment = integratedGPU.getDeviceMemoryBaseAlignment() / Byte.SIZE;
+
+        boolean correct;
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment aligned = arena.allocate(4096, alignment);
+            MemorySegment unaligned = aligned.asSlice(Integer.BYTES);
+            MemorySegment onHeap = MemorySegment.ofArray(new float[1024]);
+
+            correct = OCLMemorySegmentWrapper.canUseHostPointer(integratedGPU, aligned);
+            correct &= OCLMemorySegmentWrapper.canUseHostPointer(cpu, aligned);
+            correct &= !OCLMemorySegmentWrapper.canUseHostPointer(discreteGPU, aligned);
+            correct &= !OCLMemorySegmentWrapper.canUseHostPointer(integratedGPU, unaligned);
+            correct &= !OCLMemorySegmentWrapper.canUseHostPointer(integratedGPU, onHeap);
+        }
+
+        if (!correct) {
+            System.out.println(" ................ [FAIL]");
+        } else {
+            System.out.println(" ................ [PASS]");
+        }
+    }
+}
@@ -49,7 +49,8 @@ public class VirtualJSONParser {
         deviceAddressBits,
         deviceType,
         deviceExtensions,
-        availableProcessors;
+        availableProcessors,
+        unifiedMemory;
     }
 
     public static VirtualDeviceDescriptor getDeviceDescriptor() {
@@ -73,8 +74,9 @@ public class VirtualJSONParser {
         OCLDeviceType deviceType = (OCLDeviceType) getEntryForKey(JsonKey.deviceType, jsonEntries);
         String deviceExtensions = (String) getEntryForKey(JsonKey.deviceExtensions, jsonEntries);
         int availableProcessors = (int) getEntryForKey(JsonKey.availableProcessors, jsonEntries);
+        boolean unifiedMemory = (boolean) getEntryForKey(JsonKey.unifiedMemory, jsonEntries);
 
-        return new VirtualDeviceDescriptor(deviceName, doubleFPSupport, maxWorkItemSizes, deviceAddressBits, deviceType, deviceExtensions, availableProcessors);
+        return new VirtualDeviceDescriptor(deviceName, doubleFPSupport, maxWorkItemSizes, deviceAddressBits, deviceType, deviceExtensions, availableProcessors, unifiedMemory);
     }
 
     private static Object getEntryForKey(JsonKey jsonKey, Map<JsonKey, String> jsonEntries) {
@@ -83,6 +85,7 @@ public class VirtualJSONParser {
             case deviceExtensions:
                 return jsonEntries.get(jsonKey);
             case doubleFPSupport:
+            case unifiedMemory:
                 return Boolean.parseBoolean(jsonEntries.get(jsonKey));
             case maxWorkItemSizes:
                 long[] values = new long[3];
@@ -53,8 +53,13 @@ public class VirtualOCLDevice implements OCLTargetDevice {
     private final int deviceAddressBits;
     private final String deviceExtensions;
     private final int availableProcessors;
+    private final boolean unifiedMemory;
 
     private static final int INIT_VALUE = -1;
+    /**
+     * Base address alignment, in bits, reported by most OpenCL devices.
+     */
+    private static final int MEMORY_BASE_ALIGNMENT = 1024;
     private OCLDeviceContextInterface deviceContex;
 
     public VirtualOCLDevice(VirtualDeviceDescriptor info) {
@@ -76,6 +81,7 @@ public class VirtualOCLDevice implements OCLTargetDevice {
         this.deviceType = info.deviceType();
         this.deviceExtensions = info.getDeviceExtensions();
         this.availableProcessors = info.getAvailableProcessors();
+        this.unifiedMemory = info.hasUnifiedMemory();
     }
 
     public long getId() {
@@ -179,8 +185,14 @@ public class VirtualOCLDevice implements OCLTargetDevice {
         return deviceAddressBits;
     }
 
+    @Override
     public boolean hasDeviceUnifiedMemory() {
-        return false;
+        return unifiedMemory;
+    }
+
+    @Override
+    public int getDeviceMemoryBaseAlignment() {
+        return MEMORY_BASE_ALIGNMENT;
     }
 
     @Override
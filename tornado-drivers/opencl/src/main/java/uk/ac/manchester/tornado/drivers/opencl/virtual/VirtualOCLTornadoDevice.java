@@ -60,9 +60,11 @@ import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.profiler.CompilationRecorder;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -187,6 +189,9 @@ public class VirtualOCLTornadoDevice implements TornadoXPUDevice {
         final Access[] sketchAccess = sketch.getArgumentsAccess();
         final Access[] taskAccess = taskMeta.getArgumentsAccess();
         System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
+        taskMeta.setNoAliasArguments(TornadoOptions.RESTRICT_KERNEL_PARAMETERS && taskMeta.hasDistinctArrayArguments(executable.getArguments()));
+        taskMeta.setRequiredLocalWork(null);
+        CompilationRecorder.start(taskMeta, getTornadoVMBackend().name(), sketch.getBuildTime());
 
         try {
             OCLProviders providers = (OCLProviders) getBackend().getProviders();
@@ -196,9 +201,14 @@ public class VirtualOCLTornadoDevice implements TornadoXPUDevice {
             profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
 
+            // The virtual device has no driver, the kernel is only dumped
+            final long driverStart = System.nanoTime();
             if (taskMeta.isPrintKernelEnabled()) {
                 RuntimeUtilities.dumpKernel(result.getTargetCode());
             }
+            if (taskMeta.getCompilationRecorder() != null) {
+                taskMeta.getCompilationRecorder().setDriverBuildTime(System.nanoTime() - driverStart);
+            }
 
             return null;
         } catch (Exception e) {
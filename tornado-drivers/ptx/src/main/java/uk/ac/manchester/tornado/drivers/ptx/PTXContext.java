@@ -51,6 +51,10 @@ public class PTXContext {
 
     private native static long cuMemFree(long cuContext, long devicePtr);
 
+    private native static long cuMemAllocHost(long cuContext, long numBytes);
+
+    private native static long cuMemFreeHost(long cuContext, long hostPtr);
+
     private native static long cuCtxSetCurrent(long cuContext);
 
     public void enablePTXContext() {
@@ -64,6 +68,7 @@ public class PTXContext {
         }
 
         IntStream.range(1, (numPlans)).forEach(deviceContext::destroyStream);
+        deviceContext.freeStagingBuffers();
         cuCtxDestroy(ptxContext);
     }
 
@@ -82,4 +87,17 @@ public class PTXContext {
     public void freeMemory(long address) {
         cuMemFree(ptxContext, address);
     }
+
+    /**
+     * Allocates page-locked host memory.
+     *
+     * @return The host address, or 0 if the memory could not be allocated.
+     */
+    public long allocateHostMemory(long numBytes) {
+        return cuMemAllocHost(ptxContext, numBytes);
+    }
+
+    public void freeHostMemory(long address) {
+        cuMemFreeHost(ptxContext, address);
+    }
 }
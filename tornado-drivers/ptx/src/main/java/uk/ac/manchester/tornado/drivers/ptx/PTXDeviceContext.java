@@ -27,6 +27,7 @@ import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.shoul
 import static uk.ac.manchester.tornado.api.utils.TornadoAPIUtils.isBoxedPrimitive;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.PTXCodeUtil.buildKernelName;
 
+import java.lang.foreign.Arena;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
@@ -46,8 +47,12 @@ import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
 import uk.ac.manchester.tornado.drivers.common.TornadoBufferProvider;
+import uk.ac.manchester.tornado.drivers.common.mm.HostMemoryAllocator;
+import uk.ac.manchester.tornado.drivers.common.mm.PinnedArena;
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool;
 import uk.ac.manchester.tornado.drivers.common.power.PowerMetric;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResult;
+import uk.ac.manchester.tornado.drivers.ptx.mm.PTXHostMemoryAllocator;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXKernelStackFrame;
 import uk.ac.manchester.tornado.drivers.ptx.mm.PTXMemoryManager;
 import uk.ac.manchester.tornado.drivers.ptx.power.PTXNvidiaPowerMetric;
@@ -65,6 +70,8 @@ public class PTXDeviceContext implements TornadoDeviceContext {
     private final PTXCodeCache codeCache;
     private final PTXScheduler scheduler;
     private final TornadoBufferProvider bufferProvider;
+    private final HostMemoryAllocator hostMemoryAllocator;
+    private final StagingBufferPool stagingBufferPool;
     private boolean wasReset;
     private final PowerMetric powerMetric;
 
@@ -80,6 +87,8 @@ public class PTXDeviceContext implements TornadoDeviceContext {
         codeCache = new PTXCodeCache(this);
         memoryManager = new PTXMemoryManager(this);
         bufferProvider = new PTXBufferProvider(this);
+        hostMemoryAllocator = new PTXHostMemoryAllocator(this);
+        stagingBufferPool = new StagingBufferPool(hostMemoryAllocator, TornadoOptions.PTX_STAGING_BUFFER_SIZE);
         wasReset = false;
         executionIDs = Collections.synchronizedSet(new HashSet<>());
     }
@@ -357,6 +366,26 @@ public class PTXDeviceContext implements TornadoDeviceContext {
         return codeCache.isCached(buildKernelName(methodName, task));
     }
 
+    /**
+     * Creates an arena that allocates page-locked host memory in the context of
+     * this device.
+     */
+    public Arena createPinnedArena() {
+        return new PinnedArena(hostMemoryAllocator);
+    }
+
+    public void freeStagingBuffers() {
+        stagingBufferPool.free();
+    }
+
+    /**
+     * Large copies of pageable host memory go through the pinned staging buffers.
+     * Pinned segments are copied directly.
+     */
+    private boolean useStagingBuffers(long hostAddress, long length) {
+        return TornadoOptions.PTX_STAGING_BUFFERS && length >= 2 * stagingBufferPool.getMaxBufferSize() && !PinnedArena.isPinned(hostAddress, length);
+    }
+
     public void destroyStream(long executionPlanId) {
         PTXStream stream = getStream(executionPlanId);
         if (stream != null && !stream.isDestroy()) {
@@ -370,6 +399,9 @@ public class PTXDeviceContext implements TornadoDeviceContext {
 
     public int readBuffer(long executionPlanId, long address, long length, long hostPointer, long hostOffset, int[] waitEvents) {
         PTXStream stream = getStream(executionPlanId);
+        if (useStagingBuffers(hostPointer + hostOffset, length)) {
+            return stream.enqueueStagedRead(executionPlanId, address, length, hostPointer, hostOffset, waitEvents, stagingBufferPool);
+        }
         return stream.enqueueRead(executionPlanId, address, length, hostPointer, hostOffset, waitEvents);
     }
 
@@ -462,6 +494,10 @@ public class PTXDeviceContext implements TornadoDeviceContext {
 
     public void writeBuffer(long executionPlanId, long address, long length, long hostPointer, long hostOffset, int[] waitEvents) {
         PTXStream stream = getStream(executionPlanId);
+        if (useStagingBuffers(hostPointer + hostOffset, length)) {
+            stream.enqueueStagedWrite(executionPlanId, address, length, hostPointer, hostOffset, waitEvents, stagingBufferPool, true);
+            return;
+        }
         stream.enqueueWrite(executionPlanId, address, length, hostPointer, hostOffset, waitEvents);
     }
 
@@ -501,6 +537,9 @@ public class PTXDeviceContext implements TornadoDeviceContext {
 
     public int enqueueWriteBuffer(long executionPlanId, long address, long length, long hostPointer, long hostOffset, int[] waitEvents) {
         PTXStream stream = getStream(executionPlanId);
+        if (useStagingBuffers(hostPointer + hostOffset, length)) {
+            return stream.enqueueStagedWrite(executionPlanId, address, length, hostPointer, hostOffset, waitEvents, stagingBufferPool, false);
+        }
         return stream.enqueueAsyncWrite(executionPlanId, address, length, hostPointer, hostOffset, waitEvents);
     }
 
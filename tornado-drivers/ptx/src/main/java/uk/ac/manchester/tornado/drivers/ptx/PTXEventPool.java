@@ -23,83 +23,71 @@
  */
 package uk.ac.manchester.tornado.drivers.ptx;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.fatal;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EVENTS;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.drivers.common.EventRing;
 import uk.ac.manchester.tornado.drivers.common.utils.EventDescriptor;
 
 public class PTXEventPool {
 
     private final PTXEvent[] events;
-    private final BitSet retain;
-    private int eventIndex;
-    private int eventPoolSize;
+    private final EventRing ring;
 
     protected PTXEventPool(int poolSize) {
-        this.eventPoolSize = poolSize;
-        this.retain = new BitSet(poolSize);
-        this.retain.clear();
         this.events = new PTXEvent[poolSize];
-        this.eventIndex = 0;
+        this.ring = new EventRing(poolSize, CIRCULAR_EVENTS, this::destroyEvent);
     }
 
     protected int registerEvent(byte[][] eventWrapper, EventDescriptor descriptorId) {
-        if (retain.get(eventIndex)) {
-            findNextEventSlot();
-        }
-        final int currentEvent = eventIndex;
-        guarantee(!retain.get(currentEvent), "overwriting retained event");
-
         if (eventWrapper == null) {
             fatal("invalid event: description=%s\n", descriptorId.getNameDescription());
             fatal("terminating application as system integrity has been compromised.");
             throw new TornadoBailoutRuntimeException("[ERROR] NULL event received from the CUDA driver !");
         }
 
-        if (events[currentEvent] != null && !retain.get(currentEvent)) {
-            events[currentEvent].waitForEvents(0);
-            events[currentEvent].destroy();
-            events[currentEvent] = null;
-        }
+        final int currentEvent = ring.claim();
         events[currentEvent] = new PTXEvent(eventWrapper, descriptorId);
-
-        findNextEventSlot();
+        ring.publish(currentEvent);
         return currentEvent;
     }
 
-    private void findNextEventSlot() {
-        eventIndex = retain.nextClearBit(eventIndex + 1);
-
-        if (CIRCULAR_EVENTS && (eventIndex >= events.length)) {
-            eventIndex = 0;
+    private void destroyEvent(int localEventID) {
+        final PTXEvent event = events[localEventID];
+        events[localEventID] = null;
+        if (event != null) {
+            event.waitForEvents(0);
+            event.destroy();
         }
+    }
 
-        guarantee(eventIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), eventPoolSize);
+    /**
+     * Destroys the events of the slots that the next registrations will use. It is
+     * called once the stream has been synchronised, so waiting for the events
+     * does not block.
+     */
+    protected void releaseEventsAhead() {
+        ring.releaseAhead();
     }
 
     protected void reset() {
-        for (PTXEvent event : events) {
-            if (event != null) {
-                event.destroy();
-            }
-        }
-        Arrays.fill(events, null);
-        eventIndex = 0;
+        ring.reset();
     }
 
-    private void releaseEvent(int localEventID) {
-        retain.clear(localEventID);
+    /**
+     * Keeps the event of a slot alive until {@link #unretainEvent(int)} is called,
+     * even if the ring wraps around.
+     */
+    protected void retainEvent(int localEventID) {
+        ring.retain(localEventID);
     }
 
-    private void retainEvent(int localEventID) {
-        retain.set(localEventID);
+    protected void unretainEvent(int localEventID) {
+        ring.unretain(localEventID);
     }
 
     protected PTXEvent getEvent(int localEventID) {
@@ -108,7 +96,7 @@ public class PTXEventPool {
 
     public List<PTXEvent> getEvents() {
         List<PTXEvent> result = new ArrayList<>();
-        for (int i = 0; i < eventIndex; i++) {
+        for (int i = 0; i < ring.getUsedSlots(); i++) {
             if (events[i] == null) {
                 continue;
             }
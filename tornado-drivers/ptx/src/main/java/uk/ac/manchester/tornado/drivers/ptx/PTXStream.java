@@ -25,10 +25,16 @@ package uk.ac.manchester.tornado.drivers.ptx;
 
 import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
 
+import java.lang.foreign.MemorySegment;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 import uk.ac.manchester.tornado.api.common.Event;
+import uk.ac.manchester.tornado.api.enums.TornadoExecutionStatus;
+import uk.ac.manchester.tornado.drivers.common.mm.StagedTransfer;
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool;
 import uk.ac.manchester.tornado.drivers.common.utils.EventDescriptor;
 import uk.ac.manchester.tornado.runtime.EmptyEvent;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
@@ -42,11 +48,16 @@ public class PTXStream {
 
     private final byte[] streamPool;
     private final PTXEventPool ptxEventPool;
+    private final List<PendingStagingBuffer> pendingStagingBuffers;
     private boolean isDestroy;
 
+    private record PendingStagingBuffer(StagingBufferPool pool, StagingBufferPool.StagingBuffer buffer, int event) {
+    }
+
     public PTXStream() {
         streamPool = cuCreateStream();
         this.ptxEventPool = new PTXEventPool(EVENT_WINDOW);
+        this.pendingStagingBuffers = new ArrayList<>();
     }
 
     //@formatter:off
@@ -137,11 +148,34 @@ public class PTXStream {
     }
 
     public void reset() {
+        reclaimStagingBuffers(true);
         ptxEventPool.reset();
     }
 
     public void sync() {
         cuStreamSynchronize(streamPool);
+        reclaimStagingBuffers(true);
+        ptxEventPool.releaseEventsAhead();
+    }
+
+    /**
+     * Returns to their pools the staging buffers of the asynchronous staged writes
+     * whose copies have completed.
+     *
+     * @param synchronised
+     *     Whether the stream has just been synchronised, in which case all copies
+     *     have completed.
+     */
+    private void reclaimStagingBuffers(boolean synchronised) {
+        Iterator<PendingStagingBuffer> iterator = pendingStagingBuffers.iterator();
+        while (iterator.hasNext()) {
+            PendingStagingBuffer pending = iterator.next();
+            if (synchronised || ptxEventPool.getEvent(pending.event()).getStatus() == TornadoExecutionStatus.COMPLETE) {
+                ptxEventPool.unretainEvent(pending.event());
+                pending.pool().release(pending.buffer());
+                iterator.remove();
+            }
+        }
     }
 
     public void cuDestroyStream() {
@@ -161,14 +195,18 @@ public class PTXStream {
             return;
         }
 
-        ArrayList<PTXEvent> events = new ArrayList<>();
+        PTXEvent[] events = new PTXEvent[localEventIds.length];
+        int numEvents = 0;
         for (int localEventId : localEventIds) {
-            PTXEvent cuEvent = this.ptxEventPool.getEvent(localEventId);
+            // Wait lists are filled with -1 after the last event
+            PTXEvent cuEvent = (localEventId != -1) ? this.ptxEventPool.getEvent(localEventId) : null;
             if (cuEvent != null) {
-                events.add(cuEvent);
+                events[numEvents++] = cuEvent;
             }
         }
-        PTXEvent.waitForEventArray((PTXEvent[]) events.toArray());
+        if (numEvents > 0) {
+            PTXEvent.waitForEventArray((numEvents == events.length) ? events : Arrays.copyOf(events, numEvents));
+        }
     }
 
     public int enqueueKernelLaunch(long executionPlanId, PTXModule module, TaskMetaData taskMeta, byte[] kernelParams, int[] gridDim, int[] blockDim) {
@@ -358,6 +396,71 @@ public class PTXStream {
         return registerEvent(writeArrayHtoDAsync(address, length, array, hostOffset, streamPool), EventDescriptor.DESC_WRITE_DOUBLE);
     }
 
+    /**
+     * Copies a host segment to the device through pinned staging buffers. If the
+     * staging buffers cannot be allocated, the segment is copied directly. A
+     * non-blocking write returns without waiting for the copies of the last
+     * chunks.
+     */
+    public int enqueueStagedWrite(long executionPlanId, long address, long length, long hostPointer, long hostOffset, int[] waitEvents, StagingBufferPool stagingPool, boolean blocking) {
+        waitForEvents(waitEvents);
+        reclaimStagingBuffers(false);
+        MemorySegment source = MemorySegment.ofAddress(hostPointer + hostOffset).reinterpret(length);
+        int event = StagedTransfer.write(stagingPool, source, length, blocking, new StagedChunkTransfer(address, true));
+        if (event == -1) {
+            byte[][] eventWrapper = blocking
+                    ? writeArrayHtoD(address, length, hostPointer, hostOffset, streamPool)
+                    : writeArrayHtoDAsync(address, length, hostPointer, hostOffset, streamPool);
+            event = registerEvent(eventWrapper, EventDescriptor.DESC_WRITE_BYTE);
+        }
+        return event;
+    }
+
+    /**
+     * Copies a device buffer to a host segment through pinned staging buffers. If
+     * the staging buffers cannot be allocated, the buffer is copied directly.
+     */
+    public int enqueueStagedRead(long executionPlanId, long address, long length, long hostPointer, long hostOffset, int[] waitEvents, StagingBufferPool stagingPool) {
+        waitForEvents(waitEvents);
+        reclaimStagingBuffers(false);
+        MemorySegment destination = MemorySegment.ofAddress(hostPointer + hostOffset).reinterpret(length);
+        int event = StagedTransfer.read(stagingPool, destination, length, new StagedChunkTransfer(address, false));
+        if (event == -1) {
+            event = registerEvent(writeArrayDtoH(address, length, hostPointer, hostOffset, streamPool), EventDescriptor.DESC_READ_BYTE);
+        }
+        return event;
+    }
+
+    private class StagedChunkTransfer implements StagedTransfer.ChunkTransfer {
+
+        private final long deviceAddress;
+        private final boolean toDevice;
+
+        StagedChunkTransfer(long deviceAddress, boolean toDevice) {
+            this.deviceAddress = deviceAddress;
+            this.toDevice = toDevice;
+        }
+
+        @Override
+        public int enqueue(long stagingAddress, long deviceOffset, long numBytes) {
+            if (toDevice) {
+                return registerEvent(writeArrayHtoDAsync(deviceAddress + deviceOffset, numBytes, stagingAddress, 0, streamPool), EventDescriptor.DESC_WRITE_BYTE);
+            }
+            return registerEvent(writeArrayDtoHAsync(deviceAddress + deviceOffset, numBytes, stagingAddress, 0, streamPool), EventDescriptor.DESC_READ_BYTE);
+        }
+
+        @Override
+        public void waitFor(int event) {
+            ptxEventPool.getEvent(event).waitOn();
+        }
+
+        @Override
+        public void releaseAfter(StagingBufferPool pool, StagingBufferPool.StagingBuffer buffer, int event) {
+            ptxEventPool.retainEvent(event);
+            pendingStagingBuffers.add(new PendingStagingBuffer(pool, buffer, event));
+        }
+    }
+
     public PTXEventPool getEventPool() {
         return this.ptxEventPool;
     }
@@ -55,6 +55,7 @@ public class PTXAssemblerConstants {
     public static final String KERNEL_CONTEXT_ARGUMENT_NAME = "context_unused";
     public static final String GLOBAL_MEM_MODIFIER = "global";
     public static final String PARAM_MEM_MODIFIER = "param";
+    public static final String NON_COHERENT = "nc";
     public static final String SHARED_MEM_MODIFIER = "shared";
     public static final String LOCAL_MEM_MODIFIER = "local";
 
@@ -90,6 +90,7 @@ import uk.ac.manchester.tornado.runtime.graal.compiler.TornadoCompilerIdentifier
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoLowTierContext;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoMidTierContext;
+import uk.ac.manchester.tornado.runtime.profiler.CompilationRecorder;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -125,10 +126,19 @@ public class PTXCompiler {
 
     private static void emitBackEnd(PTXCompilationRequest r, boolean isParallel) {
         try (DebugContext.Scope s = getDebugContext().scope("PTXBackend", r.graph.getLastSchedule()); DebugCloseable a = BackEnd.start(getDebugContext())) {
+            final CompilationRecorder recorder = CompilationRecorder.of(r.meta);
+            long start = System.nanoTime();
             LIRGenerationResult lirGen = emitLIR(r);
+            if (recorder != null) {
+                recorder.addLIRGenerationTime(System.nanoTime() - start);
+            }
             try (DebugContext.Scope s2 = getDebugContext().scope("PTXCodeGen", lirGen, lirGen.getLIR())) {
                 r.compilationResult.setHasUnsafeAccess(r.graph.hasUnsafeAccess());
+                start = System.nanoTime();
                 emitCode(r, lirGen, isParallel);
+                if (recorder != null) {
+                    recorder.addCodeEmissionTime(System.nanoTime() - start);
+                }
             } catch (Throwable e) {
                 throw getDebugContext().handle(e);
             }
@@ -232,16 +242,16 @@ public class PTXCompiler {
                     getDebugContext().dump(DebugContext.INFO_LEVEL, r.graph, "initial state");
                 }
             }
-            r.suites.getHighTier().apply(r.graph, highTierContext);
+            CompilationRecorder.applyTier(r.meta, CompilationRecorder.HIGH_TIER, r.suites.getHighTier(), r.graph, highTierContext);
             r.graph.maybeCompress();
 
             final TornadoMidTierContext midTierContext = new TornadoMidTierContext(r.providers, r.backend, r.optimisticOpts, r.profilingInfo, r.installedCodeOwner, r.args, r.meta);
-            r.suites.getMidTier().apply(r.graph, midTierContext);
+            CompilationRecorder.applyTier(r.meta, CompilationRecorder.MID_TIER, r.suites.getMidTier(), r.graph, midTierContext);
 
             r.graph.maybeCompress();
 
             final TornadoLowTierContext lowTierContext = new TornadoLowTierContext(r.providers, r.backend, r.meta);
-            r.suites.getLowTier().apply(r.graph, lowTierContext);
+            CompilationRecorder.applyTier(r.meta, CompilationRecorder.LOW_TIER, r.suites.getLowTier(), r.graph, lowTierContext);
 
             getDebugContext().dump(DebugContext.BASIC_LEVEL, r.graph.getLastSchedule(), "Final HIR schedule");
         } catch (Throwable e) {
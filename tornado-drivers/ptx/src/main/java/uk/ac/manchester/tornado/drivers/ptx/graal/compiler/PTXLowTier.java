@@ -84,7 +84,7 @@ public class PTXLowTier extends TornadoLowTier {
 
         appendPhase(new SchedulePhase(SchedulePhase.SchedulingStrategy.LATEST_OUT_OF_LOOPS));
 
-        if (TornadoOptions.FEATURE_EXTRACTION) {
+        if (TornadoOptions.FEATURE_EXTRACTION || TornadoOptions.COST_MODEL_FEATURES) {
             appendPhase(new TornadoFeatureExtraction(tornadoDeviceContext));
         }
 
@@ -31,6 +31,7 @@ import org.graalvm.compiler.lir.Variable;
 import org.graalvm.compiler.nodeinfo.NodeInfo;
 import org.graalvm.compiler.nodes.NodeView;
 import org.graalvm.compiler.nodes.ParameterNode;
+import org.graalvm.compiler.nodes.PiNode;
 import org.graalvm.compiler.nodes.ValueNode;
 import org.graalvm.compiler.nodes.memory.address.AddressNode;
 import org.graalvm.compiler.nodes.spi.LIRLowerable;
@@ -83,7 +84,9 @@ public class PTXAddressNode extends AddressNode implements LIRLowerable {
 
         Value indexValue = index == null ? Value.ILLEGAL : gen.operand(index);
         if (index == null) {
-            gen.setResult(this, new PTXUnary.MemoryAccess(memoryRegister, baseValue, null));
+            PTXUnary.MemoryAccess memoryAccess = new PTXUnary.MemoryAccess(memoryRegister, baseValue, null);
+            memoryAccess.setParameterIndex(getParameterIndex());
+            gen.setResult(this, memoryAccess);
         } else {
             setMemoryAccess(gen, baseValue, indexValue, tool);
         }
@@ -123,7 +126,17 @@ public class PTXAddressNode extends AddressNode implements LIRLowerable {
             gen.setResult(this, new PTXUnary.MemoryAccess(memoryRegister, baseValue, indexValue));
         } else {
             addressValue = tool.getArithmetic().emitAdd(baseValue, indexValue, false);
-            gen.setResult(this, new PTXUnary.MemoryAccess(memoryRegister, addressValue, null));
+            PTXUnary.MemoryAccess memoryAccess = new PTXUnary.MemoryAccess(memoryRegister, addressValue, null);
+            memoryAccess.setParameterIndex(getParameterIndex());
+            gen.setResult(this, memoryAccess);
+        }
+    }
+
+    private int getParameterIndex() {
+        ValueNode origin = base;
+        while (origin instanceof PiNode piNode) {
+            origin = piNode.getOriginalNode();
         }
+        return (origin instanceof ParameterNode parameterNode) ? parameterNode.index() : -1;
     }
 }
@@ -39,6 +39,7 @@ import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstan
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.GLOBAL_MEM_MODIFIER;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.MOVE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.NEGATION;
+import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.NON_COHERENT;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.OP_GUARD;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SPACE;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssemblerConstants.SQUARE_BRACKETS_CLOSE;
@@ -57,11 +58,13 @@ import org.graalvm.compiler.lir.Variable;
 import org.graalvm.compiler.lir.asm.CompilationResultBuilder;
 
 import jdk.vm.ci.meta.Value;
+import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.drivers.ptx.graal.PTXArchitecture;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler;
 import uk.ac.manchester.tornado.drivers.ptx.graal.asm.PTXAssembler.PTXNullaryOp;
 import uk.ac.manchester.tornado.drivers.ptx.graal.compiler.PTXCompilationResultBuilder;
 import uk.ac.manchester.tornado.drivers.ptx.graal.meta.PTXMemorySpace;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class PTXLIRStmt {
 
@@ -481,6 +484,11 @@ public class PTXLIRStmt {
             loadOp.emit(crb, null);
             asm.emitSymbol(DOT);
             asm.emit(address.getBase().memorySpace.getName());
+            if (isReadOnlyParameterLoad(crb)) {
+                // ld.global.nc.f32 %f1, [%rd8];
+                asm.emitSymbol(DOT);
+                asm.emit(NON_COHERENT);
+            }
             asm.emitSymbol(DOT);
             asm.emit(dest.getPlatformKind().toString());
             asm.emitSymbol(TAB);
@@ -492,6 +500,19 @@ public class PTXLIRStmt {
             asm.delimiter();
             asm.eol();
         }
+
+        /**
+         * Loads from a kernel parameter that is only read and does not alias any
+         * other parameter can go through the non-coherent (read-only) data cache.
+         */
+        private boolean isReadOnlyParameterLoad(PTXCompilationResultBuilder crb) {
+            TaskMetaData meta = crb.getTaskMetaData();
+            int parameterIndex = address.getParameterIndex();
+            if (!crb.isKernel() || loadOp != PTXNullaryOp.LD || address.getBase() != PTXArchitecture.globalSpace || meta == null || !meta.isNoAliasArguments()) {
+                return false;
+            }
+            return parameterIndex >= 0 && parameterIndex < meta.getArgumentsAccess().length && meta.getArgumentsAccess()[parameterIndex] == Access.READ_ONLY;
+        }
     }
 
     @Opcode("HALFLOAD")
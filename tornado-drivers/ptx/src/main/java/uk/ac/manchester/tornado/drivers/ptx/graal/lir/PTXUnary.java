@@ -123,6 +123,7 @@ public class PTXUnary {
         private final PTXMemoryBase base;
         private Value index;
         private String name;
+        private int parameterIndex = -1;
 
         MemoryAccess(PTXMemoryBase base, Value value) {
             super(null, LIRKind.Illegal, value);
@@ -193,6 +194,18 @@ public class PTXUnary {
             return base;
         }
 
+        /**
+         * @return the index of the kernel parameter this access is based on, or -1
+         *     if the base address does not come directly from a parameter.
+         */
+        public int getParameterIndex() {
+            return parameterIndex;
+        }
+
+        public void setParameterIndex(int parameterIndex) {
+            this.parameterIndex = parameterIndex;
+        }
+
         @Override
         public String toString() {
             return String.format("%s", value);
@@ -102,9 +102,25 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
         };
     }
 
+    /**
+     * Device-only arrays only allocate their header on the host. The device buffer
+     * holds the whole array, but only the header is copied to the device, and
+     * the array is never copied back to the host.
+     */
+    private static boolean isDeviceOnly(final Object reference) {
+        return reference instanceof TornadoNativeArray nativeArray && nativeArray.isDeviceOnly();
+    }
+
+    private static void checkHostMemory(final Object reference) {
+        if (isDeviceOnly(reference)) {
+            throw new TornadoMemoryException("[ERROR] Device-only arrays cannot be copied to the host");
+        }
+    }
+
     @Override
 
     public int read(long executionPlanId, final Object reference, long hostOffset, long partialReadSize, int[] events, boolean useDeps) {
+        checkHostMemory(reference);
         MemorySegment segment = getSegmentWithHeader(reference);
 
         final int returnEvent;
@@ -128,7 +144,7 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
         MemorySegment segment = getSegmentWithHeader(reference);
 
         if (batchSize <= 0) {
-            deviceContext.writeBuffer(executionPlanId, toBuffer(), bufferSize, segment.address(), 0, null);
+            deviceContext.writeBuffer(executionPlanId, toBuffer(), Math.min(bufferSize, segment.byteSize()), segment.address(), 0, null);
         } else {
             throw new TornadoUnsupportedError("[UNSUPPORTED] Batch processing for the writeBuffer operation");
         }
@@ -136,6 +152,7 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public int enqueueRead(long executionPlanId, Object reference, long hostOffset, int[] events, boolean useDeps) {
+        checkHostMemory(reference);
         MemorySegment segment = getSegmentWithHeader(reference);
 
         final int returnEvent;
@@ -156,7 +173,7 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
 
         int internalEvent;
         if (batchSize <= 0) {
-            internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferSize, segment.address(), hostOffset, (useDeps) ? events : null);
+            internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), Math.min(bufferSize, segment.byteSize()), segment.address(), hostOffset, (useDeps) ? events : null);
         } else {
             internalEvent = deviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), TornadoNativeArray.ARRAY_HEADER, segment.address(), 0, (useDeps) ? events : null);
             returnEvents.add(internalEvent);
@@ -172,7 +189,7 @@ public class PTXMemorySegmentWrapper implements XPUBuffer {
         MemorySegment segment = getSegmentWithHeader(reference);
 
         if (batchSize <= 0 && segment != null) {
-            bufferSize = segment.byteSize();
+            bufferSize = isDeviceOnly(reference) ? ((TornadoNativeArray) reference).getNumBytesOfSegmentWithHeader() : segment.byteSize();
             bufferId = deviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize);
         } else {
             bufferSize = batchSize;
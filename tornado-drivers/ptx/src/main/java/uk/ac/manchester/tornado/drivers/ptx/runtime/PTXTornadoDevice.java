@@ -26,6 +26,7 @@ package uk.ac.manchester.tornado.drivers.ptx.runtime;
 import static uk.ac.manchester.tornado.drivers.ptx.graal.PTXCodeUtil.buildKernelName;
 
 import java.io.IOException;
+import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -88,6 +89,7 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.profiler.CompilationRecorder;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -173,11 +175,13 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         final Access[] sketchAccess = sketch.getArgumentsAccess();
         final Access[] taskAccess = taskMeta.getArgumentsAccess();
         System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
+        taskMeta.setNoAliasArguments(TornadoOptions.RESTRICT_KERNEL_PARAMETERS && taskMeta.hasDistinctArrayArguments(executable.getArguments()));
 
         try {
             PTXCompilationResult result;
             if (!deviceContext.isCached(resolvedMethod.getName(), executable)) {
                 PTXProviders providers = (PTXProviders) getBackend().getProviders();
+                CompilationRecorder.start(taskMeta, getTornadoVMBackend().name(), sketch.getBuildTime());
                 profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
                 result = PTXCompiler.compileSketchForDevice(sketch, executable, providers, getBackend(), executable.getProfiler());
                 profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
@@ -187,7 +191,11 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
             }
 
             profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+            final long driverStart = System.nanoTime();
             TornadoInstalledCode installedCode = deviceContext.installCode(result, resolvedMethod.getName());
+            if (taskMeta.getCompilationRecorder() != null) {
+                taskMeta.getCompilationRecorder().setDriverBuildTime(System.nanoTime() - driverStart);
+            }
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
             return installedCode;
@@ -634,6 +642,11 @@ public class PTXTornadoDevice implements TornadoXPUDevice {
         return TornadoCoreRuntime.getTornadoRuntime().getBackendIndex(PTXBackendImpl.class);
     }
 
+    @Override
+    public Arena createPinnedArena() {
+        return getDeviceContext().createPinnedArena();
+    }
+
     @Override
     public Object getAtomic() {
         return null;
@@ -0,0 +1,215 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.ptx.tests;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.drivers.common.mm.HostMemoryAllocator;
+import uk.ac.manchester.tornado.drivers.common.mm.PinnedArena;
+import uk.ac.manchester.tornado.drivers.common.mm.StagedTransfer;
+import uk.ac.manchester.tornado.drivers.common.mm.StagingBufferPool;
+
+/**
+ * Checks the pool of staging buffers and the chunked copies through them. The
+ * host memory comes from a fake allocator, and the device buffer is a host
+ * segment, so no CUDA device is needed.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXStagingBuffers
+ * </code>
+ */
+public class TestPTXStagingBuffers {
+
+    private static final long CHUNK_SIZE = StagingBufferPool.MIN_BUFFER_SIZE;
+
+    private static class FakeAllocator implements HostMemoryAllocator {
+
+        private final Arena arena = Arena.ofShared();
+        private final Map<Long, MemorySegment> live = new HashMap<>();
+        private int allocations;
+
+        @Override
+        public long allocate(long numBytes) {
+            MemorySegment segment = arena.allocate(numBytes, 4096);
+            live.put(segment.address(), segment);
+            allocations++;
+            return segment.address();
+        }
+
+        @Override
+        public void free(long address) {
+            live.remove(address);
+        }
+    }
+
+    /**
+     * Copies chunks between the staging buffers and a fake device buffer. A copy
+     * completes when its event is waited for, so a staging buffer that is reused
+     * before the wait is detected.
+     */
+    private static class FakeDevice implements StagedTransfer.ChunkTransfer {
+
+        private final MemorySegment deviceBuffer;
+        private final boolean toDevice;
+        private final Map<Integer, long[]> pending = new HashMap<>();
+        private final Set<Long> busyBuffers = new HashSet<>();
+        private final List<Runnable> pendingReleases = new ArrayList<>();
+        private int nextEvent;
+        private boolean reusedBusyBuffer;
+
+        FakeDevice(MemorySegment deviceBuffer, boolean toDevice) {
+            this.deviceBuffer = deviceBuffer;
+            this.toDevice = toDevice;
+        }
+
+        @Override
+        public int enqueue(long stagingAddress, long deviceOffset, long numBytes) {
+            reusedBusyBuffer |= !busyBuffers.add(stagingAddress);
+            pending.put(nextEvent, new long[] { stagingAddress, deviceOffset, numBytes });
+            return nextEvent++;
+        }
+
+        @Override
+        public void waitFor(int event) {
+            long[] copy = pending.remove(event);
+            if (copy == null) {
+                return;
+            }
+            MemorySegment staging = MemorySegment.ofAddress(copy[0]).reinterpret(copy[2]);
+            if (toDevice) {
+                MemorySegment.copy(staging, 0, deviceBuffer, copy[1], copy[2]);
+            } else {
+                MemorySegment.copy(deviceBuffer, copy[1], staging, 0, copy[2]);
+            }
+            busyBuffers.remove(copy[0]);
+        }
+
+        @Override
+        public void releaseAfter(StagingBufferPool pool, StagingBufferPool.StagingBuffer buffer, int event) {
+            pendingReleases.add(() -> {
+                waitFor(event);
+                pool.release(buffer);
+            });
+        }
+
+        void completeReleases() {
+            pendingReleases.forEach(Runnable::run);
+            pendingReleases.clear();
+        }
+    }
+
+    private static boolean checkPool() {
+        FakeAllocator allocator = new FakeAllocator();
+        StagingBufferPool pool = new StagingBufferPool(allocator, 4 * CHUNK_SIZE);
+
+        StagingBufferPool.StagingBuffer first = pool.acquire(CHUNK_SIZE + 1);
+        boolean correct = first.size() == 2 * CHUNK_SIZE;
+        pool.release(first);
+        StagingBufferPool.StagingBuffer second = pool.acquire(2 * CHUNK_SIZE - 1);
+        correct &= second.address() == first.address();
+        correct &= pool.acquire(100 * CHUNK_SIZE).size() == 4 * CHUNK_SIZE;
+        correct &= pool.getNumberOfAllocations() == 2;
+
+        pool.free();
+        correct &= allocator.live.isEmpty();
+        return correct;
+    }
+
+    private static boolean checkStagedCopies() {
+        FakeAllocator allocator = new FakeAllocator();
+        StagingBufferPool pool = new StagingBufferPool(allocator, CHUNK_SIZE);
+        final long numBytes = 10 * CHUNK_SIZE + 12;
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment host = arena.allocate(numBytes);
+            for (long i = 0; i < numBytes; i++) {
+                host.set(ValueLayout.JAVA_BYTE, i, (byte) (i * 31));
+            }
+
+            MemorySegment device = arena.allocate(numBytes);
+            FakeDevice writer = new FakeDevice(device, true);
+            boolean correct = StagedTransfer.write(pool, host, numBytes, true, writer) == 10;
+            correct &= device.mismatch(host) == -1;
+            correct &= !writer.reusedBusyBuffer && writer.pending.isEmpty();
+
+            MemorySegment result = arena.allocate(numBytes);
+            FakeDevice reader = new FakeDevice(device, false);
+            correct &= StagedTransfer.read(pool, result, numBytes, reader) == 10;
+            correct &= result.mismatch(host) == -1;
+            correct &= !reader.reusedBusyBuffer && reader.pending.isEmpty();
+
+            // A non-blocking write returns with the copies of the last two chunks in flight
+            MemorySegment asyncDevice = arena.allocate(numBytes);
+            FakeDevice asyncWriter = new FakeDevice(asyncDevice, true);
+            correct &= StagedTransfer.write(pool, host, numBytes, false, asyncWriter) == 10;
+            correct &= asyncWriter.pending.size() == 2 && asyncWriter.pendingReleases.size() == 2;
+            asyncWriter.completeReleases();
+            correct &= asyncDevice.mismatch(host) == -1;
+            correct &= !asyncWriter.reusedBusyBuffer && asyncWriter.pending.isEmpty();
+
+            // All copies share the same two staging buffers
+            correct &= allocator.allocations == 2;
+            return correct;
+        } finally {
+            pool.free();
+        }
+    }
+
+    private static boolean checkPinnedArena() {
+        FakeAllocator allocator = new FakeAllocator();
+        FloatArray array;
+        boolean correct;
+        try (Arena arena = new PinnedArena(allocator)) {
+            array = new FloatArray(1024, arena);
+            array.init(1.0f);
+            MemorySegment segment = array.getSegmentWithHeader();
+            correct = PinnedArena.isPinned(segment.address(), segment.byteSize());
+            correct &= !PinnedArena.isPinned(segment.address(), segment.byteSize() + 1);
+            correct &= array.get(1023) == 1.0f;
+        }
+        correct &= allocator.live.isEmpty();
+        return correct;
+    }
+
+    public static void main(String[] args) {
+        System.out.print("Running Native: uk.ac.manchester.tornado.drivers.ptx.tests.TestPTXStagingBuffers");
+        boolean correct = checkPool() && checkStagedCopies() && checkPinnedArena();
+        if (!correct) {
+            System.out.println(" ................ [FAIL]");
+        } else {
+            System.out.println(" ................ [PASS]");
+        }
+    }
+}
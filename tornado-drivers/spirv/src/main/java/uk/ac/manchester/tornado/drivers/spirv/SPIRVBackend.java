@@ -94,6 +94,7 @@ import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVConte
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVContextDependentLong;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVDecoration;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVFunctionControl;
+import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVFunctionParameterAttribute;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVId;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVLiteralContextDependentNumber;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVLiteralInteger;
@@ -104,6 +105,7 @@ import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVOptio
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVSourceLanguage;
 import uk.ac.manchester.beehivespirvtoolkit.lib.instructions.operands.SPIRVStorageClass;
 import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceFP64NotSupported;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
@@ -517,6 +519,24 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders> implements FrameMap
         }
     }
 
+    /**
+     * Array parameters are decorated as NoAlias (and NoWrite when they are only
+     * read) if the runtime determined that all array arguments of the task are
+     * distinct.
+     */
+    private void emitNoAliasDecorations(SPIRVAssembler asm, TaskMetaData taskMetaData, Local local, int index, SPIRVId parameterId) {
+        if (taskMetaData == null || !taskMetaData.isNoAliasArguments() || index >= taskMetaData.getArgumentsAccess().length) {
+            return;
+        }
+        if (local.getType().getJavaKind().isPrimitive() || local.getType().toJavaName().equals(KernelContext.class.getName())) {
+            return;
+        }
+        asm.module.add(new SPIRVOpDecorate(parameterId, SPIRVDecoration.FuncParamAttr(SPIRVFunctionParameterAttribute.NoAlias())));
+        if (taskMetaData.getArgumentsAccess()[index] == Access.READ_ONLY) {
+            asm.module.add(new SPIRVOpDecorate(parameterId, SPIRVDecoration.FuncParamAttr(SPIRVFunctionParameterAttribute.NoWrite())));
+        }
+    }
+
     private void emitPrologueForMainKernel(SPIRVCompilationResultBuilder crb, SPIRVAssembler asm, ResolvedJavaMethod method, LIR lir, SPIRVId methodId, IDTable idTable) {
 
         final SPIRVId returnId = asm.primitives.getTypePrimitive(SPIRVKind.OP_TYPE_VOID);
@@ -568,6 +588,10 @@ public class SPIRVBackend extends XPUBackend<SPIRVProviders> implements FrameMap
             String name = localParameter.actualName + "F" + asm.getMethodIndex();
             asm.module.add(new SPIRVOpName(id, new SPIRVLiteralString(name)));
             asm.module.add(new SPIRVOpDecorate(id, SPIRVDecoration.Alignment(new SPIRVLiteralInteger(localParameter.kind.getSizeInBytes()))));
+            if (i > 0) {
+                // The first parameter is the kernel context
+                emitNoAliasDecorations(asm, crb.getTaskMetaData(), locals[i - 1], i - 1, id);
+            }
             asm.emitParameterFunction(localParameter.typeId, id, functionScope);
 
             // Global Ptr To Cross WorkGroup Parameters
@@ -325,11 +325,7 @@ public abstract class SPIRVDeviceContext implements TornadoDeviceContext {
     }
 
     private SPIRVEventPool getEventPool(long executionPlanId) {
-        if (!spirvEventPool.containsKey(executionPlanId)) {
-            SPIRVEventPool eventPool = new SPIRVEventPool(Tornado.EVENT_WINDOW);
-            spirvEventPool.put(executionPlanId, eventPool);
-        }
-        return spirvEventPool.get(executionPlanId);
+        return spirvEventPool.computeIfAbsent(executionPlanId, id -> new SPIRVEventPool(Tornado.EVENT_WINDOW));
     }
 
     public int enqueueWriteBuffer(long executionPlanId, long bufferId, long offset, long bytes, byte[] value, long hostOffset, int[] waitEvents) {
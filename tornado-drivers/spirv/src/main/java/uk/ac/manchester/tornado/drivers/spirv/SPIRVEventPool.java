@@ -23,14 +23,11 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv;
 
-import static uk.ac.manchester.tornado.api.exceptions.TornadoInternalError.guarantee;
-import static uk.ac.manchester.tornado.runtime.common.Tornado.EVENT_WINDOW;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.CIRCULAR_EVENTS;
 
-import java.util.BitSet;
-import java.util.HashMap;
 import java.util.LinkedList;
 
+import uk.ac.manchester.tornado.drivers.common.EventRing;
 import uk.ac.manchester.tornado.drivers.common.utils.EventDescriptor;
 import uk.ac.manchester.tornado.drivers.spirv.timestamps.TimeStamp;
 
@@ -41,34 +38,20 @@ import uk.ac.manchester.tornado.drivers.spirv.timestamps.TimeStamp;
  */
 public class SPIRVEventPool {
 
-    private final int poolSize;
-    private final BitSet retain;
-    private final HashMap<Integer, LinkedList<TimeStamp>> events;
+    private final LinkedList<TimeStamp>[] events;
     private final EventDescriptor[] descriptors;
-    private int eventPositionIndex;
+    private final EventRing ring;
 
+    @SuppressWarnings("unchecked")
     protected SPIRVEventPool(int poolSize) {
-        this.poolSize = poolSize;
-        this.events = new HashMap<>();
+        this.events = new LinkedList[poolSize];
         this.descriptors = new EventDescriptor[poolSize];
-        this.retain = new BitSet(poolSize);
-        this.eventPositionIndex = 0;
-    }
-
-    private void findNextEventSlot() {
-        eventPositionIndex = retain.nextClearBit(eventPositionIndex + 1);
-        if (CIRCULAR_EVENTS && (eventPositionIndex >= poolSize)) {
-            eventPositionIndex = 0;
-        }
-        guarantee(eventPositionIndex != -1, "event window is full (retained=%d, capacity=%d)", retain.cardinality(), EVENT_WINDOW);
+        // The timestamps do not hold native events
+        this.ring = new EventRing(poolSize, CIRCULAR_EVENTS, slot -> events[slot] = null);
     }
 
     protected int registerEvent(EventDescriptor eventDescriptor, ProfilerTransfer profilerTransfer) {
-        if (retain.get(eventPositionIndex)) {
-            findNextEventSlot();
-        }
-        final int currentEventPosition = eventPositionIndex;
-        guarantee(!retain.get(currentEventPosition), "overwriting retained event");
+        final int currentEventPosition = ring.claim();
 
         LinkedList<TimeStamp> listTimeStamps = new LinkedList<>();
 
@@ -77,14 +60,14 @@ public class SPIRVEventPool {
             listTimeStamps.add(profilerTransfer.getStop());
         }
 
-        events.put(currentEventPosition, listTimeStamps);
+        events[currentEventPosition] = listTimeStamps;
         descriptors[currentEventPosition] = eventDescriptor;
-        findNextEventSlot();
+        ring.publish(currentEventPosition);
         return currentEventPosition;
     }
 
     public LinkedList<TimeStamp> getTimers(int eventId) {
-        return events.get(eventId);
+        return events[eventId];
     }
 
     public EventDescriptor getDescriptor(int eventId) {
@@ -23,11 +23,8 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv;
 
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -35,7 +32,7 @@ import java.nio.file.Paths;
 import uk.ac.manchester.beehivespirvtoolkit.lib.SPIRVTool;
 import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.Disassembler;
 import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.SPIRVDisassemblerOptions;
-import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.SPVFileReader;
+import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.SPVByteStreamReader;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.drivers.common.logging.Logger;
 import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVInstalledCode;
@@ -53,68 +50,97 @@ import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeModuleHandle;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.ZeResult;
 import uk.ac.manchester.tornado.drivers.spirv.levelzero.utils.LevelZeroUtils;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class SPIRVLevelZeroCodeCache extends SPIRVCodeCache {
 
+    private static Path spirvTempDirectory;
+
     public SPIRVLevelZeroCodeCache(SPIRVDeviceContext deviceContext) {
         super(deviceContext);
     }
 
-    private static void writeBufferToFile(ByteBuffer buffer, String filepath) {
-        buffer.flip();
-        try (FileOutputStream fos = new FileOutputStream(filepath)) {
-            fos.write(buffer.array());
-        } catch (Exception e) {
-            throw new RuntimeException("[ERROR] Store of the SPIR-V File failed.");
-        } finally {
-            buffer.clear();
+    private static synchronized Path getSPIRVTempDirectory() {
+        if (spirvTempDirectory == null) {
+            Path path = Paths.get(System.getProperty("java.io.tmpdir"), "tornadoVM-spirv");
+            try {
+                Files.createDirectories(path);
+            } catch (IOException e) {
+                throw new TornadoBailoutRuntimeException("Error - Exception when creating the temp directory for SPIR-V");
+            }
+            spirvTempDirectory = path;
         }
+        return spirvTempDirectory;
     }
 
+    /**
+     * The Level Zero binding only builds modules from a file, so the binary is
+     * written to the temporary directory and, unless
+     * {@link TornadoOptions#SPIRV_DUMP_BINARIES} is set, removed once the module
+     * is built. The module keeps the binary in memory for the disassembler.
+     */
     @Override
     public SPIRVInstalledCode installSPIRVBinary(TaskMetaData meta, String id, String entryPoint, byte[] code) {
 
         if (code == null || code.length == 0) {
             throw new RuntimeException("[ERROR] Binary SPIR-V Module is Empty");
         }
-        ByteBuffer buffer = ByteBuffer.allocate(code.length);
-        buffer.order(ByteOrder.LITTLE_ENDIAN);
-        buffer.put(code);
-        String tempDirectory = System.getProperty("java.io.tmpdir");
-        String spirvTempDirectory = STR."\{tempDirectory}/tornadoVM-spirv";
-        Path path = Paths.get(spirvTempDirectory);
+        Path file = getSPIRVTempDirectory().resolve(STR."\{System.nanoTime()}-\{id}\{entryPoint}.spv");
+        if (Tornado.DEBUG) {
+            System.out.println(STR."SPIRV-File : \{file}");
+        }
         try {
-            Files.createDirectories(path);
+            Files.write(file, code);
         } catch (IOException e) {
-            throw new TornadoBailoutRuntimeException("Error - Exception when creating the temp directory for SPIR-V");
+            throw new RuntimeException("[ERROR] Store of the SPIR-V File failed.");
         }
-        long timeStamp = System.nanoTime();
-        String file = STR."\{spirvTempDirectory}/\{timeStamp}-\{id}\{entryPoint}.spv";
-        if (Tornado.DEBUG) {
-            System.out.println(STR."SPIRV-File : \{file}");
+        try {
+            return installSPIRVModule(meta, id, entryPoint, code, file.toString());
+        } finally {
+            if (!TornadoOptions.SPIRV_DUMP_BINARIES) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    Tornado.warn("Unable to remove the SPIR-V file %s", file);
+                }
+            }
         }
-        writeBufferToFile(buffer, file);
-        return installSPIRVBinary(meta, id, entryPoint, file);
     }
 
-    private void checkBinaryFileExists(String pathToFile) {
+    @Override
+    public SPIRVInstalledCode installSPIRVBinary(TaskMetaData meta, String id, String entryPoint, String pathToFile) {
         final Path pathToSPIRVBin = Paths.get(pathToFile);
         if (!pathToSPIRVBin.toFile().exists()) {
             throw new RuntimeException("Binary File does not exist");
         }
+        byte[] code;
+        try {
+            code = Files.readAllBytes(pathToSPIRVBin);
+        } catch (IOException e) {
+            throw new TornadoBailoutRuntimeException(e.getMessage());
+        }
+        return installSPIRVModule(meta, id, entryPoint, code, pathToFile);
     }
 
-    @Override
-    public synchronized SPIRVInstalledCode installSPIRVBinary(TaskMetaData meta, String id, String entryPoint, String pathToFile) {
+    private static void disassemble(byte[] code) {
+        SPVByteStreamReader reader = new SPVByteStreamReader(new ByteArrayInputStream(code));
+        SPIRVDisassemblerOptions disassemblerOptions = new SPIRVDisassemblerOptions(true, true, false, true, false);
+        SPIRVTool spirvTool = new Disassembler(reader, System.out, disassemblerOptions);
+        try {
+            spirvTool.run();
+        } catch (Exception e) {
+            throw new TornadoBailoutRuntimeException(e.getMessage());
+        }
+    }
+
+    private synchronized SPIRVInstalledCode installSPIRVModule(TaskMetaData meta, String id, String entryPoint, byte[] code, String pathToFile) {
         ZeModuleHandle module = new ZeModuleHandle();
         ZeModuleDescriptor moduleDesc = new ZeModuleDescriptor();
         ZeBuildLogHandle buildLog = new ZeBuildLogHandle();
         moduleDesc.setFormat(ZeModuleFormat.ZE_MODULE_FORMAT_IL_SPIRV);
         moduleDesc.setBuildFlags("-ze-opt-level 2 -ze-opt-large-register-file");
 
-        checkBinaryFileExists(pathToFile);
-
         SPIRVContext spirvContext = deviceContext.getSpirvContext();
         SPIRVLevelZeroContext levelZeroContext = (SPIRVLevelZeroContext) spirvContext;
         LevelZeroContext context = levelZeroContext.getLevelZeroContext();
@@ -140,19 +166,7 @@ public class SPIRVLevelZeroCodeCache extends SPIRVCodeCache {
         }
 
         if (meta.isPrintKernelEnabled()) {
-            SPVFileReader reader;
-            try {
-                reader = new SPVFileReader(pathToFile);
-            } catch (FileNotFoundException e) {
-                throw new TornadoBailoutRuntimeException(e.getMessage());
-            }
-            SPIRVDisassemblerOptions disassemblerOptions = new SPIRVDisassemblerOptions(true, true, false, true, false);
-            SPIRVTool spirvTool = new Disassembler(reader, System.out, disassemblerOptions);
-            try {
-                spirvTool.run();
-            } catch (Exception e) {
-                throw new TornadoBailoutRuntimeException(e.getMessage());
-            }
+            disassemble(code);
         }
 
         // Create Module Object
@@ -174,7 +188,7 @@ public class SPIRVLevelZeroCodeCache extends SPIRVCodeCache {
         // Create a Level Zero kernel Object
         LevelZeroKernel levelZeroKernel = new LevelZeroKernel(kernelDesc, kernel, levelZeroModule);
 
-        SPIRVModule spirvModule = new SPIRVLevelZeroModule(levelZeroModule, levelZeroKernel, entryPoint, pathToFile);
+        SPIRVModule spirvModule = new SPIRVLevelZeroModule(levelZeroModule, levelZeroKernel, entryPoint, pathToFile, code);
         SPIRVInstalledCode installedCode = new SPIRVLevelZeroInstalledCode(id, spirvModule, deviceContext);
 
         // Install module in the code cache
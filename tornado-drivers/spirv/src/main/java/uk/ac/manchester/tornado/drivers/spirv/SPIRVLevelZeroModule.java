@@ -33,12 +33,14 @@ public class SPIRVLevelZeroModule implements SPIRVModule {
     private String entryPoint;
 
     private String pathToSPIRVBinary;
+    private byte[] spirvBinary;
 
-    public SPIRVLevelZeroModule(LevelZeroModule levelZeroModule, LevelZeroKernel kernel, String entryPoint, String pathToSPIRVBinary) {
+    public SPIRVLevelZeroModule(LevelZeroModule levelZeroModule, LevelZeroKernel kernel, String entryPoint, String pathToSPIRVBinary, byte[] spirvBinary) {
         this.levelZeroModule = levelZeroModule;
         this.kernel = kernel;
         this.entryPoint = entryPoint;
         this.pathToSPIRVBinary = pathToSPIRVBinary;
+        this.spirvBinary = spirvBinary;
     }
 
     public LevelZeroModule getLevelZeroModule() {
@@ -57,4 +59,8 @@ public class SPIRVLevelZeroModule implements SPIRVModule {
         return pathToSPIRVBinary;
     }
 
+    public byte[] getSPIRVBinary() {
+        return spirvBinary;
+    }
+
 }
@@ -23,18 +23,15 @@
  */
 package uk.ac.manchester.tornado.drivers.spirv.graal;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 
 import jdk.vm.ci.code.InstalledCode;
 import uk.ac.manchester.beehivespirvtoolkit.lib.SPIRVTool;
 import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.Disassembler;
 import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.SPIRVDisassemblerOptions;
-import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.SPVFileReader;
+import uk.ac.manchester.beehivespirvtoolkit.lib.disassembler.SPVByteStreamReader;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVDeviceContext;
 import uk.ac.manchester.tornado.drivers.spirv.SPIRVLevelZeroModule;
@@ -45,6 +42,7 @@ public abstract class SPIRVInstalledCode extends InstalledCode implements Tornad
 
     protected SPIRVDeviceContext deviceContext;
     protected SPIRVModule spirvModule;
+    private String disassembledCode;
 
     protected SPIRVInstalledCode(String name, SPIRVModule spirvModule, SPIRVDeviceContext deviceContext) {
         super(name);
@@ -61,61 +59,39 @@ public abstract class SPIRVInstalledCode extends InstalledCode implements Tornad
     }
 
     /**
-     * Gets the installed SPIR-V binary code and invokes the disassembler. It stores
-     * the result in the same path with the asm extension.
+     * Disassembles the installed SPIR-V binary code. The binary is kept in memory
+     * by the module, so the disassembler does not read it back from disk.
      *
-     * @param pathToFile
-     *            Path of the input SPIR-V Binary code
+     * @param spirvBinary
+     *            SPIR-V Binary code
      * @return String of the whole disassembled SPIR-V module
-     * @throws IOException
      */
-    private String getDisassembledCode(String pathToFile) throws IOException {
-        PrintStream pr = new PrintStream(pathToFile + ".asm");
-        SPVFileReader reader = null;
-        try {
-            reader = new SPVFileReader(pathToFile);
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
-
-        SPIRVDisassemblerOptions disassemblerOptions = new SPIRVDisassemblerOptions(true, true, false, true, false);
-        SPIRVTool spirvTool = new Disassembler(reader, pr, disassemblerOptions);
-        try {
+    private static String getDisassembledCode(byte[] spirvBinary) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PrintStream pr = new PrintStream(output)) {
+            SPVByteStreamReader reader = new SPVByteStreamReader(new ByteArrayInputStream(spirvBinary));
+            SPIRVDisassemblerOptions disassemblerOptions = new SPIRVDisassemblerOptions(true, true, false, true, false);
+            SPIRVTool spirvTool = new Disassembler(reader, pr, disassemblerOptions);
             spirvTool.run();
         } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        pr.close();
-        File file = new File(pathToFile + ".asm");
-        BufferedReader br = new BufferedReader(new FileReader(file));
-        String line;
-        StringBuffer sb = new StringBuffer();
-        final String EOL = System.getProperty("line.separator");
-        while ((line = br.readLine()) != null) {
-            sb.append(line + EOL);
+            throw new TornadoRuntimeException(e);
         }
-        br.close();
-        return sb.toString();
+        return output.toString();
     }
 
     /**
-     * The SPIR-V backend generates a binary, not source code. This method is not
-     * applicable for this backend.
+     * The SPIR-V backend generates a binary, not source code. This method returns
+     * the disassembled binary instead. The disassembly is computed on the first
+     * call.
      *
      * @return String.
      */
     public String getGeneratedSourceCode() {
-        if (spirvModule instanceof SPIRVLevelZeroModule) {
-            SPIRVLevelZeroModule module = (SPIRVLevelZeroModule) spirvModule;
-            String spirvFile = module.getPathToSPIRVBinary();
-            try {
-                return getDisassembledCode(spirvFile);
-            } catch (FileNotFoundException e) {
-                throw new RuntimeException(e);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+        if (spirvModule instanceof SPIRVLevelZeroModule module) {
+            if (disassembledCode == null) {
+                disassembledCode = getDisassembledCode(module.getSPIRVBinary());
             }
+            return disassembledCode;
         } else {
             throw new TornadoRuntimeException("Not implemented yet");
         }
@@ -86,11 +86,13 @@ import uk.ac.manchester.tornado.drivers.spirv.graal.SPIRVSuitesProvider;
 import uk.ac.manchester.tornado.drivers.spirv.graal.asm.SPIRVAssembler;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoLogger;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graal.TornadoLIRSuites;
 import uk.ac.manchester.tornado.runtime.graal.TornadoSuites;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoHighTierContext;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoLowTierContext;
 import uk.ac.manchester.tornado.runtime.graal.phases.TornadoMidTierContext;
+import uk.ac.manchester.tornado.runtime.profiler.CompilationRecorder;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -126,7 +128,7 @@ public class SPIRVCompiler {
             if (r.meta != null && (r.meta.isParallel() || r.meta.isGridSchedulerEnabled())) {
                 isParallel = true;
             }
-            emitBackEnd(r.graph, null, r.installedCodeOwner, r.backend, r.compilationResult, null, r.lirSuites, r.isKernel, isParallel, r.profiler);
+            emitBackEnd(r.graph, null, r.installedCodeOwner, r.backend, r.compilationResult, null, r.lirSuites, r.isKernel, isParallel, r.profiler, r.meta);
         } catch (Throwable e) {
             throw getDebugContext().handle(e);
         }
@@ -157,16 +159,16 @@ public class SPIRVCompiler {
                     getDebugContext().dump(DebugContext.INFO_LEVEL, graph, "initial state");
                 }
             }
-            suites.getHighTier().apply(graph, highTierContext);
+            CompilationRecorder.applyTier(meta, CompilationRecorder.HIGH_TIER, suites.getHighTier(), graph, highTierContext);
             graph.maybeCompress();
 
             final TornadoMidTierContext midTierContext = new TornadoMidTierContext(providers, backend, optimisticOpts, profilingInfo, installedCodeOwner, args, meta);
-            suites.getMidTier().apply(graph, midTierContext);
+            CompilationRecorder.applyTier(meta, CompilationRecorder.MID_TIER, suites.getMidTier(), graph, midTierContext);
 
             graph.maybeCompress();
 
             final TornadoLowTierContext lowTierContext = new TornadoLowTierContext(providers, backend, meta);
-            suites.getLowTier().apply(graph, lowTierContext);
+            CompilationRecorder.applyTier(meta, CompilationRecorder.LOW_TIER, suites.getLowTier(), graph, lowTierContext);
 
             getDebugContext().dump(DebugContext.BASIC_LEVEL, graph.getLastSchedule(), "Final LIR schedule");
 
@@ -176,14 +178,23 @@ public class SPIRVCompiler {
     }
 
     private static void emitBackEnd(StructuredGraph graph, Object stub, ResolvedJavaMethod installedCodeOwner, SPIRVBackend backend, SPIRVCompilationResult compilationResult,
-            RegisterConfig registerConfig, TornadoLIRSuites lirSuites, boolean isKernel, boolean isParallel, TornadoProfiler profiler) {
+            RegisterConfig registerConfig, TornadoLIRSuites lirSuites, boolean isKernel, boolean isParallel, TornadoProfiler profiler, TaskMetaData meta) {
         try (DebugContext.Scope s = getDebugContext().scope("SPIRVBackend", graph.getLastSchedule()); DebugCloseable a = BackEnd.start(getDebugContext())) {
+            final CompilationRecorder recorder = CompilationRecorder.of(meta);
             LIRGenerationResult lirGen = null;
+            long start = System.nanoTime();
             lirGen = emitLIR(backend, graph, stub, registerConfig, lirSuites, compilationResult, isKernel);
+            if (recorder != null) {
+                recorder.addLIRGenerationTime(System.nanoTime() - start);
+            }
             try (DebugContext.Scope s2 = getDebugContext().scope("SPIRVCodeGen", lirGen, lirGen.getLIR())) {
                 int bytecodeSize = graph.method() == null ? 0 : graph.getBytecodeSize();
                 compilationResult.setHasUnsafeAccess(graph.hasUnsafeAccess());
+                start = System.nanoTime();
                 emitCode(backend, graph.getAssumptions(), graph.method(), graph.getMethods(), bytecodeSize, lirGen, compilationResult, installedCodeOwner, isKernel, isParallel, profiler);
+                if (recorder != null) {
+                    recorder.addCodeEmissionTime(System.nanoTime() - start);
+                }
             } catch (Throwable e) {
                 throw getDebugContext().handle(e);
             }
@@ -423,6 +434,9 @@ public class SPIRVCompiler {
         // asm.module.close().write(asm.getSPIRVByteBuffer());
         asm.module.close().write(out);
         out.flip();
+        if (TornadoOptions.SPIRV_MODULE_OPTIMIZER) {
+            out = SPIRVModuleOptimizer.optimize(out);
+        }
         asm.setSPIRVByteBuffer(out);
         // asm.getSPIRVByteBuffer().flip();
 
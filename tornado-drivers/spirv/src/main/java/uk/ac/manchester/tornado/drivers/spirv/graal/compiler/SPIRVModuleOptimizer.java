@@ -0,0 +1,843 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.spirv.graal.compiler;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Module-level clean-up of the SPIR-V binary produced by the
+ * {@link uk.ac.manchester.tornado.drivers.spirv.graal.asm.SPIRVAssembler}.
+ * It runs on the words of the assembled module before the module is handed to
+ * the driver, and applies the following passes:
+ *
+ * <ul>
+ * <li>Deduplication of types and constants.</li>
+ * <li>Forwarding of stored and loaded values to loads of the same pointer
+ * within a block.</li>
+ * <li>Folding of integer operations on constants.</li>
+ * <li>Elimination of functions that are not reachable from an entry point, of
+ * function variables that are never read, and of side-effect free instructions
+ * whose result is not used.</li>
+ * </ul>
+ *
+ * <p>
+ * The optimizer only knows the operand layout of the instructions emitted by
+ * the TornadoVM SPIR-V backend. Modules that contain any other instruction are
+ * returned unchanged.
+ * </p>
+ */
+public final class SPIRVModuleOptimizer {
+
+    private static final int MAGIC_NUMBER = 0x07230203;
+    private static final int HEADER_WORDS = 5;
+    private static final int BOUND_INDEX = 3;
+
+    private static final int OP_NOP = 0;
+    private static final int OP_NAME = 5;
+    private static final int OP_MEMBER_NAME = 6;
+    private static final int OP_EXT_INST = 12;
+    private static final int OP_ENTRY_POINT = 15;
+    private static final int OP_TYPE_BOOL = 20;
+    private static final int OP_TYPE_INT = 21;
+    private static final int OP_TYPE_POINTER = 32;
+    private static final int OP_CONSTANT_TRUE = 41;
+    private static final int OP_CONSTANT_FALSE = 42;
+    private static final int OP_CONSTANT = 43;
+    private static final int OP_SPEC_CONSTANT_OP = 52;
+    private static final int OP_FUNCTION = 54;
+    private static final int OP_FUNCTION_END = 56;
+    private static final int OP_FUNCTION_CALL = 57;
+    private static final int OP_VARIABLE = 59;
+    private static final int OP_LOAD = 61;
+    private static final int OP_STORE = 62;
+    private static final int OP_DECORATE = 71;
+    private static final int OP_MEMBER_DECORATE = 72;
+    private static final int OP_GROUP_DECORATE = 74;
+    private static final int OP_S_NEGATE = 126;
+    private static final int OP_I_ADD = 128;
+    private static final int OP_I_SUB = 130;
+    private static final int OP_I_MUL = 132;
+    private static final int OP_I_EQUAL = 170;
+    private static final int OP_I_NOT_EQUAL = 171;
+    private static final int OP_U_GREATER_THAN = 172;
+    private static final int OP_S_GREATER_THAN = 173;
+    private static final int OP_U_GREATER_THAN_EQUAL = 174;
+    private static final int OP_S_GREATER_THAN_EQUAL = 175;
+    private static final int OP_U_LESS_THAN = 176;
+    private static final int OP_S_LESS_THAN = 177;
+    private static final int OP_U_LESS_THAN_EQUAL = 178;
+    private static final int OP_S_LESS_THAN_EQUAL = 179;
+    private static final int OP_SHIFT_RIGHT_LOGICAL = 194;
+    private static final int OP_SHIFT_RIGHT_ARITHMETIC = 195;
+    private static final int OP_SHIFT_LEFT_LOGICAL = 196;
+    private static final int OP_BITWISE_OR = 197;
+    private static final int OP_BITWISE_XOR = 198;
+    private static final int OP_BITWISE_AND = 199;
+    private static final int OP_NOT = 200;
+    private static final int OP_LABEL = 248;
+    private static final int OP_SWITCH = 251;
+    private static final int OP_DECORATE_STRING = 5632;
+    private static final int OP_MEMBER_DECORATE_STRING = 5633;
+
+    private static final int DECORATION_LINKAGE_ATTRIBUTES = 41;
+    private static final int MEMORY_ACCESS_VOLATILE = 0x1;
+    private static final int STORAGE_CLASS_FUNCTION = 7;
+
+    /**
+     * Operand layouts: every operand is an id.
+     */
+    private static final int ALL_IDS = -1;
+    /**
+     * Operand layouts: the ids are given by {@link #isSpecialIdOperand}.
+     */
+    private static final int SPECIAL = -2;
+
+    /**
+     * Number of leading operands that are ids, {@link #ALL_IDS} or
+     * {@link #SPECIAL}. Opcodes that are not in the map are unknown.
+     */
+    private static final Map<Integer, Integer> ID_OPERANDS = new HashMap<>();
+
+    /**
+     * Opcodes with a result id as the first operand.
+     */
+    private static final Set<Integer> RESULT_FIRST = new HashSet<>();
+
+    /**
+     * Opcodes with a result type followed by a result id.
+     */
+    private static final Set<Integer> TYPED_RESULT = new HashSet<>();
+
+    /**
+     * Types and constants that can be merged with an identical declaration.
+     */
+    private static final Set<Integer> UNIQUE_DECLARATIONS = Set.of(19, 20, 21, 22, 23, 24, 26, 27, 28, 29, 32, 33, 34, 35, 36, 37, 41, 42, 43, 44, 46);
+
+    /**
+     * Debug and annotation instructions. They target an id in their first
+     * operand, and do not count as a use of it.
+     */
+    private static final Set<Integer> ANNOTATIONS = Set.of(OP_NAME, OP_MEMBER_NAME, OP_DECORATE, OP_MEMBER_DECORATE, OP_DECORATE_STRING, OP_MEMBER_DECORATE_STRING);
+
+    /**
+     * Instructions that may write memory. Values forwarded between loads and
+     * stores do not survive them.
+     */
+    private static final Set<Integer> MEMORY_WRITES = new HashSet<>();
+
+    /**
+     * Instructions without side effects, which can be removed if their result is
+     * not used.
+     */
+    private static final Set<Integer> SIDE_EFFECT_FREE = new HashSet<>();
+
+    static {
+        // @formatter:off
+        allIds(0, 1, 19, 20, 26, 27, 28, 29, 30, 33, 34, 35, 36, 37, 41, 42, 44, 46, 48, 49, 51, 55, 56, 57,
+                65, 66, 67, 69, 70, 74, 77, 78, 80, 83, 84, 124, 224, 225, 245, 248, 249, 252, 253, 254, 255,
+                259, 260, 261, 262, 263, 318, 319, 321, 6035);
+        allIds(range(109, 122));
+        allIds(range(126, 152));
+        allIds(range(154, 191));
+        allIds(range(194, 205));
+        allIds(range(227, 242));
+        idPrefix(0, 3, 4, 10, 14, 17, 317, 330);
+        idPrefix(1, 5, 6, 7, 8, 11, 16, 21, 22, 31, 38, 39, 71, 72, 73, 247, 256, 257, 5632, 5633);
+        idPrefix(2, 23, 24, 25, 43, 45, 50, 62, 63, 246, OP_SWITCH);
+        idPrefix(3, 61, 64, 68, 81, 123, 250);
+        idPrefix(4, 79, 82);
+        special(OP_EXT_INST, OP_ENTRY_POINT, OP_TYPE_POINTER, OP_SPEC_CONSTANT_OP, OP_FUNCTION, OP_VARIABLE);
+        special(range(264, 271));
+
+        add(RESULT_FIRST, 7, 11, 73, OP_LABEL);
+        add(RESULT_FIRST, range(19, 38));
+        add(TYPED_RESULT, 1, OP_EXT_INST, 41, 42, 43, 44, 45, 46, 48, 49, 50, 51, 52, 54, 55, 57, 59, 61,
+                65, 66, 67, 68, 69, 70, 77, 78, 79, 80, 81, 82, 83, 84, 227, 245, 259, 318, 321, 6035);
+        add(TYPED_RESULT, range(109, 124));
+        add(TYPED_RESULT, range(126, 152));
+        add(TYPED_RESULT, range(154, 191));
+        add(TYPED_RESULT, range(194, 205));
+        add(TYPED_RESULT, range(229, 242));
+        add(TYPED_RESULT, range(261, 271));
+
+        add(MEMORY_WRITES, OP_EXT_INST, OP_FUNCTION_CALL, 63, 64, 224, 225, 256, 257, 259, 260, 318, 319, 6035);
+        add(MEMORY_WRITES, range(227, 242));
+
+        add(SIDE_EFFECT_FREE, 1, OP_CONSTANT_TRUE, OP_CONSTANT_FALSE, OP_CONSTANT, 44, 46, 65, 66, 67, 70, 77, 78, 79, 80, 81, 82, 83, 84, 245);
+        add(SIDE_EFFECT_FREE, range(109, 124));
+        add(SIDE_EFFECT_FREE, range(126, 152));
+        add(SIDE_EFFECT_FREE, range(154, 191));
+        add(SIDE_EFFECT_FREE, range(194, 205));
+        // @formatter:on
+    }
+
+    private final int[] header;
+    private final List<Instruction> instructions;
+    private final Map<Integer, Integer> replacements;
+    private final Set<Integer> removedIds;
+    private int bound;
+
+    private SPIRVModuleOptimizer(int[] header, List<Instruction> instructions) {
+        this.header = header;
+        this.instructions = instructions;
+        this.replacements = new HashMap<>();
+        this.removedIds = new HashSet<>();
+        this.bound = header[BOUND_INDEX];
+    }
+
+    private static int[] range(int first, int last) {
+        int[] values = new int[last - first + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = first + i;
+        }
+        return values;
+    }
+
+    private static void add(Set<Integer> set, int... opcodes) {
+        for (int opcode : opcodes) {
+            set.add(opcode);
+        }
+    }
+
+    private static void allIds(int... opcodes) {
+        idPrefix(ALL_IDS, opcodes);
+    }
+
+    private static void special(int... opcodes) {
+        idPrefix(SPECIAL, opcodes);
+    }
+
+    private static void idPrefix(int ids, int... opcodes) {
+        for (int opcode : opcodes) {
+            ID_OPERANDS.put(opcode, ids);
+        }
+    }
+
+    /**
+     * Optimizes a SPIR-V module.
+     *
+     * @param module
+     *     binary module, in little-endian order, from the position to the limit
+     *     of the buffer.
+     * @return a buffer with the optimized module, or the given buffer if the
+     *     module cannot be optimized.
+     */
+    public static ByteBuffer optimize(ByteBuffer module) {
+        ByteBuffer input = module.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (input.remaining() % Integer.BYTES != 0) {
+            return module;
+        }
+        int[] words = new int[input.remaining() / Integer.BYTES];
+        input.asIntBuffer().get(words);
+
+        SPIRVModuleOptimizer optimizer = parse(words);
+        if (optimizer == null) {
+            return module;
+        }
+        optimizer.deduplicateDeclarations();
+        optimizer.forwardLoadsAndStores();
+        optimizer.foldConstants();
+        optimizer.removeDeadFunctions();
+        optimizer.removeWriteOnlyVariables();
+        optimizer.removeDeadInstructions();
+        return optimizer.emit();
+    }
+
+    private static SPIRVModuleOptimizer parse(int[] words) {
+        if (words.length < HEADER_WORDS || words[0] != MAGIC_NUMBER) {
+            return null;
+        }
+        List<Instruction> instructions = new ArrayList<>();
+        int index = HEADER_WORDS;
+        while (index < words.length) {
+            int wordCount = words[index] >>> 16;
+            int opcode = words[index] & 0xFFFF;
+            if (wordCount == 0 || index + wordCount > words.length || !ID_OPERANDS.containsKey(opcode)) {
+                return null;
+            }
+            instructions.add(new Instruction(opcode, Arrays.copyOfRange(words, index + 1, index + wordCount)));
+            index += wordCount;
+        }
+        return new SPIRVModuleOptimizer(Arrays.copyOf(words, HEADER_WORDS), instructions);
+    }
+
+    private static boolean isSpecialIdOperand(int opcode, int index, int[] operands) {
+        return switch (opcode) {
+            // Result type, result, set, instruction number, operands
+            case OP_EXT_INST -> index != 3;
+            // Execution model, function, name, interface
+            case OP_ENTRY_POINT -> index == 1 || index >= 2 + stringLength(operands, 2);
+            // Result, storage class, type
+            case OP_TYPE_POINTER -> index != 1;
+            // Result type, result, opcode, operands
+            case OP_SPEC_CONSTANT_OP -> index != 2;
+            // Result type, result, function control, function type
+            case OP_FUNCTION -> index != 2;
+            // Result type, result, storage class, initializer
+            case OP_VARIABLE -> index != 2;
+            // Group arithmetic: result type, result, scope, group operation, value
+            default -> index != 3;
+        };
+    }
+
+    /**
+     * Number of words of the literal string that starts at the given operand.
+     */
+    private static int stringLength(int[] operands, int start) {
+        int index = start;
+        while (index < operands.length) {
+            int word = operands[index++];
+            if ((word & 0xFF) == 0 || (word & 0xFF00) == 0 || (word & 0xFF0000) == 0 || (word & 0xFF000000) == 0) {
+                break;
+            }
+        }
+        return index - start;
+    }
+
+    private int resolve(int id) {
+        Integer replacement = replacements.get(id);
+        while (replacement != null) {
+            id = replacement;
+            replacement = replacements.get(id);
+        }
+        return id;
+    }
+
+    private void replace(Instruction instruction, int id) {
+        instruction.removed = true;
+        removedIds.add(instruction.result());
+        replacements.put(instruction.result(), id);
+    }
+
+    private void remove(Instruction instruction) {
+        instruction.removed = true;
+        if (instruction.result() != -1) {
+            removedIds.add(instruction.result());
+        }
+    }
+
+    private void applyReplacements(Instruction instruction) {
+        for (int index : instruction.idOperands()) {
+            instruction.operands[index] = resolve(instruction.operands[index]);
+        }
+    }
+
+    /**
+     * Merges types and constants that are declared more than once. Declarations
+     * that are decorated are kept, since the decoration makes them different.
+     */
+    private void deduplicateDeclarations() {
+        Set<Integer> decorated = new HashSet<>();
+        for (Instruction instruction : instructions) {
+            if (instruction.opcode != OP_NAME && instruction.opcode != OP_MEMBER_NAME && ANNOTATIONS.contains(instruction.opcode)) {
+                decorated.add(instruction.operands[0]);
+            } else if (instruction.opcode == OP_GROUP_DECORATE) {
+                for (int i = 1; i < instruction.operands.length; i++) {
+                    decorated.add(instruction.operands[i]);
+                }
+            }
+        }
+
+        Map<DeclarationKey, Integer> declarations = new HashMap<>();
+        for (Instruction instruction : instructions) {
+            if (instruction.opcode == OP_FUNCTION) {
+                break;
+            }
+            applyReplacements(instruction);
+            if (!UNIQUE_DECLARATIONS.contains(instruction.opcode) || decorated.contains(instruction.result())) {
+                continue;
+            }
+            DeclarationKey key = DeclarationKey.of(instruction);
+            Integer existing = declarations.putIfAbsent(key, instruction.result());
+            if (existing != null) {
+                replace(instruction, existing);
+            }
+        }
+        applyReplacements();
+    }
+
+    /**
+     * Folds integer arithmetic, bitwise and comparison instructions whose operands
+     * are 32 or 64 bit constants.
+     */
+    private void foldConstants() {
+        Map<Integer, Integer> intWidths = new HashMap<>();
+        Set<Integer> boolTypes = new HashSet<>();
+        Map<Integer, Long> values = new HashMap<>();
+        Map<DeclarationKey, Integer> constants = new HashMap<>();
+        int firstFunction = instructions.size();
+
+        for (int i = 0; i < instructions.size(); i++) {
+            Instruction instruction = instructions.get(i);
+            if (instruction.removed) {
+                continue;
+            }
+            if (instruction.opcode == OP_FUNCTION) {
+                firstFunction = i;
+                break;
+            }
+            int[] operands = instruction.operands;
+            if (instruction.opcode == OP_TYPE_INT && (operands[1] == 32 || operands[1] == 64)) {
+                intWidths.put(operands[0], operands[1]);
+            } else if (instruction.opcode == OP_TYPE_BOOL) {
+                boolTypes.add(operands[0]);
+            } else if (instruction.opcode == OP_CONSTANT && intWidths.containsKey(operands[0])) {
+                long value = operands.length > 3 ? ((long) operands[3] << 32) | (operands[2] & 0xFFFFFFFFL) : operands[2];
+                values.put(operands[1], value);
+                constants.putIfAbsent(DeclarationKey.of(instruction), operands[1]);
+            } else if (instruction.opcode == OP_CONSTANT_TRUE || instruction.opcode == OP_CONSTANT_FALSE) {
+                constants.putIfAbsent(DeclarationKey.of(instruction), operands[1]);
+            }
+        }
+
+        List<Instruction> newConstants = new ArrayList<>();
+        for (int i = firstFunction; i < instructions.size(); i++) {
+            Instruction instruction = instructions.get(i);
+            if (instruction.removed) {
+                continue;
+            }
+            applyReplacements(instruction);
+            int[] operands = instruction.operands;
+            if (operands.length < 3 || !instruction.hasTypedResult()) {
+                continue;
+            }
+            Long a = values.get(operands[2]);
+            Long b = operands.length > 3 ? values.get(operands[3]) : null;
+            if (a == null) {
+                continue;
+            }
+
+            int resultType = operands[0];
+            Integer width = intWidths.get(resultType);
+            if (width != null) {
+                Long folded = foldInteger(instruction.opcode, a, b, width);
+                if (folded != null) {
+                    values.putIfAbsent(replaceWithConstant(instruction, constants, newConstants, resultType, width, folded), folded);
+                }
+            } else if (boolTypes.contains(resultType) && b != null) {
+                Boolean folded = foldComparison(instruction.opcode, a, b);
+                if (folded != null) {
+                    replaceWithConstant(instruction, constants, newConstants, resultType, 0, folded ? 1 : 0);
+                }
+            }
+        }
+        instructions.addAll(firstFunction, newConstants);
+        applyReplacements();
+    }
+
+    private int replaceWithConstant(Instruction instruction, Map<DeclarationKey, Integer> constants, List<Instruction> newConstants, int type, int width, long value) {
+        int[] operands;
+        int opcode;
+        if (width == 0) {
+            opcode = value != 0 ? OP_CONSTANT_TRUE : OP_CONSTANT_FALSE;
+            operands = new int[] { type, bound };
+        } else if (width == 32) {
+            opcode = OP_CONSTANT;
+            operands = new int[] { type, bound, (int) value };
+        } else {
+            opcode = OP_CONSTANT;
+            operands = new int[] { type, bound, (int) value, (int) (value >>> 32) };
+        }
+        Instruction constant = new Instruction(opcode, operands);
+        Integer id = constants.putIfAbsent(DeclarationKey.of(constant), bound);
+        if (id == null) {
+            id = bound++;
+            newConstants.add(constant);
+        }
+        replace(instruction, id);
+        return id;
+    }
+
+    private static Long foldInteger(int opcode, long a, Long b, int width) {
+        long mask = width == 64 ? -1L : 0xFFFFFFFFL;
+        long result;
+        if (b == null) {
+            switch (opcode) {
+                case OP_S_NEGATE -> result = -a;
+                case OP_NOT -> result = ~a;
+                default -> {
+                    return null;
+                }
+            }
+        } else {
+            long shift = b & mask;
+            switch (opcode) {
+                case OP_I_ADD -> result = a + b;
+                case OP_I_SUB -> result = a - b;
+                case OP_I_MUL -> result = a * b;
+                case OP_BITWISE_OR -> result = a | b;
+                case OP_BITWISE_XOR -> result = a ^ b;
+                case OP_BITWISE_AND -> result = a & b;
+                case OP_SHIFT_LEFT_LOGICAL, OP_SHIFT_RIGHT_LOGICAL, OP_SHIFT_RIGHT_ARITHMETIC -> {
+                    if (shift < 0 || shift >= width) {
+                        return null;
+                    }
+                    if (opcode == OP_SHIFT_LEFT_LOGICAL) {
+                        result = a << shift;
+                    } else if (opcode == OP_SHIFT_RIGHT_LOGICAL) {
+                        result = (a & mask) >>> shift;
+                    } else {
+                        result = width == 32 ? (long) ((int) a >> shift) : a >> shift;
+                    }
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        // Constants are kept sign-extended, as they are read from the module
+        return width == 32 ? (long) (int) result : result;
+    }
+
+    private static Boolean foldComparison(int opcode, long a, long b) {
+        return switch (opcode) {
+            case OP_I_EQUAL -> a == b;
+            case OP_I_NOT_EQUAL -> a != b;
+            case OP_S_GREATER_THAN -> a > b;
+            case OP_S_GREATER_THAN_EQUAL -> a >= b;
+            case OP_S_LESS_THAN -> a < b;
+            case OP_S_LESS_THAN_EQUAL -> a <= b;
+            case OP_U_GREATER_THAN -> Long.compareUnsigned(a, b) > 0;
+            case OP_U_GREATER_THAN_EQUAL -> Long.compareUnsigned(a, b) >= 0;
+            case OP_U_LESS_THAN -> Long.compareUnsigned(a, b) < 0;
+            case OP_U_LESS_THAN_EQUAL -> Long.compareUnsigned(a, b) <= 0;
+            default -> null;
+        };
+    }
+
+    /**
+     * Replaces loads with the value last stored to, or loaded from, the same
+     * pointer in the same block, and removes stores of the value that the pointer
+     * is known to hold. Pointers may alias, so any store or any other instruction
+     * that may write memory forgets the values known for the other pointers.
+     */
+    private void forwardLoadsAndStores() {
+        Map<Integer, Integer> knownValues = new HashMap<>();
+        for (Instruction instruction : instructions) {
+            if (instruction.removed) {
+                continue;
+            }
+            applyReplacements(instruction);
+            int[] operands = instruction.operands;
+            if (instruction.opcode == OP_LOAD) {
+                if (isVolatile(operands, 3)) {
+                    knownValues.clear();
+                    continue;
+                }
+                Integer value = knownValues.get(operands[2]);
+                if (value != null) {
+                    replace(instruction, value);
+                } else {
+                    knownValues.put(operands[2], operands[1]);
+                }
+            } else if (instruction.opcode == OP_STORE) {
+                boolean isVolatile = isVolatile(operands, 2);
+                if (!isVolatile && Integer.valueOf(operands[1]).equals(knownValues.get(operands[0]))) {
+                    // The memory already holds the value
+                    remove(instruction);
+                    continue;
+                }
+                knownValues.clear();
+                if (!isVolatile) {
+                    knownValues.put(operands[0], operands[1]);
+                }
+            } else if (instruction.isBlockBoundary() || MEMORY_WRITES.contains(instruction.opcode)) {
+                knownValues.clear();
+            }
+        }
+        applyReplacements();
+    }
+
+    private static boolean isVolatile(int[] operands, int memoryAccessIndex) {
+        return operands.length > memoryAccessIndex && (operands[memoryAccessIndex] & MEMORY_ACCESS_VOLATILE) != 0;
+    }
+
+    /**
+     * Removes the functions that cannot be called from an entry point or from an
+     * exported function.
+     */
+    private void removeDeadFunctions() {
+        Map<Integer, List<Integer>> callees = new HashMap<>();
+        Deque<Integer> workList = new ArrayDeque<>();
+        List<Integer> current = null;
+        for (Instruction instruction : instructions) {
+            if (instruction.removed) {
+                continue;
+            }
+            if (instruction.opcode == OP_ENTRY_POINT) {
+                workList.add(instruction.operands[1]);
+            } else if (instruction.opcode == OP_DECORATE && instruction.operands.length > 1 && instruction.operands[1] == DECORATION_LINKAGE_ATTRIBUTES) {
+                workList.add(instruction.operands[0]);
+            } else if (instruction.opcode == OP_FUNCTION) {
+                current = callees.computeIfAbsent(instruction.result(), id -> new ArrayList<>());
+            } else if (instruction.opcode == OP_FUNCTION_CALL && current != null) {
+                current.add(instruction.operands[2]);
+            }
+        }
+
+        Set<Integer> live = new HashSet<>();
+        while (!workList.isEmpty()) {
+            int function = workList.pop();
+            if (live.add(function)) {
+                workList.addAll(callees.getOrDefault(function, List.of()));
+            }
+        }
+
+        boolean dead = false;
+        for (Instruction instruction : instructions) {
+            if (instruction.removed) {
+                continue;
+            }
+            if (instruction.opcode == OP_FUNCTION) {
+                dead = !live.contains(instruction.result());
+            }
+            if (dead) {
+                remove(instruction);
+            }
+            if (instruction.opcode == OP_FUNCTION_END) {
+                dead = false;
+            }
+        }
+    }
+
+    /**
+     * Removes the function variables that are never read, together with the stores
+     * to them. This is typical once the loads have been forwarded.
+     */
+    private void removeWriteOnlyVariables() {
+        Map<Integer, Instruction> variables = new HashMap<>();
+        boolean inFunction = false;
+        for (Instruction instruction : instructions) {
+            if (instruction.opcode == OP_FUNCTION) {
+                inFunction = true;
+            } else if (inFunction && !instruction.removed && instruction.opcode == OP_VARIABLE && instruction.operands[2] == STORAGE_CLASS_FUNCTION) {
+                variables.put(instruction.result(), instruction);
+            }
+        }
+
+        Map<Integer, List<Instruction>> stores = new HashMap<>();
+        for (Instruction instruction : instructions) {
+            if (instruction.removed || ANNOTATIONS.contains(instruction.opcode)) {
+                continue;
+            }
+            for (int index : instruction.idOperands()) {
+                int id = instruction.operands[index];
+                if (!variables.containsKey(id)) {
+                    continue;
+                }
+                if (instruction.opcode == OP_STORE && index == 0 && !isVolatile(instruction.operands, 2)) {
+                    stores.computeIfAbsent(id, key -> new ArrayList<>()).add(instruction);
+                } else {
+                    variables.remove(id);
+                }
+            }
+        }
+
+        for (Instruction variable : variables.values()) {
+            remove(variable);
+            for (Instruction store : stores.getOrDefault(variable.result(), List.of())) {
+                remove(store);
+            }
+        }
+    }
+
+    /**
+     * Removes side-effect free instructions whose result is not used, and then
+     * the instructions that only fed them.
+     */
+    private void removeDeadInstructions() {
+        Map<Integer, Integer> uses = new HashMap<>();
+        Map<Integer, Instruction> definitions = new HashMap<>();
+        for (Instruction instruction : instructions) {
+            if (instruction.removed) {
+                continue;
+            }
+            if (instruction.result() != -1) {
+                definitions.put(instruction.result(), instruction);
+            }
+            if (!ANNOTATIONS.contains(instruction.opcode)) {
+                for (int index : instruction.idOperands()) {
+                    uses.merge(instruction.operands[index], 1, Integer::sum);
+                }
+            }
+        }
+
+        Deque<Instruction> workList = new ArrayDeque<>();
+        for (Instruction instruction : definitions.values()) {
+            if (isRemovable(instruction) && !uses.containsKey(instruction.result())) {
+                workList.add(instruction);
+            }
+        }
+        while (!workList.isEmpty()) {
+            Instruction instruction = workList.pop();
+            if (instruction.removed) {
+                continue;
+            }
+            remove(instruction);
+            for (int index : instruction.idOperands()) {
+                int id = instruction.operands[index];
+                if (id == instruction.result()) {
+                    continue;
+                }
+                int remaining = uses.merge(id, -1, Integer::sum);
+                Instruction definition = definitions.get(id);
+                if (remaining == 0) {
+                    uses.remove(id);
+                    if (definition != null && isRemovable(definition)) {
+                        workList.add(definition);
+                    }
+                }
+            }
+        }
+        applyReplacements();
+    }
+
+    private static boolean isRemovable(Instruction instruction) {
+        if (instruction.opcode == OP_LOAD) {
+            return !isVolatile(instruction.operands, 3);
+        }
+        return SIDE_EFFECT_FREE.contains(instruction.opcode);
+    }
+
+    /**
+     * Updates the ids used by every instruction, and drops the annotations of the
+     * removed instructions.
+     */
+    private void applyReplacements() {
+        for (Instruction instruction : instructions) {
+            if (instruction.removed) {
+                continue;
+            }
+            if (ANNOTATIONS.contains(instruction.opcode) && removedIds.contains(instruction.operands[0])) {
+                instruction.removed = true;
+            } else {
+                applyReplacements(instruction);
+            }
+        }
+    }
+
+    private ByteBuffer emit() {
+        int size = HEADER_WORDS;
+        for (Instruction instruction : instructions) {
+            if (!instruction.removed && instruction.opcode != OP_NOP) {
+                size += 1 + instruction.operands.length;
+            }
+        }
+        ByteBuffer output = ByteBuffer.allocate(size * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header[BOUND_INDEX] = bound;
+        for (int word : header) {
+            output.putInt(word);
+        }
+        for (Instruction instruction : instructions) {
+            if (!instruction.removed && instruction.opcode != OP_NOP) {
+                output.putInt(((1 + instruction.operands.length) << 16) | instruction.opcode);
+                for (int word : instruction.operands) {
+                    output.putInt(word);
+                }
+            }
+        }
+        output.flip();
+        return output;
+    }
+
+    private static final class Instruction {
+        private final int opcode;
+        private final int[] operands;
+        private int[] idOperands;
+        private boolean removed;
+
+        Instruction(int opcode, int[] operands) {
+            this.opcode = opcode;
+            this.operands = operands;
+        }
+
+        int result() {
+            if (RESULT_FIRST.contains(opcode) && operands.length > 0) {
+                return operands[0];
+            } else if (TYPED_RESULT.contains(opcode) && operands.length > 1) {
+                return operands[1];
+            }
+            return -1;
+        }
+
+        boolean hasTypedResult() {
+            return TYPED_RESULT.contains(opcode);
+        }
+
+        boolean isBlockBoundary() {
+            return opcode == OP_LABEL || opcode == OP_FUNCTION || (opcode >= 249 && opcode <= 255);
+        }
+
+        /**
+         * Indexes of the operands that are ids, excluding the result id.
+         */
+        int[] idOperands() {
+            if (idOperands == null) {
+                int layout = ID_OPERANDS.get(opcode);
+                int result = RESULT_FIRST.contains(opcode) ? 0 : TYPED_RESULT.contains(opcode) ? 1 : -1;
+                int[] indexes = new int[operands.length];
+                int count = 0;
+                for (int i = 0; i < operands.length; i++) {
+                    boolean isId = switch (layout) {
+                        case ALL_IDS -> true;
+                        case SPECIAL -> isSpecialIdOperand(opcode, i, operands);
+                        default -> i < layout;
+                    };
+                    if (isId && i != result) {
+                        indexes[count++] = i;
+                    }
+                }
+                idOperands = Arrays.copyOf(indexes, count);
+            }
+            return idOperands;
+        }
+    }
+
+    /**
+     * Identifies a declaration by its opcode and its operands, except the result
+     * id.
+     */
+    private record DeclarationKey(int opcode, List<Integer> operands) {
+
+        static DeclarationKey of(Instruction instruction) {
+            int resultIndex = instruction.hasTypedResult() ? 1 : 0;
+            List<Integer> operands = new ArrayList<>();
+            for (int i = 0; i < instruction.operands.length; i++) {
+                if (i != resultIndex) {
+                    operands.add(instruction.operands[i]);
+                }
+            }
+            return new DeclarationKey(instruction.opcode, operands);
+        }
+    }
+}
@@ -107,8 +107,24 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
         };
     }
 
+    /**
+     * Device-only arrays only allocate their header on the host. The device buffer
+     * holds the whole array, but only the header is copied to the device, and
+     * the array is never copied back to the host.
+     */
+    private static boolean isDeviceOnly(final Object reference) {
+        return reference instanceof TornadoNativeArray nativeArray && nativeArray.isDeviceOnly();
+    }
+
+    private static void checkHostMemory(final Object reference) {
+        if (isDeviceOnly(reference)) {
+            throw new TornadoMemoryException("[ERROR] Device-only arrays cannot be copied to the host");
+        }
+    }
+
     @Override
     public int read(long executionPlanId, Object reference, long hostOffset, long partialReadSize, int[] waitEvents, boolean useDeps) {
+        checkHostMemory(reference);
         MemorySegment segment = getSegmentWithHeader(reference);
         final int returnEvent;
         final long numBytes = getSizeSubRegionSize() > 0 ? getSizeSubRegionSize() : bufferSize;
@@ -131,7 +147,7 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
     public void write(long executionPlanId, Object reference) {
         MemorySegment segment = getSegmentWithHeader(reference);
         if (batchSize <= 0) {
-            spirvDeviceContext.writeBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), 0, null);
+            spirvDeviceContext.writeBuffer(executionPlanId, toBuffer(), bufferOffset, Math.min(bufferSize, segment.byteSize()), segment.address(), 0, null);
         } else {
             throw new TornadoUnsupportedError("[UNSUPPORTED] batch processing for writeBuffer operation");
         }
@@ -139,6 +155,7 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
 
     @Override
     public int enqueueRead(long executionPlanId, Object reference, long hostOffset, int[] waitEvents, boolean useDeps) {
+        checkHostMemory(reference);
         MemorySegment segment = getSegmentWithHeader(reference);
         final int returnEvent;
         final long numBytes = getSizeSubRegionSize() > 0 ? getSizeSubRegionSize() : bufferSize;
@@ -156,7 +173,9 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
         MemorySegment segment = getSegmentWithHeader(reference);
         int internalEvent;
         if (batchSize <= 0) {
-            internalEvent = spirvDeviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferOffset, bufferSize, segment.address(), hostOffset, (useDeps) ? events : null);
+            internalEvent = spirvDeviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), bufferOffset, Math.min(bufferSize, segment.byteSize()), segment.address(), hostOffset, (useDeps)
+                    ? events
+                    : null);
         } else {
             internalEvent = spirvDeviceContext.enqueueWriteBuffer(executionPlanId, toBuffer(), 0, TornadoOptions.PANAMA_OBJECT_HEADER_SIZE, segment.address(), 0, (useDeps) ? events : null);
             returnEvents.add(internalEvent);
@@ -172,7 +191,7 @@ public class SPIRVMemorySegmentWrapper implements XPUBuffer {
     public void allocate(Object reference, long batchSize) throws TornadoOutOfMemoryException, TornadoMemoryException {
         MemorySegment memorySegment = getSegmentWithHeader(reference);
         if (batchSize <= 0 && memorySegment != null) {
-            bufferSize = memorySegment.byteSize();
+            bufferSize = isDeviceOnly(reference) ? ((TornadoNativeArray) reference).getNumBytesOfSegmentWithHeader() : memorySegment.byteSize();
             bufferId = spirvDeviceContext.getBufferProvider().getOrAllocateBufferWithSize(bufferSize);
         } else {
             bufferSize = batchSize;
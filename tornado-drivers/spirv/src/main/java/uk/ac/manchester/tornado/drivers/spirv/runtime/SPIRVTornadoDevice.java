@@ -77,6 +77,7 @@ import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.common.TornadoSchedulingStrategy;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.profiler.CompilationRecorder;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.TornadoSketcher;
 import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
@@ -173,18 +174,24 @@ public class SPIRVTornadoDevice implements TornadoXPUDevice {
         final Access[] taskAccess = taskMeta.getArgumentsAccess();
 
         System.arraycopy(sketchAccess, 0, taskAccess, 0, sketchAccess.length);
+        taskMeta.setNoAliasArguments(TornadoOptions.RESTRICT_KERNEL_PARAMETERS && taskMeta.hasDistinctArrayArguments(task.getArguments()));
 
         try {
             SPIRVCompilationResult result;
             // Compile the code and insert the SPIR-V binary into the code cache
             SPIRVProviders providers = (SPIRVProviders) getBackend().getProviders();
+            CompilationRecorder.start(taskMeta, getTornadoVMBackend().name(), sketch.getBuildTime());
             profiler.start(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
             result = SPIRVCompiler.compileSketchForDevice(sketch, task, providers, getBackend(), task.getProfiler());
             profiler.stop(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_GRAAL_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_GRAAL_TIME, taskMeta.getId()));
 
             profiler.start(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
+            final long driverStart = System.nanoTime();
             TornadoInstalledCode installedCode = deviceContext.installBinary(result);
+            if (taskMeta.getCompilationRecorder() != null) {
+                taskMeta.getCompilationRecorder().setDriverBuildTime(System.nanoTime() - driverStart);
+            }
             profiler.stop(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId());
             profiler.sum(ProfilerType.TOTAL_DRIVER_COMPILE_TIME, profiler.getTaskTimer(ProfilerType.TASK_COMPILE_DRIVER_TIME, taskMeta.getId()));
             return installedCode;
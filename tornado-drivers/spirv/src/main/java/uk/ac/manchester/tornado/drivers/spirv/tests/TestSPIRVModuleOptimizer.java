@@ -0,0 +1,159 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.drivers.spirv.tests;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import uk.ac.manchester.tornado.drivers.spirv.graal.compiler.SPIRVModuleOptimizer;
+
+/**
+ * Optimizes a small SPIR-V module and checks the instructions that remain after
+ * the optimization. It does not need a device.
+ *
+ * How to run?
+ *
+ * <code>
+ * $ tornado uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVModuleOptimizer
+ * </code>
+ */
+public class TestSPIRVModuleOptimizer {
+
+    private final List<Integer> words = new ArrayList<>();
+
+    private void emit(int opcode, int... operands) {
+        words.add(((operands.length + 1) << 16) | opcode);
+        for (int operand : operands) {
+            words.add(operand);
+        }
+    }
+
+    /**
+     * <code>
+     * kernel void k(global int *g) {
+     *     int v = 1 + 2;
+     *     *g = v * 1;
+     *     *g = *g;
+     * }
+     * </code>
+     *
+     * The module declares the int type twice, has a function that is never
+     * called, and stores the temporary in a function variable.
+     */
+    private ByteBuffer buildModule() {
+        words.addAll(List.of(0x07230203, 0x00010200, 0, 30, 0));
+        emit(17, 6);                    // OpCapability Kernel
+        emit(17, 4);                    // OpCapability Addresses
+        emit(14, 2, 2);                 // OpMemoryModel Physical64 OpenCL
+        emit(15, 6, 9, 0x6b);           // OpEntryPoint Kernel %9 "k"
+        emit(5, 17, 0x64);              // OpName %17 "d"
+        emit(21, 1, 32, 0);             // %1 = OpTypeInt 32 0
+        emit(21, 2, 32, 0);             // %2 = OpTypeInt 32 0
+        emit(19, 3);                    // %3 = OpTypeVoid
+        emit(32, 15, 5, 1);             // %15 = OpTypePointer CrossWorkgroup %1
+        emit(33, 4, 3, 15);             // %4 = OpTypeFunction %3 %15
+        emit(33, 20, 3);                // %20 = OpTypeFunction %3
+        emit(32, 5, 7, 2);              // %5 = OpTypePointer Function %2
+        emit(43, 1, 6, 1);              // %6 = OpConstant %1 1
+        emit(43, 2, 7, 2);              // %7 = OpConstant %2 2
+        emit(43, 2, 8, 1);              // %8 = OpConstant %2 1
+        emit(54, 3, 9, 0, 4);           // %9 = OpFunction %3 None %4
+        emit(55, 15, 16);               // %16 = OpFunctionParameter %15
+        emit(248, 10);                  // %10 = OpLabel
+        emit(59, 5, 11, 7);             // %11 = OpVariable %5 Function
+        emit(128, 1, 12, 6, 7);         // %12 = OpIAdd %1 %6 %7
+        emit(62, 11, 12);               // OpStore %11 %12
+        emit(61, 1, 13, 11);            // %13 = OpLoad %1 %11
+        emit(132, 2, 14, 13, 8);        // %14 = OpIMul %2 %13 %8
+        emit(62, 16, 14, 2, 4);         // OpStore %16 %14 Aligned 4
+        emit(61, 1, 19, 16, 2, 4);      // %19 = OpLoad %1 %16 Aligned 4
+        emit(62, 16, 19, 2, 4);         // OpStore %16 %19 Aligned 4
+        emit(253);                      // OpReturn
+        emit(56);                       // OpFunctionEnd
+        emit(54, 3, 17, 0, 20);         // %17 = OpFunction %3 None %20
+        emit(248, 18);                  // %18 = OpLabel
+        emit(253);                      // OpReturn
+        emit(56);                       // OpFunctionEnd
+
+        ByteBuffer module = ByteBuffer.allocate(words.size() * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int word : words) {
+            module.putInt(word);
+        }
+        module.flip();
+        return module;
+    }
+
+    private static int countInstructions(ByteBuffer module, int opcode) {
+        IntBuffer words = module.duplicate().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        int count = 0;
+        int index = 5;
+        while (index < words.limit()) {
+            int word = words.get(index);
+            if ((word & 0xFFFF) == opcode) {
+                count++;
+            }
+            index += word >>> 16;
+        }
+        return count;
+    }
+
+    /**
+     * @return the reason of the first failed check, or null if the optimized
+     *     module is correct.
+     */
+    private static String checkOptimizedModule(ByteBuffer module, ByteBuffer optimized) {
+        if (countInstructions(optimized, 21) != 1) {
+            return "the int type is declared more than once";
+        } else if (countInstructions(optimized, 54) != 1) {
+            return "the dead function was not removed";
+        } else if (countInstructions(optimized, 5) != 0) {
+            return "the name of the dead function was not removed";
+        } else if (countInstructions(optimized, 59) != 0) {
+            return "the write-only variable was not removed";
+        } else if (countInstructions(optimized, 61) != 0) {
+            return "the loads were not forwarded";
+        } else if (countInstructions(optimized, 128) != 0 || countInstructions(optimized, 132) != 0) {
+            return "the constant expressions were not folded";
+        } else if (countInstructions(optimized, 62) != 1) {
+            return "the redundant stores were not removed";
+        } else if (optimized.remaining() >= module.remaining()) {
+            return "the optimized module is not smaller";
+        }
+        return null;
+    }
+
+    public static void main(String[] args) {
+        System.out.print("Running Native: uk.ac.manchester.tornado.drivers.spirv.tests.TestSPIRVModuleOptimizer");
+        ByteBuffer module = new TestSPIRVModuleOptimizer().buildModule();
+        String failure = checkOptimizedModule(module, SPIRVModuleOptimizer.optimize(module));
+        if (failure != null) {
+            System.out.println(" ................ [FAIL]");
+            System.out.println(STR."\t\{failure}");
+        } else {
+            System.out.println(" ................ [PASS]");
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.primitives;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * Stream compaction (filter) and unique on the device.
+ *
+ * <p>
+ * The destination of every selected element is the exclusive prefix sum of the
+ * selection flags, computed with {@link Scan}. This produces a dense output of
+ * variable length without over-allocating the result per input element.
+ * </p>
+ */
+public final class Compaction {
+
+    private Compaction() {
+    }
+
+    public static void markUnique(IntArray sortedInput, IntArray flags) {
+        for (@Parallel int i = 0; i < sortedInput.getSize(); i++) {
+            flags.set(i, (i == 0 || sortedInput.get(i) != sortedInput.get(i - 1)) ? 1 : 0);
+        }
+    }
+
+    public static void scatter(IntArray input, IntArray flags, IntArray positions, IntArray output, IntArray count) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            int flag = flags.get(i);
+            if (flag == 1) {
+                output.set(positions.get(i), input.get(i));
+            }
+            if (i == input.getSize() - 1) {
+                count.set(0, positions.get(i) + flag);
+            }
+        }
+    }
+
+    public static void markUnique(LongArray sortedInput, IntArray flags) {
+        for (@Parallel int i = 0; i < sortedInput.getSize(); i++) {
+            flags.set(i, (i == 0 || sortedInput.get(i) != sortedInput.get(i - 1)) ? 1 : 0);
+        }
+    }
+
+    public static void scatter(LongArray input, IntArray flags, IntArray positions, LongArray output, IntArray count) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            int flag = flags.get(i);
+            if (flag == 1) {
+                output.set(positions.get(i), input.get(i));
+            }
+            if (i == input.getSize() - 1) {
+                count.set(0, positions.get(i) + flag);
+            }
+        }
+    }
+
+    public static void markUnique(FloatArray sortedInput, IntArray flags) {
+        for (@Parallel int i = 0; i < sortedInput.getSize(); i++) {
+            flags.set(i, (i == 0 || sortedInput.get(i) != sortedInput.get(i - 1)) ? 1 : 0);
+        }
+    }
+
+    public static void scatter(FloatArray input, IntArray flags, IntArray positions, FloatArray output, IntArray count) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            int flag = flags.get(i);
+            if (flag == 1) {
+                output.set(positions.get(i), input.get(i));
+            }
+            if (i == input.getSize() - 1) {
+                count.set(0, positions.get(i) + flag);
+            }
+        }
+    }
+
+    /**
+     * Appends a stream compaction to the task-graph: the elements of
+     * {@code input} whose flag is {@code 1} are written contiguously, and in
+     * order, to the beginning of {@code output}. The number of selected elements
+     * is written to {@code count[0]}.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param flags
+     *     Selection flags, {@code 0} or {@code 1}, of the same size as the input.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @param count
+     *     Array of one element that receives the number of selected elements.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph compact(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray flags, IntArray output, IntArray count) {
+        IntArray positions = new IntArray(input.getSize());
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, positions);
+        Scan.exclusive(taskGraph, gridScheduler, taskName + "_positions", flags, positions);
+        return taskGraph.task(taskName + "_scatter", Compaction::scatter, input, flags, positions, output, count);
+    }
+
+    /**
+     * Appends the removal of consecutive duplicates to the task-graph. If the
+     * input is sorted, {@code output} receives the distinct values in ascending
+     * order.
+     *
+     * @see #compact(TaskGraph, GridScheduler, String, IntArray, IntArray, IntArray, IntArray)
+     */
+    public static TaskGraph unique(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray sortedInput, IntArray output, IntArray count) {
+        IntArray flags = new IntArray(sortedInput.getSize());
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, flags) //
+                .task(taskName + "_mark", Compaction::markUnique, sortedInput, flags);
+        return compact(taskGraph, gridScheduler, taskName, sortedInput, flags, output, count);
+    }
+
+    /**
+     * Appends a stream compaction to the task-graph: the elements of
+     * {@code input} whose flag is {@code 1} are written contiguously, and in
+     * order, to the beginning of {@code output}. The number of selected elements
+     * is written to {@code count[0]}.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param flags
+     *     Selection flags, {@code 0} or {@code 1}, of the same size as the input.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @param count
+     *     Array of one element that receives the number of selected elements.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph compact(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, LongArray input, IntArray flags, LongArray output, IntArray count) {
+        IntArray positions = new IntArray(input.getSize());
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, positions);
+        Scan.exclusive(taskGraph, gridScheduler, taskName + "_positions", flags, positions);
+        return taskGraph.task(taskName + "_scatter", Compaction::scatter, input, flags, positions, output, count);
+    }
+
+    /**
+     * Appends the removal of consecutive duplicates to the task-graph. If the
+     * input is sorted, {@code output} receives the distinct values in ascending
+     * order.
+     *
+     * @see #compact(TaskGraph, GridScheduler, String, LongArray, IntArray, LongArray, IntArray)
+     */
+    public static TaskGraph unique(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, LongArray sortedInput, LongArray output, IntArray count) {
+        IntArray flags = new IntArray(sortedInput.getSize());
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, flags) //
+                .task(taskName + "_mark", Compaction::markUnique, sortedInput, flags);
+        return compact(taskGraph, gridScheduler, taskName, sortedInput, flags, output, count);
+    }
+
+    /**
+     * Appends a stream compaction to the task-graph: the elements of
+     * {@code input} whose flag is {@code 1} are written contiguously, and in
+     * order, to the beginning of {@code output}. The number of selected elements
+     * is written to {@code count[0]}.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param flags
+     *     Selection flags, {@code 0} or {@code 1}, of the same size as the input.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @param count
+     *     Array of one element that receives the number of selected elements.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph compact(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, IntArray flags, FloatArray output, IntArray count) {
+        IntArray positions = new IntArray(input.getSize());
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, positions);
+        Scan.exclusive(taskGraph, gridScheduler, taskName + "_positions", flags, positions);
+        return taskGraph.task(taskName + "_scatter", Compaction::scatter, input, flags, positions, output, count);
+    }
+
+    /**
+     * Appends the removal of consecutive duplicates to the task-graph. If the
+     * input is sorted, {@code output} receives the distinct values in ascending
+     * order.
+     *
+     * @see #compact(TaskGraph, GridScheduler, String, FloatArray, IntArray, FloatArray, IntArray)
+     */
+    public static TaskGraph unique(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray sortedInput, FloatArray output, IntArray count) {
+        IntArray flags = new IntArray(sortedInput.getSize());
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, flags) //
+                .task(taskName + "_mark", Compaction::markUnique, sortedInput, flags);
+        return compact(taskGraph, gridScheduler, taskName, sortedInput, flags, output, count);
+    }
+}
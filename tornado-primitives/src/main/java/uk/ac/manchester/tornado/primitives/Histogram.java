@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.primitives;
+
+import static uk.ac.manchester.tornado.primitives.PrimitiveGrids.LOCAL_SIZE;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Histograms on the device.
+ *
+ * <p>
+ * Every work-group counts a contiguous chunk of the input into its own partial
+ * histogram: the chunk is staged in local memory one tile at a time, and thread
+ * {@code t} counts the occurrences of bin {@code t}. No atomics are required,
+ * which keeps the kernels portable across all backends. A second task adds the
+ * partial histograms. The number of bins is limited to
+ * {@link PrimitiveGrids#LOCAL_SIZE}.
+ * </p>
+ */
+public final class Histogram {
+
+    /**
+     * Maximum number of bins supported by the device histogram.
+     */
+    public static final int MAX_BINS = LOCAL_SIZE;
+
+    private Histogram() {
+    }
+
+    public static void partialHistogram(KernelContext context, IntArray input, IntArray partials, int bins, int chunk) {
+        int localIdx = context.localIdx;
+        int groupIdx = context.groupIdx;
+        int[] tile = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        int start = groupIdx * chunk;
+        int end = Math.min(input.getSize(), start + chunk);
+        int counter = 0;
+        for (int base = start; base < end; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            tile[localIdx] = idx < end ? input.get(idx) : -1;
+            context.localBarrier();
+            if (localIdx < bins) {
+                for (int i = 0; i < LOCAL_SIZE; i++) {
+                    if (tile[i] == localIdx) {
+                        counter++;
+                    }
+                }
+            }
+            context.localBarrier();
+        }
+        if (localIdx < bins) {
+            partials.set(groupIdx * bins + localIdx, counter);
+        }
+    }
+
+    public static void partialHistogram(KernelContext context, FloatArray input, IntArray partials, int bins, int chunk, float min, float max) {
+        int localIdx = context.localIdx;
+        int groupIdx = context.groupIdx;
+        int[] tile = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        int start = groupIdx * chunk;
+        int end = Math.min(input.getSize(), start + chunk);
+        float scale = bins / (max - min);
+        int counter = 0;
+        for (int base = start; base < end; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            int bin = -1;
+            if (idx < end) {
+                float value = input.get(idx);
+                if (value >= min && value < max) {
+                    bin = Math.min(bins - 1, (int) ((value - min) * scale));
+                } else if (value == max) {
+                    bin = bins - 1;
+                }
+            }
+            tile[localIdx] = bin;
+            context.localBarrier();
+            if (localIdx < bins) {
+                for (int i = 0; i < LOCAL_SIZE; i++) {
+                    if (tile[i] == localIdx) {
+                        counter++;
+                    }
+                }
+            }
+            context.localBarrier();
+        }
+        if (localIdx < bins) {
+            partials.set(groupIdx * bins + localIdx, counter);
+        }
+    }
+
+    public static void mergeHistogram(IntArray partials, IntArray histogram, int numGroups) {
+        for (@Parallel int bin = 0; bin < histogram.getSize(); bin++) {
+            int sum = 0;
+            for (int group = 0; group < numGroups; group++) {
+                sum += partials.get(group * histogram.getSize() + bin);
+            }
+            histogram.set(bin, sum);
+        }
+    }
+
+    /**
+     * Appends a histogram of {@code input} to the task-graph. Values outside
+     * {@code [0, histogram.getSize())} are ignored.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param histogram
+     *     Output array with one element per bin.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph histogram(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray histogram) {
+        int bins = checkBins(histogram);
+        int numGroups = PrimitiveGrids.numChunkedGroups(input.getSize());
+        IntArray partials = new IntArray(numGroups * bins);
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, partials) //
+                .task(taskName + "_partial", Histogram::partialHistogram, new KernelContext(), input, partials, bins, PrimitiveGrids.chunkSize(input.getSize())) //
+                .task(taskName + "_merge", Histogram::mergeHistogram, partials, histogram, numGroups);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + "_partial", numGroups);
+        return taskGraph;
+    }
+
+    /**
+     * Appends a histogram of {@code input} with bins of equal width over
+     * {@code [min, max]} to the task-graph. Values outside the range are ignored.
+     *
+     * @see #histogram(TaskGraph, GridScheduler, String, IntArray, IntArray)
+     */
+    public static TaskGraph histogram(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, float min, float max, IntArray histogram) {
+        int bins = checkBins(histogram);
+        if (!(max > min)) {
+            throw new TornadoRuntimeException(STR."Invalid histogram range [\{min}, \{max}]");
+        }
+        int numGroups = PrimitiveGrids.numChunkedGroups(input.getSize());
+        IntArray partials = new IntArray(numGroups * bins);
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, partials) //
+                .task(taskName + "_partial", Histogram::partialHistogram, new KernelContext(), input, partials, bins, PrimitiveGrids.chunkSize(input.getSize()), min, max) //
+                .task(taskName + "_merge", Histogram::mergeHistogram, partials, histogram, numGroups);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + "_partial", numGroups);
+        return taskGraph;
+    }
+
+    private static int checkBins(IntArray histogram) {
+        int bins = histogram.getSize();
+        if (bins > MAX_BINS) {
+            throw new TornadoRuntimeException(STR."The device histogram supports up to \{MAX_BINS} bins, but \{bins} were requested");
+        }
+        return bins;
+    }
+}
@@ -0,0 +1,505 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.primitives;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * Multi-threaded Java implementations of the primitives. They produce the same
+ * results as the device versions and are used when the task-graph cannot be
+ * executed on a device.
+ */
+public final class HostPrimitives {
+
+    private static final int MIN_CHUNK = 4096;
+    private static final int RADIX_BITS = RadixSort.RADIX_BITS;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+
+    private HostPrimitives() {
+    }
+
+    private static int chunkSize(int size) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return Math.max(MIN_CHUNK, (size + parallelism - 1) / parallelism);
+    }
+
+    private static int numChunks(int size, int chunk) {
+        return (size + chunk - 1) / chunk;
+    }
+
+    /**
+     * Exclusive prefix sum of {@code input} into {@code output}.
+     */
+    public static void exclusiveScan(IntArray input, IntArray output) {
+        scan(input, output, false);
+    }
+
+    /**
+     * Inclusive prefix sum of {@code input} into {@code output}.
+     */
+    public static void inclusiveScan(IntArray input, IntArray output) {
+        scan(input, output, true);
+    }
+
+    private static void scan(IntArray input, IntArray output, boolean inclusive) {
+        int size = input.getSize();
+        int chunk = chunkSize(size);
+        int numChunks = numChunks(size, chunk);
+        int[] carries = new int[numChunks];
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            int sum = 0;
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                sum += input.get(i);
+            }
+            carries[c] = sum;
+        });
+        int carry = 0;
+        for (int c = 0; c < numChunks; c++) {
+            int sum = carries[c];
+            carries[c] = carry;
+            carry += sum;
+        }
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            int sum = carries[c];
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                int value = input.get(i);
+                if (inclusive) {
+                    sum += value;
+                    output.set(i, sum);
+                } else {
+                    output.set(i, sum);
+                    sum += value;
+                }
+            }
+        });
+    }
+
+    /**
+     * Segmented inclusive prefix sum. A non-zero value in {@code flags} marks the
+     * first element of a segment.
+     */
+    public static void segmentedInclusiveScan(IntArray input, IntArray flags, IntArray output) {
+        int size = input.getSize();
+        int chunk = chunkSize(size);
+        int numChunks = numChunks(size, chunk);
+        int[] carries = new int[numChunks];
+        boolean[] closed = new boolean[numChunks];
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            int sum = 0;
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                if (flags.get(i) != 0) {
+                    sum = 0;
+                    closed[c] = true;
+                }
+                sum += input.get(i);
+            }
+            carries[c] = sum;
+        });
+        int carry = 0;
+        for (int c = 0; c < numChunks; c++) {
+            int sum = carries[c];
+            carries[c] = carry;
+            carry = closed[c] ? sum : carry + sum;
+        }
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            int sum = carries[c];
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                if (flags.get(i) != 0) {
+                    sum = 0;
+                }
+                sum += input.get(i);
+                output.set(i, sum);
+            }
+        });
+    }
+
+    /**
+     * Writes the elements of {@code input} whose flag is {@code 1}, in order, to
+     * the beginning of {@code output}.
+     *
+     * @return the number of selected elements.
+     */
+    public static int compact(IntArray input, IntArray flags, IntArray output) {
+        IntArray positions = new IntArray(input.getSize());
+        exclusiveScan(flags, positions);
+        IntStream.range(0, input.getSize()).parallel().forEach(i -> {
+            if (flags.get(i) == 1) {
+                output.set(positions.get(i), input.get(i));
+            }
+        });
+        int last = input.getSize() - 1;
+        return last < 0 ? 0 : positions.get(last) + flags.get(last);
+    }
+
+    /**
+     * Removes consecutive duplicates of {@code sortedInput}.
+     *
+     * @return the number of elements written to {@code output}.
+     */
+    public static int unique(IntArray sortedInput, IntArray output) {
+        IntArray flags = new IntArray(sortedInput.getSize());
+        IntStream.range(0, sortedInput.getSize()).parallel().forEach(i -> flags.set(i, (i == 0 || sortedInput.get(i) != sortedInput.get(i - 1)) ? 1 : 0));
+        return compact(sortedInput, flags, output);
+    }
+
+    /**
+     * Exclusive prefix sum of {@code input} into {@code output}.
+     */
+    public static void exclusiveScan(LongArray input, LongArray output) {
+        scan(input, output, false);
+    }
+
+    /**
+     * Inclusive prefix sum of {@code input} into {@code output}.
+     */
+    public static void inclusiveScan(LongArray input, LongArray output) {
+        scan(input, output, true);
+    }
+
+    private static void scan(LongArray input, LongArray output, boolean inclusive) {
+        int size = input.getSize();
+        int chunk = chunkSize(size);
+        int numChunks = numChunks(size, chunk);
+        long[] carries = new long[numChunks];
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            long sum = 0L;
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                sum += input.get(i);
+            }
+            carries[c] = sum;
+        });
+        long carry = 0L;
+        for (int c = 0; c < numChunks; c++) {
+            long sum = carries[c];
+            carries[c] = carry;
+            carry += sum;
+        }
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            long sum = carries[c];
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                long value = input.get(i);
+                if (inclusive) {
+                    sum += value;
+                    output.set(i, sum);
+                } else {
+                    output.set(i, sum);
+                    sum += value;
+                }
+            }
+        });
+    }
+
+    /**
+     * Segmented inclusive prefix sum. A non-zero value in {@code flags} marks the
+     * first element of a segment.
+     */
+    public static void segmentedInclusiveScan(LongArray input, IntArray flags, LongArray output) {
+        int size = input.getSize();
+        int chunk = chunkSize(size);
+        int numChunks = numChunks(size, chunk);
+        long[] carries = new long[numChunks];
+        boolean[] closed = new boolean[numChunks];
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            long sum = 0L;
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                if (flags.get(i) != 0) {
+                    sum = 0L;
+                    closed[c] = true;
+                }
+                sum += input.get(i);
+            }
+            carries[c] = sum;
+        });
+        long carry = 0L;
+        for (int c = 0; c < numChunks; c++) {
+            long sum = carries[c];
+            carries[c] = carry;
+            carry = closed[c] ? sum : carry + sum;
+        }
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            long sum = carries[c];
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                if (flags.get(i) != 0) {
+                    sum = 0L;
+                }
+                sum += input.get(i);
+                output.set(i, sum);
+            }
+        });
+    }
+
+    /**
+     * Writes the elements of {@code input} whose flag is {@code 1}, in order, to
+     * the beginning of {@code output}.
+     *
+     * @return the number of selected elements.
+     */
+    public static int compact(LongArray input, IntArray flags, LongArray output) {
+        IntArray positions = new IntArray(input.getSize());
+        exclusiveScan(flags, positions);
+        IntStream.range(0, input.getSize()).parallel().forEach(i -> {
+            if (flags.get(i) == 1) {
+                output.set(positions.get(i), input.get(i));
+            }
+        });
+        int last = input.getSize() - 1;
+        return last < 0 ? 0 : positions.get(last) + flags.get(last);
+    }
+
+    /**
+     * Removes consecutive duplicates of {@code sortedInput}.
+     *
+     * @return the number of elements written to {@code output}.
+     */
+    public static int unique(LongArray sortedInput, LongArray output) {
+        IntArray flags = new IntArray(sortedInput.getSize());
+        IntStream.range(0, sortedInput.getSize()).parallel().forEach(i -> flags.set(i, (i == 0 || sortedInput.get(i) != sortedInput.get(i - 1)) ? 1 : 0));
+        return compact(sortedInput, flags, output);
+    }
+
+    /**
+     * Exclusive prefix sum of {@code input} into {@code output}.
+     */
+    public static void exclusiveScan(FloatArray input, FloatArray output) {
+        scan(input, output, false);
+    }
+
+    /**
+     * Inclusive prefix sum of {@code input} into {@code output}.
+     */
+    public static void inclusiveScan(FloatArray input, FloatArray output) {
+        scan(input, output, true);
+    }
+
+    private static void scan(FloatArray input, FloatArray output, boolean inclusive) {
+        int size = input.getSize();
+        int chunk = chunkSize(size);
+        int numChunks = numChunks(size, chunk);
+        float[] carries = new float[numChunks];
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            float sum = 0.0f;
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                sum += input.get(i);
+            }
+            carries[c] = sum;
+        });
+        float carry = 0.0f;
+        for (int c = 0; c < numChunks; c++) {
+            float sum = carries[c];
+            carries[c] = carry;
+            carry += sum;
+        }
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            float sum = carries[c];
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                float value = input.get(i);
+                if (inclusive) {
+                    sum += value;
+                    output.set(i, sum);
+                } else {
+                    output.set(i, sum);
+                    sum += value;
+                }
+            }
+        });
+    }
+
+    /**
+     * Segmented inclusive prefix sum. A non-zero value in {@code flags} marks the
+     * first element of a segment.
+     */
+    public static void segmentedInclusiveScan(FloatArray input, IntArray flags, FloatArray output) {
+        int size = input.getSize();
+        int chunk = chunkSize(size);
+        int numChunks = numChunks(size, chunk);
+        float[] carries = new float[numChunks];
+        boolean[] closed = new boolean[numChunks];
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            float sum = 0.0f;
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                if (flags.get(i) != 0) {
+                    sum = 0.0f;
+                    closed[c] = true;
+                }
+                sum += input.get(i);
+            }
+            carries[c] = sum;
+        });
+        float carry = 0.0f;
+        for (int c = 0; c < numChunks; c++) {
+            float sum = carries[c];
+            carries[c] = carry;
+            carry = closed[c] ? sum : carry + sum;
+        }
+        IntStream.range(0, numChunks).parallel().forEach(c -> {
+            float sum = carries[c];
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                if (flags.get(i) != 0) {
+                    sum = 0.0f;
+                }
+                sum += input.get(i);
+                output.set(i, sum);
+            }
+        });
+    }
+
+    /**
+     * Writes the elements of {@code input} whose flag is {@code 1}, in order, to
+     * the beginning of {@code output}.
+     *
+     * @return the number of selected elements.
+     */
+    public static int compact(FloatArray input, IntArray flags, FloatArray output) {
+        IntArray positions = new IntArray(input.getSize());
+        exclusiveScan(flags, positions);
+        IntStream.range(0, input.getSize()).parallel().forEach(i -> {
+            if (flags.get(i) == 1) {
+                output.set(positions.get(i), input.get(i));
+            }
+        });
+        int last = input.getSize() - 1;
+        return last < 0 ? 0 : positions.get(last) + flags.get(last);
+    }
+
+    /**
+     * Removes consecutive duplicates of {@code sortedInput}.
+     *
+     * @return the number of elements written to {@code output}.
+     */
+    public static int unique(FloatArray sortedInput, FloatArray output) {
+        IntArray flags = new IntArray(sortedInput.getSize());
+        IntStream.range(0, sortedInput.getSize()).parallel().forEach(i -> flags.set(i, (i == 0 || sortedInput.get(i) != sortedInput.get(i - 1)) ? 1 : 0));
+        return compact(sortedInput, flags, output);
+    }
+
+    /**
+     * Stable sort of {@code keys} in ascending order. Every value is moved
+     * together with its key.
+     */
+    public static void sortByKey(IntArray keys, IntArray values) {
+        int size = keys.getSize();
+        int chunk = chunkSize(size);
+        int numChunks = numChunks(size, chunk);
+        int[] keysIn = keys.toHeapArray();
+        int[] valuesIn = values.toHeapArray();
+        int[] keysOut = new int[size];
+        int[] valuesOut = new int[size];
+        int[][] offsets = new int[numChunks][BUCKETS];
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            final int digitShift = shift;
+            final int[] srcKeys = keysIn;
+            final int[] srcValues = valuesIn;
+            final int[] dstKeys = keysOut;
+            final int[] dstValues = valuesOut;
+            IntStream.range(0, numChunks).parallel().forEach(c -> {
+                int[] counts = offsets[c];
+                Arrays.fill(counts, 0);
+                for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                    counts[digit(srcKeys[i], digitShift)]++;
+                }
+            });
+            int offset = 0;
+            for (int d = 0; d < BUCKETS; d++) {
+                for (int c = 0; c < numChunks; c++) {
+                    int count = offsets[c][d];
+                    offsets[c][d] = offset;
+                    offset += count;
+                }
+            }
+            IntStream.range(0, numChunks).parallel().forEach(c -> {
+                int[] destination = offsets[c];
+                for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                    int position = destination[digit(srcKeys[i], digitShift)]++;
+                    dstKeys[position] = srcKeys[i];
+                    dstValues[position] = srcValues[i];
+                }
+            });
+            keysIn = dstKeys;
+            valuesIn = dstValues;
+            keysOut = srcKeys;
+            valuesOut = srcValues;
+        }
+        for (int i = 0; i < size; i++) {
+            keys.set(i, keysIn[i]);
+            values.set(i, valuesIn[i]);
+        }
+    }
+
+    private static int digit(int key, int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & (BUCKETS - 1);
+    }
+
+    /**
+     * Histogram of {@code input}. Values outside {@code [0, histogram.getSize())}
+     * are ignored.
+     */
+    public static void histogram(IntArray input, IntArray histogram) {
+        int bins = histogram.getSize();
+        int size = input.getSize();
+        int chunk = chunkSize(size);
+        int[][] partials = new int[numChunks(size, chunk)][bins];
+        IntStream.range(0, partials.length).parallel().forEach(c -> {
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                int bin = input.get(i);
+                if (bin >= 0 && bin < bins) {
+                    partials[c][bin]++;
+                }
+            }
+        });
+        mergeHistogram(partials, histogram);
+    }
+
+    /**
+     * Histogram of {@code input} with bins of equal width over {@code [min, max]}.
+     * Values outside the range are ignored.
+     */
+    public static void histogram(FloatArray input, float min, float max, IntArray histogram) {
+        int bins = histogram.getSize();
+        int size = input.getSize();
+        int chunk = chunkSize(size);
+        float scale = bins / (max - min);
+        int[][] partials = new int[numChunks(size, chunk)][bins];
+        IntStream.range(0, partials.length).parallel().forEach(c -> {
+            for (int i = c * chunk; i < Math.min(size, (c + 1) * chunk); i++) {
+                float value = input.get(i);
+                if (value >= min && value < max) {
+                    partials[c][Math.min(bins - 1, (int) ((value - min) * scale))]++;
+                } else if (value == max) {
+                    partials[c][bins - 1]++;
+                }
+            }
+        });
+        mergeHistogram(partials, histogram);
+    }
+
+    private static void mergeHistogram(int[][] partials, IntArray histogram) {
+        for (int bin = 0; bin < histogram.getSize(); bin++) {
+            int sum = 0;
+            for (int[] partial : partials) {
+                sum += partial[bin];
+            }
+            histogram.set(bin, sum);
+        }
+    }
+}
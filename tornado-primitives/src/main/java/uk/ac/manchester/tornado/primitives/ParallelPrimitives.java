@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.primitives;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoCompilationException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoDeviceFP64NotSupported;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * One-shot entry points for the parallel primitives.
+ *
+ * <p>
+ * Every call builds a task-graph with the device primitive, executes it on the
+ * default device and copies the result back. Errors of the task-graph are
+ * thrown to the caller. The call is only served by {@link HostPrimitives} when
+ * the device does not support the primitive (e.g., no FP64 support), or for any
+ * error if {@code -Dtornado.primitives.fallback=True} is set. Every fallback
+ * prints a warning and is counted in {@link #getNumberOfFallbacks()}. Since the
+ * kernels use {@link uk.ac.manchester.tornado.api.KernelContext}, run with
+ * {@code -Dtornado.recover.bailout=False} so that compilation bailouts reach
+ * this class instead of running the kernels sequentially.
+ * </p>
+ *
+ * <p>
+ * To compose primitives with other tasks in the same task-graph, use
+ * {@link Scan}, {@link Compaction}, {@link RadixSort} and {@link Histogram}
+ * directly.
+ * </p>
+ *
+ * <p>
+ * Use {@code -Dtornado.primitives.java=True} to always run the Java
+ * implementations.
+ * </p>
+ */
+public final class ParallelPrimitives {
+
+    private static final boolean JAVA_ONLY = Boolean.parseBoolean(System.getProperty("tornado.primitives.java", "False"));
+
+    private static final boolean FALLBACK = Boolean.parseBoolean(System.getProperty("tornado.primitives.fallback", "False"));
+
+    private static final AtomicInteger GRAPH_ID = new AtomicInteger();
+
+    private static final AtomicInteger FALLBACKS = new AtomicInteger();
+
+    private ParallelPrimitives() {
+    }
+
+    private static void execute(BiConsumer<TaskGraph, GridScheduler> builder, Object[] inputs, Object[] outputs, Runnable java) {
+        if (JAVA_ONLY) {
+            java.run();
+            return;
+        }
+        GridScheduler gridScheduler = new GridScheduler();
+        TaskGraph taskGraph = new TaskGraph(STR."primitives\{GRAPH_ID.getAndIncrement()}");
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, inputs);
+        builder.accept(taskGraph, gridScheduler);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, outputs);
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.withGridScheduler(gridScheduler).execute();
+        } catch (TornadoDeviceFP64NotSupported e) {
+            runFallback(java, e);
+        } catch (TornadoExecutionPlanException | TornadoRuntimeException | TornadoBailoutRuntimeException | TornadoCompilationException e) {
+            if (!FALLBACK) {
+                throw (e instanceof RuntimeException runtimeException) ? runtimeException : new TornadoRuntimeException(e);
+            }
+            runFallback(java, e);
+        }
+    }
+
+    private static void runFallback(Runnable java, Exception e) {
+        FALLBACKS.incrementAndGet();
+        System.err.println(STR."[WARNING] Parallel primitive executed in Java: \{e.getMessage()}");
+        java.run();
+    }
+
+    /**
+     * @return number of calls that have been served by {@link HostPrimitives}
+     *     because the task-graph could not be executed.
+     */
+    public static int getNumberOfFallbacks() {
+        return FALLBACKS.get();
+    }
+
+    public static void exclusiveScan(IntArray input, IntArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.exclusive(taskGraph, gridScheduler, "scan", input, output), //
+                new Object[] { input }, new Object[] { output }, () -> HostPrimitives.exclusiveScan(input, output));
+    }
+
+    public static void inclusiveScan(IntArray input, IntArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.inclusive(taskGraph, gridScheduler, "scan", input, output), //
+                new Object[] { input }, new Object[] { output }, () -> HostPrimitives.inclusiveScan(input, output));
+    }
+
+    public static void segmentedInclusiveScan(IntArray input, IntArray flags, IntArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.segmentedInclusive(taskGraph, gridScheduler, "scan", input, flags, output), //
+                new Object[] { input, flags }, new Object[] { output }, () -> HostPrimitives.segmentedInclusiveScan(input, flags, output));
+    }
+
+    public static int compact(IntArray input, IntArray flags, IntArray output) {
+        IntArray count = new IntArray(1);
+        execute((taskGraph, gridScheduler) -> Compaction.compact(taskGraph, gridScheduler, "compact", input, flags, output, count), //
+                new Object[] { input, flags }, new Object[] { output, count }, () -> count.set(0, HostPrimitives.compact(input, flags, output)));
+        return count.get(0);
+    }
+
+    public static int unique(IntArray sortedInput, IntArray output) {
+        IntArray count = new IntArray(1);
+        execute((taskGraph, gridScheduler) -> Compaction.unique(taskGraph, gridScheduler, "unique", sortedInput, output, count), //
+                new Object[] { sortedInput }, new Object[] { output, count }, () -> count.set(0, HostPrimitives.unique(sortedInput, output)));
+        return count.get(0);
+    }
+
+    public static void exclusiveScan(LongArray input, LongArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.exclusive(taskGraph, gridScheduler, "scan", input, output), //
+                new Object[] { input }, new Object[] { output }, () -> HostPrimitives.exclusiveScan(input, output));
+    }
+
+    public static void inclusiveScan(LongArray input, LongArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.inclusive(taskGraph, gridScheduler, "scan", input, output), //
+                new Object[] { input }, new Object[] { output }, () -> HostPrimitives.inclusiveScan(input, output));
+    }
+
+    public static void segmentedInclusiveScan(LongArray input, IntArray flags, LongArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.segmentedInclusive(taskGraph, gridScheduler, "scan", input, flags, output), //
+                new Object[] { input, flags }, new Object[] { output }, () -> HostPrimitives.segmentedInclusiveScan(input, flags, output));
+    }
+
+    public static int compact(LongArray input, IntArray flags, LongArray output) {
+        IntArray count = new IntArray(1);
+        execute((taskGraph, gridScheduler) -> Compaction.compact(taskGraph, gridScheduler, "compact", input, flags, output, count), //
+                new Object[] { input, flags }, new Object[] { output, count }, () -> count.set(0, HostPrimitives.compact(input, flags, output)));
+        return count.get(0);
+    }
+
+    public static int unique(LongArray sortedInput, LongArray output) {
+        IntArray count = new IntArray(1);
+        execute((taskGraph, gridScheduler) -> Compaction.unique(taskGraph, gridScheduler, "unique", sortedInput, output, count), //
+                new Object[] { sortedInput }, new Object[] { output, count }, () -> count.set(0, HostPrimitives.unique(sortedInput, output)));
+        return count.get(0);
+    }
+
+    public static void exclusiveScan(FloatArray input, FloatArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.exclusive(taskGraph, gridScheduler, "scan", input, output), //
+                new Object[] { input }, new Object[] { output }, () -> HostPrimitives.exclusiveScan(input, output));
+    }
+
+    public static void inclusiveScan(FloatArray input, FloatArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.inclusive(taskGraph, gridScheduler, "scan", input, output), //
+                new Object[] { input }, new Object[] { output }, () -> HostPrimitives.inclusiveScan(input, output));
+    }
+
+    public static void segmentedInclusiveScan(FloatArray input, IntArray flags, FloatArray output) {
+        execute((taskGraph, gridScheduler) -> Scan.segmentedInclusive(taskGraph, gridScheduler, "scan", input, flags, output), //
+                new Object[] { input, flags }, new Object[] { output }, () -> HostPrimitives.segmentedInclusiveScan(input, flags, output));
+    }
+
+    public static int compact(FloatArray input, IntArray flags, FloatArray output) {
+        IntArray count = new IntArray(1);
+        execute((taskGraph, gridScheduler) -> Compaction.compact(taskGraph, gridScheduler, "compact", input, flags, output, count), //
+                new Object[] { input, flags }, new Object[] { output, count }, () -> count.set(0, HostPrimitives.compact(input, flags, output)));
+        return count.get(0);
+    }
+
+    public static int unique(FloatArray sortedInput, FloatArray output) {
+        IntArray count = new IntArray(1);
+        execute((taskGraph, gridScheduler) -> Compaction.unique(taskGraph, gridScheduler, "unique", sortedInput, output, count), //
+                new Object[] { sortedInput }, new Object[] { output, count }, () -> count.set(0, HostPrimitives.unique(sortedInput, output)));
+        return count.get(0);
+    }
+
+    public static void sortByKey(IntArray keys, IntArray values) {
+        execute((taskGraph, gridScheduler) -> RadixSort.sortByKey(taskGraph, gridScheduler, "sort", keys, values), //
+                new Object[] { keys, values }, new Object[] { keys, values }, () -> HostPrimitives.sortByKey(keys, values));
+    }
+
+    public static void histogram(IntArray input, IntArray histogram) {
+        if (histogram.getSize() > Histogram.MAX_BINS) {
+            HostPrimitives.histogram(input, histogram);
+            return;
+        }
+        execute((taskGraph, gridScheduler) -> Histogram.histogram(taskGraph, gridScheduler, "histogram", input, histogram), //
+                new Object[] { input }, new Object[] { histogram }, () -> HostPrimitives.histogram(input, histogram));
+    }
+
+    public static void histogram(FloatArray input, float min, float max, IntArray histogram) {
+        if (histogram.getSize() > Histogram.MAX_BINS) {
+            HostPrimitives.histogram(input, min, max, histogram);
+            return;
+        }
+        execute((taskGraph, gridScheduler) -> Histogram.histogram(taskGraph, gridScheduler, "histogram", input, min, max, histogram), //
+                new Object[] { input }, new Object[] { histogram }, () -> HostPrimitives.histogram(input, min, max, histogram));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.primitives;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+
+/**
+ * Work-group configuration shared by all device primitives.
+ */
+final class PrimitiveGrids {
+
+    /**
+     * Threads per work-group. It must match the size of the local arrays allocated
+     * in the kernels of this package.
+     */
+    static final int LOCAL_SIZE = 256;
+
+    /**
+     * Maximum number of work-groups for primitives in which each work-group
+     * processes a contiguous chunk of the input (histogram and radix sort).
+     */
+    static final int MAX_GROUPS = 256;
+
+    private PrimitiveGrids() {
+    }
+
+    /**
+     * Number of work-groups needed to assign one element per thread.
+     */
+    static int numBlocks(int size) {
+        return Math.max(1, (size + LOCAL_SIZE - 1) / LOCAL_SIZE);
+    }
+
+    /**
+     * Number of work-groups for chunked primitives.
+     */
+    static int numChunkedGroups(int size) {
+        return Math.min(MAX_GROUPS, numBlocks(size));
+    }
+
+    /**
+     * Size of the contiguous chunk processed by each work-group in chunked
+     * primitives. It is a multiple of {@link #LOCAL_SIZE}.
+     */
+    static int chunkSize(int size) {
+        int groups = numChunkedGroups(size);
+        int tilesPerGroup = (numBlocks(size) + groups - 1) / groups;
+        return tilesPerGroup * LOCAL_SIZE;
+    }
+
+    static void setWorkerGrid(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, int numGroups) {
+        WorkerGrid worker = new WorkerGrid1D(numGroups * LOCAL_SIZE);
+        worker.setLocalWork(LOCAL_SIZE, 1, 1);
+        gridScheduler.setWorkerGrid(taskGraph.getTaskGraphName() + "." + taskName, worker);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.primitives;
+
+import static uk.ac.manchester.tornado.primitives.PrimitiveGrids.LOCAL_SIZE;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+
+/**
+ * Stable key-value radix sort on the device.
+ *
+ * <p>
+ * The sort is least-significant-digit first, with {@link #RADIX_BITS} bits per
+ * pass. Every pass is composed of three {@link KernelContext} tasks: a) every
+ * work-group counts the digits of its chunk; b) the counts, stored digit-major,
+ * are scanned with {@link Scan}, which gives the first destination of every
+ * (digit, work-group) pair; c) every work-group scatters its chunk, tile by tile,
+ * keeping the relative order of equal digits. Keys and values are ping-ponged
+ * with temporary buffers that never leave the device.
+ * </p>
+ */
+public final class RadixSort {
+
+    /**
+     * Bits sorted per pass.
+     */
+    public static final int RADIX_BITS = 4;
+
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MASK = BUCKETS - 1;
+    private static final int PASSES = Integer.SIZE / RADIX_BITS;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Digit of a key for the given shift. The sign bit is flipped so negative keys
+     * are sorted before positive ones.
+     */
+    private static int digit(int key, int shift) {
+        return ((key ^ Integer.MIN_VALUE) >>> shift) & MASK;
+    }
+
+    public static void countDigits(KernelContext context, IntArray keys, IntArray counts, int shift, int chunk) {
+        int localIdx = context.localIdx;
+        int groupIdx = context.groupIdx;
+        int numGroups = context.globalGroupSizeX / context.localGroupSizeX;
+        int[] tile = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        int start = groupIdx * chunk;
+        int end = Math.min(keys.getSize(), start + chunk);
+        int counter = 0;
+        for (int base = start; base < end; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            tile[localIdx] = idx < end ? digit(keys.get(idx), shift) : -1;
+            context.localBarrier();
+            if (localIdx < BUCKETS) {
+                for (int i = 0; i < LOCAL_SIZE; i++) {
+                    if (tile[i] == localIdx) {
+                        counter++;
+                    }
+                }
+            }
+            context.localBarrier();
+        }
+        if (localIdx < BUCKETS) {
+            counts.set(localIdx * numGroups + groupIdx, counter);
+        }
+    }
+
+    public static void scatterDigits(KernelContext context, IntArray keys, IntArray values, IntArray counts, IntArray keysOut, IntArray valuesOut, int shift, int chunk) {
+        int localIdx = context.localIdx;
+        int groupIdx = context.groupIdx;
+        int numGroups = context.globalGroupSizeX / context.localGroupSizeX;
+        int[] tile = context.allocateIntLocalArray(LOCAL_SIZE);
+        int[] offsets = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        if (localIdx < BUCKETS) {
+            offsets[localIdx] = counts.get(localIdx * numGroups + groupIdx);
+        }
+        int start = groupIdx * chunk;
+        int end = Math.min(keys.getSize(), start + chunk);
+        for (int base = start; base < end; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            int myDigit = idx < end ? digit(keys.get(idx), shift) : -1;
+            tile[localIdx] = myDigit;
+            context.localBarrier();
+            if (idx < end) {
+                int rank = 0;
+                for (int i = 0; i < localIdx; i++) {
+                    if (tile[i] == myDigit) {
+                        rank++;
+                    }
+                }
+                int destination = offsets[myDigit] + rank;
+                keysOut.set(destination, keys.get(idx));
+                valuesOut.set(destination, values.get(idx));
+            }
+            context.localBarrier();
+            if (localIdx < BUCKETS) {
+                int counter = 0;
+                for (int i = 0; i < LOCAL_SIZE; i++) {
+                    if (tile[i] == localIdx) {
+                        counter++;
+                    }
+                }
+                offsets[localIdx] += counter;
+            }
+            context.localBarrier();
+        }
+    }
+
+    /**
+     * Appends a stable sort of {@code keys} in ascending order to the task-graph.
+     * Every value is moved together with its key. The result is written in place.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param keys
+     *     Keys to sort.
+     * @param values
+     *     Values associated with the keys, of the same size as the keys.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph sortByKey(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray keys, IntArray values) {
+        int size = keys.getSize();
+        int numGroups = PrimitiveGrids.numChunkedGroups(size);
+        int chunk = PrimitiveGrids.chunkSize(size);
+        IntArray keysTmp = new IntArray(size);
+        IntArray valuesTmp = new IntArray(size);
+        IntArray counts = new IntArray(BUCKETS * numGroups);
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, keysTmp, valuesTmp, counts);
+
+        IntArray keysIn = keys;
+        IntArray valuesIn = values;
+        IntArray keysOut = keysTmp;
+        IntArray valuesOut = valuesTmp;
+        // PASSES is even, so the last pass writes back into the input arrays
+        for (int pass = 0; pass < PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            String countTask = STR."\{taskName}_count\{pass}";
+            String offsetsTask = STR."\{taskName}_offsets\{pass}";
+            String scatterTask = STR."\{taskName}_scatter\{pass}";
+            taskGraph.task(countTask, RadixSort::countDigits, context, keysIn, counts, shift, chunk) //
+                    .task(offsetsTask, Scan::scanBlockSums, context, counts) //
+                    .task(scatterTask, RadixSort::scatterDigits, context, keysIn, valuesIn, counts, keysOut, valuesOut, shift, chunk);
+            PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, countTask, numGroups);
+            PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, offsetsTask, 1);
+            PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, scatterTask, numGroups);
+
+            IntArray swap = keysIn;
+            keysIn = keysOut;
+            keysOut = swap;
+            swap = valuesIn;
+            valuesIn = valuesOut;
+            valuesOut = swap;
+        }
+        return taskGraph;
+    }
+}
@@ -0,0 +1,683 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.primitives;
+
+import static uk.ac.manchester.tornado.primitives.PrimitiveGrids.LOCAL_SIZE;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+
+/**
+ * Exclusive, inclusive and segmented prefix sums on the device.
+ *
+ * <p>
+ * Each scan is composed of three {@link KernelContext} tasks: a) every
+ * work-group scans its block of {@link PrimitiveGrids#LOCAL_SIZE} elements in
+ * local memory and stores the block total; b) a single work-group scans the
+ * block totals; c) every element adds the scanned total of the preceding
+ * blocks. The host only builds the task-graph, all the passes run on the
+ * device.
+ * </p>
+ */
+public final class Scan {
+
+    private static final String BLOCKS_SUFFIX = "_blocks";
+    private static final String BLOCK_SUMS_SUFFIX = "_blockSums";
+    private static final String OFFSETS_SUFFIX = "_offsets";
+
+    private Scan() {
+    }
+
+    public static void scanBlocks(KernelContext context, IntArray input, IntArray output, IntArray blockSums, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] localScan = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        int value = globalIdx < input.getSize() ? input.get(globalIdx) : 0;
+        localScan[localIdx] = value;
+        for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+            context.localBarrier();
+            int partner = localIdx >= offset ? localScan[localIdx - offset] : 0;
+            context.localBarrier();
+            localScan[localIdx] += partner;
+        }
+        context.localBarrier();
+
+        if (globalIdx < output.getSize()) {
+            if (inclusive == 1) {
+                output.set(globalIdx, localScan[localIdx]);
+            } else {
+                output.set(globalIdx, localIdx > 0 ? localScan[localIdx - 1] : 0);
+            }
+        }
+        if (localIdx == LOCAL_SIZE - 1) {
+            blockSums.set(context.groupIdx, localScan[localIdx]);
+        }
+    }
+
+    public static void scanBlockSums(KernelContext context, IntArray blockSums) {
+        int localIdx = context.localIdx;
+        int[] localScan = context.allocateIntLocalArray(LOCAL_SIZE);
+        int size = blockSums.getSize();
+
+        int carry = 0;
+        for (int base = 0; base < size; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            localScan[localIdx] = idx < size ? blockSums.get(idx) : 0;
+            for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+                context.localBarrier();
+                int partner = localIdx >= offset ? localScan[localIdx - offset] : 0;
+                context.localBarrier();
+                localScan[localIdx] += partner;
+            }
+            context.localBarrier();
+            if (idx < size) {
+                blockSums.set(idx, carry + (localIdx > 0 ? localScan[localIdx - 1] : 0));
+            }
+            carry += localScan[LOCAL_SIZE - 1];
+            context.localBarrier();
+        }
+    }
+
+    public static void addBlockOffsets(KernelContext context, IntArray output, IntArray blockSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.getSize()) {
+            output.set(globalIdx, output.get(globalIdx) + blockSums.get(context.groupIdx));
+        }
+    }
+
+    public static void segmentedScanBlocks(KernelContext context, IntArray input, IntArray flags, IntArray output, IntArray openSegments, IntArray blockSums, IntArray blockFlags) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        int[] localScan = context.allocateIntLocalArray(LOCAL_SIZE);
+        int[] localFlags = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        boolean inRange = globalIdx < input.getSize();
+        localScan[localIdx] = inRange ? input.get(globalIdx) : 0;
+        localFlags[localIdx] = inRange && flags.get(globalIdx) != 0 ? 1 : 0;
+        for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+            context.localBarrier();
+            int partner = localIdx >= offset ? localScan[localIdx - offset] : 0;
+            int partnerFlag = localIdx >= offset ? localFlags[localIdx - offset] : 0;
+            context.localBarrier();
+            if (localFlags[localIdx] == 0) {
+                localScan[localIdx] += partner;
+            }
+            localFlags[localIdx] |= partnerFlag;
+        }
+        context.localBarrier();
+
+        if (inRange) {
+            output.set(globalIdx, localScan[localIdx]);
+            openSegments.set(globalIdx, localFlags[localIdx] == 0 ? 1 : 0);
+        }
+        if (localIdx == LOCAL_SIZE - 1) {
+            blockSums.set(context.groupIdx, localScan[localIdx]);
+            blockFlags.set(context.groupIdx, localFlags[localIdx]);
+        }
+    }
+
+    public static void segmentedScanBlockSums(KernelContext context, IntArray blockSums, IntArray blockFlags) {
+        int localIdx = context.localIdx;
+        int[] localScan = context.allocateIntLocalArray(LOCAL_SIZE);
+        int[] localFlags = context.allocateIntLocalArray(LOCAL_SIZE);
+        int size = blockSums.getSize();
+
+        int carry = 0;
+        for (int base = 0; base < size; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            localScan[localIdx] = idx < size ? blockSums.get(idx) : 0;
+            localFlags[localIdx] = idx < size ? blockFlags.get(idx) : 0;
+            for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+                context.localBarrier();
+                int partner = localIdx >= offset ? localScan[localIdx - offset] : 0;
+                int partnerFlag = localIdx >= offset ? localFlags[localIdx - offset] : 0;
+                context.localBarrier();
+                if (localFlags[localIdx] == 0) {
+                    localScan[localIdx] += partner;
+                }
+                localFlags[localIdx] |= partnerFlag;
+            }
+            context.localBarrier();
+            if (idx < size) {
+                int exclusive = localIdx > 0 ? localScan[localIdx - 1] : 0;
+                int exclusiveFlag = localIdx > 0 ? localFlags[localIdx - 1] : 0;
+                blockSums.set(idx, exclusiveFlag == 0 ? carry + exclusive : exclusive);
+            }
+            if (localFlags[LOCAL_SIZE - 1] == 0) {
+                carry += localScan[LOCAL_SIZE - 1];
+            } else {
+                carry = localScan[LOCAL_SIZE - 1];
+            }
+            context.localBarrier();
+        }
+    }
+
+    public static void addSegmentedBlockOffsets(KernelContext context, IntArray output, IntArray openSegments, IntArray blockSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.getSize() && openSegments.get(globalIdx) == 1) {
+            output.set(globalIdx, output.get(globalIdx) + blockSums.get(context.groupIdx));
+        }
+    }
+
+    public static void scanBlocks(KernelContext context, LongArray input, LongArray output, LongArray blockSums, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        long[] localScan = context.allocateLongLocalArray(LOCAL_SIZE);
+
+        long value = globalIdx < input.getSize() ? input.get(globalIdx) : 0L;
+        localScan[localIdx] = value;
+        for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+            context.localBarrier();
+            long partner = localIdx >= offset ? localScan[localIdx - offset] : 0L;
+            context.localBarrier();
+            localScan[localIdx] += partner;
+        }
+        context.localBarrier();
+
+        if (globalIdx < output.getSize()) {
+            if (inclusive == 1) {
+                output.set(globalIdx, localScan[localIdx]);
+            } else {
+                output.set(globalIdx, localIdx > 0 ? localScan[localIdx - 1] : 0L);
+            }
+        }
+        if (localIdx == LOCAL_SIZE - 1) {
+            blockSums.set(context.groupIdx, localScan[localIdx]);
+        }
+    }
+
+    public static void scanBlockSums(KernelContext context, LongArray blockSums) {
+        int localIdx = context.localIdx;
+        long[] localScan = context.allocateLongLocalArray(LOCAL_SIZE);
+        int size = blockSums.getSize();
+
+        long carry = 0L;
+        for (int base = 0; base < size; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            localScan[localIdx] = idx < size ? blockSums.get(idx) : 0L;
+            for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+                context.localBarrier();
+                long partner = localIdx >= offset ? localScan[localIdx - offset] : 0L;
+                context.localBarrier();
+                localScan[localIdx] += partner;
+            }
+            context.localBarrier();
+            if (idx < size) {
+                blockSums.set(idx, carry + (localIdx > 0 ? localScan[localIdx - 1] : 0L));
+            }
+            carry += localScan[LOCAL_SIZE - 1];
+            context.localBarrier();
+        }
+    }
+
+    public static void addBlockOffsets(KernelContext context, LongArray output, LongArray blockSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.getSize()) {
+            output.set(globalIdx, output.get(globalIdx) + blockSums.get(context.groupIdx));
+        }
+    }
+
+    public static void segmentedScanBlocks(KernelContext context, LongArray input, IntArray flags, LongArray output, IntArray openSegments, LongArray blockSums, IntArray blockFlags) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        long[] localScan = context.allocateLongLocalArray(LOCAL_SIZE);
+        int[] localFlags = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        boolean inRange = globalIdx < input.getSize();
+        localScan[localIdx] = inRange ? input.get(globalIdx) : 0L;
+        localFlags[localIdx] = inRange && flags.get(globalIdx) != 0 ? 1 : 0;
+        for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+            context.localBarrier();
+            long partner = localIdx >= offset ? localScan[localIdx - offset] : 0L;
+            int partnerFlag = localIdx >= offset ? localFlags[localIdx - offset] : 0;
+            context.localBarrier();
+            if (localFlags[localIdx] == 0) {
+                localScan[localIdx] += partner;
+            }
+            localFlags[localIdx] |= partnerFlag;
+        }
+        context.localBarrier();
+
+        if (inRange) {
+            output.set(globalIdx, localScan[localIdx]);
+            openSegments.set(globalIdx, localFlags[localIdx] == 0 ? 1 : 0);
+        }
+        if (localIdx == LOCAL_SIZE - 1) {
+            blockSums.set(context.groupIdx, localScan[localIdx]);
+            blockFlags.set(context.groupIdx, localFlags[localIdx]);
+        }
+    }
+
+    public static void segmentedScanBlockSums(KernelContext context, LongArray blockSums, IntArray blockFlags) {
+        int localIdx = context.localIdx;
+        long[] localScan = context.allocateLongLocalArray(LOCAL_SIZE);
+        int[] localFlags = context.allocateIntLocalArray(LOCAL_SIZE);
+        int size = blockSums.getSize();
+
+        long carry = 0L;
+        for (int base = 0; base < size; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            localScan[localIdx] = idx < size ? blockSums.get(idx) : 0L;
+            localFlags[localIdx] = idx < size ? blockFlags.get(idx) : 0;
+            for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+                context.localBarrier();
+                long partner = localIdx >= offset ? localScan[localIdx - offset] : 0L;
+                int partnerFlag = localIdx >= offset ? localFlags[localIdx - offset] : 0;
+                context.localBarrier();
+                if (localFlags[localIdx] == 0) {
+                    localScan[localIdx] += partner;
+                }
+                localFlags[localIdx] |= partnerFlag;
+            }
+            context.localBarrier();
+            if (idx < size) {
+                long exclusive = localIdx > 0 ? localScan[localIdx - 1] : 0L;
+                int exclusiveFlag = localIdx > 0 ? localFlags[localIdx - 1] : 0;
+                blockSums.set(idx, exclusiveFlag == 0 ? carry + exclusive : exclusive);
+            }
+            if (localFlags[LOCAL_SIZE - 1] == 0) {
+                carry += localScan[LOCAL_SIZE - 1];
+            } else {
+                carry = localScan[LOCAL_SIZE - 1];
+            }
+            context.localBarrier();
+        }
+    }
+
+    public static void addSegmentedBlockOffsets(KernelContext context, LongArray output, IntArray openSegments, LongArray blockSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.getSize() && openSegments.get(globalIdx) == 1) {
+            output.set(globalIdx, output.get(globalIdx) + blockSums.get(context.groupIdx));
+        }
+    }
+
+    public static void scanBlocks(KernelContext context, FloatArray input, FloatArray output, FloatArray blockSums, int inclusive) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        float[] localScan = context.allocateFloatLocalArray(LOCAL_SIZE);
+
+        float value = globalIdx < input.getSize() ? input.get(globalIdx) : 0.0f;
+        localScan[localIdx] = value;
+        for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+            context.localBarrier();
+            float partner = localIdx >= offset ? localScan[localIdx - offset] : 0.0f;
+            context.localBarrier();
+            localScan[localIdx] += partner;
+        }
+        context.localBarrier();
+
+        if (globalIdx < output.getSize()) {
+            if (inclusive == 1) {
+                output.set(globalIdx, localScan[localIdx]);
+            } else {
+                output.set(globalIdx, localIdx > 0 ? localScan[localIdx - 1] : 0.0f);
+            }
+        }
+        if (localIdx == LOCAL_SIZE - 1) {
+            blockSums.set(context.groupIdx, localScan[localIdx]);
+        }
+    }
+
+    public static void scanBlockSums(KernelContext context, FloatArray blockSums) {
+        int localIdx = context.localIdx;
+        float[] localScan = context.allocateFloatLocalArray(LOCAL_SIZE);
+        int size = blockSums.getSize();
+
+        float carry = 0.0f;
+        for (int base = 0; base < size; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            localScan[localIdx] = idx < size ? blockSums.get(idx) : 0.0f;
+            for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+                context.localBarrier();
+                float partner = localIdx >= offset ? localScan[localIdx - offset] : 0.0f;
+                context.localBarrier();
+                localScan[localIdx] += partner;
+            }
+            context.localBarrier();
+            if (idx < size) {
+                blockSums.set(idx, carry + (localIdx > 0 ? localScan[localIdx - 1] : 0.0f));
+            }
+            carry += localScan[LOCAL_SIZE - 1];
+            context.localBarrier();
+        }
+    }
+
+    public static void addBlockOffsets(KernelContext context, FloatArray output, FloatArray blockSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.getSize()) {
+            output.set(globalIdx, output.get(globalIdx) + blockSums.get(context.groupIdx));
+        }
+    }
+
+    public static void segmentedScanBlocks(KernelContext context, FloatArray input, IntArray flags, FloatArray output, IntArray openSegments, FloatArray blockSums, IntArray blockFlags) {
+        int localIdx = context.localIdx;
+        int globalIdx = context.globalIdx;
+        float[] localScan = context.allocateFloatLocalArray(LOCAL_SIZE);
+        int[] localFlags = context.allocateIntLocalArray(LOCAL_SIZE);
+
+        boolean inRange = globalIdx < input.getSize();
+        localScan[localIdx] = inRange ? input.get(globalIdx) : 0.0f;
+        localFlags[localIdx] = inRange && flags.get(globalIdx) != 0 ? 1 : 0;
+        for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+            context.localBarrier();
+            float partner = localIdx >= offset ? localScan[localIdx - offset] : 0.0f;
+            int partnerFlag = localIdx >= offset ? localFlags[localIdx - offset] : 0;
+            context.localBarrier();
+            if (localFlags[localIdx] == 0) {
+                localScan[localIdx] += partner;
+            }
+            localFlags[localIdx] |= partnerFlag;
+        }
+        context.localBarrier();
+
+        if (inRange) {
+            output.set(globalIdx, localScan[localIdx]);
+            openSegments.set(globalIdx, localFlags[localIdx] == 0 ? 1 : 0);
+        }
+        if (localIdx == LOCAL_SIZE - 1) {
+            blockSums.set(context.groupIdx, localScan[localIdx]);
+            blockFlags.set(context.groupIdx, localFlags[localIdx]);
+        }
+    }
+
+    public static void segmentedScanBlockSums(KernelContext context, FloatArray blockSums, IntArray blockFlags) {
+        int localIdx = context.localIdx;
+        float[] localScan = context.allocateFloatLocalArray(LOCAL_SIZE);
+        int[] localFlags = context.allocateIntLocalArray(LOCAL_SIZE);
+        int size = blockSums.getSize();
+
+        float carry = 0.0f;
+        for (int base = 0; base < size; base += LOCAL_SIZE) {
+            int idx = base + localIdx;
+            localScan[localIdx] = idx < size ? blockSums.get(idx) : 0.0f;
+            localFlags[localIdx] = idx < size ? blockFlags.get(idx) : 0;
+            for (int offset = 1; offset < LOCAL_SIZE; offset *= 2) {
+                context.localBarrier();
+                float partner = localIdx >= offset ? localScan[localIdx - offset] : 0.0f;
+                int partnerFlag = localIdx >= offset ? localFlags[localIdx - offset] : 0;
+                context.localBarrier();
+                if (localFlags[localIdx] == 0) {
+                    localScan[localIdx] += partner;
+                }
+                localFlags[localIdx] |= partnerFlag;
+            }
+            context.localBarrier();
+            if (idx < size) {
+                float exclusive = localIdx > 0 ? localScan[localIdx - 1] : 0.0f;
+                int exclusiveFlag = localIdx > 0 ? localFlags[localIdx - 1] : 0;
+                blockSums.set(idx, exclusiveFlag == 0 ? carry + exclusive : exclusive);
+            }
+            if (localFlags[LOCAL_SIZE - 1] == 0) {
+                carry += localScan[LOCAL_SIZE - 1];
+            } else {
+                carry = localScan[LOCAL_SIZE - 1];
+            }
+            context.localBarrier();
+        }
+    }
+
+    public static void addSegmentedBlockOffsets(KernelContext context, FloatArray output, IntArray openSegments, FloatArray blockSums) {
+        int globalIdx = context.globalIdx;
+        if (globalIdx < output.getSize() && openSegments.get(globalIdx) == 1) {
+            output.set(globalIdx, output.get(globalIdx) + blockSums.get(context.groupIdx));
+        }
+    }
+
+    /**
+     * Appends an exclusive prefix sum of {@code input} into {@code output} to the
+     * task-graph. Input and output can be the same array.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph exclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray output) {
+        return scan(taskGraph, gridScheduler, taskName, input, output, 0);
+    }
+
+    /**
+     * Appends an inclusive prefix sum of {@code input} into {@code output} to the
+     * task-graph.
+     *
+     * @see #exclusive(TaskGraph, GridScheduler, String, IntArray, IntArray)
+     */
+    public static TaskGraph inclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray output) {
+        return scan(taskGraph, gridScheduler, taskName, input, output, 1);
+    }
+
+    private static TaskGraph scan(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray output, int inclusive) {
+        int numBlocks = PrimitiveGrids.numBlocks(input.getSize());
+        IntArray blockSums = new IntArray(numBlocks);
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums) //
+                .task(taskName + BLOCKS_SUFFIX, Scan::scanBlocks, context, input, output, blockSums, inclusive) //
+                .task(taskName + BLOCK_SUMS_SUFFIX, Scan::scanBlockSums, context, blockSums) //
+                .task(taskName + OFFSETS_SUFFIX, Scan::addBlockOffsets, context, output, blockSums);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCKS_SUFFIX, numBlocks);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCK_SUMS_SUFFIX, 1);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + OFFSETS_SUFFIX, numBlocks);
+        return taskGraph;
+    }
+
+    /**
+     * Appends a segmented inclusive prefix sum to the task-graph. A non-zero value
+     * in {@code flags} marks the first element of a segment; the sum restarts at
+     * every segment head.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param flags
+     *     Segment head flags, of the same size as the input.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph segmentedInclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, IntArray input, IntArray flags, IntArray output) {
+        int numBlocks = PrimitiveGrids.numBlocks(input.getSize());
+        IntArray blockSums = new IntArray(numBlocks);
+        IntArray blockFlags = new IntArray(numBlocks);
+        IntArray openSegments = new IntArray(input.getSize());
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums, blockFlags, openSegments) //
+                .task(taskName + BLOCKS_SUFFIX, Scan::segmentedScanBlocks, context, input, flags, output, openSegments, blockSums, blockFlags) //
+                .task(taskName + BLOCK_SUMS_SUFFIX, Scan::segmentedScanBlockSums, context, blockSums, blockFlags) //
+                .task(taskName + OFFSETS_SUFFIX, Scan::addSegmentedBlockOffsets, context, output, openSegments, blockSums);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCKS_SUFFIX, numBlocks);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCK_SUMS_SUFFIX, 1);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + OFFSETS_SUFFIX, numBlocks);
+        return taskGraph;
+    }
+
+    /**
+     * Appends an exclusive prefix sum of {@code input} into {@code output} to the
+     * task-graph. Input and output can be the same array.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph exclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, LongArray input, LongArray output) {
+        return scan(taskGraph, gridScheduler, taskName, input, output, 0);
+    }
+
+    /**
+     * Appends an inclusive prefix sum of {@code input} into {@code output} to the
+     * task-graph.
+     *
+     * @see #exclusive(TaskGraph, GridScheduler, String, LongArray, LongArray)
+     */
+    public static TaskGraph inclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, LongArray input, LongArray output) {
+        return scan(taskGraph, gridScheduler, taskName, input, output, 1);
+    }
+
+    private static TaskGraph scan(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, LongArray input, LongArray output, int inclusive) {
+        int numBlocks = PrimitiveGrids.numBlocks(input.getSize());
+        LongArray blockSums = new LongArray(numBlocks);
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums) //
+                .task(taskName + BLOCKS_SUFFIX, Scan::scanBlocks, context, input, output, blockSums, inclusive) //
+                .task(taskName + BLOCK_SUMS_SUFFIX, Scan::scanBlockSums, context, blockSums) //
+                .task(taskName + OFFSETS_SUFFIX, Scan::addBlockOffsets, context, output, blockSums);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCKS_SUFFIX, numBlocks);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCK_SUMS_SUFFIX, 1);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + OFFSETS_SUFFIX, numBlocks);
+        return taskGraph;
+    }
+
+    /**
+     * Appends a segmented inclusive prefix sum to the task-graph. A non-zero value
+     * in {@code flags} marks the first element of a segment; the sum restarts at
+     * every segment head.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param flags
+     *     Segment head flags, of the same size as the input.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph segmentedInclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, LongArray input, IntArray flags, LongArray output) {
+        int numBlocks = PrimitiveGrids.numBlocks(input.getSize());
+        LongArray blockSums = new LongArray(numBlocks);
+        IntArray blockFlags = new IntArray(numBlocks);
+        IntArray openSegments = new IntArray(input.getSize());
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums, blockFlags, openSegments) //
+                .task(taskName + BLOCKS_SUFFIX, Scan::segmentedScanBlocks, context, input, flags, output, openSegments, blockSums, blockFlags) //
+                .task(taskName + BLOCK_SUMS_SUFFIX, Scan::segmentedScanBlockSums, context, blockSums, blockFlags) //
+                .task(taskName + OFFSETS_SUFFIX, Scan::addSegmentedBlockOffsets, context, output, openSegments, blockSums);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCKS_SUFFIX, numBlocks);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCK_SUMS_SUFFIX, 1);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + OFFSETS_SUFFIX, numBlocks);
+        return taskGraph;
+    }
+
+    /**
+     * Appends an exclusive prefix sum of {@code input} into {@code output} to the
+     * task-graph. Input and output can be the same array.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph exclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, FloatArray output) {
+        return scan(taskGraph, gridScheduler, taskName, input, output, 0);
+    }
+
+    /**
+     * Appends an inclusive prefix sum of {@code input} into {@code output} to the
+     * task-graph.
+     *
+     * @see #exclusive(TaskGraph, GridScheduler, String, FloatArray, FloatArray)
+     */
+    public static TaskGraph inclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, FloatArray output) {
+        return scan(taskGraph, gridScheduler, taskName, input, output, 1);
+    }
+
+    private static TaskGraph scan(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, FloatArray output, int inclusive) {
+        int numBlocks = PrimitiveGrids.numBlocks(input.getSize());
+        FloatArray blockSums = new FloatArray(numBlocks);
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums) //
+                .task(taskName + BLOCKS_SUFFIX, Scan::scanBlocks, context, input, output, blockSums, inclusive) //
+                .task(taskName + BLOCK_SUMS_SUFFIX, Scan::scanBlockSums, context, blockSums) //
+                .task(taskName + OFFSETS_SUFFIX, Scan::addBlockOffsets, context, output, blockSums);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCKS_SUFFIX, numBlocks);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCK_SUMS_SUFFIX, 1);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + OFFSETS_SUFFIX, numBlocks);
+        return taskGraph;
+    }
+
+    /**
+     * Appends a segmented inclusive prefix sum to the task-graph. A non-zero value
+     * in {@code flags} marks the first element of a segment; the sum restarts at
+     * every segment head.
+     *
+     * @param taskGraph
+     *     {@link TaskGraph} in which the tasks are appended.
+     * @param gridScheduler
+     *     {@link GridScheduler} used to execute the task-graph.
+     * @param taskName
+     *     Prefix of the tasks.
+     * @param input
+     *     Input array.
+     * @param flags
+     *     Segment head flags, of the same size as the input.
+     * @param output
+     *     Output array, of the same size as the input.
+     * @return {@link TaskGraph}
+     */
+    public static TaskGraph segmentedInclusive(TaskGraph taskGraph, GridScheduler gridScheduler, String taskName, FloatArray input, IntArray flags, FloatArray output) {
+        int numBlocks = PrimitiveGrids.numBlocks(input.getSize());
+        FloatArray blockSums = new FloatArray(numBlocks);
+        IntArray blockFlags = new IntArray(numBlocks);
+        IntArray openSegments = new IntArray(input.getSize());
+        KernelContext context = new KernelContext();
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, blockSums, blockFlags, openSegments) //
+                .task(taskName + BLOCKS_SUFFIX, Scan::segmentedScanBlocks, context, input, flags, output, openSegments, blockSums, blockFlags) //
+                .task(taskName + BLOCK_SUMS_SUFFIX, Scan::segmentedScanBlockSums, context, blockSums, blockFlags) //
+                .task(taskName + OFFSETS_SUFFIX, Scan::addSegmentedBlockOffsets, context, output, openSegments, blockSums);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCKS_SUFFIX, numBlocks);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + BLOCK_SUMS_SUFFIX, 1);
+        PrimitiveGrids.setWorkerGrid(taskGraph, gridScheduler, taskName + OFFSETS_SUFFIX, numBlocks);
+        return taskGraph;
+    }
+}
@@ -46,6 +46,7 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraph;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeResult;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMGraphCompiler;
+import uk.ac.manchester.tornado.runtime.interpreter.ExecutionPhase;
 import uk.ac.manchester.tornado.runtime.interpreter.TornadoVMInterpreter;
 import uk.ac.manchester.tornado.runtime.tasks.TornadoTaskGraph;
 
@@ -175,6 +176,19 @@ public class TornadoVM {
         return (isTaskGraphConcurrent || TornadoOptions.CONCURRENT_INTERPRETERS) && (executionContext.getValidContextSize() > 1);
     }
 
+    /**
+     * It sets the bytecodes to execute in the next executions of all interpreters.
+     *
+     * @param executionPhase
+     *     {@link ExecutionPhase}
+     * @param synchronise
+     *     Whether the executions end with a marker and a flush of the command
+     *     queues of the devices.
+     */
+    public void setExecutionPhase(ExecutionPhase executionPhase, boolean synchronise) {
+        executeActionOnInterpreters(tornadoVMInterpreter -> tornadoVMInterpreter.setExecutionPhase(executionPhase, synchronise));
+    }
+
     public void executeActionOnInterpreters(Consumer<TornadoVMInterpreter> action) {
         Arrays.stream(tornadoVMInterpreters).forEach(action::accept);
     }
@@ -183,6 +197,10 @@ public class TornadoVM {
         executeActionOnInterpreters(TornadoVMInterpreter::clearInstalledCode);
     }
 
+    public void invalidateRecordedCommands() {
+        executeActionOnInterpreters(TornadoVMInterpreter::invalidateRecordedCommands);
+    }
+
     public void dumpProfiles() {
         executeActionOnInterpreters(TornadoVMInterpreter::dumpProfiles);
     }
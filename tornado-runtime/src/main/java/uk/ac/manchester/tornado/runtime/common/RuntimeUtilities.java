@@ -42,7 +42,10 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.graalvm.compiler.graph.Node;
 import org.graalvm.compiler.nodes.StructuredGraph;
@@ -53,8 +56,10 @@ import org.graalvm.compiler.nodes.loop.LoopsData;
 import jdk.vm.ci.meta.JavaKind;
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import jdk.vm.ci.meta.Signature;
+import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.graal.nodes.ParallelRangeNode;
 import uk.ac.manchester.tornado.runtime.graal.nodes.TornadoLoopsData;
 
@@ -258,6 +263,35 @@ public final class RuntimeUtilities {
         return componentType.isPrimitive() || isBoxedPrimitive(componentType);
     }
 
+    /**
+     * Checks whether the reference arguments of a task can be declared as
+     * non-aliasing in the generated kernel. Every reference argument has to be a
+     * flat array (a primitive Java array or a {@link TornadoNativeArray}) and no
+     * array can be passed more than once. Scalars and the {@link KernelContext}
+     * are ignored. Since each object is mapped to its own device buffer, identity
+     * is enough to decide whether two kernel parameters alias.
+     *
+     * @param arguments
+     *     arguments of the task
+     * @return true if all array arguments are distinct
+     */
+    public static boolean hasDistinctArrayArguments(final Object[] arguments) {
+        if (arguments == null) {
+            return false;
+        }
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object argument : arguments) {
+            if (argument == null || isBoxedPrimitive(argument) || argument instanceof KernelContext) {
+                continue;
+            }
+            boolean isFlatArray = argument instanceof TornadoNativeArray || (argument.getClass().isArray() && argument.getClass().getComponentType().isPrimitive());
+            if (!isFlatArray || !visited.add(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static void printBuffer(final ByteBuffer buffer) {
 
         System.out.printf("buffer : position=%d, remaining=%d, capacity=%d, limit=%d\n", buffer.position(), buffer.remaining(), buffer.capacity(), buffer.limit());
@@ -77,12 +77,24 @@ public class TornadoOptions {
      * Option to print TornadoVM Internal Bytecodes.
      */
     public static final boolean PRINT_BYTECODES = getBooleanValue("tornado.print.bytecodes", FALSE);
+    /**
+     * Records the commands issued by the bytecode interpreter once the kernels of
+     * an execution plan are compiled, and replays them in the following
+     * executions without decoding the bytecodes again. False by default.
+     */
+    public static final boolean VM_REPLAY = getBooleanValue("tornado.vm.replay", FALSE);
 
     /**
      * Option to enable experimental and new option for performing automatic full
      * reductions.
      */
     public static final boolean EXPERIMENTAL_REDUCE = getBooleanValue("tornado.experimental.reduce", TRUE);
+    /**
+     * Option to perform the final stage of automatic reductions on GPUs with a
+     * single work-group tree reduction, instead of a single-threaded sequential
+     * task. True by default.
+     */
+    public static final boolean DEVICE_FINAL_REDUCTION = getBooleanValue("tornado.reduce.final.device", TRUE);
     /**
      * Temporal option for disabling null checks for Apache-Flink.
      */
@@ -91,6 +103,22 @@ public class TornadoOptions {
      * Option to enable profiler-feature extractions.
      */
     public static final boolean FEATURE_EXTRACTION = getBooleanValue("tornado.feature.extraction", FALSE);
+    /**
+     * Option to record the code features of every compiled kernel for the
+     * cost-model device selection ({@code DRMode.PREDICTED}). Without it, the
+     * predictions only use the sizes and the device descriptors. False by default.
+     */
+    public static final boolean COST_MODEL_FEATURES = getBooleanValue("tornado.costmodel.features", FALSE);
+    /**
+     * Option to calibrate the cost model with the measured execution times of the
+     * cost-model device selection. False by default.
+     */
+    public static final boolean COST_MODEL_CALIBRATION = getBooleanValue("tornado.costmodel.calibration", FALSE);
+    /**
+     * Fully qualified name of a custom cost model for the device selection. If
+     * empty, the analytical cost model is used.
+     */
+    public static final String COST_MODEL_CLASS = Tornado.getProperty("tornado.costmodel.class", "");
     /**
      * Enable/Disable FMA Optimizations. True by default.
      */
@@ -117,10 +145,26 @@ public class TornadoOptions {
      * Sets the array memory alignment for PTX devices. Default is 128 bytes.
      */
     public static final int PTX_ARRAY_ALIGNMENT = Integer.parseInt(getProperty("tornado.ptx.array.align", "128"));
+    /**
+     * Copies large off-heap arrays between the host and PTX devices through a
+     * pool of page-locked staging buffers. Default is False.
+     */
+    public static final boolean PTX_STAGING_BUFFERS = getBooleanValue("tornado.ptx.staging", FALSE);
+    /**
+     * Size in bytes of the page-locked staging buffers for PTX devices. Copies
+     * of at least twice this size are staged. Default is 4MB.
+     */
+    public static final long PTX_STAGING_BUFFER_SIZE = Long.parseLong(getProperty("tornado.ptx.staging.size", "4194304"));
     /**
      * Sets the array memory alignment for OpenCL devices. Default is 128 bytes.
      */
     public static final int OPENCL_ARRAY_ALIGNMENT = Integer.parseInt(getProperty("tornado.opencl.array.align", "128"));
+    /**
+     * Wraps the host memory of off-heap arrays in OpenCL buffers when the device
+     * shares its memory with the host (e.g., integrated GPUs and CPUs). Default is
+     * False.
+     */
+    public static final boolean OPENCL_ZERO_COPY = getBooleanValue("tornado.opencl.zerocopy", FALSE);
     /**
      * Sets the array memory alignment for SPIRV devices. Default is 128 bytes.
      */
@@ -138,6 +182,12 @@ public class TornadoOptions {
      * Option to redirect profiler output.
      */
     public static final String PROFILER_DIRECTORY = getProperty("tornado.profiler.dump.dir", "");
+    /**
+     * Record the time and the graph size of each compiler phase of every task, as
+     * well as the time of the sketch, LIR generation, code emission and driver
+     * build stages. False by default.
+     */
+    public static final boolean COMPILATION_REPORT = getBooleanValue("tornado.compiler.report", FALSE);
     /**
      * Dump the Control-Flow-Graph with IGV for the compiled-graph after the last
      * phase in the Low-Tier.
@@ -198,6 +248,17 @@ public class TornadoOptions {
      * generated SPIRV kernel.
      */
     public static final boolean SPIRV_DIRECT_CALL_WITH_LOAD_HEAP = getBooleanValue("tornado.spirv.directcall.heap", FALSE);
+    /**
+     * Keep the SPIR-V binaries handed to Level Zero in the temporary directory
+     * instead of removing them once the module is built. Default is False.
+     */
+    public static final boolean SPIRV_DUMP_BINARIES = getBooleanValue("tornado.spirv.dump.binaries", FALSE);
+    /**
+     * Run the module-level optimizations on the generated SPIR-V binary before it
+     * is handed to the driver: deduplication of types and constants, load/store
+     * forwarding, constant folding and dead code elimination. Default is False.
+     */
+    public static final boolean SPIRV_MODULE_OPTIMIZER = getBooleanValue("tornado.spirv.module.opt", FALSE);
     /**
      * Trace code generation.
      */
@@ -218,6 +279,55 @@ public class TornadoOptions {
      * It enables more fast math optimizations.
      */
     public static final boolean FAST_MATH_OPTIMIZATIONS = getBooleanValue("tornado.enable.fastMathOptimizations", TRUE);
+    /**
+     * Qualify kernel parameters with read-only and no-alias information (e.g.,
+     * const and restrict in OpenCL C) when all array arguments of a task are
+     * distinct. True by default.
+     */
+    public static final boolean RESTRICT_KERNEL_PARAMETERS = getBooleanValue("tornado.restrict.parameters", TRUE);
+    /**
+     * Stage tiles of read-only arrays in local memory for 2D parallel loop nests
+     * with an inner reduction loop (e.g., GEMM). This option is experimental and
+     * false by default.
+     */
+    public static final boolean LOCAL_MEMORY_TILING = getBooleanValue("tornado.experimental.tiling", FALSE);
+    /**
+     * Merge scalar loads and stores of consecutive array elements into vector
+     * loads and stores (vloadN/vstoreN) in the OpenCL backend. This option is
+     * experimental and false by default.
+     */
+    public static final boolean VECTORISE_MEMORY_ACCESSES = getBooleanValue("tornado.experimental.vectorise.memory", FALSE);
+    /**
+     * Keep one kernel variant per combination of scalar argument values (and
+     * array lengths) of a task, so values that recur do not trigger a
+     * recompilation. False by default.
+     */
+    public static final boolean SPECIALISED_VARIANTS = getBooleanValue("tornado.specialise.variants", FALSE);
+    /**
+     * Maximum number of specialised kernel variants kept per task. Once the cache
+     * starts to thrash, a generic variant that receives the scalar values as
+     * kernel parameters is compiled instead.
+     */
+    public static final int SPECIALISED_VARIANTS_CACHE_SIZE = Integer.parseInt(getProperty("tornado.specialise.variants.size", "8"));
+    /**
+     * Release the device buffers of intermediate arrays (written by a task and
+     * read by later tasks, but never transferred to or from the host) right after
+     * their last reader, and reuse freed buffers for later intermediates. False by
+     * default.
+     */
+    public static final boolean BUFFER_LIVENESS = getBooleanValue("tornado.buffers.liveness", FALSE);
+    /**
+     * Share the kernels installed on each device across execution plans, so a new
+     * plan reuses the kernels compiled by previous plans for the same task
+     * method, specialisation inputs and device. False by default.
+     */
+    public static final boolean SHARED_KERNELS = getBooleanValue("tornado.kernels.shared", FALSE);
+    /**
+     * Maximum number of shared kernels kept by the runtime. Kernels that are not
+     * used by any execution plan are evicted in LRU order once the limit is
+     * reached.
+     */
+    public static final int SHARED_KERNELS_CACHE_SIZE = Integer.parseInt(getProperty("tornado.kernels.shared.size", "64"));
     /**
      * It optimizes loads and stores for the SPIRV backend. It uses less virtual
      * registers. Experimental Feature.
@@ -0,0 +1,206 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.graph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
+import uk.ac.manchester.tornado.runtime.common.XPUDeviceBufferState;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateMultipleBuffersNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyInNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.CopyOutNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.DeallocateNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.DependentReadNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.ObjectNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.StreamInNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.TaskNode;
+import uk.ac.manchester.tornado.runtime.tasks.LocalObjectState;
+
+/**
+ * Liveness analysis of the device buffers used by a {@link TornadoGraph}.
+ *
+ * <p>
+ * An intermediate is an object whose first use is a task that only writes it
+ * (so its host contents are never needed), and that is neither transferred to
+ * nor from the host. Instead of allocating its buffer at the beginning of the
+ * task-graph and keeping it until the execution plan is freed, the buffer is
+ * allocated right before its first task and released right after the last task
+ * that reads it. Released buffers go back to the free list of the buffer
+ * provider of the device, where later intermediates of a compatible size pick
+ * them up.
+ * </p>
+ *
+ * <p>
+ * Buffers are released from the host as soon as the last reader has been
+ * launched. This is safe because the commands of a task-graph are enqueued in
+ * order on the command queue of the device.
+ * </p>
+ */
+public class TornadoBufferLiveness {
+
+    private final BitSet intermediates;
+    private final Map<TaskNode, List<AbstractNode>> allocations;
+    private final Map<TaskNode, List<Integer>> releases;
+
+    private TornadoBufferLiveness(BitSet intermediates, Map<TaskNode, List<AbstractNode>> allocations, Map<TaskNode, List<Integer>> releases) {
+        this.intermediates = intermediates;
+        this.allocations = allocations;
+        this.releases = releases;
+    }
+
+    private static int getObjectIndex(AbstractNode argument) {
+        if (argument instanceof AllocateNode allocateNode) {
+            return allocateNode.getValue().getIndex();
+        } else if (argument instanceof CopyInNode copyInNode) {
+            return copyInNode.getValue().getIndex();
+        } else if (argument instanceof StreamInNode streamInNode) {
+            return streamInNode.getValue().getIndex();
+        } else if (argument instanceof DependentReadNode dependentReadNode) {
+            return dependentReadNode.getValue().getIndex();
+        } else if (argument instanceof CopyOutNode copyOutNode) {
+            return copyOutNode.getValue().getValue().getIndex();
+        }
+        return -1;
+    }
+
+    private static boolean isTransferred(LocalObjectState state) {
+        return state.isStreamIn() || state.isForcedStreamIn() || state.isStreamOut() || state.isStreamOutUnderDemand();
+    }
+
+    /**
+     * It computes the first and the last task that use each intermediate, given
+     * the order in which the asynchronous nodes of the graph are emitted.
+     *
+     * @param graph
+     *     The {@link TornadoGraph} to analyze.
+     * @param intermediateTornadoGraph
+     *     The dependencies of the asynchronous nodes of the graph.
+     * @param schedule
+     *     Indexes of the asynchronous nodes in the order they are emitted.
+     * @param executionContext
+     *     The {@link TornadoExecutionContext} with the state of each object.
+     * @return The {@link TornadoBufferLiveness} of the graph, or null if there
+     *     are no intermediates.
+     */
+    public static TornadoBufferLiveness analyze(TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph, int[] schedule, TornadoExecutionContext executionContext) {
+        final List<LocalObjectState> states = executionContext.getObjectStates();
+        final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
+        final TaskNode[] firstUse = new TaskNode[states.size()];
+        final TaskNode[] lastUse = new TaskNode[states.size()];
+        final ObjectNode[] values = new ObjectNode[states.size()];
+        final BitSet intermediates = new BitSet(states.size());
+
+        for (int index : schedule) {
+            if (!(graph.getNode(nodeIds[index]) instanceof TaskNode taskNode)) {
+                continue;
+            }
+            for (int i = 0; i < taskNode.getNumArgs(); i++) {
+                final AbstractNode argument = taskNode.getArg(i);
+                final int objectIndex = getObjectIndex(argument);
+                if (objectIndex == -1) {
+                    continue;
+                }
+                if (firstUse[objectIndex] == null) {
+                    firstUse[objectIndex] = taskNode;
+                    if (argument instanceof AllocateNode allocateNode && !isTransferred(states.get(objectIndex))) {
+                        intermediates.set(objectIndex);
+                        values[objectIndex] = allocateNode.getValue();
+                    }
+                }
+                lastUse[objectIndex] = taskNode;
+            }
+        }
+
+        if (intermediates.isEmpty()) {
+            return null;
+        }
+
+        final Map<TaskNode, List<AbstractNode>> allocations = new HashMap<>();
+        final Map<TaskNode, List<Integer>> releases = new HashMap<>();
+        for (int i = intermediates.nextSetBit(0); i != -1; i = intermediates.nextSetBit(i + 1)) {
+            allocations.computeIfAbsent(firstUse[i], k -> new ArrayList<>()).add(values[i]);
+            releases.computeIfAbsent(lastUse[i], k -> new ArrayList<>()).add(i);
+            unlockDeviceBuffer(states.get(i), firstUse[i].getContext().getDevice());
+        }
+        return new TornadoBufferLiveness(intermediates, allocations, releases);
+    }
+
+    /**
+     * Buffers are kept on the device across executions by default. The buffer of
+     * an intermediate is allocated and released in every execution instead, so
+     * any buffer left by a previous compilation of the task-graph is released.
+     */
+    private static void unlockDeviceBuffer(LocalObjectState state, TornadoXPUDevice device) {
+        final XPUDeviceBufferState deviceBufferState = state.getDataObjectState().getDeviceBufferState(device);
+        deviceBufferState.setLockBuffer(false);
+        if (deviceBufferState.hasObjectBuffer()) {
+            device.deallocate(deviceBufferState);
+        }
+    }
+
+    /**
+     * @return The objects of the {@link AllocateMultipleBuffersNode} that are
+     *     not intermediates, and therefore are allocated at the beginning of
+     *     the task-graph.
+     */
+    public List<AbstractNode> getPersistentValues(AllocateMultipleBuffersNode node) {
+        final List<AbstractNode> persistentValues = new ArrayList<>();
+        for (AbstractNode value : node.getValues()) {
+            if (!intermediates.get(value.getIndex())) {
+                persistentValues.add(value);
+            }
+        }
+        return persistentValues;
+    }
+
+    /**
+     * @return True if the node is the deallocation of an intermediate at the end
+     *     of the task-graph. Intermediates are released after their last task
+     *     instead.
+     */
+    public boolean isReleasedEarly(AbstractNode node) {
+        return node instanceof DeallocateNode deallocateNode && intermediates.get(deallocateNode.getValue().getIndex());
+    }
+
+    /**
+     * @return The intermediates to allocate right before launching the task.
+     */
+    public List<AbstractNode> getAllocations(TaskNode taskNode) {
+        return allocations.getOrDefault(taskNode, Collections.emptyList());
+    }
+
+    /**
+     * @return The indexes of the intermediates to release right after launching
+     *     the task.
+     */
+    public List<Integer> getReleases(TaskNode taskNode) {
+        return releases.getOrDefault(taskNode, Collections.emptyList());
+    }
+}
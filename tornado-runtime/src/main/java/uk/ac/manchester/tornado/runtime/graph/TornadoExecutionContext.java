@@ -64,6 +64,7 @@ import uk.ac.manchester.tornado.runtime.common.enums.DataTypeSize;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
 import uk.ac.manchester.tornado.runtime.tasks.LocalObjectState;
 import uk.ac.manchester.tornado.runtime.tasks.meta.ScheduleMetaData;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 public class TornadoExecutionContext {
 
@@ -220,6 +221,7 @@ public class TornadoExecutionContext {
             newLocalObjectState.setStreamIn(oldLocalObjectState.isStreamIn());
             newLocalObjectState.setForceStreamIn(oldLocalObjectState.isForcedStreamIn());
             newLocalObjectState.setStreamOut(oldLocalObjectState.isStreamOut());
+            newLocalObjectState.setStreamOutUnderDemand(oldLocalObjectState.isStreamOutUnderDemand());
 
             index = oldIndex;
             objects.add(index, newObj);
@@ -229,6 +231,85 @@ public class TornadoExecutionContext {
         return index;
     }
 
+    /**
+     * Binds a new object to the index of an object used by the task-graph, so
+     * the TornadoVM bytecodes do not need to be regenerated. The new object
+     * replaces the old one in the arguments of all tasks. The device buffers of
+     * the old object are reused if both objects have the same size. Otherwise,
+     * they are released and new buffers are allocated in the next execution.
+     *
+     * @return true if the device buffers of the old object are reused.
+     */
+    public boolean rebindVariable(Object oldObj, Object newObj) {
+        Integer index = objectMap.get(oldObj.hashCode());
+        if (index == null || objects.get(index) != oldObj) {
+            throw new TornadoRuntimeException(STR."[ERROR] Object <\{oldObj}> is not used by the task-graph \{getId()}");
+        }
+        if (objectMap.containsKey(newObj.hashCode())) {
+            throw new TornadoRuntimeException(STR."[ERROR] Object <\{newObj}> is already used by the task-graph \{getId()}");
+        }
+
+        final long size = getObjectSize(oldObj);
+        final boolean reuseBuffers = size != -1 && size == getObjectSize(newObj);
+
+        LocalObjectState localObjectState = objectState.get(index);
+        localObjectState.setObject(newObj);
+        for (TornadoXPUDevice device : devices) {
+            if (device == null) {
+                continue;
+            }
+            XPUDeviceBufferState deviceBufferState = localObjectState.getDataObjectState().getDeviceBufferState(device);
+            // The contents of the buffer belong to the old object
+            deviceBufferState.setContents(false);
+            if (!reuseBuffers && deviceBufferState.hasObjectBuffer()) {
+                // The new buffer is allocated in the next execution and keeps the lock
+                boolean lockedBuffer = deviceBufferState.isLockedBuffer();
+                deviceBufferState.setLockBuffer(false);
+                device.deallocate(deviceBufferState);
+                deviceBufferState.setLockBuffer(lockedBuffer);
+            }
+        }
+
+        objects.set(index, newObj);
+        objectMap.remove(oldObj.hashCode());
+        objectMap.put(newObj.hashCode(), index);
+
+        for (SchedulableTask task : tasks) {
+            Object[] arguments = task.getArguments();
+            for (int i = 0; i < arguments.length; i++) {
+                if (arguments[i] == oldObj) {
+                    arguments[i] = newObj;
+                    if (task.meta() instanceof TaskMetaData taskMetaData) {
+                        taskMetaData.invalidateDistinctArrayArguments();
+                    }
+                }
+            }
+        }
+        return reuseBuffers;
+    }
+
+    /**
+     * @return the size of the object on the device, or -1 if it is not known.
+     */
+    private static long getObjectSize(Object object) {
+        if (object.getClass().isArray()) {
+            return Array.getLength(object);
+        } else if (object instanceof TornadoNativeArray tornadoNativeArray) {
+            return tornadoNativeArray.getNumBytesOfSegment();
+        } else if (object instanceof TornadoVectorsInterface<?> tornadoVector) {
+            return tornadoVector.getNumBytes();
+        } else if (object instanceof TornadoCollectionInterface<?> collection) {
+            return collection.getNumBytesWithHeader();
+        } else if (object instanceof TornadoVolumesInterface<?> tornadoVolume) {
+            return tornadoVolume.getNumBytesWithHeader();
+        } else if (object instanceof TornadoMatrixInterface<?> tornadoMatrix) {
+            return tornadoMatrix.getNumBytesWithHeader();
+        } else if (object instanceof TornadoImagesInterface<?> tornadoImage) {
+            return tornadoImage.getNumBytesWithHeader();
+        }
+        return -1;
+    }
+
     public int getTaskCount() {
         return nextTask;
     }
@@ -105,6 +105,16 @@ public class TornadoVMBytecodeBuilder {
         }
     }
 
+    void emitAllocate(List<AbstractNode> values, long batchSize) {
+        if (!values.isEmpty()) {
+            bitcodeASM.allocate(values, batchSize);
+        }
+    }
+
+    void emitDeallocate(int objectIndex) {
+        bitcodeASM.deallocate(objectIndex);
+    }
+
     private void emitArgList(TaskNode taskNode) {
         final int numArgs = taskNode.getNumArgs();
         for (int i = 0; i < numArgs; i++) {
@@ -31,8 +31,10 @@ import uk.ac.manchester.tornado.runtime.common.BatchConfiguration;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
 import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
 import uk.ac.manchester.tornado.runtime.graph.nodes.AbstractNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.AllocateMultipleBuffersNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.ContextOpNode;
 import uk.ac.manchester.tornado.runtime.graph.nodes.DependentReadNode;
+import uk.ac.manchester.tornado.runtime.graph.nodes.TaskNode;
 
 public class TornadoVMGraphCompiler {
     /**
@@ -143,14 +145,43 @@ public class TornadoVMGraphCompiler {
         }
     }
 
-    private static void scheduleAndEmitTornadoVMBytecodes(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph, long offset,
-            long bufferBatchSize, long nThreads, int id, TornadoExecutionContext executionContext) {
+    /**
+     * It orders the asynchronous nodes of the graph, so that each node is emitted
+     * after all the nodes it depends on.
+     *
+     * @return Indexes of the asynchronous nodes in the order they are emitted.
+     */
+    private static int[] scheduleAsyncNodes(TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph) {
         final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
         final BitSet[] dependencies = intermediateTornadoGraph.getDependencies();
 
+        final int[] schedule = new int[dependencies.length];
+        int position = 0;
         final BitSet scheduled = new BitSet(dependencies.length);
-        scheduled.clear();
         final BitSet nodes = new BitSet(graph.getValid().length());
+        while (scheduled.cardinality() < dependencies.length) {
+            for (int i = 0; i < dependencies.length; i++) {
+                if (!scheduled.get(i)) {
+                    final BitSet outstandingDeps = new BitSet(nodes.length());
+                    outstandingDeps.or(dependencies[i]);
+                    outstandingDeps.andNot(nodes);
+
+                    if (outstandingDeps.isEmpty()) {
+                        schedule[position++] = i;
+                        scheduled.set(i);
+                        nodes.set(nodeIds[i]);
+                    }
+                }
+            }
+        }
+        return schedule;
+    }
+
+    private static void scheduleAndEmitTornadoVMBytecodes(TornadoVMBytecodeBuilder tornadoVMBytecodeBuilder, TornadoGraph graph, IntermediateTornadoGraph intermediateTornadoGraph, long offset,
+            long bufferBatchSize, long nThreads, int id, TornadoExecutionContext executionContext) {
+        final int[] nodeIds = intermediateTornadoGraph.getNodeIds();
+        final BitSet[] dependencies = intermediateTornadoGraph.getDependencies();
+
         final int[] depLists = new int[dependencies.length];
         Arrays.fill(depLists, -1);
         int index = 0;
@@ -165,38 +196,49 @@ public class TornadoVMGraphCompiler {
             }
         }
 
-        while (scheduled.cardinality() < dependencies.length) {
-            for (int i = 0; i < dependencies.length; i++) {
-                if (!scheduled.get(i)) {
-                    final BitSet outstandingDeps = new BitSet(nodes.length());
-                    outstandingDeps.or(dependencies[i]);
-                    outstandingDeps.andNot(nodes);
+        final int[] schedule = scheduleAsyncNodes(graph, intermediateTornadoGraph);
 
-                    if (outstandingDeps.isEmpty()) {
-                        final ContextOpNode asyncNode = (ContextOpNode) graph.getNode(nodeIds[i]);
-
-                        if (shouldEmitAsyncNodeForTheCurrentContext(id, asyncNode, tornadoVMBytecodeBuilder.isSingleContext(), executionContext)) {
-                            try {
-                                tornadoVMBytecodeBuilder.emitAsyncNode(asyncNode, (dependencies[i].isEmpty()) ? -1 : depLists[i], offset, bufferBatchSize, nThreads);
-                            } catch (BufferOverflowException e) {
-                                throw new TornadoRuntimeException(
-                                        STR."[ERROR] Buffer Overflow exception. Use -Dtornado.tvm.maxbytecodesize=<value> with value > \{TornadoVMBytecodeBuilder.MAX_TORNADO_VM_BYTECODE_SIZE} to increase the buffer code size");
-                            }
-                        }
+        // Device buffers of intermediates are only released early within a single
+        // context and without batches, where the bytecodes run in order.
+        TornadoBufferLiveness liveness = null;
+        if (TornadoOptions.BUFFER_LIVENESS && tornadoVMBytecodeBuilder.isSingleContext() && executionContext.getBatchSize() == TornadoExecutionContext.INIT_VALUE) {
+            liveness = TornadoBufferLiveness.analyze(graph, intermediateTornadoGraph, schedule, executionContext);
+        }
 
-                        for (int j = 0; j < dependencies.length; j++) {
-                            if (j == i) {
-                                continue;
-                            }
-                            if (dependencies[j].get(nodeIds[i]) && depLists[j] != -1) {
-                                tornadoVMBytecodeBuilder.emitAddDependency(depLists[j]);
-                            }
+        for (int i : schedule) {
+            final ContextOpNode asyncNode = (ContextOpNode) graph.getNode(nodeIds[i]);
+
+            if (shouldEmitAsyncNodeForTheCurrentContext(id, asyncNode, tornadoVMBytecodeBuilder.isSingleContext(), executionContext)) {
+                try {
+                    if (liveness == null) {
+                        tornadoVMBytecodeBuilder.emitAsyncNode(asyncNode, (dependencies[i].isEmpty()) ? -1 : depLists[i], offset, bufferBatchSize, nThreads);
+                    } else if (asyncNode instanceof AllocateMultipleBuffersNode persistNode) {
+                        tornadoVMBytecodeBuilder.emitAllocate(liveness.getPersistentValues(persistNode), bufferBatchSize);
+                    } else if (!liveness.isReleasedEarly(asyncNode)) {
+                        if (asyncNode instanceof TaskNode taskNode) {
+                            tornadoVMBytecodeBuilder.emitAllocate(liveness.getAllocations(taskNode), bufferBatchSize);
                         }
-                        scheduled.set(i);
-                        nodes.set(nodeIds[i]);
+                        tornadoVMBytecodeBuilder.emitAsyncNode(asyncNode, (dependencies[i].isEmpty()) ? -1 : depLists[i], offset, bufferBatchSize, nThreads);
                     }
+                } catch (BufferOverflowException e) {
+                    throw new TornadoRuntimeException(
+                            STR."[ERROR] Buffer Overflow exception. Use -Dtornado.tvm.maxbytecodesize=<value> with value > \{TornadoVMBytecodeBuilder.MAX_TORNADO_VM_BYTECODE_SIZE} to increase the buffer code size");
                 }
             }
+
+            for (int j = 0; j < dependencies.length; j++) {
+                if (j == i) {
+                    continue;
+                }
+                if (dependencies[j].get(nodeIds[i]) && depLists[j] != -1) {
+                    tornadoVMBytecodeBuilder.emitAddDependency(depLists[j]);
+                }
+            }
+
+            // The last reader of an intermediate has been launched, so its buffer can be reused
+            if (liveness != null && asyncNode instanceof TaskNode taskNode) {
+                liveness.getReleases(taskNode).forEach(tornadoVMBytecodeBuilder::emitDeallocate);
+            }
         }
     }
 
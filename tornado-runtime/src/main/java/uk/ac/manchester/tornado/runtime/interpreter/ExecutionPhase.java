@@ -0,0 +1,89 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.interpreter;
+
+/**
+ * Selects the bytecodes executed by a {@link TornadoVMInterpreter} when a
+ * task-graph is executed several times in a row without returning to the
+ * application (see
+ * {@link uk.ac.manchester.tornado.api.TornadoExecutionPlan#withIterations(int)}).
+ * The data stays on the device between iterations, so only the first
+ * iteration copies data in and only the last one copies data out.
+ */
+public enum ExecutionPhase {
+
+    /**
+     * Regular execution: copy-in, launch and copy-out.
+     */
+    ALL(true, true, true),
+
+    /**
+     * Copy-in and launch.
+     */
+    FIRST_ITERATION(true, true, false),
+
+    /**
+     * Only launch.
+     */
+    ITERATION(false, true, false),
+
+    /**
+     * Launch and copy-out.
+     */
+    LAST_ITERATION(false, true, true),
+
+    /**
+     * Only copy-out, after the iterations stopped due to convergence.
+     */
+    COPY_OUT(false, false, true);
+
+    private final boolean copyIn;
+    private final boolean launch;
+    private final boolean copyOut;
+
+    ExecutionPhase(boolean copyIn, boolean launch, boolean copyOut) {
+        this.copyIn = copyIn;
+        this.launch = launch;
+        this.copyOut = copyOut;
+    }
+
+    public static ExecutionPhase ofIteration(int iteration, int numIterations) {
+        boolean isLast = iteration == numIterations - 1;
+        if (iteration == 0) {
+            return isLast ? ALL : FIRST_ITERATION;
+        }
+        return isLast ? LAST_ITERATION : ITERATION;
+    }
+
+    public boolean isCopyIn() {
+        return copyIn;
+    }
+
+    public boolean isLaunch() {
+        return launch;
+    }
+
+    public boolean isCopyOut() {
+        return copyOut;
+    }
+}
@@ -29,6 +29,7 @@ import static uk.ac.manchester.tornado.runtime.common.Tornado.USE_VM_FLUSH;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.VM_USE_DEPS;
 import static uk.ac.manchester.tornado.runtime.common.TornadoOptions.VIRTUAL_DEVICE_ENABLED;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
@@ -51,6 +52,7 @@ import uk.ac.manchester.tornado.api.memory.TaskMetaDataInterface;
 import uk.ac.manchester.tornado.api.memory.XPUBuffer;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
 import uk.ac.manchester.tornado.runtime.EmptyEvent;
 import uk.ac.manchester.tornado.runtime.common.KernelStackFrame;
 import uk.ac.manchester.tornado.runtime.common.Tornado;
@@ -63,8 +65,11 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeResult;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodes;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
+import uk.ac.manchester.tornado.runtime.tasks.CompilableTask;
 import uk.ac.manchester.tornado.runtime.tasks.DataObjectState;
+import uk.ac.manchester.tornado.runtime.tasks.KernelVariantCache;
 import uk.ac.manchester.tornado.runtime.tasks.PrebuiltTask;
+import uk.ac.manchester.tornado.runtime.tasks.SharedKernelRegistry;
 import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
 
 /**
@@ -88,6 +93,8 @@ public class TornadoVMInterpreter {
     private final int[] eventsIndexes;
     private final TornadoXPUDevice deviceForInterpreter;
     private final TornadoInstalledCode[] installedCodes;
+    private final SharedKernelRegistry.Key[] sharedKernelKeys;
+    private final KernelVariantCache[] kernelVariantCaches;
 
     private final List<Object> constants;
     private final List<SchedulableTask> tasks;
@@ -102,6 +109,23 @@ public class TornadoVMInterpreter {
 
     private GridScheduler gridScheduler;
 
+    private ExecutionPhase executionPhase = ExecutionPhase.ALL;
+
+    /**
+     * Whether an execution ends with a marker on the device and a flush of its
+     * command queue. Iterations that are followed by more iterations without
+     * reading any result from the host skip both.
+     */
+    private boolean synchronise = true;
+
+    /**
+     * Commands recorded in the last execution that did not compile any kernel.
+     * They are replayed instead of the bytecodes when
+     * {@link TornadoOptions#VM_REPLAY} is enabled.
+     */
+    private List<RecordedCommand> recordedCommands;
+    private boolean compiledInExecution;
+
     /**
      * It constructs a new TornadoVMInterpreter object.
      *
@@ -137,6 +161,8 @@ public class TornadoVMInterpreter {
         localTaskList = executionContext.getTasksForDevice(deviceForInterpreter.getDeviceContext(), deviceForInterpreter.getDriverIndex());
 
         installedCodes = new TornadoInstalledCode[localTaskList.size()];
+        sharedKernelKeys = new SharedKernelRegistry.Key[localTaskList.size()];
+        kernelVariantCaches = new KernelVariantCache[localTaskList.size()];
 
         for (int i = 0; i < events.length; i++) {
             Arrays.fill(events[i], -1);
@@ -187,10 +213,26 @@ public class TornadoVMInterpreter {
         }
     }
 
+    public void setExecutionPhase(ExecutionPhase executionPhase, boolean synchronise) {
+        this.executionPhase = executionPhase;
+        this.synchronise = synchronise;
+    }
+
     public void setGridScheduler(GridScheduler gridScheduler) {
+        if (this.gridScheduler != gridScheduler) {
+            invalidateRecordedCommands();
+        }
         this.gridScheduler = gridScheduler;
     }
 
+    /**
+     * Discards the recorded commands, so the next execution runs the bytecodes
+     * again.
+     */
+    public void invalidateRecordedCommands() {
+        recordedCommands = null;
+    }
+
     public void printTimes() {
         System.out.printf("bc: complete %d iterations - %.9f s mean and %.9f s total%n", invocations, (totalTime / invocations), totalTime);
     }
@@ -264,7 +306,17 @@ public class TornadoVMInterpreter {
                     .debugHighLightHelper(" Running in thread: ")).append(Thread.currentThread().getName()).append("\n");
         }
 
-        while (bytecodeResult.hasRemaining()) {
+        final boolean replay = !isWarmup && canReplay();
+        final List<RecordedCommand> recording = (!replay && !isWarmup && recordedCommands == null && isReplayEnabled()) ? new ArrayList<>() : null;
+        compiledInExecution = false;
+
+        if (replay) {
+            for (RecordedCommand command : recordedCommands) {
+                lastEvent = command.execute(lastEvent);
+            }
+        }
+
+        while (!replay && bytecodeResult.hasRemaining()) {
             final byte op = bytecodeResult.get();
             if (op == TornadoVMBytecodes.ALLOC.value()) {
                 final long sizeBatch = bytecodeResult.getLong();
@@ -276,12 +328,18 @@ public class TornadoVMInterpreter {
                 if (isWarmup) {
                     continue;
                 }
+                if (recording != null) {
+                    recording.add(last -> executeAlloc(null, args, sizeBatch));
+                }
                 lastEvent = executeAlloc(tornadoVMBytecodeList, args, sizeBatch);
             } else if (op == TornadoVMBytecodes.DEALLOC.value()) {
                 final int objectIndex = bytecodeResult.getInt();
                 if (isWarmup) {
                     continue;
                 }
+                if (recording != null) {
+                    recording.add(last -> executeDeAlloc(null, objectIndex));
+                }
                 lastEvent = executeDeAlloc(tornadoVMBytecodeList, objectIndex);
             } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ONCE.value()) {
                 final int objectIndex = bytecodeResult.getInt();
@@ -289,9 +347,15 @@ public class TornadoVMInterpreter {
                 final long offset = bytecodeResult.getLong();
                 final long sizeBatch = bytecodeResult.getLong();
                 final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
-                if (isWarmup) {
+                if (isWarmup || !executionPhase.isCopyIn()) {
                     continue;
                 }
+                if (recording != null) {
+                    recording.add(last -> {
+                        transferHostToDeviceOnce(null, objectIndex, offset, eventList, sizeBatch, waitList);
+                        return last;
+                    });
+                }
                 transferHostToDeviceOnce(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecodes.TRANSFER_HOST_TO_DEVICE_ALWAYS.value()) {
                 final int objectIndex = bytecodeResult.getInt();
@@ -299,9 +363,15 @@ public class TornadoVMInterpreter {
                 final long offset = bytecodeResult.getLong();
                 final long sizeBatch = bytecodeResult.getLong();
                 final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
-                if (isWarmup) {
+                if (isWarmup || !executionPhase.isCopyIn()) {
                     continue;
                 }
+                if (recording != null) {
+                    recording.add(last -> {
+                        transferHostToDeviceAlways(null, objectIndex, offset, eventList, sizeBatch, waitList);
+                        return last;
+                    });
+                }
                 transferHostToDeviceAlways(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS.value()) {
                 final int objectIndex = bytecodeResult.getInt();
@@ -309,9 +379,12 @@ public class TornadoVMInterpreter {
                 final long offset = bytecodeResult.getLong();
                 final long sizeBatch = bytecodeResult.getLong();
                 final int[] waitList = (useDependencies) ? events[eventList] : null;
-                if (isWarmup) {
+                if (isWarmup || !executionPhase.isCopyOut()) {
                     continue;
                 }
+                if (recording != null) {
+                    recording.add(last -> transferDeviceToHost(null, objectIndex, offset, eventList, sizeBatch, waitList));
+                }
                 lastEvent = transferDeviceToHost(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecodes.TRANSFER_DEVICE_TO_HOST_ALWAYS_BLOCKING.value()) {
                 final int objectIndex = bytecodeResult.getInt();
@@ -319,9 +392,15 @@ public class TornadoVMInterpreter {
                 final long offset = bytecodeResult.getLong();
                 final long sizeBatch = bytecodeResult.getLong();
                 final int[] waitList = (useDependencies) ? events[eventList] : null;
-                if (isWarmup) {
+                if (isWarmup || !executionPhase.isCopyOut()) {
                     continue;
                 }
+                if (recording != null) {
+                    recording.add(last -> {
+                        transferDeviceToHostBlocking(null, objectIndex, offset, eventList, sizeBatch, waitList);
+                        return last;
+                    });
+                }
                 transferDeviceToHostBlocking(tornadoVMBytecodeList, objectIndex, offset, eventList, sizeBatch, waitList);
             } else if (op == TornadoVMBytecodes.LAUNCH.value()) {
                 final int callWrapperIndex = bytecodeResult.getInt();
@@ -331,16 +410,26 @@ public class TornadoVMInterpreter {
                 final long offset = bytecodeResult.getLong();
                 final long batchThreads = bytecodeResult.getLong();
                 XPUExecutionFrame info = compileTaskFromBytecodeToBinary(callWrapperIndex, numArgs, eventList, taskIndex, batchThreads);
-                if (isWarmup) {
+                if (isWarmup || !executionPhase.isLaunch()) {
                     popArgumentsFromCall(numArgs);
                     continue;
                 }
-                lastEvent = executeLaunch(tornadoVMBytecodeList, numArgs, eventList, taskIndex, batchThreads, offset, info);
+                final LaunchArguments arguments = readLaunchArguments(numArgs);
+                if (recording != null) {
+                    recording.add(last -> replayLaunch(callWrapperIndex, arguments, eventList, taskIndex, batchThreads, offset));
+                }
+                lastEvent = executeLaunch(tornadoVMBytecodeList, arguments, eventList, taskIndex, batchThreads, offset, info);
             } else if (op == TornadoVMBytecodes.ADD_DEPENDENCY.value()) {
                 final int eventList = bytecodeResult.getInt();
                 if (isWarmup) {
                     continue;
                 }
+                if (recording != null) {
+                    recording.add(last -> {
+                        executeDependency(null, last, eventList);
+                        return last;
+                    });
+                }
                 executeDependency(tornadoVMBytecodeList, lastEvent, eventList);
             } else if (op == TornadoVMBytecodes.BARRIER.value()) {
                 final int eventList = bytecodeResult.getInt();
@@ -348,11 +437,18 @@ public class TornadoVMInterpreter {
                 if (isWarmup) {
                     continue;
                 }
+                if (recording != null) {
+                    recording.add(last -> executeBarrier(null, eventList, waitList));
+                }
                 lastEvent = executeBarrier(tornadoVMBytecodeList, eventList, waitList);
             } else if (op == TornadoVMBytecodes.END.value()) {
                 if (!isWarmup && TornadoOptions.PRINT_BYTECODES) {
                     tornadoVMBytecodeList.append("bc: ").append(InterpreterUtilities.debugHighLightBC("END\n")).append("\n");
                 }
+                if (recording != null && !compiledInExecution) {
+                    // Executions that compile kernels may still change the code of the tasks
+                    recordedCommands = recording;
+                }
                 break;
             } else {
                 throwErrorInterpreter(op);
@@ -360,7 +456,7 @@ public class TornadoVMInterpreter {
         }
 
         Event barrier = EMPTY_EVENT;
-        if (!isWarmup) {
+        if (!isWarmup && synchronise) {
             if (useDependencies) {
                 final int event = deviceForInterpreter.enqueueMarker(executionContext.getExecutionPlanId());
                 barrier = deviceForInterpreter.resolveEvent(executionContext.getExecutionPlanId(), event);
@@ -391,6 +487,29 @@ public class TornadoVMInterpreter {
         return barrier;
     }
 
+    private boolean isReplayEnabled() {
+        // The profiler registers the tasks while decoding the bytecodes
+        return TornadoOptions.VM_REPLAY && !TornadoOptions.PRINT_BYTECODES && executionPhase == ExecutionPhase.ALL && !(timeProfiler instanceof TimeProfiler);
+    }
+
+    /**
+     * Checks whether the recorded commands are still valid for the next execution.
+     * They are discarded when a kernel has to be compiled again.
+     */
+    private boolean canReplay() {
+        if (recordedCommands == null || !isReplayEnabled()) {
+            return false;
+        }
+        boolean valid = !executionContext.redeployOnDevice() && !deviceForInterpreter.getDeviceContext().wasReset();
+        for (int i = 0; valid && i < installedCodes.length; i++) {
+            valid = !shouldCompile(installedCodes[i]);
+        }
+        if (!valid) {
+            invalidateRecordedCommands();
+        }
+        return valid;
+    }
+
     private void initWaitEventList() {
         for (int[] waitList : events) {
             Arrays.fill(waitList, -1);
@@ -411,7 +530,35 @@ public class TornadoVMInterpreter {
             }
         }
 
-        return deviceForInterpreter.allocateObjects(objects, sizeBatch, objectStates);
+        int allocationEvent = deviceForInterpreter.allocateObjects(objects, sizeBatch, objectStates);
+        registerDeviceBufferRelease(objects, objectStates);
+        return allocationEvent;
+    }
+
+    /**
+     * Native arrays release their device buffers when they are closed, without
+     * waiting for the execution plan to be closed. The release action is
+     * registered once per device buffer.
+     */
+    private void registerDeviceBufferRelease(Object[] objects, XPUDeviceBufferState[] objectStates) {
+        final TornadoXPUDevice device = deviceForInterpreter;
+        for (int i = 0; i < objects.length; i++) {
+            if (objects[i] instanceof TornadoNativeArray nativeArray) {
+                if (nativeArray.isClosed()) {
+                    throw new TornadoRuntimeException(STR."[ERROR] The native array \{nativeArray} has been closed and cannot be used in a task-graph");
+                }
+                final XPUDeviceBufferState objectState = objectStates[i];
+                if (nativeArray.hasReleaseAction(objectState)) {
+                    continue;
+                }
+                nativeArray.registerReleaseAction(objectState, () -> {
+                    objectState.setLockBuffer(false);
+                    if (objectState.hasObjectBuffer()) {
+                        device.deallocate(objectState);
+                    }
+                });
+            }
+        }
     }
 
     private int executeDeAlloc(StringBuilder tornadoVMBytecodeList, final int objectIndex) {
@@ -425,6 +572,10 @@ public class TornadoVMInterpreter {
         }
 
         final XPUDeviceBufferState objectState = resolveObjectState(objectIndex);
+        if (!objectState.hasObjectBuffer()) {
+            // The buffer has already been released by closing the native array
+            return -1;
+        }
         return deviceForInterpreter.deallocate(objectState);
     }
 
@@ -568,6 +719,109 @@ public class TornadoVMInterpreter {
         resetEventIndexes(eventList);
     }
 
+    /**
+     * Returns the kernel variant compiled for the current values of the scalar
+     * arguments of the task, compiling a new variant on a miss. When the variant
+     * cache of the task thrashes, the new variant keeps the scalars as kernel
+     * parameters where possible, so it can be reused for other values. The
+     * interpreter holds a reference to the variant until it is released.
+     */
+    private TornadoInstalledCode installKernelVariant(CompilableTask task, int localTaskIndex) {
+        releaseKernelVariant(localTaskIndex);
+        final Object[] arguments = task.getArguments();
+        if (!KernelVariantCache.isSpecialisable(arguments)) {
+            return deviceForInterpreter.installCode(task);
+        }
+
+        final TaskMetaData meta = task.meta();
+        final KernelVariantCache variants = KernelVariantCache.forTask(task);
+        TornadoInstalledCode installedCode = variants.lookup(arguments, task.getBatchThreads(), meta);
+        if (installedCode != null) {
+            kernelVariantCaches[localTaskIndex] = variants;
+            return installedCode;
+        }
+
+        meta.setGenericScalarArguments(variants.isThrashing());
+        try {
+            // The device code cache does not distinguish between variants
+            task.forceCompilation();
+            installedCode = deviceForInterpreter.installCode(task);
+            variants.insert(arguments, task.getBatchThreads(), installedCode, meta);
+            if (installedCode != null) {
+                kernelVariantCaches[localTaskIndex] = variants;
+            }
+        } finally {
+            meta.setGenericScalarArguments(false);
+        }
+        return installedCode;
+    }
+
+    private TornadoInstalledCode installTask(SchedulableTask task, int localTaskIndex) {
+        if (TornadoOptions.SPECIALISED_VARIANTS && task instanceof CompilableTask compilableTask && !compilableTask.isGridSchedulerEnabled()) {
+            return installKernelVariant(compilableTask, localTaskIndex);
+        }
+        return deviceForInterpreter.installCode(task);
+    }
+
+    private void releaseKernelVariant(int localTaskIndex) {
+        if (kernelVariantCaches[localTaskIndex] != null) {
+            kernelVariantCaches[localTaskIndex].release(installedCodes[localTaskIndex]);
+            kernelVariantCaches[localTaskIndex] = null;
+        }
+    }
+
+    /**
+     * Returns the kernel that another execution plan already installed for the
+     * task on this device, installing and registering it on a miss. The registry
+     * already identifies kernels by their specialisation, so shared kernels do
+     * not go through the variant caches.
+     */
+    private TornadoInstalledCode installSharedKernel(CompilableTask task, int localTaskIndex) {
+        releaseSharedKernel(localTaskIndex);
+        final SharedKernelRegistry.Key key = SharedKernelRegistry.keyFor(task);
+        if (key == null) {
+            return deviceForInterpreter.installCode(task);
+        }
+
+        TornadoInstalledCode installedCode = SharedKernelRegistry.acquire(key, task.getArguments(), task.meta());
+        if (installedCode == null) {
+            // The device code cache is indexed by task name, so it may hold the code of
+            // a different specialisation, or code evicted from the registry
+            task.forceCompilation();
+            installedCode = deviceForInterpreter.installCode(task);
+            if (installedCode == null) {
+                return null;
+            }
+            installedCode = SharedKernelRegistry.register(key, installedCode, task.meta());
+        }
+        sharedKernelKeys[localTaskIndex] = key;
+        return installedCode;
+    }
+
+    private void releaseSharedKernel(int localTaskIndex) {
+        if (sharedKernelKeys[localTaskIndex] != null) {
+            SharedKernelRegistry.release(sharedKernelKeys[localTaskIndex]);
+            sharedKernelKeys[localTaskIndex] = null;
+        }
+    }
+
+    /**
+     * Drops the installed code of a task before it is recompiled. Shared kernels
+     * and kernel variants are only released, since other execution plans may
+     * still use them.
+     */
+    private void discardInstalledCode(int localTaskIndex) {
+        if (sharedKernelKeys[localTaskIndex] != null) {
+            releaseSharedKernel(localTaskIndex);
+            installedCodes[localTaskIndex] = null;
+        } else if (kernelVariantCaches[localTaskIndex] != null) {
+            releaseKernelVariant(localTaskIndex);
+            installedCodes[localTaskIndex] = null;
+        } else {
+            installedCodes[localTaskIndex].invalidate();
+        }
+    }
+
     private XPUExecutionFrame compileTaskFromBytecodeToBinary(final int callWrapperIndex, final int numArgs, final int eventList, final int taskIndex, final long batchThreads) {
 
         if (deviceForInterpreter.getDeviceContext().wasReset() && finishedWarmup) {
@@ -587,8 +841,18 @@ public class TornadoVMInterpreter {
         // the kernel needs to be recompiled.
         if (!shouldCompile(installedCodes[globalToLocalTaskIndex(taskIndex)]) && task.getBatchThreads() != 0 && task.getBatchThreads() != batchThreads) {
             task.forceCompilation();
-            installedCodes[globalToLocalTaskIndex(taskIndex)].invalidate();
+            discardInstalledCode(globalToLocalTaskIndex(taskIndex));
         }
+
+        // Check if the kernel was generated with non-aliasing parameters but the
+        // same array is now passed more than once. If true, then the kernel needs to
+        // be recompiled without the restrict qualifiers.
+        if (!shouldCompile(installedCodes[globalToLocalTaskIndex(taskIndex)]) && meta instanceof TaskMetaData taskMetaData && taskMetaData.isNoAliasArguments()
+                && !taskMetaData.hasDistinctArrayArguments(task.getArguments())) {
+            task.forceCompilation();
+            discardInstalledCode(globalToLocalTaskIndex(taskIndex));
+        }
+
         // Set the batch size in the task information
         task.setBatchThreads(batchThreads);
         task.enableDefaultThreadScheduler(executionContext.useDefaultThreadScheduler());
@@ -606,6 +870,7 @@ public class TornadoVMInterpreter {
         }
 
         if (shouldCompile(installedCodes[globalToLocalTaskIndex(taskIndex)])) {
+            compiledInExecution = true;
             task.mapTo(deviceForInterpreter);
             try {
                 task.attachProfiler(timeProfiler);
@@ -616,7 +881,11 @@ public class TornadoVMInterpreter {
                     task.forceCompilation();
                 }
 
-                installedCodes[globalToLocalTaskIndex(taskIndex)] = deviceForInterpreter.installCode(task);
+                if (TornadoOptions.SHARED_KERNELS && task instanceof CompilableTask compilableTask && !compilableTask.isGridSchedulerEnabled()) {
+                    installedCodes[globalToLocalTaskIndex(taskIndex)] = installSharedKernel(compilableTask, globalToLocalTaskIndex(taskIndex));
+                } else {
+                    installedCodes[globalToLocalTaskIndex(taskIndex)] = installTask(task, globalToLocalTaskIndex(taskIndex));
+                }
                 profilerUpdateForPreCompiledTask(task);
             } catch (TornadoBailoutRuntimeException e) {
                 throw new TornadoBailoutRuntimeException("Unable to compile " + task.getFullName() + "\n" + "The internal error is: " + e.getMessage() + "\n" + "Stacktrace: " + Arrays.toString(e
@@ -637,7 +906,22 @@ public class TornadoVMInterpreter {
         }
     }
 
-    private int executeLaunch(StringBuilder tornadoVMBytecodeList, final int numArgs, final int eventList, final int taskIndex, final long batchThreads, final long offset,
+    private LaunchArguments readLaunchArguments(int numArgs) {
+        final byte[] types = new byte[numArgs];
+        final int[] indexes = new int[numArgs];
+        for (int i = 0; i < numArgs; i++) {
+            types[i] = bytecodeResult.get();
+            indexes[i] = bytecodeResult.getInt();
+        }
+        return new LaunchArguments(types, indexes);
+    }
+
+    private int replayLaunch(final int callWrapperIndex, final LaunchArguments arguments, final int eventList, final int taskIndex, final long batchThreads, final long offset) {
+        final int[] waitList = (useDependencies && eventList != -1) ? events[eventList] : null;
+        return executeLaunch(null, arguments, eventList, taskIndex, batchThreads, offset, new XPUExecutionFrame(kernelStackFrame[callWrapperIndex], waitList));
+    }
+
+    private int executeLaunch(StringBuilder tornadoVMBytecodeList, final LaunchArguments arguments, final int eventList, final int taskIndex, final long batchThreads, final long offset,
             XPUExecutionFrame executionFrame) {
 
         final SchedulableTask task = tasks.get(taskIndex);
@@ -674,9 +958,9 @@ public class TornadoVMInterpreter {
 
         XPUBuffer bufferAtomics = null;
 
-        for (int i = 0; i < numArgs; i++) {
-            final byte argType = bytecodeResult.get();
-            final int argIndex = bytecodeResult.getInt();
+        for (int i = 0; i < arguments.types.length; i++) {
+            final byte argType = arguments.types[i];
+            final int argIndex = arguments.indexes[i];
 
             if (argType == TornadoVMBytecodes.PUSH_CONSTANT_ARGUMENT.value()) {
                 // Add a constant argument
@@ -856,7 +1140,35 @@ public class TornadoVMInterpreter {
     }
 
     public void clearInstalledCode() {
+        for (int i = 0; i < sharedKernelKeys.length; i++) {
+            releaseSharedKernel(i);
+            releaseKernelVariant(i);
+        }
         Arrays.fill(installedCodes, null);
+        invalidateRecordedCommands();
+    }
+
+    @FunctionalInterface
+    private interface RecordedCommand {
+        /**
+         * Issues the command again.
+         *
+         * @param lastEvent
+         *     Event of the last command issued in the current execution.
+         * @return The event of the command, or {@code lastEvent} if the command
+         *     does not produce a new one.
+         */
+        int execute(int lastEvent);
+    }
+
+    private static class LaunchArguments {
+        private final byte[] types;
+        private final int[] indexes;
+
+        LaunchArguments(byte[] types, int[] indexes) {
+            this.types = types;
+            this.indexes = indexes;
+        }
     }
 
     private static class XPUExecutionFrame {
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.profiler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.graalvm.compiler.nodes.StructuredGraph;
+import org.graalvm.compiler.phases.BasePhase;
+import org.graalvm.compiler.phases.PhaseSuite;
+
+import uk.ac.manchester.tornado.api.profiler.CompilationReport;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Collects the {@link CompilationReport} of a task while it is compiled. The
+ * recorder is kept in the {@link TaskMetaData} of the task, so the compiler of
+ * each backend can time its tiers and stages without changing its interfaces.
+ */
+public final class CompilationRecorder {
+
+    public static final String HIGH_TIER = "HighTier";
+    public static final String MID_TIER = "MidTier";
+    public static final String LOW_TIER = "LowTier";
+
+    private final String taskName;
+    private final String backend;
+    private final long sketchTime;
+    private final List<CompilationReport.PhaseTiming> phases;
+    private long lirGenerationTime;
+    private long codeEmissionTime;
+    private long driverBuildTime;
+
+    private CompilationRecorder(String taskName, String backend, long sketchTime) {
+        this.taskName = taskName;
+        this.backend = backend;
+        this.sketchTime = sketchTime;
+        this.phases = new ArrayList<>();
+    }
+
+    /**
+     * Starts recording the compilation of a task, if compilation reports are
+     * enabled. Any previous report of the task is discarded.
+     */
+    public static void start(TaskMetaData meta, String backend, long sketchTime) {
+        meta.setCompilationRecorder(TornadoOptions.COMPILATION_REPORT ? new CompilationRecorder(meta.getId(), backend, sketchTime) : null);
+    }
+
+    /**
+     * @return the recorder of the compilation in progress, or null if the
+     *     compilation is not being recorded (e.g., non-inlined methods).
+     */
+    public static CompilationRecorder of(TaskMetaData meta) {
+        return (meta != null) ? meta.getCompilationRecorder() : null;
+    }
+
+    /**
+     * Applies a tier of the compiler to the graph. If the compilation is being
+     * recorded, the phases of the tier are applied one by one to measure the time
+     * and the change in the number of nodes of each phase.
+     */
+    public static <C> void applyTier(TaskMetaData meta, String tier, PhaseSuite<C> suite, StructuredGraph graph, C context) {
+        CompilationRecorder recorder = of(meta);
+        if (recorder == null) {
+            suite.apply(graph, context);
+            return;
+        }
+        for (BasePhase<? super C> phase : suite.getPhases()) {
+            final int nodesBefore = graph.getNodeCount();
+            final long start = System.nanoTime();
+            phase.apply(graph, context);
+            final long end = System.nanoTime();
+            recorder.phases.add(new CompilationReport.PhaseTiming(tier, phase.getClass().getSimpleName(), end - start, nodesBefore, graph.getNodeCount()));
+        }
+    }
+
+    public void addLIRGenerationTime(long time) {
+        lirGenerationTime += time;
+    }
+
+    public void addCodeEmissionTime(long time) {
+        codeEmissionTime += time;
+    }
+
+    public void setDriverBuildTime(long time) {
+        driverBuildTime = time;
+    }
+
+    public CompilationReport toReport() {
+        return new CompilationReport(taskName, backend, List.copyOf(phases), sketchTime, lirGenerationTime, codeEmissionTime, driverBuildTime);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.profiler;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.costmodel.KernelFeatures;
+
+/**
+ * Keeps the code features of every kernel compiled by TornadoVM, so they can be
+ * used by the cost model to select a device without executing the kernel first.
+ * Kernels are identified by the fully qualified name of the declaring class,
+ * the method name and the method descriptor, so overloaded methods are kept
+ * apart.
+ */
+public final class KernelFeatureRegistry {
+
+    private static final ConcurrentHashMap<String, KernelFeatures> FEATURES = new ConcurrentHashMap<>();
+
+    private KernelFeatureRegistry() {
+    }
+
+    public static String getKernelKey(String declaringClassName, String methodName, String methodDescriptor) {
+        return declaringClassName + "." + methodName + methodDescriptor;
+    }
+
+    public static String getKernelKey(Method method) {
+        String methodDescriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+        return getKernelKey(method.getDeclaringClass().getName(), method.getName(), methodDescriptor);
+    }
+
+    public static void register(String kernelKey, Map<ProfilerCodeFeatures, Integer> irFeatures) {
+        FEATURES.put(kernelKey, toKernelFeatures(irFeatures));
+    }
+
+    /**
+     * @return features of the kernel, or {@link KernelFeatures#UNKNOWN} if the
+     *     kernel has not been compiled yet.
+     */
+    public static KernelFeatures get(String kernelKey) {
+        return FEATURES.getOrDefault(kernelKey, KernelFeatures.UNKNOWN);
+    }
+
+    public static boolean contains(String kernelKey) {
+        return FEATURES.containsKey(kernelKey);
+    }
+
+    static KernelFeatures toKernelFeatures(Map<ProfilerCodeFeatures, Integer> irFeatures) {
+        int doubles = get(irFeatures, ProfilerCodeFeatures.DOUBLES);
+        return new KernelFeatures(get(irFeatures, ProfilerCodeFeatures.GLOBAL_LOADS), //
+                get(irFeatures, ProfilerCodeFeatures.GLOBAL_STORES), //
+                get(irFeatures, ProfilerCodeFeatures.LOCAL_LOADS) + get(irFeatures, ProfilerCodeFeatures.LOCAL_STORES), //
+                get(irFeatures, ProfilerCodeFeatures.INTEGER_OPS) + get(irFeatures, ProfilerCodeFeatures.I_CMP) + get(irFeatures, ProfilerCodeFeatures.CAST), //
+                get(irFeatures, ProfilerCodeFeatures.FLOAT_OPS) - doubles + get(irFeatures, ProfilerCodeFeatures.F_CMP) + get(irFeatures, ProfilerCodeFeatures.VECTORS), //
+                doubles, //
+                get(irFeatures, ProfilerCodeFeatures.F_MATH) + get(irFeatures, ProfilerCodeFeatures.I_MATH), //
+                get(irFeatures, ProfilerCodeFeatures.IFS) + get(irFeatures, ProfilerCodeFeatures.CASE), //
+                get(irFeatures, ProfilerCodeFeatures.LOOPS), //
+                get(irFeatures, ProfilerCodeFeatures.PARALLEL_LOOPS));
+    }
+
+    private static int get(Map<ProfilerCodeFeatures, Integer> irFeatures, ProfilerCodeFeatures feature) {
+        return irFeatures.getOrDefault(feature, 0);
+    }
+}
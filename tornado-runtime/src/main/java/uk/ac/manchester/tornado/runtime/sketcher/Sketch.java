@@ -37,9 +37,16 @@ public class Sketch {
      */
     private final Access[] argumentsAccess;
 
-    Sketch(Graph graph, Access[] argumentAccesses) {
+    /**
+     * Time, in nanoseconds, to build the sketch, including the sketches of its
+     * non-inlined callees.
+     */
+    private final long buildTime;
+
+    Sketch(Graph graph, Access[] argumentAccesses, long buildTime) {
         this.graph = graph;
         this.argumentsAccess = argumentAccesses;
+        this.buildTime = buildTime;
     }
 
     public Graph getGraph() {
@@ -50,4 +57,8 @@ public class Sketch {
         return argumentsAccess;
     }
 
+    public long getBuildTime() {
+        return buildTime;
+    }
+
 }
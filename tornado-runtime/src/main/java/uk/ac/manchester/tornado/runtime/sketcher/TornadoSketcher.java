@@ -33,8 +33,9 @@ import static uk.ac.manchester.tornado.runtime.TornadoCoreRuntime.getTornadoExec
 import static uk.ac.manchester.tornado.runtime.common.Tornado.fatal;
 import static uk.ac.manchester.tornado.runtime.common.Tornado.info;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -61,7 +62,6 @@ import org.graalvm.compiler.phases.util.Providers;
 
 import jdk.vm.ci.meta.ResolvedJavaMethod;
 import uk.ac.manchester.tornado.api.common.Access;
-import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoInternalError;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
@@ -75,39 +75,27 @@ import uk.ac.manchester.tornado.runtime.graal.phases.TornadoSketchTierContext;
 public class TornadoSketcher {
 
     private static final AtomicInteger sketchId = new AtomicInteger(0);
-    private static final Map<ResolvedJavaMethod, List<TornadoSketcherCacheEntry>> cache = new ConcurrentHashMap<>();
+    /**
+     * Sketches depend on the method and on the backend that builds them (graph
+     * builder plugins and sketch tier), but not on the device. Therefore, a single
+     * sketch per method is shared by all devices of a backend.
+     */
+    private static final Map<SketchKey, TornadoSketcherCacheEntry> cache = new ConcurrentHashMap<>();
+    /**
+     * Hash of the bytecode of each resolved method. The JVMCI runtime hands out a
+     * single resolved method per method version, so the bytecode is only hashed
+     * the first time a method is seen and not on every sketch request.
+     */
+    private static final Map<ResolvedJavaMethod, Integer> codeHashes = Collections.synchronizedMap(new IdentityHashMap<>());
     private static final TimerKey Sketcher = DebugContext.timer("Sketcher");
     private static final OptimisticOptimizations optimisticOpts = OptimisticOptimizations.ALL;
 
-    private static boolean cacheContainsSketch(ResolvedJavaMethod method, int driverIndex, int deviceIndex) {
-        List<TornadoSketcherCacheEntry> entries = cache.get(method);
-        if (entries == null) {
-            return false;
-        }
-
-        synchronized (entries) {
-            for (TornadoSketcherCacheEntry entry : entries) {
-                if (entry.matchesDriverAndDevice(driverIndex, deviceIndex)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     public static Sketch lookup(ResolvedJavaMethod resolvedMethod, int driverIndex, int deviceIndex) {
         Sketch sketch = null;
-        guarantee(cache.containsKey(resolvedMethod), "cache miss for: %s", resolvedMethod.getName());
-        List<TornadoSketcherCacheEntry> entries = cache.get(resolvedMethod);
+        final TornadoSketcherCacheEntry entry = cache.get(new SketchKey(resolvedMethod, driverIndex));
+        guarantee(entry != null, "cache miss for: %s", resolvedMethod.getName());
         try {
-            synchronized (entries) {
-                for (TornadoSketcherCacheEntry entry : entries) {
-                    if (entry.matchesDriverAndDevice(driverIndex, deviceIndex)) {
-                        sketch = entry.getSketchFuture().get();
-                        break;
-                    }
-                }
-            }
+            sketch = entry.getSketchFuture().get();
             guarantee(sketch != null, "No sketch available for %d:%d %s", driverIndex, deviceIndex, resolvedMethod.getName());
         } catch (InterruptedException | ExecutionException e) {
             fatal("Failed to retrieve sketch for %d:%d %s ", driverIndex, deviceIndex, resolvedMethod.getName());
@@ -126,18 +114,43 @@ public class TornadoSketcher {
         return sketch;
     }
 
+    private static int getCodeHash(ResolvedJavaMethod resolvedMethod) {
+        return codeHashes.computeIfAbsent(resolvedMethod, method -> Arrays.hashCode(method.getCode()));
+    }
+
+    /**
+     * Checks whether a sketch of the current bytecode of a method is cached for a
+     * backend.
+     */
+    public static boolean isCached(ResolvedJavaMethod resolvedMethod, int driverIndex) {
+        final TornadoSketcherCacheEntry entry = cache.get(new SketchKey(resolvedMethod, driverIndex));
+        return entry != null && entry.codeHash == getCodeHash(resolvedMethod);
+    }
+
     static void buildSketch(SketchRequest request) {
-        if (cacheContainsSketch(request.resolvedMethod, request.driverIndex, request.deviceIndex)) {
-            return;
-        }
-        List<TornadoSketcherCacheEntry> sketches = cache.computeIfAbsent(request.resolvedMethod, k -> Collections.synchronizedList(new ArrayList<>(TornadoVMBackendType.values().length)));
-        Future<Sketch> result = getTornadoExecutor().submit(new TornadoSketcherCallable(request));
-        sketches.add(new TornadoSketcherCacheEntry(request.driverIndex, request.deviceIndex, result));
+        final int codeHash = getCodeHash(request.resolvedMethod);
+        // A sketch is rebuilt if the bytecode of the method has been redefined
+        cache.compute(new SketchKey(request.resolvedMethod, request.driverIndex), (key, entry) -> {
+            if (entry != null && entry.codeHash == codeHash) {
+                return entry;
+            }
+            return new TornadoSketcherCacheEntry(codeHash, getTornadoExecutor().submit(new TornadoSketcherCallable(request)));
+        });
+    }
+
+    /**
+     * Removes the sketches of a method for all backends, e.g., after its class has
+     * been redefined.
+     */
+    public static void invalidate(ResolvedJavaMethod resolvedMethod) {
+        cache.keySet().removeIf(key -> key.method().equals(resolvedMethod));
+        codeHashes.keySet().removeIf(method -> method.equals(resolvedMethod));
     }
 
     private static Sketch buildSketch(ResolvedJavaMethod resolvedMethod, Providers providers, PhaseSuite<HighTierContext> graphBuilderSuite, TornadoSketchTier sketchTier, int driverIndex,
             int deviceIndex) {
         info("Building sketch of %s", resolvedMethod.getName());
+        final long startTime = System.nanoTime();
         TornadoCompilerIdentifier id = new TornadoCompilerIdentifier("sketch-" + resolvedMethod.getName(), sketchId.getAndIncrement());
         Builder builder = new Builder(getOptions(), getDebugContext(), AllowAssumptions.YES);
         builder.method(resolvedMethod);
@@ -180,7 +193,7 @@ public class TornadoSketcher {
                 mergeAccesses(methodAccesses, invoke.callTarget(), sketch.getArgumentsAccess());
             });
 
-            return new Sketch(graph.copy(TornadoCoreRuntime.getDebugContext()), methodAccesses);
+            return new Sketch(graph.copy(TornadoCoreRuntime.getDebugContext()), methodAccesses, System.nanoTime() - startTime);
 
         } catch (Throwable e) {
             fatal("unable to build sketch for method: %s (%s)", resolvedMethod.getName(), e.getMessage());
@@ -228,22 +241,19 @@ public class TornadoSketcher {
         }
     }
 
+    private record SketchKey(ResolvedJavaMethod method, int driverIndex) {
+    }
+
     private static final class TornadoSketcherCacheEntry {
 
-        private final int driverIndex;
-        private final int deviceIndex;
+        private final int codeHash;
         private final Future<Sketch> sketchFuture;
 
-        private TornadoSketcherCacheEntry(int driverIndex, int deviceIndex, Future<Sketch> sketchFuture) {
-            this.driverIndex = driverIndex;
-            this.deviceIndex = deviceIndex;
+        private TornadoSketcherCacheEntry(int codeHash, Future<Sketch> sketchFuture) {
+            this.codeHash = codeHash;
             this.sketchFuture = sketchFuture;
         }
 
-        public boolean matchesDriverAndDevice(int driverIndex, int deviceIndex) {
-            return this.driverIndex == driverIndex && this.deviceIndex == deviceIndex;
-        }
-
         public Future<Sketch> getSketchFuture() {
             return sketchFuture;
         }
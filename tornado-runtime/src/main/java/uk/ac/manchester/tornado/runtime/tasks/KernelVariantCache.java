@@ -0,0 +1,287 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import uk.ac.manchester.tornado.api.KernelContext;
+import uk.ac.manchester.tornado.api.types.HalfFloat;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Bounded LRU cache of the kernel variants compiled for a task on a device. The
+ * task specialisation folds the values of scalar arguments and the lengths of
+ * arrays into the kernel, so each variant is identified by those values. Once
+ * the cache starts to thrash, the runtime compiles generic variants, in which
+ * the scalars that do not change the shape of the kernel are kept as kernel
+ * parameters. A generic variant matches any value at those positions.
+ * <p>
+ * The caches are shared by all execution plans, so each plan that uses a
+ * variant holds a reference to it until it releases the variant. Evicted
+ * variants and variants whose installed code is discarded are only invalidated
+ * once no plan references them.
+ * </p>
+ */
+public final class KernelVariantCache {
+
+    private static final ConcurrentHashMap<String, KernelVariantCache> CACHES = new ConcurrentHashMap<>();
+
+    private static final Object GENERIC = new Object();
+
+    private final int capacity;
+    private final LinkedHashMap<List<Object>, Variant> variants;
+    private final List<Variant> evictedVariants;
+    private int evictions;
+
+    KernelVariantCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.variants = new LinkedHashMap<>(16, 0.75f, true);
+        this.evictedVariants = new ArrayList<>();
+    }
+
+    /**
+     * @return the variant cache of the task for the device the task is currently
+     *     mapped to.
+     */
+    public static KernelVariantCache forTask(CompilableTask task) {
+        TaskMetaData meta = task.meta();
+        String key = STR."\{task.getId()}.\{task.getMethod().getDeclaringClass().getName()}.\{task.getMethod().getName()}@\{meta.getDriverIndex()}:\{meta.getDeviceIndex()}[\{meta.getCompilerFlags()}]";
+        return CACHES.computeIfAbsent(key, k -> new KernelVariantCache(TornadoOptions.SPECIALISED_VARIANTS_CACHE_SIZE));
+    }
+
+    /**
+     * Variants can only be identified by the arguments if everything the task
+     * specialisation folds into the kernel is part of the key: scalars and the
+     * length of flat arrays.
+     *
+     * @return true if all arguments are scalars, flat arrays or the
+     *     {@link KernelContext}.
+     */
+    public static boolean isSpecialisable(Object[] arguments) {
+        if (arguments == null) {
+            return false;
+        }
+        for (Object argument : arguments) {
+            boolean supported = argument != null && (RuntimeUtilities.isBoxedPrimitive(argument) || argument instanceof HalfFloat || argument instanceof KernelContext
+                    || argument instanceof TornadoNativeArray || (argument.getClass().isArray() && argument.getClass().getComponentType().isPrimitive()));
+            if (!supported) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static List<Object> createKey(Object[] arguments, long batchThreads, BitSet genericArguments) {
+        List<Object> key = new ArrayList<>(arguments.length + 1);
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            if (genericArguments != null && genericArguments.get(i)) {
+                key.add(GENERIC);
+            } else if (argument instanceof HalfFloat halfFloat) {
+                key.add(halfFloat.getFloat32());
+            } else if (argument instanceof TornadoNativeArray nativeArray) {
+                key.add(nativeArray.getSize());
+            } else if (argument instanceof KernelContext) {
+                key.add(KernelContext.class);
+            } else if (argument.getClass().isArray()) {
+                key.add(Array.getLength(argument));
+            } else {
+                key.add(argument);
+            }
+        }
+        key.add(batchThreads);
+        return key;
+    }
+
+    /**
+     * Looks up a variant compiled for the given arguments and takes a reference
+     * to it. On a hit, the compilation state of the variant (domain, required
+     * local work and aliasing assumptions) is restored into the task meta-data.
+     *
+     * @return the installed code of the variant, or null if there is no valid
+     *     variant for the arguments.
+     */
+    public synchronized TornadoInstalledCode lookup(Object[] arguments, long batchThreads, TaskMetaData meta) {
+        List<Object> key = createKey(arguments, batchThreads, null);
+        if (!variants.containsKey(key)) {
+            key = null;
+            for (Map.Entry<List<Object>, Variant> entry : variants.entrySet()) {
+                BitSet genericArguments = entry.getValue().genericArguments();
+                if (!genericArguments.isEmpty() && entry.getKey().equals(createKey(arguments, batchThreads, genericArguments))) {
+                    key = entry.getKey();
+                    break;
+                }
+            }
+            if (key == null) {
+                return null;
+            }
+        }
+
+        Variant variant = variants.get(key);
+        if (!variant.code.isValid()) {
+            variants.remove(key);
+            return null;
+        }
+        if (variant.noAliasArguments && !meta.hasDistinctArrayArguments(arguments)) {
+            return null;
+        }
+        variant.references++;
+        variant.restore(meta);
+        return variant.code;
+    }
+
+    /**
+     * Stores the code that has just been compiled for the given arguments,
+     * together with the compilation state kept in the task meta-data, and takes
+     * a reference to it.
+     */
+    public synchronized void insert(Object[] arguments, long batchThreads, TornadoInstalledCode code, TaskMetaData meta) {
+        if (code == null) {
+            return;
+        }
+        BitSet genericArguments = (BitSet) meta.getGenericArguments().clone();
+        Variant variant = new Variant(code, meta, genericArguments);
+        variant.references++;
+        Variant previous = variants.put(createKey(arguments, batchThreads, genericArguments), variant);
+        if (previous != null) {
+            retire(previous);
+        }
+        evict();
+    }
+
+    /**
+     * Releases a reference taken with {@link #lookup} or {@link #insert}. The
+     * code of a variant that is no longer in the cache is invalidated once the
+     * last reference is released.
+     */
+    public synchronized void release(TornadoInstalledCode code) {
+        Variant variant = findVariant(code);
+        if (variant == null || variant.references == 0) {
+            return;
+        }
+        variant.references--;
+        if (variant.references == 0 && evictedVariants.remove(variant)) {
+            invalidate(variant.code);
+        }
+    }
+
+    private Variant findVariant(TornadoInstalledCode code) {
+        for (Variant variant : variants.values()) {
+            if (variant.code == code && variant.references > 0) {
+                return variant;
+            }
+        }
+        for (Variant variant : evictedVariants) {
+            if (variant.code == code) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    private void evict() {
+        Iterator<Variant> iterator = variants.values().iterator();
+        while (variants.size() > capacity && iterator.hasNext()) {
+            Variant variant = iterator.next();
+            iterator.remove();
+            evictions++;
+            retire(variant);
+        }
+    }
+
+    private void retire(Variant variant) {
+        if (variant.references > 0) {
+            evictedVariants.add(variant);
+        } else {
+            invalidate(variant.code);
+        }
+    }
+
+    private void invalidate(TornadoInstalledCode code) {
+        // The device code cache may return the same code for several variants
+        for (Variant variant : variants.values()) {
+            if (variant.code == code) {
+                return;
+            }
+        }
+        for (Variant variant : evictedVariants) {
+            if (variant.code == code) {
+                return;
+            }
+        }
+        code.invalidate();
+    }
+
+    /**
+     * @return true if the cache has evicted at least as many variants as it can
+     *     hold, so new values should be served by a generic variant.
+     */
+    public synchronized boolean isThrashing() {
+        return evictions >= capacity;
+    }
+
+    public synchronized int size() {
+        return variants.size();
+    }
+
+    private static final class Variant {
+        private final TornadoInstalledCode code;
+        private final DomainTree domain;
+        private final long[] requiredLocalWork;
+        private final boolean noAliasArguments;
+        private final BitSet genericArguments;
+        private int references;
+
+        Variant(TornadoInstalledCode code, TaskMetaData meta, BitSet genericArguments) {
+            this.code = code;
+            this.domain = meta.getDomain();
+            this.requiredLocalWork = meta.getRequiredLocalWork();
+            this.noAliasArguments = meta.isNoAliasArguments();
+            this.genericArguments = genericArguments;
+        }
+
+        BitSet genericArguments() {
+            return genericArguments;
+        }
+
+        void restore(TaskMetaData meta) {
+            if (domain != null) {
+                meta.setDomain(domain);
+            }
+            meta.setRequiredLocalWork(requiredLocalWork);
+            meta.setNoAliasArguments(noAliasArguments);
+        }
+    }
+}
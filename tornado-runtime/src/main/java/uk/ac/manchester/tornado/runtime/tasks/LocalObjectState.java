@@ -53,6 +53,12 @@ public class LocalObjectState {
      */
     private boolean streamOut;
 
+    /**
+     * Identifies a variable (or parameter) is copied out from the device to the
+     * host under demand, after the execution of the task-graph.
+     */
+    private boolean streamOutUnderDemand;
+
     /**
      * For each variable, we need to keep track of all devices in which there is a shadow
      * copy. This is achieved by using the {@link DataObjectState} object.
@@ -72,6 +78,14 @@ public class LocalObjectState {
         return object;
     }
 
+    /**
+     * Binds a new object to this state. The stream-in/out information and the
+     * device buffers of the previous object are kept.
+     */
+    public void setObject(Object object) {
+        this.object = object;
+    }
+
     public boolean isStreamIn() {
         return streamIn;
     }
@@ -96,6 +110,14 @@ public class LocalObjectState {
         this.streamOut = streamOut;
     }
 
+    public boolean isStreamOutUnderDemand() {
+        return streamOutUnderDemand;
+    }
+
+    public void setStreamOutUnderDemand(boolean streamOutUnderDemand) {
+        this.streamOutUnderDemand = streamOutUnderDemand;
+    }
+
     public DataObjectState getDataObjectState() {
         return dataObjectState;
     }
@@ -114,6 +136,7 @@ public class LocalObjectState {
         LocalObjectState newLocalObjectState = new LocalObjectState(this.object);
         newLocalObjectState.streamIn = this.streamIn;
         newLocalObjectState.streamOut = this.streamOut;
+        newLocalObjectState.streamOutUnderDemand = this.streamOutUnderDemand;
         newLocalObjectState.forceStreamIn = this.forceStreamIn;
         newLocalObjectState.dataObjectState = dataObjectState.clone();
         return newLocalObjectState;
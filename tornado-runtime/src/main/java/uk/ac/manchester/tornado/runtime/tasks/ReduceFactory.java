@@ -23,6 +23,7 @@
  */
 package uk.ac.manchester.tornado.runtime.tasks;
 
+import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.types.arrays.DoubleArray;
 import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
@@ -32,6 +33,13 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 
 class ReduceFactory {
 
+    /**
+     * Number of threads of the single work-group that performs the final
+     * reduction on the device. It must match the size of the local arrays
+     * allocated in the r*Group kernels.
+     */
+    static final int FINAL_REDUCTION_LOCAL_SIZE = 256;
+
     private static final String ERROR_MESSAGE = "[ERROR] Reduce data type not supported yet: ";
 
     private static void rAdd(int[] array, final int size) {
@@ -290,6 +298,614 @@ class ReduceFactory {
         array.set(0, acc);
     }
 
+    private static void rAddGroup(KernelContext context, int[] array, final int size) {
+        int localIdx = context.localIdx;
+        int[] localArray = context.allocateIntLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        int acc = 0;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc + array[i];
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] + localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rAddGroup(KernelContext context, long[] array, final int size) {
+        int localIdx = context.localIdx;
+        long[] localArray = context.allocateLongLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        long acc = 0L;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc + array[i];
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] + localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rAddGroup(KernelContext context, float[] array, final int size) {
+        int localIdx = context.localIdx;
+        float[] localArray = context.allocateFloatLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        float acc = 0.0f;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc + array[i];
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] + localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rAddGroup(KernelContext context, double[] array, final int size) {
+        int localIdx = context.localIdx;
+        double[] localArray = context.allocateDoubleLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        double acc = 0.0;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc + array[i];
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] + localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rAddGroup(KernelContext context, IntArray array, final int size) {
+        int localIdx = context.localIdx;
+        int[] localArray = context.allocateIntLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        int acc = 0;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc + array.get(i);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] + localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rAddGroup(KernelContext context, FloatArray array, final int size) {
+        int localIdx = context.localIdx;
+        float[] localArray = context.allocateFloatLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        float acc = 0.0f;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc + array.get(i);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] + localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rAddGroup(KernelContext context, DoubleArray array, final int size) {
+        int localIdx = context.localIdx;
+        double[] localArray = context.allocateDoubleLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        double acc = 0.0;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc + array.get(i);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] + localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rAddGroup(KernelContext context, LongArray array, final int size) {
+        int localIdx = context.localIdx;
+        long[] localArray = context.allocateLongLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        long acc = 0L;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc + array.get(i);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] + localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMulGroup(KernelContext context, int[] array, final int size) {
+        int localIdx = context.localIdx;
+        int[] localArray = context.allocateIntLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        int acc = 1;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc * array[i];
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] * localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMulGroup(KernelContext context, long[] array, final int size) {
+        int localIdx = context.localIdx;
+        long[] localArray = context.allocateLongLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        long acc = 1L;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc * array[i];
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] * localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMulGroup(KernelContext context, float[] array, final int size) {
+        int localIdx = context.localIdx;
+        float[] localArray = context.allocateFloatLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        float acc = 1.0f;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc * array[i];
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] * localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMulGroup(KernelContext context, double[] array, final int size) {
+        int localIdx = context.localIdx;
+        double[] localArray = context.allocateDoubleLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        double acc = 1.0;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc * array[i];
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] * localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMulGroup(KernelContext context, IntArray array, final int size) {
+        int localIdx = context.localIdx;
+        int[] localArray = context.allocateIntLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        int acc = 1;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc * array.get(i);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] * localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMulGroup(KernelContext context, FloatArray array, final int size) {
+        int localIdx = context.localIdx;
+        float[] localArray = context.allocateFloatLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        float acc = 1.0f;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc * array.get(i);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] * localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMulGroup(KernelContext context, DoubleArray array, final int size) {
+        int localIdx = context.localIdx;
+        double[] localArray = context.allocateDoubleLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        double acc = 1.0;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc * array.get(i);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] * localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMulGroup(KernelContext context, LongArray array, final int size) {
+        int localIdx = context.localIdx;
+        long[] localArray = context.allocateLongLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        long acc = 1L;
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = acc * array.get(i);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = localArray[localIdx] * localArray[localIdx + stride];
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMaxGroup(KernelContext context, int[] array, final int size) {
+        int localIdx = context.localIdx;
+        int[] localArray = context.allocateIntLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        int acc = array[0];
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.max(acc, array[i]);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.max(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMaxGroup(KernelContext context, long[] array, final int size) {
+        int localIdx = context.localIdx;
+        long[] localArray = context.allocateLongLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        long acc = array[0];
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.max(acc, array[i]);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.max(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMaxGroup(KernelContext context, float[] array, final int size) {
+        int localIdx = context.localIdx;
+        float[] localArray = context.allocateFloatLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        float acc = array[0];
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.max(acc, array[i]);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.max(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMaxGroup(KernelContext context, double[] array, final int size) {
+        int localIdx = context.localIdx;
+        double[] localArray = context.allocateDoubleLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        double acc = array[0];
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.max(acc, array[i]);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.max(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMaxGroup(KernelContext context, IntArray array, final int size) {
+        int localIdx = context.localIdx;
+        int[] localArray = context.allocateIntLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        int acc = array.get(0);
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.max(acc, array.get(i));
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.max(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMaxGroup(KernelContext context, FloatArray array, final int size) {
+        int localIdx = context.localIdx;
+        float[] localArray = context.allocateFloatLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        float acc = array.get(0);
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.max(acc, array.get(i));
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.max(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMaxGroup(KernelContext context, DoubleArray array, final int size) {
+        int localIdx = context.localIdx;
+        double[] localArray = context.allocateDoubleLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        double acc = array.get(0);
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.max(acc, array.get(i));
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.max(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMaxGroup(KernelContext context, LongArray array, final int size) {
+        int localIdx = context.localIdx;
+        long[] localArray = context.allocateLongLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        long acc = array.get(0);
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.max(acc, array.get(i));
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.max(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMinGroup(KernelContext context, int[] array, final int size) {
+        int localIdx = context.localIdx;
+        int[] localArray = context.allocateIntLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        int acc = array[0];
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.min(acc, array[i]);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.min(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMinGroup(KernelContext context, long[] array, final int size) {
+        int localIdx = context.localIdx;
+        long[] localArray = context.allocateLongLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        long acc = array[0];
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.min(acc, array[i]);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.min(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMinGroup(KernelContext context, float[] array, final int size) {
+        int localIdx = context.localIdx;
+        float[] localArray = context.allocateFloatLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        float acc = array[0];
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.min(acc, array[i]);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.min(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMinGroup(KernelContext context, double[] array, final int size) {
+        int localIdx = context.localIdx;
+        double[] localArray = context.allocateDoubleLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        double acc = array[0];
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.min(acc, array[i]);
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.min(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array[0] = localArray[0];
+        }
+    }
+
+    private static void rMinGroup(KernelContext context, IntArray array, final int size) {
+        int localIdx = context.localIdx;
+        int[] localArray = context.allocateIntLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        int acc = array.get(0);
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.min(acc, array.get(i));
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.min(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMinGroup(KernelContext context, FloatArray array, final int size) {
+        int localIdx = context.localIdx;
+        float[] localArray = context.allocateFloatLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        float acc = array.get(0);
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.min(acc, array.get(i));
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.min(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMinGroup(KernelContext context, DoubleArray array, final int size) {
+        int localIdx = context.localIdx;
+        double[] localArray = context.allocateDoubleLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        double acc = array.get(0);
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.min(acc, array.get(i));
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.min(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
+    private static void rMinGroup(KernelContext context, LongArray array, final int size) {
+        int localIdx = context.localIdx;
+        long[] localArray = context.allocateLongLocalArray(FINAL_REDUCTION_LOCAL_SIZE);
+        long acc = array.get(0);
+        for (int i = localIdx; i < size; i += context.localGroupSizeX) {
+            acc = Math.min(acc, array.get(i));
+        }
+        localArray[localIdx] = acc;
+        for (int stride = (context.localGroupSizeX / 2); stride > 0; stride /= 2) {
+            context.localBarrier();
+            if (localIdx < stride) {
+                localArray[localIdx] = Math.min(localArray[localIdx], localArray[localIdx + stride]);
+            }
+        }
+        if (localIdx == 0) {
+            array.set(0, localArray[0]);
+        }
+    }
+
     static void handleAdd(Object newArray, TaskGraph task, int sizeReduceArray, String taskName) {
         switch (newArray.getClass().getTypeName()) {
             case "int[]":
@@ -413,4 +1029,128 @@ class ReduceFactory {
                 throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
         }
     }
+
+    static void handleAddGroup(Object newArray, TaskGraph task, KernelContext context, int sizeReduceArray, String taskName) {
+        switch (newArray.getClass().getTypeName()) {
+            case "int[]":
+                task.task(taskName, ReduceFactory::rAddGroup, context, (int[]) newArray, sizeReduceArray);
+                break;
+            case "long[]":
+                task.task(taskName, ReduceFactory::rAddGroup, context, (long[]) newArray, sizeReduceArray);
+                break;
+            case "float[]":
+                task.task(taskName, ReduceFactory::rAddGroup, context, (float[]) newArray, sizeReduceArray);
+                break;
+            case "double[]":
+                task.task(taskName, ReduceFactory::rAddGroup, context, (double[]) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.IntArray":
+                task.task(taskName, ReduceFactory::rAddGroup, context, (IntArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.FloatArray":
+                task.task(taskName, ReduceFactory::rAddGroup, context, (FloatArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.DoubleArray":
+                task.task(taskName, ReduceFactory::rAddGroup, context, (DoubleArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.LongArray":
+                task.task(taskName, ReduceFactory::rAddGroup, context, (LongArray) newArray, sizeReduceArray);
+                break;
+            default:
+                throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
+        }
+    }
+
+    static void handleMulGroup(Object newArray, TaskGraph task, KernelContext context, int sizeReduceArray, String taskName) {
+        switch (newArray.getClass().getTypeName()) {
+            case "int[]":
+                task.task(taskName, ReduceFactory::rMulGroup, context, (int[]) newArray, sizeReduceArray);
+                break;
+            case "long[]":
+                task.task(taskName, ReduceFactory::rMulGroup, context, (long[]) newArray, sizeReduceArray);
+                break;
+            case "float[]":
+                task.task(taskName, ReduceFactory::rMulGroup, context, (float[]) newArray, sizeReduceArray);
+                break;
+            case "double[]":
+                task.task(taskName, ReduceFactory::rMulGroup, context, (double[]) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.IntArray":
+                task.task(taskName, ReduceFactory::rMulGroup, context, (IntArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.FloatArray":
+                task.task(taskName, ReduceFactory::rMulGroup, context, (FloatArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.DoubleArray":
+                task.task(taskName, ReduceFactory::rMulGroup, context, (DoubleArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.LongArray":
+                task.task(taskName, ReduceFactory::rMulGroup, context, (LongArray) newArray, sizeReduceArray);
+                break;
+            default:
+                throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
+        }
+    }
+
+    static void handleMaxGroup(Object newArray, TaskGraph task, KernelContext context, int sizeReduceArray, String taskName) {
+        switch (newArray.getClass().getTypeName()) {
+            case "int[]":
+                task.task(taskName, ReduceFactory::rMaxGroup, context, (int[]) newArray, sizeReduceArray);
+                break;
+            case "long[]":
+                task.task(taskName, ReduceFactory::rMaxGroup, context, (long[]) newArray, sizeReduceArray);
+                break;
+            case "float[]":
+                task.task(taskName, ReduceFactory::rMaxGroup, context, (float[]) newArray, sizeReduceArray);
+                break;
+            case "double[]":
+                task.task(taskName, ReduceFactory::rMaxGroup, context, (double[]) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.IntArray":
+                task.task(taskName, ReduceFactory::rMaxGroup, context, (IntArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.FloatArray":
+                task.task(taskName, ReduceFactory::rMaxGroup, context, (FloatArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.DoubleArray":
+                task.task(taskName, ReduceFactory::rMaxGroup, context, (DoubleArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.LongArray":
+                task.task(taskName, ReduceFactory::rMaxGroup, context, (LongArray) newArray, sizeReduceArray);
+                break;
+            default:
+                throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
+        }
+    }
+
+    static void handleMinGroup(Object newArray, TaskGraph task, KernelContext context, int sizeReduceArray, String taskName) {
+        switch (newArray.getClass().getTypeName()) {
+            case "int[]":
+                task.task(taskName, ReduceFactory::rMinGroup, context, (int[]) newArray, sizeReduceArray);
+                break;
+            case "long[]":
+                task.task(taskName, ReduceFactory::rMinGroup, context, (long[]) newArray, sizeReduceArray);
+                break;
+            case "float[]":
+                task.task(taskName, ReduceFactory::rMinGroup, context, (float[]) newArray, sizeReduceArray);
+                break;
+            case "double[]":
+                task.task(taskName, ReduceFactory::rMinGroup, context, (double[]) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.IntArray":
+                task.task(taskName, ReduceFactory::rMinGroup, context, (IntArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.FloatArray":
+                task.task(taskName, ReduceFactory::rMinGroup, context, (FloatArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.DoubleArray":
+                task.task(taskName, ReduceFactory::rMinGroup, context, (DoubleArray) newArray, sizeReduceArray);
+                break;
+            case "uk.ac.manchester.tornado.api.types.arrays.LongArray":
+                task.task(taskName, ReduceFactory::rMinGroup, context, (LongArray) newArray, sizeReduceArray);
+                break;
+            default:
+                throw new TornadoRuntimeException(ERROR_MESSAGE + newArray.getClass().getTypeName());
+        }
+    }
 }
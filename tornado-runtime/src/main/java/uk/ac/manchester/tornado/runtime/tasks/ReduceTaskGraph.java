@@ -41,11 +41,14 @@ import org.graalvm.compiler.nodes.StructuredGraph;
 
 import jdk.vm.ci.code.InstalledCode;
 import jdk.vm.ci.code.InvalidInstalledCodeException;
+import uk.ac.manchester.tornado.api.GridScheduler;
 import uk.ac.manchester.tornado.api.ImmutableTaskGraph;
 import uk.ac.manchester.tornado.api.KernelContext;
 import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
 import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.WorkerGrid;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
 import uk.ac.manchester.tornado.api.common.TaskPackage;
 import uk.ac.manchester.tornado.api.common.TornadoDevice;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
@@ -99,6 +102,7 @@ class ReduceTaskGraph {
     private Map<Object, REDUCE_OPERATION> hybridMergeTable;
     private boolean hybridInitialized;
     private TornadoExecutionPlan executionPlan;
+    private GridScheduler gridScheduler;
 
     private TornadoExecutionResult executionResult;
 
@@ -361,6 +365,47 @@ class ReduceTaskGraph {
         }
     }
 
+    /**
+     * Returns true if the final stage of the reduction can run on the device as a
+     * single work-group tree reduction. This is the case for GPUs that accept
+     * work-groups of {@link ReduceFactory#FINAL_REDUCTION_LOCAL_SIZE} threads.
+     * FPGAs are excluded because their binaries are compiled ahead of time for the
+     * sequential reduction task.
+     *
+     * @param driverIndex
+     *     Index within the Tornado drivers' index
+     * @param deviceIndex
+     *     Index of the device within the Tornado's device list.
+     * @return boolean
+     */
+    private boolean isFinalReductionOnWorkGroup(final int driverIndex, final int deviceIndex) {
+        if (!TornadoOptions.DEVICE_FINAL_REDUCTION || isAheadOfTime()) {
+            return false;
+        }
+        TornadoDevice device = TornadoCoreRuntime.getTornadoRuntime().getBackend(driverIndex).getDevice(deviceIndex);
+        if (device.getDeviceType() != TornadoDeviceType.GPU) {
+            return false;
+        }
+        return device.getDeviceMaxWorkgroupDimensions()[0] >= ReduceFactory.FINAL_REDUCTION_LOCAL_SIZE;
+    }
+
+    private void addFinalReductionOnWorkGroup(REDUCE_OPERATION operation, Object newArray, int sizeReduceArray, String taskName) {
+        KernelContext context = new KernelContext();
+        switch (operation) {
+            case SUM -> ReduceFactory.handleAddGroup(newArray, rewrittenTaskGraph, context, sizeReduceArray, taskName);
+            case MUL -> ReduceFactory.handleMulGroup(newArray, rewrittenTaskGraph, context, sizeReduceArray, taskName);
+            case MAX -> ReduceFactory.handleMaxGroup(newArray, rewrittenTaskGraph, context, sizeReduceArray, taskName);
+            case MIN -> ReduceFactory.handleMinGroup(newArray, rewrittenTaskGraph, context, sizeReduceArray, taskName);
+            default -> throw new TornadoRuntimeException("[ERROR] Reduce operation not supported yet.");
+        }
+        WorkerGrid worker = new WorkerGrid1D(ReduceFactory.FINAL_REDUCTION_LOCAL_SIZE);
+        worker.setLocalWork(ReduceFactory.FINAL_REDUCTION_LOCAL_SIZE, 1, 1);
+        if (gridScheduler == null) {
+            gridScheduler = new GridScheduler();
+        }
+        gridScheduler.setWorkerGrid(STR."\{rewrittenTaskGraph.getTaskGraphName()}.\{taskName}", worker);
+    }
+
     private boolean isDeviceAnAccelerator(final int deviceToRun) {
         TornadoDeviceType deviceType = TornadoRuntime.getTornadoRuntime().getBackend(0).getDevice(deviceToRun).getDeviceType();
         return (deviceType == TornadoDeviceType.ACCELERATOR);
@@ -389,7 +434,10 @@ class ReduceTaskGraph {
     /**
      * Compose and execute the new reduction. It dynamically creates a new
      * task-schedule expression that contains: a) the parallel reduction; b) the
-     * final sequential reduction.
+     * final reduction. On GPUs, the final reduction is a single work-group tree
+     * reduction over the partial results, so the result stays on the device for
+     * the following tasks of the task-graph. On the rest of devices, it is a
+     * sequential task.
      * <p>
      * It also creates a new thread in the case the input size for the reduction is
      * not power of two and the target device is either the FPGA or the GPU. In this
@@ -572,12 +620,16 @@ class ReduceTaskGraph {
                         TornadoRuntime.setProperty(STR."\{fullName}.device", driverToRun + ":" + deviceToRun);
                         inspectBinariesFPGA(taskScheduleReduceName, graphName, taskPackage.getId(), true);
 
-                        switch (operation) {
-                            case SUM -> ReduceFactory.handleAdd(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
-                            case MUL -> ReduceFactory.handleMul(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
-                            case MAX -> ReduceFactory.handleMax(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
-                            case MIN -> ReduceFactory.handleMin(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
-                            default -> throw new TornadoRuntimeException("[ERROR] Reduce operation not supported yet.");
+                        if (isFinalReductionOnWorkGroup(driverToRun, deviceToRun)) {
+                            addFinalReductionOnWorkGroup(operation, newArray, sizeReduceArray, newTaskSequentialName);
+                        } else {
+                            switch (operation) {
+                                case SUM -> ReduceFactory.handleAdd(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                                case MUL -> ReduceFactory.handleMul(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                                case MAX -> ReduceFactory.handleMax(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                                case MIN -> ReduceFactory.handleMin(newArray, rewrittenTaskGraph, sizeReduceArray, newTaskSequentialName);
+                                default -> throw new TornadoRuntimeException("[ERROR] Reduce operation not supported yet.");
+                            }
                         }
 
                         if (hybridMode) {
@@ -645,6 +697,10 @@ class ReduceTaskGraph {
             executionPlan.withoutThreadInfo();
         }
 
+        if (gridScheduler != null) {
+            executionPlan.withGridScheduler(gridScheduler);
+        }
+
         // check parameter list
         if (TornadoOptions.FORCE_CHECK_PARAMETERS) {
             checkAllArgumentsPerTask();
@@ -793,12 +849,20 @@ class ReduceTaskGraph {
      * If the hybrid mode is enabled, it performs the final 1D reduction between the
      * two elements left (one from the accelerator and the other from the CPU)
      * </p>
+     *
+     * <p>
+     * Reduce variables that are not copied out to the host are skipped: their
+     * result is only consumed by the following tasks on the device.
+     * </p>
      */
     private void updateOutputArrays() {
         joinHostThreads();
         for (Entry<Object, Object> pair : originalReduceVariables.entrySet()) {
             Object originalReduceVariable = pair.getKey();
             Object newArray = pair.getValue();
+            if (!streamOutObjects.contains(newArray)) {
+                continue;
+            }
             if (hostHybridVariables != null && hostHybridVariables.containsKey(newArray)) {
                 mergeHybridMode(originalReduceVariable, newArray);
             } else {
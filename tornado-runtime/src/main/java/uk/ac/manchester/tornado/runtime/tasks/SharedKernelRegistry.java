@@ -0,0 +1,180 @@
+/*
+ * This file is part of Tornado: A heterogeneous programming framework:
+ * https://github.com/beehive-lab/tornadovm
+ *
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package uk.ac.manchester.tornado.runtime.tasks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
+import uk.ac.manchester.tornado.runtime.common.TornadoInstalledCode;
+import uk.ac.manchester.tornado.runtime.common.TornadoOptions;
+import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.tasks.meta.TaskMetaData;
+
+/**
+ * Process-wide registry of the kernels installed on each device, shared by all
+ * execution plans. Kernels are identified by the task method, the inputs the
+ * task specialisation folds into the code (scalar values and array lengths),
+ * the batch size, the compiler flags and the device, but not by the name of the
+ * task-graph or the task. This way, a plan created for a single request reuses
+ * the kernels compiled by previous plans instead of compiling them again.
+ * <p>
+ * Each plan that uses a kernel holds a reference to it until its installed
+ * code is cleared (e.g., when the device memory of the plan is freed). Once
+ * the registry is full, the least recently used kernels that are not
+ * referenced by any plan are evicted and invalidated.
+ * </p>
+ */
+public final class SharedKernelRegistry {
+
+    private static final LinkedHashMap<Key, Entry> KERNELS = new LinkedHashMap<>(16, 0.75f, true);
+
+    private SharedKernelRegistry() {
+    }
+
+    /**
+     * @return the key that identifies the kernel of the task on the device the
+     *     task is currently mapped to, or null if the kernel cannot be shared
+     *     (e.g., the task receives objects whose fields are folded into the
+     *     code).
+     */
+    public static Key keyFor(CompilableTask task) {
+        Object[] arguments = task.getArguments();
+        if (!KernelVariantCache.isSpecialisable(arguments)) {
+            return null;
+        }
+        List<Class<?>> argumentTypes = new ArrayList<>(arguments.length);
+        for (Object argument : arguments) {
+            argumentTypes.add(argument.getClass());
+        }
+        TaskMetaData meta = task.meta();
+        return new Key(task.getMethod(), argumentTypes, KernelVariantCache.createKey(arguments, task.getBatchThreads(), null), meta.getDriverIndex(), meta.getDeviceIndex(), meta
+                .getCompilerFlags());
+    }
+
+    /**
+     * Takes a reference to the kernel registered for the key. On a hit, the
+     * compilation state of the kernel (domain, required local work and aliasing
+     * assumptions) is restored into the task meta-data.
+     *
+     * @return the installed code, or null if there is no valid kernel for the
+     *     key that can be used with the given arguments.
+     */
+    public static synchronized TornadoInstalledCode acquire(Key key, Object[] arguments, TaskMetaData meta) {
+        Entry entry = KERNELS.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.code.isValid()) {
+            KERNELS.remove(key);
+            return null;
+        }
+        if (entry.noAliasArguments && !RuntimeUtilities.hasDistinctArrayArguments(arguments)) {
+            return null;
+        }
+        entry.references++;
+        entry.restore(meta);
+        return entry.code;
+    }
+
+    /**
+     * Registers the code that has just been compiled for the key and takes a
+     * reference to it. If another plan registered the same kernel in the
+     * meantime, the reference is taken on that kernel instead, and its
+     * compilation state is restored into the task meta-data.
+     *
+     * @return the installed code registered for the key, which the caller must
+     *     use instead of the code it compiled.
+     */
+    public static synchronized TornadoInstalledCode register(Key key, TornadoInstalledCode code, TaskMetaData meta) {
+        Entry entry = KERNELS.get(key);
+        if (entry == null || !entry.code.isValid()) {
+            entry = new Entry(code, meta);
+            KERNELS.put(key, entry);
+        } else {
+            entry.restore(meta);
+        }
+        entry.references++;
+        evict();
+        return entry.code;
+    }
+
+    /**
+     * Releases a reference taken with {@link #acquire} or {@link #register}.
+     */
+    public static synchronized void release(Key key) {
+        Entry entry = KERNELS.get(key);
+        if (entry != null && entry.references > 0) {
+            entry.references--;
+        }
+        evict();
+    }
+
+    public static synchronized int size() {
+        return KERNELS.size();
+    }
+
+    private static void evict() {
+        Iterator<Map.Entry<Key, Entry>> iterator = KERNELS.entrySet().iterator();
+        while (KERNELS.size() > TornadoOptions.SHARED_KERNELS_CACHE_SIZE && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry.references == 0) {
+                iterator.remove();
+                entry.code.invalidate();
+            }
+        }
+    }
+
+    public record Key(Method method, List<Class<?>> argumentTypes, List<Object> specialisation, int driverIndex, int deviceIndex, String compilerFlags) {
+    }
+
+    private static final class Entry {
+        private final TornadoInstalledCode code;
+        private final DomainTree domain;
+        private final long[] requiredLocalWork;
+        private final boolean noAliasArguments;
+        private final Object compiledGraph;
+        private int references;
+
+        Entry(TornadoInstalledCode code, TaskMetaData meta) {
+            this.code = code;
+            this.domain = meta.getDomain();
+            this.requiredLocalWork = meta.getRequiredLocalWork();
+            this.noAliasArguments = meta.isNoAliasArguments();
+            this.compiledGraph = meta.getCompiledResolvedJavaMethod();
+        }
+
+        void restore(TaskMetaData meta) {
+            if (domain != null) {
+                meta.setDomain(domain);
+            }
+            meta.setRequiredLocalWork(requiredLocalWork);
+            meta.setNoAliasArguments(noAliasArguments);
+            meta.setCompiledGraph(compiledGraph);
+        }
+    }
+}
@@ -39,14 +39,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.graalvm.compiler.graph.Graph;
 import org.graalvm.compiler.phases.util.Providers;
@@ -60,6 +57,7 @@ import uk.ac.manchester.tornado.api.Policy;
 import uk.ac.manchester.tornado.api.TaskGraph;
 import uk.ac.manchester.tornado.api.TornadoBackend;
 import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoTargetDevice;
 import uk.ac.manchester.tornado.api.TornadoTaskGraphInterface;
 import uk.ac.manchester.tornado.api.common.Event;
 import uk.ac.manchester.tornado.api.common.PrebuiltTaskPackage;
@@ -82,6 +80,11 @@ import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task6;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task7;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task8;
 import uk.ac.manchester.tornado.api.common.TornadoFunctions.Task9;
+import uk.ac.manchester.tornado.api.costmodel.AnalyticalCostModel;
+import uk.ac.manchester.tornado.api.costmodel.CostModel;
+import uk.ac.manchester.tornado.api.costmodel.DeviceDescriptor;
+import uk.ac.manchester.tornado.api.costmodel.DeviceSelector;
+import uk.ac.manchester.tornado.api.costmodel.KernelFeatures;
 import uk.ac.manchester.tornado.api.enums.DataTransferMode;
 import uk.ac.manchester.tornado.api.enums.ProfilerMode;
 import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
@@ -89,6 +92,7 @@ import uk.ac.manchester.tornado.api.exceptions.TornadoBailoutRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoDynamicReconfigurationException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
 import uk.ac.manchester.tornado.api.exceptions.TornadoTaskRuntimeException;
+import uk.ac.manchester.tornado.api.profiler.CompilationReport;
 import uk.ac.manchester.tornado.api.profiler.ProfilerType;
 import uk.ac.manchester.tornado.api.profiler.TornadoProfiler;
 import uk.ac.manchester.tornado.api.runtime.ExecutorFrame;
@@ -98,6 +102,8 @@ import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
 import uk.ac.manchester.tornado.api.types.arrays.IntArray;
 import uk.ac.manchester.tornado.api.types.arrays.LongArray;
 import uk.ac.manchester.tornado.api.types.arrays.ShortArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.api.utils.TornadoAPIUtils;
 import uk.ac.manchester.tornado.runtime.TornadoCoreRuntime;
 import uk.ac.manchester.tornado.runtime.TornadoVM;
 import uk.ac.manchester.tornado.runtime.analyzer.MetaReduceCodeAnalysis;
@@ -115,7 +121,9 @@ import uk.ac.manchester.tornado.runtime.graph.TornadoExecutionContext;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraph;
 import uk.ac.manchester.tornado.runtime.graph.TornadoGraphBuilder;
 import uk.ac.manchester.tornado.runtime.graph.TornadoVMBytecodeBuilder;
+import uk.ac.manchester.tornado.runtime.interpreter.ExecutionPhase;
 import uk.ac.manchester.tornado.runtime.profiler.EmptyProfiler;
+import uk.ac.manchester.tornado.runtime.profiler.KernelFeatureRegistry;
 import uk.ac.manchester.tornado.runtime.profiler.TimeProfiler;
 import uk.ac.manchester.tornado.runtime.sketcher.Sketch;
 import uk.ac.manchester.tornado.runtime.sketcher.SketchRequest;
@@ -146,7 +154,6 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private static final CompileInfo COMPILE_ONLY = new CompileInfo(true, false);
     private static final CompileInfo COMPILE_AND_UPDATE = new CompileInfo(true, true);
     private static final CompileInfo NOT_COMPILE_UPDATE = new CompileInfo(false, false);
-    private static final Pattern SIZE_PATTERN = Pattern.compile("(\\d+)(MB|mg|gb|GB)");
     private static final int MAX_ITERATIONS_DYNAMIC_RECONF_SEQUENTIAL = 100;
 
     private static ConcurrentHashMap<Integer, TaskGraph> globalTaskGraphIndex = new ConcurrentHashMap<>();
@@ -160,6 +167,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private long batchSizeBytes = -1;
     private long memoryLimitSizeBytes = -1;
 
+    // Iterations of each execution, and optional convergence check
+    private int maxIterations = 1;
+    private IntArray convergenceFlag;
+    private int convergenceCheckInterval;
+    private int lastIterations;
+
     private TornadoVM vm;  // One TornadoVM instance per TornadoExecutionPlan
 
     // HashMap to keep an instance of the TornadoVM per Device
@@ -179,6 +192,7 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerOutputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, ArrayList<Object>> multiHeapManagerInputs = new ConcurrentHashMap<>();
     private ConcurrentHashMap<Integer, TaskGraph> taskGraphIndex = new ConcurrentHashMap<>();
+    private Set<Integer> predictedDevicesWarmedUp = ConcurrentHashMap.newKeySet();
     private StringBuilder bufferLogProfiler = new StringBuilder();
     private Graph compilationGraph;
     /**
@@ -754,7 +768,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
             timeProfiler.start(ProfilerType.TOTAL_BYTE_CODE_GENERATION);
             executionContext.scheduleTaskToDevices();
             TornadoVM tornadoVM = compileGraphAndBuildVM(compileInfo.updateDevice);
-            vmTable.put(meta().getLogicDevice(), tornadoVM);
+            TornadoVM previousVM = vmTable.put(meta().getLogicDevice(), tornadoVM);
+            if ((TornadoOptions.SHARED_KERNELS || TornadoOptions.SPECIALISED_VARIANTS) && previousVM != null) {
+                previousVM.clearInstalledCode();
+            }
             timeProfiler.stop(ProfilerType.TOTAL_BYTE_CODE_GENERATION);
         }
         executionContext.addLastDevice(meta().getLogicDevice());
@@ -844,7 +861,49 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     private void deoptimiseToSequentialJava(TornadoBailoutRuntimeException e) {
         dumpDeoptimisationReason(e);
-        runAllTasksJavaSequential();
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            runAllTasksJavaSequential();
+            lastIterations = iteration + 1;
+            if (isConvergenceCheckDue(iteration) && convergenceFlag.get(0) != 0) {
+                break;
+            }
+        }
+    }
+
+    private boolean isConvergenceCheckDue(int iteration) {
+        return convergenceFlag != null && (iteration + 1) % convergenceCheckInterval == 0;
+    }
+
+    /**
+     * Executes the bytecodes of the task-graph {@link #maxIterations} times.
+     * The data is copied in before the first iteration and copied out after the
+     * last one, and the host only synchronizes with the device to read the
+     * convergence flag. The marker and the flush of the command queues that end
+     * an execution are only issued before a convergence check and at the end of
+     * the iterations.
+     */
+    private Event executeIterations() {
+        Event lastEvent = null;
+        try {
+            for (int iteration = 0; iteration < maxIterations; iteration++) {
+                final ExecutionPhase executionPhase = ExecutionPhase.ofIteration(iteration, maxIterations);
+                final boolean checkConvergence = iteration < maxIterations - 1 && isConvergenceCheckDue(iteration);
+                vm.setExecutionPhase(executionPhase, checkConvergence || executionPhase.isCopyOut());
+                lastEvent = vm.execute(isConcurrentDevicesEnabled, timeProfiler);
+                lastIterations = iteration + 1;
+                if (checkConvergence) {
+                    syncParameter(convergenceFlag);
+                    if (convergenceFlag.get(0) != 0) {
+                        vm.setExecutionPhase(ExecutionPhase.COPY_OUT, true);
+                        lastEvent = vm.execute(isConcurrentDevicesEnabled, timeProfiler);
+                        break;
+                    }
+                }
+            }
+        } finally {
+            vm.setExecutionPhase(ExecutionPhase.ALL, true);
+        }
+        return lastEvent;
     }
 
     @Override
@@ -856,7 +915,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
 
         try {
-            event = vm.execute(isConcurrentDevicesEnabled, timeProfiler);
+            if (maxIterations > 1) {
+                event = executeIterations();
+            } else {
+                event = vm.execute(isConcurrentDevicesEnabled, timeProfiler);
+                lastIterations = 1;
+            }
             timeProfiler.stop(ProfilerType.TOTAL_TASK_GRAPH_TIME);
             updateProfiler();
         } catch (TornadoBailoutRuntimeException e) {
@@ -970,11 +1034,17 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 throw new TornadoRuntimeException("[ERROR] Scalar value used as output. Use an array or a vector-type instead");
             }
 
+            if (functionParameter instanceof TornadoNativeArray nativeArray && nativeArray.isDeviceOnly()) {
+                throw new TornadoRuntimeException("[ERROR] Device temporaries cannot be transferred to the host");
+            }
+
             // If the object mode is set to LAST then we *only* insert it in the lookup
             // hash-set.
             if (mode != DataTransferMode.UNDER_DEMAND) {
                 streamOutObjects.add(functionParameter);
                 executionContext.getLocalStateObject(functionParameter).setStreamOut(true);
+            } else {
+                executionContext.getLocalStateObject(functionParameter).setStreamOutUnderDemand(true);
             }
 
             // List of output objects for the dynamic reconfiguration
@@ -1054,6 +1124,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         }
         inputModesObjects.forEach(inputStreamObject -> freeDeviceMemoryObject(inputStreamObject.getObject()));
         outputModeObjects.forEach(outputStreamObject -> freeDeviceMemoryObject(outputStreamObject.getObject()));
+        if (TornadoOptions.SHARED_KERNELS || TornadoOptions.SPECIALISED_VARIANTS) {
+            // Release the shared kernels and variants, so they can be evicted once no other plan uses them
+            vmTable.values().forEach(TornadoVM::clearInstalledCode);
+        }
     }
 
     private void freeDeviceMemoryObject(Object object) {
@@ -1381,6 +1455,8 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
                 return scheduleDynamicReconfigurationSequential(executionPackage.getDynamicReconfigurationPolicy());
             } else if (executionPackage.getDRMode() == DRMode.PARALLEL) {
                 return scheduleDynamicReconfigurationParallel(executionPackage.getDynamicReconfigurationPolicy());
+            } else if (executionPackage.getDRMode() == DRMode.PREDICTED) {
+                return scheduleWithPredictedDevice(executionPackage.getDynamicReconfigurationPolicy());
             }
             throw new TornadoRuntimeException("");
         }
@@ -1407,6 +1483,12 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     @SuppressWarnings("unchecked")
     private void runSequentialCodeInThread(TaskPackage taskPackage) {
+        // Device temporaries get their host memory when they are first used by Java code
+        for (Object parameter : taskPackage.getTaskParameters()) {
+            if (parameter instanceof TornadoNativeArray nativeArray) {
+                nativeArray.allocateHostMemory();
+            }
+        }
         int type = taskPackage.getTaskType();
         switch (type) {
             case 0:
@@ -1711,6 +1793,19 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
     }
 
     private void runTaskGraphParallelSelected(int deviceWinnerIndex) {
+        runTaskGraphParallelSelected(deviceWinnerIndex, false);
+    }
+
+    /**
+     * It runs the task-graph on the given device.
+     *
+     * @param deviceWinnerIndex
+     *     Index of the device.
+     * @param measureKernelTime
+     *     Whether the execution is profiled to obtain the kernel time.
+     * @return the kernel time in nanoseconds, or zero if it was not measured.
+     */
+    private long runTaskGraphParallelSelected(int deviceWinnerIndex, boolean measureKernelTime) {
         for (TaskPackage taskPackage : taskPackages) {
             TornadoRuntime.setProperty(STR."\{this.getTaskGraphName()}.\{taskPackage.getId()}.device", STR."0:\{deviceWinnerIndex}");
         }
@@ -1731,7 +1826,10 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
         ImmutableTaskGraph immutableTaskGraph = task.snapshot();
         TornadoExecutionPlan executor = new TornadoExecutionPlan(immutableTaskGraph);
-        executor.execute();
+        if (measureKernelTime) {
+            executor.withProfiler(ProfilerMode.SILENT);
+        }
+        return executor.execute().getProfilerResult().getDeviceKernelTime();
     }
 
     private TornadoTaskGraphInterface scheduleDynamicReconfigurationParallel(Policy policy) {
@@ -2023,6 +2121,150 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return this;
     }
 
+    /**
+     * Lazy holder, so a wrong custom cost model only fails the predicted mode.
+     */
+    private static final class DeviceSelectorHolder {
+        private static final DeviceSelector DEVICE_SELECTOR = new DeviceSelector(createCostModel());
+    }
+
+    private static CostModel createCostModel() {
+        if (TornadoOptions.COST_MODEL_CLASS.isEmpty()) {
+            return new AnalyticalCostModel();
+        }
+        try {
+            return (CostModel) Class.forName(TornadoOptions.COST_MODEL_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new TornadoRuntimeException(STR."[ERROR] Cost model \{TornadoOptions.COST_MODEL_CLASS} cannot be instantiated: \{e.getMessage()}");
+        }
+    }
+
+    private static DeviceDescriptor createDeviceDescriptor(TornadoDevice device) {
+        TornadoTargetDevice physicalDevice = device.getPhysicalDevice();
+        long maxWorkGroupSize = Arrays.stream(physicalDevice.getDeviceMaxWorkGroupSize()).max().orElse(1);
+        return new DeviceDescriptor(STR."\{device.getPlatformName()}:\{device.getDeviceName()}", device.getDeviceType(), physicalDevice.getDeviceMaxComputeUnits(), maxWorkGroupSize,
+                physicalDevice.getDeviceMaxClockFrequency(), device.getDeviceContext().isFP64Supported(), false);
+    }
+
+    /**
+     * It adds the code features of all tasks in the task-graph. Tasks that have
+     * not been compiled yet contribute with {@link KernelFeatures#UNKNOWN}.
+     */
+    private KernelFeatures getTaskGraphFeatures() {
+        KernelFeatures features = KernelFeatures.EMPTY;
+        for (TaskPackage taskPackage : taskPackages) {
+            Method method = TaskUtils.resolveMethodHandle(taskPackage.getTaskParameters()[0]);
+            features = features.add(KernelFeatureRegistry.get(KernelFeatureRegistry.getKernelKey(method)));
+        }
+        return features;
+    }
+
+    /**
+     * It identifies the kernels of the task-graph for the calibration of the cost
+     * model. Task-graphs with the same methods share the identifier.
+     */
+    private String getTaskGraphKernelKey() {
+        List<String> kernelKeys = new ArrayList<>();
+        for (TaskPackage taskPackage : taskPackages) {
+            kernelKeys.add(KernelFeatureRegistry.getKernelKey(TaskUtils.resolveMethodHandle(taskPackage.getTaskParameters()[0])));
+        }
+        return String.join(";", kernelKeys);
+    }
+
+    private static long getNumElements(Object object) {
+        if (object instanceof TornadoNativeArray nativeArray) {
+            return nativeArray.getSize();
+        } else if (object != null && object.getClass().isArray()) {
+            return Array.getLength(object);
+        }
+        return 1;
+    }
+
+    private static long getSizeInBytes(Object object) {
+        if (object instanceof TornadoNativeArray nativeArray) {
+            return nativeArray.getNumBytesOfSegment();
+        } else if (object != null && object.getClass().isArray()) {
+            Class<?> componentType = object.getClass().getComponentType();
+            long elementSize = (componentType == long.class || componentType == double.class) ? 8 : (componentType == byte.class || componentType == boolean.class) ? 1 : 4;
+            return Array.getLength(object) * elementSize;
+        }
+        return 0;
+    }
+
+    /**
+     * It obtains the number of elements of the largest parameter of all tasks.
+     */
+    private long getProblemSize() {
+        long size = 1;
+        for (TaskPackage taskPackage : taskPackages) {
+            Object[] parameters = taskPackage.getTaskParameters();
+            for (int i = 1; i < parameters.length; i++) {
+                size = Math.max(size, getNumElements(parameters[i]));
+            }
+        }
+        return size;
+    }
+
+    private long getTransferSizeInBytes() {
+        long bytes = 0;
+        for (Object object : streamInObjects) {
+            bytes += getSizeInBytes(object);
+        }
+        for (Object object : streamOutObjects) {
+            bytes += getSizeInBytes(object);
+        }
+        return bytes;
+    }
+
+    /**
+     * It selects the device with the cost model and executes the task-graph on it.
+     * No exploration runs are performed. The {@link Policy#PERFORMANCE} policy
+     * only considers the kernel time; the other policies also consider the data
+     * transfers. The kernel time of every execution, except the first one on each
+     * device, is used to calibrate the model. The kernel time is measured with the
+     * profiler and does not include the data transfers. The sequential execution
+     * is measured with the wall-clock time.
+     *
+     * @param policy
+     *     {@link Policy}
+     * @return {@link TornadoTaskGraphInterface}
+     */
+    private TornadoTaskGraphInterface scheduleWithPredictedDevice(Policy policy) {
+        TornadoBackend backend = TornadoRuntime.getTornadoRuntime().getBackend(DEFAULT_DRIVER_INDEX);
+        int numDevices = backend.getDeviceCount();
+        List<DeviceDescriptor> devices = new ArrayList<>();
+        for (int i = 0; i < numDevices; i++) {
+            devices.add(createDeviceDescriptor(backend.getDevice(i)));
+        }
+        // The last index represents the sequential execution (HotSpot)
+        devices.add(DeviceDescriptor.ofHost());
+
+        String kernelKey = getTaskGraphKernelKey();
+        KernelFeatures features = getTaskGraphFeatures();
+        long problemSize = getProblemSize();
+        long transferBytes = (policy == Policy.PERFORMANCE) ? 0 : getTransferSizeInBytes();
+        DeviceSelector deviceSelector = DeviceSelectorHolder.DEVICE_SELECTOR;
+        int deviceWinnerIndex = deviceSelector.select(kernelKey, features, problemSize, transferBytes, devices);
+        if (Tornado.DEBUG) {
+            System.out.println(getListDevices());
+            System.out.println(STR."PREDICTED Position: #\{deviceWinnerIndex} \{Arrays.toString(deviceSelector.predict(kernelKey, features, problemSize, transferBytes, devices))}");
+        }
+
+        long kernelTime;
+        if (deviceWinnerIndex >= numDevices) {
+            long start = System.nanoTime();
+            runSequential();
+            kernelTime = System.nanoTime() - start;
+        } else {
+            kernelTime = runTaskGraphParallelSelected(deviceWinnerIndex, TornadoOptions.COST_MODEL_CALIBRATION);
+        }
+
+        if (TornadoOptions.COST_MODEL_CALIBRATION && !predictedDevicesWarmedUp.add(deviceWinnerIndex)) {
+            deviceSelector.getCostModel().calibrate(kernelKey, features, problemSize, devices.get(deviceWinnerIndex), kernelTime);
+        }
+        return this;
+    }
+
     private void addInner(int index, int type, Method method, ScheduleMetaData meta, String id, Object[] parameters) {
         switch (type) {
             case 0:
@@ -2214,13 +2456,16 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
 
     @Override
     public void withBatch(String batchSize) {
-        this.batchSizeBytes = parseSizeToBytes(batchSize);
+        if (maxIterations > 1) {
+            throw new TornadoRuntimeException("[ERROR] Batch processing cannot be combined with iterations");
+        }
+        this.batchSizeBytes = TornadoAPIUtils.parseSizeToBytes(batchSize);
         executionContext.setBatchSize(this.batchSizeBytes);
     }
 
     @Override
     public void withMemoryLimit(String memoryLimit) {
-        this.memoryLimitSizeBytes = parseSizeToBytes(memoryLimit);
+        this.memoryLimitSizeBytes = TornadoAPIUtils.parseSizeToBytes(memoryLimit);
         executionContext.setExecutionPlanMemoryLimit(this.memoryLimitSizeBytes);
     }
 
@@ -2229,20 +2474,117 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         executionContext.setExecutionPlanMemoryLimit(TornadoExecutionContext.INIT_VALUE);
     }
 
-    private long parseSizeToBytes(String sizeStr) {
-        Matcher matcher = SIZE_PATTERN.matcher(sizeStr);
-        if (!matcher.find()) {
-            throw new IllegalArgumentException("Invalid size format");
+    @Override
+    public void withIterations(int maxIterations, IntArray convergenceFlag, int checkInterval) {
+        if (maxIterations < 1) {
+            throw new TornadoRuntimeException(STR."[ERROR] The number of iterations must be greater than zero: \{maxIterations}");
+        }
+        if (maxIterations > 1 && batchSizeBytes != TornadoExecutionContext.INIT_VALUE) {
+            throw new TornadoRuntimeException("[ERROR] Iterations cannot be combined with batch processing");
         }
+        if (convergenceFlag != null) {
+            if (checkInterval < 1) {
+                throw new TornadoRuntimeException(STR."[ERROR] The convergence check interval must be greater than zero: \{checkInterval}");
+            }
+            if (!argumentsLookUp.contains(convergenceFlag)) {
+                throw new TornadoRuntimeException("[ERROR] The convergence flag must be specified either in transferToDevice or transferToHost functions");
+            }
+        }
+        this.maxIterations = maxIterations;
+        this.convergenceFlag = convergenceFlag;
+        this.convergenceCheckInterval = checkInterval;
+    }
 
-        long value = Long.parseLong(matcher.group(1));
-        String units = matcher.group(2).toUpperCase();
+    @Override
+    public int getIterations() {
+        return lastIterations;
+    }
 
-        return switch (Objects.requireNonNull(units)) {
-            case "MB" -> value * 1_000_000;
-            case "GB" -> value * 1_000_000_000;
-            default -> throw new TornadoRuntimeException(STR + "Units not supported: " + units);
-        };
+    @Override
+    public boolean bind(String taskName, int parameterIndex, Object value) {
+        TaskPackage taskPackage = null;
+        for (TaskPackage candidate : taskPackages) {
+            if (candidate.getId().equals(taskName) || STR."\{taskGraphName}.\{candidate.getId()}".equals(taskName)) {
+                taskPackage = candidate;
+                break;
+            }
+        }
+        if (taskPackage == null) {
+            return false;
+        }
+        if (taskPackage instanceof PrebuiltTaskPackage) {
+            throw new TornadoRuntimeException(STR."[ERROR] The arguments of the prebuilt task \{taskName} cannot be rebound");
+        }
+        if (reduceExpressionRewritten) {
+            throw new TornadoRuntimeException(STR."[ERROR] The arguments of task-graph \{taskGraphName} cannot be rebound because it was rewritten for reductions");
+        }
+
+        // Note: the first element in the object list is a lambda expression (computation)
+        Object[] parameters = taskPackage.getTaskParameters();
+        if (parameterIndex < 0 || parameterIndex >= parameters.length - 1) {
+            throw new TornadoRuntimeException(STR."[ERROR] Task \{taskName} does not have a parameter #\{parameterIndex}");
+        }
+        Object oldValue = parameters[parameterIndex + 1];
+        if (value == null) {
+            throw new TornadoRuntimeException(STR."[ERROR] null object bound to parameter #\{parameterIndex} of task \{taskName}");
+        }
+        if (RuntimeUtilities.isBoxedPrimitive(oldValue)) {
+            throw new TornadoRuntimeException(STR."[ERROR] Parameter #\{parameterIndex} of task \{taskName} is a scalar value that is folded into the kernel. Use an array instead");
+        }
+        if (oldValue.getClass() != value.getClass()) {
+            throw new TornadoRuntimeException(STR."[ERROR] Parameter #\{parameterIndex} of task \{taskName} is of type \{oldValue.getClass().getName()}, but \{value.getClass().getName()} was bound");
+        }
+        if (oldValue == value) {
+            return true;
+        }
+
+        boolean reuseBuffers = executionContext.rebindVariable(oldValue, value);
+        for (TaskPackage task : taskPackages) {
+            Object[] taskParameters = task.getTaskParameters();
+            for (int i = 1; i < taskParameters.length; i++) {
+                if (taskParameters[i] == oldValue) {
+                    taskParameters[i] = value;
+                }
+            }
+        }
+        streamInObjects = Collections.unmodifiableList(rebindReferences(streamInObjects, oldValue, value));
+        streamOutObjects = Collections.unmodifiableList(rebindReferences(streamOutObjects, oldValue, value));
+        inputModesObjects = Collections.unmodifiableList(rebindStreamingObjects(inputModesObjects, oldValue, value));
+        outputModeObjects = Collections.unmodifiableList(rebindStreamingObjects(outputModeObjects, oldValue, value));
+        Set<Object> arguments = new HashSet<>(argumentsLookUp);
+        arguments.remove(oldValue);
+        arguments.add(value);
+        argumentsLookUp = Collections.unmodifiableSet(arguments);
+
+        if (!reuseBuffers) {
+            // The sizes of the arguments are folded into the kernels
+            for (SchedulableTask task : executionContext.getTasks()) {
+                if (Arrays.stream(task.getArguments()).anyMatch(argument -> argument == value)) {
+                    task.forceCompilation();
+                }
+            }
+            vmTable.values().forEach(TornadoVM::clearInstalledCode);
+        } else {
+            // The recorded commands skip the checks on the arguments of the tasks
+            vmTable.values().forEach(TornadoVM::invalidateRecordedCommands);
+        }
+        return true;
+    }
+
+    private static List<Object> rebindReferences(List<Object> references, Object oldRef, Object newRef) {
+        List<Object> newReferences = new ArrayList<>(references.size());
+        for (Object reference : references) {
+            newReferences.add(reference == oldRef ? newRef : reference);
+        }
+        return newReferences;
+    }
+
+    private static List<StreamingObject> rebindStreamingObjects(List<StreamingObject> streamingObjects, Object oldRef, Object newRef) {
+        List<StreamingObject> newStreamingObjects = new ArrayList<>(streamingObjects.size());
+        for (StreamingObject streamingObject : streamingObjects) {
+            newStreamingObjects.add(streamingObject.getObject() == oldRef ? new StreamingObject(streamingObject.getMode(), newRef) : streamingObject);
+        }
+        return newStreamingObjects;
     }
 
     @Override
@@ -2336,6 +2678,17 @@ public class TornadoTaskGraph implements TornadoTaskGraphInterface {
         return bufferLogProfiler.toString();
     }
 
+    @Override
+    public List<CompilationReport> getCompilationReports() {
+        List<CompilationReport> reports = new ArrayList<>();
+        for (SchedulableTask task : executionContext.getTasks()) {
+            if (task.meta() instanceof TaskMetaData taskMetaData && taskMetaData.getCompilationRecorder() != null) {
+                reports.add(taskMetaData.getCompilationRecorder().toReport());
+            }
+        }
+        return reports;
+    }
+
     boolean isProfilerEnabled() {
         return (getProfilerMode() != null || TornadoOptions.isProfilerEnabled());
     }
@@ -39,8 +39,10 @@ import uk.ac.manchester.tornado.api.common.Access;
 import uk.ac.manchester.tornado.api.common.TornadoEvents;
 import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
 import uk.ac.manchester.tornado.runtime.EventSet;
+import uk.ac.manchester.tornado.runtime.common.RuntimeUtilities;
 import uk.ac.manchester.tornado.runtime.common.TornadoXPUDevice;
 import uk.ac.manchester.tornado.runtime.domain.DomainTree;
+import uk.ac.manchester.tornado.runtime.profiler.CompilationRecorder;
 
 public class TaskMetaData extends AbstractMetaData {
 
@@ -58,6 +60,12 @@ public class TaskMetaData extends AbstractMetaData {
     private long[] localWork;
     private boolean localWorkDefined;
     private boolean globalWorkDefined;
+    private boolean noAliasArguments;
+    private Boolean distinctArrayArguments;
+    private long[] requiredLocalWork;
+    private boolean genericScalarArguments;
+    private final BitSet genericArguments = new BitSet();
+    private CompilationRecorder compilationRecorder;
 
     public TaskMetaData(ScheduleMetaData scheduleMetaData, String taskID, int numParameters) {
         super(STR."\{scheduleMetaData.getId()}.\{taskID}", scheduleMetaData);
@@ -200,6 +208,79 @@ public class TaskMetaData extends AbstractMetaData {
         return argumentsAccess;
     }
 
+    /**
+     * @return true if the kernel was generated assuming that none of its array
+     *     parameters alias each other.
+     */
+    public boolean isNoAliasArguments() {
+        return noAliasArguments;
+    }
+
+    public void setNoAliasArguments(boolean noAliasArguments) {
+        this.noAliasArguments = noAliasArguments;
+    }
+
+    /**
+     * @return true if no array is passed more than once in the arguments of the
+     *     task. The result is computed once and kept until the arguments change.
+     */
+    public boolean hasDistinctArrayArguments(Object[] arguments) {
+        if (distinctArrayArguments == null) {
+            distinctArrayArguments = RuntimeUtilities.hasDistinctArrayArguments(arguments);
+        }
+        return distinctArrayArguments;
+    }
+
+    public void invalidateDistinctArrayArguments() {
+        distinctArrayArguments = null;
+    }
+
+    /**
+     * @return the local work-group size the kernel was compiled for, or null if
+     *     the generated code does not depend on a specific local size.
+     */
+    public long[] getRequiredLocalWork() {
+        return requiredLocalWork;
+    }
+
+    public void setRequiredLocalWork(long[] requiredLocalWork) {
+        this.requiredLocalWork = requiredLocalWork;
+    }
+
+    /**
+     * @return true if the compiler must keep scalar arguments as kernel parameters
+     *     instead of folding their values, whenever the generated code does not
+     *     depend on them (e.g., loop bounds of parallel loops).
+     */
+    public boolean isGenericScalarArguments() {
+        return genericScalarArguments;
+    }
+
+    public void setGenericScalarArguments(boolean genericScalarArguments) {
+        this.genericScalarArguments = genericScalarArguments;
+        genericArguments.clear();
+    }
+
+    /**
+     * @return indices of the scalar arguments that were kept as kernel parameters
+     *     during the last compilation with generic scalar arguments.
+     */
+    public BitSet getGenericArguments() {
+        return genericArguments;
+    }
+
+    /**
+     * @return the recorder of the last compilation of the task, or null if
+     *     compilation reports are disabled.
+     */
+    public CompilationRecorder getCompilationRecorder() {
+        return compilationRecorder;
+    }
+
+    public void setCompilationRecorder(CompilationRecorder compilationRecorder) {
+        this.compilationRecorder = compilationRecorder;
+    }
+
     public byte[] getConstantData() {
         return constantData;
     }
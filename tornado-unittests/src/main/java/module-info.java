@@ -1,6 +1,7 @@
 open module tornado.unittests {
     requires transitive junit;
     requires transitive tornado.api;
+    requires tornado.primitives;
     requires lucene.core;
     requires java.desktop;
     requires jdk.incubator.vector;
@@ -29,6 +30,7 @@ open module tornado.unittests {
     exports uk.ac.manchester.tornado.unittests.math;
     exports uk.ac.manchester.tornado.unittests.matrices;
     exports uk.ac.manchester.tornado.unittests.prebuilt;
+    exports uk.ac.manchester.tornado.unittests.primitives;
     exports uk.ac.manchester.tornado.unittests.profiler;
     exports uk.ac.manchester.tornado.unittests.reductions;
     exports uk.ac.manchester.tornado.unittests.slam;
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.compression.CompressedArray;
+import uk.ac.manchester.tornado.api.compression.CompressedTransfers;
+import uk.ac.manchester.tornado.api.compression.SparseBitmapCodec;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the compressed host-to-device transfers of
+ * {@link CompressedTransfers}.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.api.TestCompressedTransfers
+ * </code>
+ */
+public class TestCompressedTransfers extends TornadoTestBase {
+
+    private static final int SIZE = 1_000_003;
+
+    private static FloatArray createSparseFloats(int size, int seed) {
+        Random random = new Random(seed);
+        FloatArray array = new FloatArray(size);
+        for (int i = 0; i < size; i++) {
+            if (random.nextInt(20) == 0) {
+                array.set(i, random.nextFloat() + 1.0f);
+            }
+        }
+        return array;
+    }
+
+    public static void scale(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * 2.0f);
+        }
+    }
+
+    public static void increment(IntArray input, IntArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) + 1);
+        }
+    }
+
+    @Test
+    public void testCodecFloats() {
+        FloatArray input = createSparseFloats(SIZE, 7);
+        input.set(SIZE - 1, -0.0f);
+        CompressedArray<FloatArray> compressed = CompressedTransfers.compress(input);
+        assertTrue(compressed.isCompressed());
+        assertTrue(compressed.getCompressionRatio() > 5.0f);
+
+        FloatArray decoded = new FloatArray(SIZE);
+        SparseBitmapCodec.decode(compressed.getIndex(), compressed.getValues(), decoded);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(Float.floatToRawIntBits(input.get(i)), Float.floatToRawIntBits(decoded.get(i)));
+        }
+    }
+
+    @Test
+    public void testCodecInts() {
+        IntArray input = new IntArray(4096);
+        for (int i = 0; i < input.getSize(); i += 97) {
+            input.set(i, i);
+        }
+        input.set(4095, -1);
+        CompressedArray<IntArray> compressed = CompressedTransfers.compress(input);
+        assertTrue(compressed.isCompressed());
+
+        IntArray decoded = new IntArray(input.getSize());
+        SparseBitmapCodec.decode(compressed.getIndex(), compressed.getValues(), decoded);
+        for (int i = 0; i < input.getSize(); i++) {
+            assertEquals(input.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    public void testDenseArrayIsNotCompressed() {
+        FloatArray input = new FloatArray(SIZE);
+        input.init(1.0f);
+        CompressedArray<FloatArray> compressed = CompressedTransfers.compress(input);
+        assertFalse(compressed.isCompressed());
+        assertEquals(1.0f, compressed.getCompressionRatio(), 0.0f);
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testUpdateOverCapacity() {
+        IntArray input = new IntArray(SIZE);
+        input.set(0, 1);
+        CompressedArray<IntArray> compressed = CompressedTransfers.compress(input);
+        input.set(1, 1);
+        compressed.update();
+    }
+
+    @Test
+    public void testCompressedTransferFloats() {
+        FloatArray input = createSparseFloats(SIZE, 11);
+        FloatArray output = new FloatArray(SIZE);
+        CompressedArray<FloatArray> compressed = CompressedTransfers.compress(input);
+
+        TaskGraph taskGraph = new TaskGraph("s0");
+        CompressedTransfers.transferToDevice(taskGraph, "decode", DataTransferMode.FIRST_EXECUTION, compressed);
+        taskGraph.task("t0", TestCompressedTransfers::scale, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(input.get(i) * 2.0f, output.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testCompressedTransferEveryExecution() {
+        IntArray input = new IntArray(SIZE);
+        IntArray output = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i += 64) {
+            input.set(i, i);
+        }
+        CompressedArray<IntArray> compressed = CompressedTransfers.compress(input, SIZE / 16);
+
+        TaskGraph taskGraph = new TaskGraph("s0");
+        CompressedTransfers.transferToDevice(taskGraph, "decode", DataTransferMode.EVERY_EXECUTION, compressed);
+        taskGraph.task("t0", TestCompressedTransfers::increment, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(input.get(i) + 1, output.get(i));
+        }
+
+        for (int i = 32; i < SIZE; i += 64) {
+            input.set(i, -i);
+        }
+        compressed.update();
+        executionPlan.execute();
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(input.get(i) + 1, output.get(i));
+        }
+    }
+
+    @Test
+    public void testUncompressedTransfer() {
+        FloatArray input = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        input.init(3.0f);
+        CompressedArray<FloatArray> compressed = CompressedTransfers.compress(input);
+
+        TaskGraph taskGraph = new TaskGraph("s0");
+        CompressedTransfers.transferToDevice(taskGraph, "decode", DataTransferMode.EVERY_EXECUTION, compressed);
+        taskGraph.task("t0", TestCompressedTransfers::scale, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(6.0f, output.get(i), 0.0f);
+        }
+    }
+}
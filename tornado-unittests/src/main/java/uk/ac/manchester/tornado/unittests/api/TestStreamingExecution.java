@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.streaming.ChunkSink;
+import uk.ac.manchester.tornado.api.streaming.ChunkSinks;
+import uk.ac.manchester.tornado.api.streaming.ChunkSource;
+import uk.ac.manchester.tornado.api.streaming.ChunkSources;
+import uk.ac.manchester.tornado.api.streaming.StreamingExecution;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the out-of-core execution of task-graphs with
+ * {@link StreamingExecution}.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.api.TestStreamingExecution
+ * </code>
+ */
+public class TestStreamingExecution extends TornadoTestBase {
+
+    private static final int SIZE = 1_000_003;
+
+    public static void score(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * 2.0f + 1.0f);
+        }
+    }
+
+    public static void toFloat(IntArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * 0.5f);
+        }
+    }
+
+    @Test
+    public void testChunkSize() {
+        assertEquals(124928, StreamingExecution.chunkSize(1_000_000, 4, 4));
+        assertEquals(StreamingExecution.maxChunkSize(4), StreamingExecution.chunkSize(16_000_000_000L, 4, 4));
+        assertEquals(StreamingExecution.maxChunkSize(8), StreamingExecution.chunkSize(16_000_000_000L, 4, 8));
+    }
+
+    /**
+     * A chunk of doubles at the maximum chunk size must still fit, with its
+     * header, in an int number of bytes.
+     */
+    @Test
+    public void testMaxDoubleChunk() {
+        assertEquals(StreamingExecution.maxChunkSize(8), StreamingExecution.chunkSize(64_000_000_000L, 8, 8));
+        assertTrue((long) StreamingExecution.maxChunkSize(8) * Double.BYTES + TornadoNativeArray.ARRAY_HEADER <= Integer.MAX_VALUE);
+        // One more aligned block of elements would not fit
+        assertTrue((long) (StreamingExecution.maxChunkSize(8) + StreamingExecution.CHUNK_ALIGNMENT) * Double.BYTES + TornadoNativeArray.ARRAY_HEADER > Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testFileStreaming() throws IOException, TornadoExecutionPlanException {
+        Path inputPath = Files.createTempFile("tornado-streaming-input", ".bin");
+        Path outputPath = Files.createTempFile("tornado-streaming-output", ".bin");
+        try {
+            try (Arena arena = Arena.ofConfined(); ChunkSink sink = ChunkSinks.ofFile(inputPath)) {
+                MemorySegment data = arena.allocate((long) SIZE * Float.BYTES);
+                for (int i = 0; i < SIZE; i++) {
+                    data.setAtIndex(ValueLayout.JAVA_FLOAT, i, i);
+                }
+                sink.write(data);
+            }
+
+            try (StreamingExecution<FloatArray, FloatArray> streaming = new StreamingExecution<>("s0", "1MB", FloatArray::new, FloatArray::new, //
+                    (taskGraph, input, output) -> taskGraph.task("t0", TestStreamingExecution::score, input, output)); //
+                    ChunkSource source = ChunkSources.ofFile(inputPath); //
+                    ChunkSink sink = ChunkSinks.ofFile(outputPath)) {
+                assertEquals(124928, streaming.getChunkSize());
+                assertEquals(SIZE, streaming.execute(source, sink));
+            }
+
+            assertEquals((long) SIZE * Float.BYTES, Files.size(outputPath));
+            try (Arena arena = Arena.ofConfined(); FileChannel channel = FileChannel.open(outputPath, StandardOpenOption.READ)) {
+                MemorySegment results = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+                for (int i = 0; i < SIZE; i++) {
+                    assertEquals(i * 2.0f + 1.0f, results.getAtIndex(ValueLayout.JAVA_FLOAT, i), 0.0f);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(inputPath);
+            Files.deleteIfExists(outputPath);
+        }
+    }
+
+    @Test
+    public void testSegmentStreaming() throws TornadoExecutionPlanException {
+        List<MemorySegment> segments = new ArrayList<>();
+        int numElements = 0;
+        for (int size : new int[] { 1000, 5000, 17, 12000, 3 }) {
+            MemorySegment segment = Arena.ofAuto().allocate((long) size * Integer.BYTES);
+            for (int i = 0; i < size; i++) {
+                segment.setAtIndex(ValueLayout.JAVA_INT, i, numElements + i);
+            }
+            segments.add(segment);
+            numElements += size;
+        }
+        MemorySegment results = Arena.ofAuto().allocate((long) numElements * Float.BYTES);
+
+        try (StreamingExecution<IntArray, FloatArray> streaming = new StreamingExecution<>("s0", 4096, IntArray::new, FloatArray::new, //
+                (taskGraph, input, output) -> taskGraph.task("t0", TestStreamingExecution::toFloat, input, output))) {
+            assertEquals(numElements, streaming.execute(ChunkSources.ofSegments(segments.iterator()), ChunkSinks.ofSegment(results)));
+        }
+
+        for (int i = 0; i < numElements; i++) {
+            assertEquals(i * 0.5f, results.getAtIndex(ValueLayout.JAVA_FLOAT, i), 0.0f);
+        }
+    }
+}
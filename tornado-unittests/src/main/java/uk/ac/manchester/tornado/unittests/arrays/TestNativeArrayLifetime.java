@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.foreign.Arena;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.NativeArrayPool;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for arena-scoped native arrays, explicit {@code close()} and the
+ * {@link NativeArrayPool}.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.arrays.TestNativeArrayLifetime
+ * </code>
+ */
+public class TestNativeArrayLifetime extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+
+    public static void add(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    @Test
+    public void testArenaAllocation() {
+        try (Arena arena = Arena.ofConfined()) {
+            IntArray array = new IntArray(SIZE, arena);
+            array.init(3);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(3, array.get(i));
+            }
+            assertEquals(SIZE, array.getSize());
+        }
+    }
+
+    @Test
+    public void testCloseIsIdempotent() {
+        FloatArray array = new FloatArray(SIZE);
+        assertFalse(array.isClosed());
+        array.close();
+        assertTrue(array.isClosed());
+        array.close();
+        assertTrue(array.isClosed());
+    }
+
+    @Test
+    public void testPoolReusesBuffers() {
+        try (NativeArrayPool pool = new NativeArrayPool()) {
+            FloatArray first = pool.allocateFloatArray(SIZE);
+            first.init(1.0f);
+            assertEquals(0, pool.getPooledBytes());
+            first.close();
+            long pooledBytes = pool.getPooledBytes();
+            assertTrue(pooledBytes > 0);
+
+            // A smaller array of the same bucket reuses the released buffer
+            FloatArray second = pool.allocateFloatArray(SIZE - 10);
+            assertEquals(0, pool.getPooledBytes());
+            for (int i = 0; i < second.getSize(); i++) {
+                assertEquals(0.0f, second.get(i), 0.0f);
+            }
+            second.close();
+            assertEquals(pooledBytes, pool.getPooledBytes());
+        }
+    }
+
+    @Test
+    public void testCloseAfterExecution() throws TornadoExecutionPlanException {
+        try (NativeArrayPool pool = new NativeArrayPool()) {
+            FloatArray a = pool.allocateFloatArray(SIZE);
+            FloatArray b = pool.allocateFloatArray(SIZE);
+            FloatArray c = pool.allocateFloatArray(SIZE);
+            a.init(1.0f);
+            b.init(2.0f);
+
+            TaskGraph taskGraph = new TaskGraph("s0") //
+                    .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                    .task("t0", TestNativeArrayLifetime::add, a, b, c) //
+                    .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+            try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+                executionPlan.execute();
+                for (int i = 0; i < SIZE; i++) {
+                    assertEquals(3.0f, c.get(i), 0.0f);
+                }
+                // Device buffers are released with the arrays, before the plan is closed
+                a.close();
+                b.close();
+                c.close();
+            }
+            assertTrue(a.isClosed() && b.isClosed() && c.isClosed());
+        }
+    }
+}
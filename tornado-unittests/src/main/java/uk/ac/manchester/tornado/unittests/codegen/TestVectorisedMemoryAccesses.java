@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.types.arrays.ByteArray;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.tools.Exceptions.UnsupportedConfigurationException;
+
+/**
+ * Kernels in which each thread accesses consecutive elements of an array.
+ * These accesses are candidates to be merged into vector loads and stores.
+ * Each test checks the results and the vector loads and stores in the
+ * generated OpenCL kernel.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.experimental.vectorise.memory=True -Dtornado.print.kernel=True -Dtornado.print.kernel.dir=vectorisedKernelOut.out"
+ * uk.ac.manchester.tornado.unittests.codegen.TestVectorisedMemoryAccesses
+ * </code>
+ */
+public class TestVectorisedMemoryAccesses extends TornadoTestBase {
+
+    private static final String SOURCE_DIR = System.getProperty("tornado.print.kernel.dir");
+    private static final int SIZE = 4096;
+
+    public static void scaleFloat4(FloatArray input, FloatArray output, float alpha) {
+        for (@Parallel int i = 0; i < input.getSize() / 4; i++) {
+            float x = input.get(4 * i);
+            float y = input.get(4 * i + 1);
+            float z = input.get(4 * i + 2);
+            float w = input.get(4 * i + 3);
+            output.set(4 * i, alpha * x);
+            output.set(4 * i + 1, alpha * y);
+            output.set(4 * i + 2, alpha * z);
+            output.set(4 * i + 3, alpha * w);
+        }
+    }
+
+    public static void swapPairs(IntArray input, IntArray output) {
+        for (@Parallel int i = 0; i < input.getSize() / 2; i++) {
+            int x = input.get(2 * i);
+            int y = input.get(2 * i + 1);
+            output.set(2 * i, y);
+            output.set(2 * i + 1, x);
+        }
+    }
+
+    public static void sumBytes8(ByteArray input, IntArray output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            int sum = 0;
+            for (int j = 0; j < 8; j++) {
+                sum += input.get(8 * i + j);
+            }
+            output.set(i, sum);
+        }
+    }
+
+    public static void addPrimitiveArrays(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length / 2; i++) {
+            c[2 * i] = a[2 * i] + b[2 * i];
+            c[2 * i + 1] = a[2 * i + 1] + b[2 * i + 1];
+        }
+    }
+
+    /**
+     * Only every other element is accessed, so there is nothing to merge.
+     */
+    public static void stridedCopy(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize() / 4; i++) {
+            output.set(4 * i, input.get(4 * i));
+            output.set(4 * i + 2, input.get(4 * i + 2));
+        }
+    }
+
+    @After
+    public void after() {
+        // make sure the source file generated is deleted
+        if (SOURCE_DIR != null) {
+            File fileLog = new File(SOURCE_DIR);
+            if (fileLog.exists()) {
+                fileLog.delete();
+            }
+        }
+    }
+
+    private void checkVectorisationEnabled() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+        if (!Boolean.parseBoolean(System.getProperty("tornado.experimental.vectorise.memory", "False"))) {
+            throw new UnsupportedConfigurationException("Test requires -Dtornado.experimental.vectorise.memory=True");
+        }
+        if (SOURCE_DIR == null || !Boolean.parseBoolean(System.getProperty("tornado.print.kernel", "False"))) {
+            throw new UnsupportedConfigurationException("Test requires -Dtornado.print.kernel=True and -Dtornado.print.kernel.dir");
+        }
+    }
+
+    private static String getGeneratedKernel() {
+        try {
+            return Files.readString(new File(SOURCE_DIR).toPath());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testFloat4() {
+        checkVectorisationEnabled();
+        FloatArray input = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        Random random = new Random(17);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, random.nextFloat());
+        }
+
+        TaskGraph taskGraph = new TaskGraph("float4") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestVectorisedMemoryAccesses::scaleFloat4, input, output, 2.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(2.0f * input.get(i), output.get(i), 0.001f);
+        }
+
+        String kernel = getGeneratedKernel();
+        assertTrue(kernel.contains("vload4"));
+        assertTrue(kernel.contains("vstore4"));
+    }
+
+    @Test
+    public void testIntPairs() {
+        checkVectorisationEnabled();
+        IntArray input = new IntArray(SIZE);
+        IntArray output = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("intPairs") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestVectorisedMemoryAccesses::swapPairs, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i += 2) {
+            assertEquals(input.get(i + 1), output.get(i));
+            assertEquals(input.get(i), output.get(i + 1));
+        }
+
+        String kernel = getGeneratedKernel();
+        assertTrue(kernel.contains("vload2"));
+        assertTrue(kernel.contains("vstore2"));
+    }
+
+    @Test
+    public void testBytes() {
+        checkVectorisationEnabled();
+        ByteArray input = new ByteArray(SIZE);
+        IntArray output = new IntArray(SIZE / 8);
+        Random random = new Random(17);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, (byte) (random.nextInt(256) - 128));
+        }
+
+        TaskGraph taskGraph = new TaskGraph("bytes") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestVectorisedMemoryAccesses::sumBytes8, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < output.getSize(); i++) {
+            int sum = 0;
+            for (int j = 0; j < 8; j++) {
+                sum += input.get(8 * i + j);
+            }
+            assertEquals(sum, output.get(i));
+        }
+    }
+
+    @Test
+    public void testPrimitiveArrays() {
+        checkVectorisationEnabled();
+        float[] a = new float[SIZE];
+        float[] b = new float[SIZE];
+        float[] c = new float[SIZE];
+        Random random = new Random(17);
+        for (int i = 0; i < SIZE; i++) {
+            a[i] = random.nextFloat();
+            b[i] = random.nextFloat();
+        }
+
+        TaskGraph taskGraph = new TaskGraph("primitiveArrays") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestVectorisedMemoryAccesses::addPrimitiveArrays, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(a[i] + b[i], c[i], 0.001f);
+        }
+
+        String kernel = getGeneratedKernel();
+        assertTrue(kernel.contains("vload2"));
+        assertTrue(kernel.contains("vstore2"));
+    }
+
+    @Test
+    public void testStridedAccesses() {
+        checkVectorisationEnabled();
+        FloatArray input = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i);
+        }
+
+        TaskGraph taskGraph = new TaskGraph("strided") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input, output) //
+                .task("t0", TestVectorisedMemoryAccesses::stridedCopy, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            float expected = (i % 2 == 0) ? i : 0.0f;
+            assertEquals(expected, output.get(i), 0.001f);
+        }
+
+        String kernel = getGeneratedKernel();
+        assertFalse(kernel.contains("vload"));
+        assertFalse(kernel.contains("vstore"));
+    }
+}
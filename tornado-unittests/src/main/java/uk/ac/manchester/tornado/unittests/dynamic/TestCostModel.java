@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.dynamic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.costmodel.AnalyticalCostModel;
+import uk.ac.manchester.tornado.api.costmodel.CostModel;
+import uk.ac.manchester.tornado.api.costmodel.DeviceDescriptor;
+import uk.ac.manchester.tornado.api.costmodel.DeviceSelector;
+import uk.ac.manchester.tornado.api.costmodel.KernelFeatures;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the cost-model device selection on synthetic feature vectors and
+ * device descriptors. No device is required.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.dynamic.TestCostModel
+ * </code>
+ */
+public class TestCostModel extends TornadoTestBase {
+
+    private static final DeviceDescriptor GPU = new DeviceDescriptor("gpu", TornadoDeviceType.GPU, 80, 1024, 1500, true, false);
+    private static final DeviceDescriptor GPU_NO_FP64 = new DeviceDescriptor("gpu-fp32", TornadoDeviceType.GPU, 80, 1024, 1500, false, false);
+    private static final DeviceDescriptor HOST = DeviceDescriptor.ofHost();
+
+    private static final KernelFeatures MAP = new KernelFeatures(2, 1, 0, 1, 1, 0, 0, 0, 0, 1);
+    private static final KernelFeatures DOUBLE_MAP = new KernelFeatures(2, 1, 0, 1, 0, 4, 0, 0, 0, 1);
+    private static final KernelFeatures HEAVY = new KernelFeatures(4, 1, 0, 20, 100, 0, 10, 2, 2, 2);
+
+    private static final String MAP_KERNEL = "Kernels.map";
+    private static final String OTHER_MAP_KERNEL = "Kernels.otherMap";
+    private static final String HEAVY_KERNEL = "Kernels.heavy";
+
+    @Test
+    public void testSmallProblemOnHost() {
+        DeviceSelector selector = new DeviceSelector(new AnalyticalCostModel());
+        int selected = selector.select(MAP_KERNEL, MAP, 16, 16 * 4 * 3, List.of(GPU, HOST));
+        assertEquals(1, selected);
+    }
+
+    @Test
+    public void testLargeProblemOnDevice() {
+        DeviceSelector selector = new DeviceSelector(new AnalyticalCostModel());
+        int selected = selector.select(HEAVY_KERNEL, HEAVY, 4_000_000, 4_000_000L * 4 * 5, List.of(HOST, GPU));
+        assertEquals(1, selected);
+    }
+
+    @Test
+    public void testTransfersChangeTheSelection() {
+        DeviceSelector selector = new DeviceSelector(new AnalyticalCostModel());
+        long size = 1_000_000;
+        assertEquals(0, selector.select(MAP_KERNEL, MAP, size, 0, List.of(GPU, HOST)));
+        assertEquals(1, selector.select(MAP_KERNEL, MAP, size, 1L << 34, List.of(GPU, HOST)));
+    }
+
+    @Test
+    public void testFP64NotSupported() {
+        DeviceSelector selector = new DeviceSelector(new AnalyticalCostModel());
+        double[] predictions = selector.predict("Kernels.doubleMap", DOUBLE_MAP, 1_000_000, 0, List.of(GPU_NO_FP64, GPU));
+        assertTrue(Double.isInfinite(predictions[0]));
+        assertEquals(1, selector.select("Kernels.doubleMap", DOUBLE_MAP, 1_000_000, 0, List.of(GPU_NO_FP64, GPU)));
+    }
+
+    @Test
+    public void testCalibration() {
+        CostModel model = new AnalyticalCostModel();
+        long size = 1_000_000;
+        // The host prediction is only the kernel time
+        double predicted = model.predict(MAP_KERNEL, MAP, size, 0, HOST);
+        // The kernel is measured to be much slower than predicted
+        for (int i = 0; i < 50; i++) {
+            model.calibrate(MAP_KERNEL, MAP, size, HOST, predicted * 1000);
+        }
+        double calibrated = model.predict(MAP_KERNEL, MAP, size, 0, HOST);
+        assertEquals(predicted * 1000, calibrated, predicted * 10);
+
+        // Other kernels are not affected
+        assertEquals(new AnalyticalCostModel().predict(HEAVY_KERNEL, HEAVY, size, 0, HOST), model.predict(HEAVY_KERNEL, HEAVY, size, 0, HOST), 0.0);
+    }
+
+    /**
+     * Two kernels with the same features are different kernels, so the
+     * measurements of one must not change the predictions of the other.
+     */
+    @Test
+    public void testCalibrationPerKernel() {
+        CostModel model = new AnalyticalCostModel();
+        long size = 1_000_000;
+        double predicted = model.predict(MAP_KERNEL, MAP, size, 0, GPU);
+        for (int i = 0; i < 50; i++) {
+            model.calibrate(MAP_KERNEL, MAP, size, GPU, predicted * 1000);
+        }
+        assertTrue(model.predict(MAP_KERNEL, MAP, size, 0, GPU) > predicted * 100);
+        assertEquals(predicted, model.predict(OTHER_MAP_KERNEL, MAP, size, 0, GPU), 0.0);
+    }
+
+    /**
+     * The calibration uses kernel times, so it must not scale the predicted
+     * transfer time.
+     */
+    @Test
+    public void testCalibrationExcludesTransfers() {
+        CostModel model = new AnalyticalCostModel();
+        long size = 1_000_000;
+        long transferBytes = size * 4 * 3;
+        double transferTime = model.predict(MAP_KERNEL, MAP, size, transferBytes, GPU) - model.predict(MAP_KERNEL, MAP, size, 0, GPU);
+        double predicted = model.predict(MAP_KERNEL, MAP, size, 0, GPU);
+        for (int i = 0; i < 50; i++) {
+            model.calibrate(MAP_KERNEL, MAP, size, GPU, predicted * 10);
+        }
+        double calibratedTransferTime = model.predict(MAP_KERNEL, MAP, size, transferBytes, GPU) - model.predict(MAP_KERNEL, MAP, size, 0, GPU);
+        assertEquals(transferTime, calibratedTransferTime, transferTime * 1e-9);
+    }
+
+    @Test
+    public void testCustomCostModel() {
+        CostModel hostOnly = (kernelId, features, problemSize, transferBytes, device) -> device.host() ? 1 : 2;
+        DeviceSelector selector = new DeviceSelector(hostOnly);
+        assertEquals(1, selector.select(HEAVY_KERNEL, HEAVY, 4_000_000, 0, List.of(GPU, HOST)));
+    }
+}
@@ -242,4 +242,32 @@ public class TestDynamic extends TornadoTestBase {
             assertEquals(a.get(i) * 2, b.get(i));
         }
     }
+
+    @Test
+    public void testDynamicPredicted() {
+        int numElements = 16000;
+        IntArray a = new IntArray(numElements);
+        IntArray b = new IntArray(numElements);
+
+        a.init(10);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a) //
+                .task("t0", TestDynamic::compute, a, b) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, b);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+
+        // The device is selected by the cost model without exploration
+        executionPlan.withDynamicReconfiguration(Policy.END_2_END, DRMode.PREDICTED) //
+                .execute();
+        for (int i = 0; i < 10; i++) {
+            executionPlan.execute();
+        }
+
+        for (int i = 0; i < b.getSize(); i++) {
+            assertEquals(a.get(i) * 2, b.get(i));
+        }
+    }
 }
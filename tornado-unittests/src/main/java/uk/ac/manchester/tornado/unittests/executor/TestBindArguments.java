@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * A single execution plan processes new data by binding new arrays to the
+ * parameters of its tasks.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestBindArguments
+ * </code>
+ */
+public class TestBindArguments extends TornadoTestBase {
+
+    private static final int SIZE = 2048;
+
+    public static void vectorAdd(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void scale(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * 2.0f);
+        }
+    }
+
+    private static FloatArray createArray(int size, float value) {
+        FloatArray array = new FloatArray(size);
+        array.init(value);
+        return array;
+    }
+
+    private static void checkResult(FloatArray result, float expected) {
+        for (int i = 0; i < result.getSize(); i++) {
+            assertEquals(expected, result.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testBindNewRequests() throws TornadoExecutionPlanException {
+        FloatArray a = createArray(SIZE, 1.0f);
+        FloatArray b = createArray(SIZE, 2.0f);
+        FloatArray c = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestBindArguments::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.execute();
+            checkResult(c, 3.0f);
+
+            for (int request = 0; request < 4; request++) {
+                FloatArray newA = createArray(SIZE, request);
+                FloatArray newC = new FloatArray(SIZE);
+                executionPlan.bind("t0", 0, newA).bind("s0.t0", 2, newC).execute();
+                checkResult(newC, request + 2.0f);
+            }
+        }
+    }
+
+    /**
+     * Inputs copied only in the first execution must be copied again after they
+     * are rebound.
+     */
+    @Test
+    public void testBindFirstExecutionInput() throws TornadoExecutionPlanException {
+        FloatArray input = createArray(SIZE, 1.0f);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, input) //
+                .task("t0", TestBindArguments::scale, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.execute();
+            checkResult(output, 2.0f);
+
+            executionPlan.bind("t0", 0, createArray(SIZE, 5.0f)).execute();
+            checkResult(output, 10.0f);
+        }
+    }
+
+    /**
+     * Arrays of a different size get new device buffers and the task is
+     * recompiled.
+     */
+    @Test
+    public void testBindDifferentSize() throws TornadoExecutionPlanException {
+        FloatArray input = createArray(SIZE, 1.0f);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestBindArguments::scale, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.execute();
+            checkResult(output, 2.0f);
+
+            FloatArray largerOutput = new FloatArray(SIZE * 2);
+            executionPlan.bind("t0", 0, createArray(SIZE * 2, 3.0f)).bind("t0", 1, largerOutput).execute();
+            checkResult(largerOutput, 6.0f);
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testBindIncompatibleType() throws TornadoExecutionPlanException {
+        FloatArray input = createArray(SIZE, 1.0f);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestBindArguments::scale, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.bind("t0", 0, new IntArray(SIZE));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.executor;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Execution plans that run a task-graph several times per execution, keeping
+ * the data on the device between iterations.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.executor.TestIterations
+ * </code>
+ */
+public class TestIterations extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+
+    public static void increment(FloatArray data) {
+        for (@Parallel int i = 0; i < data.getSize(); i++) {
+            data.set(i, data.get(i) + 1.0f);
+        }
+    }
+
+    public static void halve(FloatArray data) {
+        for (@Parallel int i = 0; i < data.getSize(); i++) {
+            data.set(i, data.get(i) * 0.5f);
+        }
+    }
+
+    public static void checkConvergence(FloatArray data, IntArray flag) {
+        flag.set(0, data.get(0) < 1.0f ? 1 : 0);
+    }
+
+    @Test
+    public void testFixedIterations() throws TornadoExecutionPlanException {
+        FloatArray data = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, data) //
+                .task("t0", TestIterations::increment, data) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, data);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            TornadoExecutionResult executionResult = executionPlan.withIterations(100).execute();
+            assertEquals(100, executionResult.getIterations());
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(100.0f, data.get(i), 0.0f);
+            }
+
+            // The second execution starts from the data on the host
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(200.0f, data.get(i), 0.0f);
+            }
+
+            executionResult = executionPlan.withoutIterations().execute();
+            assertEquals(1, executionResult.getIterations());
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(201.0f, data.get(i), 0.0f);
+            }
+        }
+    }
+
+    private static int runUntilConvergence(int checkInterval) throws TornadoExecutionPlanException {
+        FloatArray data = new FloatArray(SIZE);
+        data.init(1024.0f);
+        IntArray flag = new IntArray(1);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, data) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, flag) //
+                .task("t0", TestIterations::halve, data) //
+                .task("t1", TestIterations::checkConvergence, data, flag) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, data);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            TornadoExecutionResult executionResult = executionPlan.withIterations(100, flag, checkInterval).execute();
+            int iterations = executionResult.getIterations();
+            float expected = 1024.0f / (1 << iterations);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(expected, data.get(i), 0.0f);
+            }
+            return iterations;
+        }
+    }
+
+    @Test
+    public void testConvergence() throws TornadoExecutionPlanException {
+        assertEquals(11, runUntilConvergence(1));
+    }
+
+    @Test
+    public void testConvergenceCheckInterval() throws TornadoExecutionPlanException {
+        assertEquals(12, runUntilConvergence(4));
+    }
+
+    /**
+     * The iterations of two task-graphs cannot interleave, so plans with several
+     * task-graphs are rejected.
+     */
+    @Test(expected = TornadoRuntimeException.class)
+    public void testIterationsWithTwoTaskGraphs() throws TornadoExecutionPlanException {
+        FloatArray data = new FloatArray(SIZE);
+        IntArray flag = new IntArray(1);
+        TaskGraph taskGraph0 = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, data) //
+                .task("t0", TestIterations::halve, data) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, data);
+        TaskGraph taskGraph1 = new TaskGraph("s1") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, data) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, flag) //
+                .task("t0", TestIterations::checkConvergence, data, flag) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, data);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph0.snapshot(), taskGraph1.snapshot())) {
+            executionPlan.withIterations(10, flag, 1);
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testBatchAfterIterations() throws TornadoExecutionPlanException {
+        FloatArray data = new FloatArray(SIZE);
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, data) //
+                .task("t0", TestIterations::increment, data) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, data);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.withIterations(10).withBatch("1MB");
+        }
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testConvergenceFlagNotInTaskGraph() throws TornadoExecutionPlanException {
+        FloatArray data = new FloatArray(SIZE);
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, data) //
+                .task("t0", TestIterations::increment, data) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, data);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.withIterations(10, new IntArray(1), 1);
+        }
+    }
+}
@@ -58,6 +58,15 @@ public class TestFields extends TornadoTestBase {
         }
     }
 
+    public static void updatePrimitives(Primitives p) {
+        p.intField += 1;
+        p.longField += 2;
+        p.shortField += 3;
+        p.floatField += 0.5f;
+        p.doubleField += 0.25;
+        p.inheritedField += 10;
+    }
+
     @Test
     public void testFields01() {
         final int N = 1024;
@@ -200,6 +209,37 @@ public class TestFields extends TornadoTestBase {
         assertEquals(-1, a.b.someField, 0.01f);
     }
 
+    /**
+     * Every primitive field of the object, including the ones declared in the
+     * super-class, must be copied to the device and back at its own offset.
+     */
+    @Test
+    public void testPrimitiveFields() {
+        // Object fields are deserialized before the command list is flushed for
+        // SPIR-V. See testSetField.
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        Primitives primitives = new Primitives();
+
+        TaskGraph taskGraph = new TaskGraph("s0");
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, primitives);
+        taskGraph.task("t0", TestFields::updatePrimitives, primitives);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, primitives);
+
+        ImmutableTaskGraph immutableTaskGraph = taskGraph.snapshot();
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(immutableTaskGraph);
+        executionPlan.execute();
+        executionPlan.execute();
+
+        assertEquals(12, primitives.intField);
+        assertEquals(24, primitives.longField);
+        assertEquals(36, primitives.shortField);
+        assertEquals(2.0f, primitives.floatField, 0.001f);
+        assertEquals(1.5, primitives.doubleField, 0.001);
+        assertEquals(70, primitives.inheritedField);
+        assertEquals(7, primitives.byteField);
+    }
+
     private static class Foo {
         //        final IntArray output;
         //        final IntArray a;
@@ -276,6 +316,18 @@ public class TestFields extends TornadoTestBase {
             someOtherField = -1;
         }
     }
+    private static class BasePrimitives {
+        int inheritedField = 50;
+    }
+
+    private static class Primitives extends BasePrimitives {
+        byte byteField = 7;
+        short shortField = 30;
+        int intField = 10;
+        long longField = 20;
+        float floatField = 1.0f;
+        double doubleField = 1.0;
+    }
     // CHECKSTYLE:ON
 
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.kernelcontext.reductions;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.reductions.DeviceReductions;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the two-stage device reductions in {@link DeviceReductions}.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.kernelcontext.reductions.TestDeviceReductions
+ * </code>
+ */
+public class TestDeviceReductions extends TornadoTestBase {
+
+    private static final int SIZE = 100_000;
+
+    private static FloatArray createInput() {
+        FloatArray input = new FloatArray(SIZE);
+        Random random = new Random(7);
+        for (int i = 0; i < input.getSize(); i++) {
+            input.set(i, random.nextFloat() * 100.0f);
+        }
+        return input;
+    }
+
+    public static void subtractMean(FloatArray input, FloatArray meanVariance, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) - meanVariance.get(1));
+        }
+    }
+
+    @Test
+    public void testArgMax() {
+        FloatArray input = createInput();
+        input.set(SIZE / 3, 1000.0f);
+        FloatArray maxValue = new FloatArray(1);
+        IntArray maxIndex = new IntArray(1);
+
+        GridScheduler gridScheduler = new GridScheduler();
+        TaskGraph taskGraph = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        DeviceReductions.argMax(taskGraph, gridScheduler, "argMax", input, maxValue, maxIndex);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, maxValue, maxIndex);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withGridScheduler(gridScheduler).execute();
+
+        assertEquals(1000.0f, maxValue.get(0), 0.0f);
+        assertEquals(SIZE / 3, maxIndex.get(0));
+    }
+
+    @Test
+    public void testArgMin() {
+        FloatArray input = createInput();
+        input.set(SIZE - 5, -1.0f);
+        FloatArray minValue = new FloatArray(1);
+        IntArray minIndex = new IntArray(1);
+
+        GridScheduler gridScheduler = new GridScheduler();
+        TaskGraph taskGraph = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        DeviceReductions.argMin(taskGraph, gridScheduler, "argMin", input, minValue, minIndex);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, minValue, minIndex);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withGridScheduler(gridScheduler).execute();
+
+        assertEquals(-1.0f, minValue.get(0), 0.0f);
+        assertEquals(SIZE - 5, minIndex.get(0));
+    }
+
+    @Test
+    public void testCompensatedSum() {
+        FloatArray input = createInput();
+        FloatArray result = new FloatArray(1);
+
+        GridScheduler gridScheduler = new GridScheduler();
+        TaskGraph taskGraph = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        DeviceReductions.compensatedSum(taskGraph, gridScheduler, "sum", input, result);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withGridScheduler(gridScheduler).execute();
+
+        double sequential = 0;
+        for (int i = 0; i < input.getSize(); i++) {
+            sequential += input.get(i);
+        }
+        assertEquals(sequential, result.get(0), sequential * 1e-6);
+    }
+
+    @Test
+    public void testMeanVariance() {
+        FloatArray input = createInput();
+        FloatArray result = new FloatArray(3);
+
+        GridScheduler gridScheduler = new GridScheduler();
+        TaskGraph taskGraph = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        DeviceReductions.meanVariance(taskGraph, gridScheduler, "meanVariance", input, result);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, result);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withGridScheduler(gridScheduler).execute();
+
+        double mean = 0;
+        for (int i = 0; i < input.getSize(); i++) {
+            mean += input.get(i);
+        }
+        mean /= SIZE;
+        double variance = 0;
+        for (int i = 0; i < input.getSize(); i++) {
+            variance += (input.get(i) - mean) * (input.get(i) - mean);
+        }
+        variance /= SIZE;
+
+        assertEquals(SIZE, result.get(0), 0.0f);
+        assertEquals(mean, result.get(1), 1e-2);
+        assertEquals(variance, result.get(2), variance * 1e-3);
+    }
+
+    /**
+     * The result of the reduction is consumed by a following task without
+     * copying it to the host.
+     */
+    @Test
+    public void testReductionChainedOnDevice() {
+        FloatArray input = createInput();
+        FloatArray meanVariance = new FloatArray(3);
+        FloatArray output = new FloatArray(SIZE);
+
+        GridScheduler gridScheduler = new GridScheduler();
+        TaskGraph taskGraph = new TaskGraph("s0").transferToDevice(DataTransferMode.EVERY_EXECUTION, input);
+        DeviceReductions.meanVariance(taskGraph, gridScheduler, "meanVariance", input, meanVariance);
+        taskGraph.transferToDevice(DataTransferMode.FIRST_EXECUTION, meanVariance) //
+                .task("center", TestDeviceReductions::subtractMean, input, meanVariance, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.withGridScheduler(gridScheduler).execute();
+
+        double mean = 0;
+        for (int i = 0; i < input.getSize(); i++) {
+            mean += input.get(i);
+        }
+        mean /= SIZE;
+        for (int i = 0; i < output.getSize(); i++) {
+            assertEquals(input.get(i) - mean, output.get(i), 1e-2);
+        }
+    }
+}
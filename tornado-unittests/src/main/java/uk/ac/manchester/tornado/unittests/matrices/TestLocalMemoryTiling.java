@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.matrices;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoDeviceType;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.tools.Exceptions.UnsupportedConfigurationException;
+
+/**
+ * Loop nests that are candidates for local memory tiling. The results must be
+ * the same with and without tiling.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.experimental.tiling=True -Dtornado.print.kernel=True -Dtornado.print.kernel.dir=tilingKernelOut.out"
+ * uk.ac.manchester.tornado.unittests.matrices.TestLocalMemoryTiling
+ * </code>
+ */
+public class TestLocalMemoryTiling extends TornadoTestBase {
+
+    private static final String SOURCE_DIR = System.getProperty("tornado.print.kernel.dir");
+
+    private static float[] createMatrix(int size, Random random) {
+        float[] matrix = new float[size];
+        for (int i = 0; i < size; i++) {
+            matrix[i] = random.nextFloat();
+        }
+        return matrix;
+    }
+
+    public static void matrixMultiplication(final float[] a, final float[] b, final float[] c, final int n, final int m, final int k) {
+        for (@Parallel int i = 0; i < n; i++) {
+            for (@Parallel int j = 0; j < m; j++) {
+                float sum = 0.0f;
+                for (int x = 0; x < k; x++) {
+                    sum += a[i * k + x] * b[x * m + j];
+                }
+                c[i * m + j] = sum;
+            }
+        }
+    }
+
+    public static void matrixMultiplicationFloatArray(final FloatArray a, final FloatArray b, final FloatArray c, final int size) {
+        for (@Parallel int i = 0; i < size; i++) {
+            for (@Parallel int j = 0; j < size; j++) {
+                float sum = 0.0f;
+                for (int x = 0; x < size; x++) {
+                    sum += a.get(i * size + x) * b.get(x * size + j);
+                }
+                c.set(i * size + j, sum);
+            }
+        }
+    }
+
+    @After
+    public void after() {
+        // make sure the source file generated is deleted
+        if (SOURCE_DIR != null) {
+            File fileLog = new File(SOURCE_DIR);
+            if (fileLog.exists()) {
+                fileLog.delete();
+            }
+        }
+    }
+
+    private static void checkMatrixMultiplication(int n, int m, int k) {
+        checkMatrixMultiplication("s0", n, m, k);
+    }
+
+    private static void checkMatrixMultiplication(String taskGraphName, int n, int m, int k) {
+        Random random = new Random(31);
+        float[] a = createMatrix(n * k, random);
+        float[] b = createMatrix(k * m, random);
+        float[] c = new float[n * m];
+
+        TaskGraph taskGraph = new TaskGraph(taskGraphName) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestLocalMemoryTiling::matrixMultiplication, a, b, c, n, m, k) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) {
+                float sum = 0.0f;
+                for (int x = 0; x < k; x++) {
+                    sum += a[i * k + x] * b[x * m + j];
+                }
+                assertEquals(sum, c[i * m + j], 0.01f);
+            }
+        }
+    }
+
+    @Test
+    public void testSquareMatrices() {
+        checkMatrixMultiplication(256, 256, 256);
+    }
+
+    @Test
+    public void testRectangularMatrices() {
+        checkMatrixMultiplication(128, 64, 96);
+    }
+
+    /**
+     * The loop bounds are not a multiple of any tile size, so the loop nest is
+     * compiled without tiling.
+     */
+    @Test
+    public void testIrregularMatrices() {
+        checkMatrixMultiplication(100, 50, 30);
+    }
+
+    /**
+     * The tiled kernel keeps the tiles of {@code a} and {@code b} in local memory
+     * and synchronises the work-group around each tile.
+     */
+    @Test
+    public void testTiledKernelUsesLocalMemory() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+        if (!Boolean.parseBoolean(System.getProperty("tornado.experimental.tiling", "False"))) {
+            throw new UnsupportedConfigurationException("Test requires -Dtornado.experimental.tiling=True");
+        }
+        if (SOURCE_DIR == null || !Boolean.parseBoolean(System.getProperty("tornado.print.kernel", "False"))) {
+            throw new UnsupportedConfigurationException("Test requires -Dtornado.print.kernel=True and -Dtornado.print.kernel.dir");
+        }
+        if (getTornadoRuntime().getDefaultDevice().getDeviceType() != TornadoDeviceType.GPU) {
+            throw new UnsupportedConfigurationException("Test requires a GPU device");
+        }
+
+        // A new task-graph name forces the kernel to be compiled and dumped again
+        checkMatrixMultiplication("tiling", 64, 64, 64);
+
+        String kernel = null;
+        try {
+            kernel = Files.readString(new File(SOURCE_DIR).toPath());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        assertTrue("The generated kernel does not declare local arrays", kernel.contains("__local"));
+        assertTrue("The generated kernel does not synchronise the work-group", kernel.contains("barrier("));
+    }
+
+    @Test
+    public void testFloatArrays() {
+        final int size = 128;
+        Random random = new Random(31);
+        FloatArray a = FloatArray.fromArray(createMatrix(size * size, random));
+        FloatArray b = FloatArray.fromArray(createMatrix(size * size, random));
+        FloatArray c = new FloatArray(size * size);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestLocalMemoryTiling::matrixMultiplicationFloatArray, a, b, c, size) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                float sum = 0.0f;
+                for (int x = 0; x < size; x++) {
+                    sum += a.get(i * size + x) * b.get(x * size + j);
+                }
+                assertEquals(sum, c.get(i * size + j), 0.01f);
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.tools.Exceptions.UnsupportedConfigurationException;
+
+/**
+ * Pipelines of tasks with intermediate arrays that are only used on the
+ * device. With buffer liveness enabled, the buffers of the intermediates are
+ * released after their last reader and reused by later intermediates. The
+ * results must be the same with and without buffer liveness. The placement
+ * of the DEALLOC bytecodes is checked from the printed bytecodes.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.buffers.liveness=True -Dtornado.print.bytecodes=True" uk.ac.manchester.tornado.unittests.memory.TestBufferLiveness
+ * </code>
+ */
+public class TestBufferLiveness extends TornadoTestBase {
+
+    private static final int SIZE = 8192;
+    private static final int ITERATIONS = 3;
+
+    public static void scale(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * 2.0f);
+        }
+    }
+
+    public static void increment(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) + 1.0f);
+        }
+    }
+
+    public static void add(FloatArray a, FloatArray b, FloatArray output) {
+        for (@Parallel int i = 0; i < a.getSize(); i++) {
+            output.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    private static void checkBytecodesPrinted() {
+        if (!Boolean.parseBoolean(System.getProperty("tornado.buffers.liveness", "False")) || !Boolean.parseBoolean(System.getProperty("tornado.print.bytecodes", "False"))) {
+            throw new UnsupportedConfigurationException("Test requires -Dtornado.buffers.liveness=True -Dtornado.print.bytecodes=True");
+        }
+    }
+
+    /**
+     * Executes the plan once and returns the bytecodes printed by the
+     * interpreter.
+     */
+    private static List<String> executeAndGetBytecodes(TornadoExecutionPlan executionPlan) {
+        PrintStream out = System.out;
+        ByteArrayOutputStream bytecodes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytecodes, true));
+        try {
+            executionPlan.execute();
+        } finally {
+            System.setOut(out);
+        }
+        return bytecodes.toString().lines().filter(line -> line.startsWith("bc: ")).toList();
+    }
+
+    private static int indexOf(List<String> bytecodes, String bytecode, String operand) {
+        for (int i = 0; i < bytecodes.size(); i++) {
+            String line = bytecodes.get(i);
+            // ALLOC is also a substring of DEALLOC
+            boolean isBytecode = line.contains(bytecode) && (bytecode.equals("DEALLOC") || !line.contains("DEALLOC"));
+            if (isBytecode && line.contains(operand)) {
+                return i;
+            }
+        }
+        fail(STR."No \{bytecode} bytecode for \{operand}");
+        return -1;
+    }
+
+    private static String getOperand(FloatArray array) {
+        return Integer.toHexString(array.hashCode());
+    }
+
+    /**
+     * Checks that the buffer of the intermediate is released right after the
+     * launch of its last reader, and only there. The launch can only be followed
+     * by the dependencies on its event and by other releases.
+     */
+    private static int assertReleasedAfter(List<String> bytecodes, FloatArray intermediate, String lastReader) {
+        String operand = getOperand(intermediate);
+        int launch = indexOf(bytecodes, "LAUNCH", STR."\{lastReader} ");
+        int release = indexOf(bytecodes, "DEALLOC", operand);
+        assertTrue(release > launch);
+        for (int i = launch + 1; i < release; i++) {
+            assertTrue(bytecodes.get(i).contains("DEALLOC") || bytecodes.get(i).contains("ADD_DEPENDENCY"));
+        }
+        // It is not released again at the end of the task-graph
+        assertEquals(1, bytecodes.stream().filter(line -> line.contains("DEALLOC") && line.contains(operand)).count());
+        return release;
+    }
+
+    private static FloatArray createInput() {
+        FloatArray input = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i);
+        }
+        return input;
+    }
+
+    /**
+     * The buffer of {@code first} is released after {@code t1} and can be reused
+     * for {@code third}.
+     */
+    @Test
+    public void testPipeline() {
+        FloatArray input = createInput();
+        FloatArray first = new FloatArray(SIZE);
+        FloatArray second = new FloatArray(SIZE);
+        FloatArray third = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, first, second, third) //
+                .task("t0", TestBufferLiveness::scale, input, first) //
+                .task("t1", TestBufferLiveness::increment, first, second) //
+                .task("t2", TestBufferLiveness::scale, second, third) //
+                .task("t3", TestBufferLiveness::increment, third, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            input.init(iteration);
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(((iteration * 2.0f) + 1.0f) * 2.0f + 1.0f, output.get(i), 0.0f);
+            }
+        }
+    }
+
+    /**
+     * The intermediate {@code first} is read by the last task, so it stays alive
+     * for the whole task-graph, while {@code second} is released after {@code t1}.
+     */
+    @Test
+    public void testLongLivedIntermediate() {
+        FloatArray input = createInput();
+        FloatArray first = new FloatArray(SIZE);
+        FloatArray second = new FloatArray(SIZE);
+        FloatArray third = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, first, second, third) //
+                .task("t0", TestBufferLiveness::scale, input, first) //
+                .task("t1", TestBufferLiveness::increment, first, second) //
+                .task("t2", TestBufferLiveness::scale, second, third) //
+                .task("t3", TestBufferLiveness::add, first, third, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                float expected = (i * 2.0f) + ((i * 2.0f) + 1.0f) * 2.0f;
+                assertEquals(expected, output.get(i), 0.0f);
+            }
+        }
+    }
+
+    /**
+     * Each intermediate of the pipeline is released right after the task that
+     * reads it, and the buffer of {@code third} is only allocated once the
+     * buffer of {@code first} has been released, so it can be reused.
+     */
+    @Test
+    public void testPipelineReleases() {
+        checkBytecodesPrinted();
+        FloatArray input = createInput();
+        FloatArray first = new FloatArray(SIZE);
+        FloatArray second = new FloatArray(SIZE);
+        FloatArray third = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, first, second, third) //
+                .task("t0", TestBufferLiveness::scale, input, first) //
+                .task("t1", TestBufferLiveness::increment, first, second) //
+                .task("t2", TestBufferLiveness::scale, second, third) //
+                .task("t3", TestBufferLiveness::increment, third, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            List<String> bytecodes = executeAndGetBytecodes(executionPlan);
+            int releaseFirst = assertReleasedAfter(bytecodes, first, "s0.t1");
+            assertReleasedAfter(bytecodes, second, "s0.t2");
+            assertReleasedAfter(bytecodes, third, "s0.t3");
+            assertTrue(indexOf(bytecodes, "ALLOC", getOperand(third)) > releaseFirst);
+        }
+    }
+
+    /**
+     * The intermediate {@code first} is only released after the last task reads
+     * it.
+     */
+    @Test
+    public void testLongLivedIntermediateReleases() {
+        checkBytecodesPrinted();
+        FloatArray input = createInput();
+        FloatArray first = new FloatArray(SIZE);
+        FloatArray second = new FloatArray(SIZE);
+        FloatArray third = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, first, second, third) //
+                .task("t0", TestBufferLiveness::scale, input, first) //
+                .task("t1", TestBufferLiveness::increment, first, second) //
+                .task("t2", TestBufferLiveness::scale, second, third) //
+                .task("t3", TestBufferLiveness::add, first, third, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        List<String> bytecodes = executeAndGetBytecodes(executionPlan);
+        assertReleasedAfter(bytecodes, second, "s0.t2");
+        assertReleasedAfter(bytecodes, first, "s0.t3");
+        assertReleasedAfter(bytecodes, third, "s0.t3");
+    }
+
+    /**
+     * Intermediates that are copied back to the host keep their buffers.
+     */
+    @Test
+    public void testIntermediateCopiedToHost() {
+        FloatArray input = createInput();
+        FloatArray first = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestBufferLiveness::scale, input, first) //
+                .task("t1", TestBufferLiveness::increment, first, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, first, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i * 2.0f, first.get(i), 0.0f);
+            assertEquals(i * 2.0f + 1.0f, output.get(i), 0.0f);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.memory;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoRuntimeException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.TornadoNativeArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Pipelines of tasks with intermediate arrays that only exist on the device.
+ * The host keeps the header of a device temporary, but not its elements.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.memory.TestDeviceTemporaries
+ * </code>
+ */
+public class TestDeviceTemporaries extends TornadoTestBase {
+
+    private static final int SIZE = 8192;
+
+    public static void scale(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * 2.0f);
+        }
+    }
+
+    public static void increment(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) + 1.0f);
+        }
+    }
+
+    @Test
+    public void testPipeline() {
+        FloatArray input = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        input.init(3.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0");
+        FloatArray temporary = taskGraph.deviceTemporary(FloatArray.class, SIZE);
+        taskGraph.transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestDeviceTemporaries::scale, input, temporary) //
+                .task("t1", TestDeviceTemporaries::increment, temporary, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        for (int iteration = 0; iteration < 3; iteration++) {
+            executionPlan.execute();
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(7.0f, output.get(i), 0.0f);
+            }
+        }
+
+        assertTrue(temporary.isDeviceOnly());
+        assertEquals(SIZE, temporary.getSize());
+        assertEquals(TornadoNativeArray.ARRAY_HEADER, temporary.getSegmentWithHeader().byteSize());
+    }
+
+    @Test
+    public void testAllocateHostMemory() {
+        IntArray temporary = TornadoNativeArray.createDeviceOnly(IntArray.class, SIZE);
+        assertTrue(temporary.isDeviceOnly());
+
+        temporary.allocateHostMemory();
+        assertFalse(temporary.isDeviceOnly());
+        temporary.set(SIZE - 1, 10);
+        assertEquals(10, temporary.get(SIZE - 1));
+        assertEquals(SIZE, temporary.getSegmentWithHeader().getAtIndex(JAVA_INT, 0));
+    }
+
+    @Test(expected = TornadoRuntimeException.class)
+    public void testTemporaryCannotBeCopiedToHost() {
+        TaskGraph taskGraph = new TaskGraph("s0");
+        FloatArray temporary = taskGraph.deviceTemporary(FloatArray.class, SIZE);
+        taskGraph.transferToHost(DataTransferMode.EVERY_EXECUTION, temporary);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.parameters;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Kernel parameters are declared as non-aliasing (restrict) only when all
+ * array arguments of a task are distinct. These tests check that the same
+ * array can still be passed several times to a task.
+ *
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.parameters.TestParameterAliasing
+ * </code>
+ */
+public class TestParameterAliasing extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+
+    private static void add(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    private static FloatArray createArray(float offset) {
+        FloatArray array = new FloatArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            array.set(i, i + offset);
+        }
+        return array;
+    }
+
+    @Test
+    public void testDistinctArguments() {
+        FloatArray a = createArray(0.0f);
+        FloatArray b = createArray(1.0f);
+        FloatArray c = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestParameterAliasing::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(2.0f * i + 1.0f, c.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testSameInputTwice() {
+        FloatArray a = createArray(0.0f);
+        FloatArray c = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestParameterAliasing::add, a, a, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(2.0f * i, c.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testInPlaceUpdate() {
+        FloatArray a = createArray(0.0f);
+        FloatArray b = createArray(1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, a, b) //
+                .task("t0", TestParameterAliasing::add, a, b, a) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, a);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+        executionPlan.execute();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(3.0f * i + 2.0f, a.get(i), 0.0f);
+        }
+    }
+}
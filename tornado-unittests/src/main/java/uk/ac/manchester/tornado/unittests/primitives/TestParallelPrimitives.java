@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.primitives;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.api.types.arrays.IntArray;
+import uk.ac.manchester.tornado.api.types.arrays.LongArray;
+import uk.ac.manchester.tornado.primitives.HostPrimitives;
+import uk.ac.manchester.tornado.primitives.ParallelPrimitives;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tests for the parallel primitives of the tornado-primitives module. Every
+ * primitive is checked on the Java implementation and through
+ * {@link ParallelPrimitives}, which must run the kernels on the device.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V uk.ac.manchester.tornado.unittests.primitives.TestParallelPrimitives
+ * </code>
+ */
+public class TestParallelPrimitives extends TornadoTestBase {
+
+    private static final int SIZE = 70_000;
+
+    private int fallbacks;
+
+    @Before
+    public void recordFallbacks() {
+        fallbacks = ParallelPrimitives.getNumberOfFallbacks();
+    }
+
+    @After
+    public void checkNoFallbacks() {
+        assertEquals("The primitives have been executed in Java", fallbacks, ParallelPrimitives.getNumberOfFallbacks());
+    }
+
+    private static IntArray randomInts(int size, int bound, long seed) {
+        Random random = new Random(seed);
+        IntArray array = new IntArray(size);
+        for (int i = 0; i < size; i++) {
+            array.set(i, random.nextInt(bound));
+        }
+        return array;
+    }
+
+    @Test
+    public void testScanJava() {
+        IntArray input = randomInts(SIZE, 100, 1);
+        IntArray exclusive = new IntArray(SIZE);
+        IntArray inclusive = new IntArray(SIZE);
+        HostPrimitives.exclusiveScan(input, exclusive);
+        HostPrimitives.inclusiveScan(input, inclusive);
+
+        int sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(sum, exclusive.get(i));
+            sum += input.get(i);
+            assertEquals(sum, inclusive.get(i));
+        }
+    }
+
+    @Test
+    public void testScan() {
+        LongArray input = new LongArray(SIZE);
+        input.init(3L);
+        LongArray exclusive = new LongArray(SIZE);
+        ParallelPrimitives.exclusiveScan(input, exclusive);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(3L * i, exclusive.get(i));
+        }
+    }
+
+    @Test
+    public void testSegmentedScan() {
+        IntArray input = randomInts(SIZE, 10, 2);
+        IntArray flags = randomInts(SIZE, 1000, 3);
+        for (int i = 0; i < SIZE; i++) {
+            flags.set(i, flags.get(i) == 0 ? 1 : 0);
+        }
+        IntArray java = new IntArray(SIZE);
+        IntArray output = new IntArray(SIZE);
+        HostPrimitives.segmentedInclusiveScan(input, flags, java);
+        ParallelPrimitives.segmentedInclusiveScan(input, flags, output);
+
+        int sum = 0;
+        for (int i = 0; i < SIZE; i++) {
+            sum = flags.get(i) != 0 ? input.get(i) : sum + input.get(i);
+            assertEquals(sum, java.get(i));
+            assertEquals(sum, output.get(i));
+        }
+    }
+
+    @Test
+    public void testCompact() {
+        FloatArray input = new FloatArray(SIZE);
+        IntArray flags = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, i);
+            flags.set(i, i % 3 == 0 ? 1 : 0);
+        }
+        FloatArray java = new FloatArray(SIZE);
+        FloatArray output = new FloatArray(SIZE);
+        int javaCount = HostPrimitives.compact(input, flags, java);
+        int count = ParallelPrimitives.compact(input, flags, output);
+
+        int expected = (SIZE + 2) / 3;
+        assertEquals(expected, javaCount);
+        assertEquals(expected, count);
+        for (int i = 0; i < expected; i++) {
+            assertEquals(3 * i, java.get(i), 0.0f);
+            assertEquals(3 * i, output.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testSortByKeyAndUnique() {
+        IntArray keys = randomInts(SIZE, 5000, 4);
+        for (int i = 0; i < SIZE; i += 7) {
+            keys.set(i, -keys.get(i));
+        }
+        int[] expected = keys.toHeapArray();
+        Arrays.sort(expected);
+
+        IntArray javaKeys = IntArray.fromArray(keys.toHeapArray());
+        IntArray values = new IntArray(SIZE);
+        IntArray javaValues = new IntArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            values.set(i, keys.get(i));
+            javaValues.set(i, keys.get(i));
+        }
+        HostPrimitives.sortByKey(javaKeys, javaValues);
+        ParallelPrimitives.sortByKey(keys, values);
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected[i], javaKeys.get(i));
+            assertEquals(expected[i], javaValues.get(i));
+            assertEquals(expected[i], keys.get(i));
+            assertEquals(expected[i], values.get(i));
+        }
+
+        IntArray distinct = new IntArray(SIZE);
+        int count = ParallelPrimitives.unique(keys, distinct);
+        int[] expectedDistinct = Arrays.stream(expected).distinct().toArray();
+        assertEquals(expectedDistinct.length, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expectedDistinct[i], distinct.get(i));
+        }
+    }
+
+    @Test
+    public void testHistogram() {
+        final int bins = 64;
+        IntArray input = randomInts(SIZE, bins, 5);
+        int[] expected = new int[bins];
+        for (int i = 0; i < SIZE; i++) {
+            expected[input.get(i)]++;
+        }
+        IntArray java = new IntArray(bins);
+        IntArray histogram = new IntArray(bins);
+        HostPrimitives.histogram(input, java);
+        ParallelPrimitives.histogram(input, histogram);
+
+        for (int i = 0; i < bins; i++) {
+            assertEquals(expected[i], java.get(i));
+            assertEquals(expected[i], histogram.get(i));
+        }
+    }
+}
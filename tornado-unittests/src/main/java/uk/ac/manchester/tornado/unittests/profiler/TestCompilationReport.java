@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.profiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.TornadoExecutionResult;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.profiler.CompilationReport;
+import uk.ac.manchester.tornado.api.runtime.TornadoRuntime;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.tools.Exceptions.UnsupportedConfigurationException;
+
+/**
+ * Checks the per-phase compilation reports. The tests also run with the
+ * virtual device.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.compiler.report=True" uk.ac.manchester.tornado.unittests.profiler.TestCompilationReport
+ * </code>
+ */
+public class TestCompilationReport extends TornadoTestBase {
+
+    private static final String[] TIERS = { "HighTier", "MidTier", "LowTier" };
+
+    public static void saxpy(float alpha, FloatArray x, FloatArray y) {
+        for (@Parallel int i = 0; i < y.getSize(); i++) {
+            y.set(i, alpha * x.get(i) + y.get(i));
+        }
+    }
+
+    public static void scale(FloatArray y) {
+        for (@Parallel int i = 0; i < y.getSize(); i++) {
+            y.set(i, y.get(i) * 0.5f);
+        }
+    }
+
+    private static void checkReportsEnabled() {
+        if (!Boolean.parseBoolean(System.getProperty("tornado.compiler.report", "False"))) {
+            throw new UnsupportedConfigurationException("Test requires -Dtornado.compiler.report=True");
+        }
+        // Tasks served from the code cache are not compiled, so they have no report
+        TornadoRuntime.getTornadoRuntime().getDefaultDevice().clean();
+    }
+
+    private static void checkReport(CompilationReport report) {
+        for (String tier : TIERS) {
+            assertTrue(report.phases().stream().anyMatch(phase -> phase.tier().equals(tier)));
+        }
+        report.phases().forEach(phase -> {
+            assertTrue(phase.time() >= 0);
+            assertTrue(phase.nodesBefore() > 0);
+            assertTrue(phase.nodesAfter() > 0);
+        });
+        assertTrue(report.sketchTime() > 0);
+        assertTrue(report.lirGenerationTime() > 0);
+        assertTrue(report.codeEmissionTime() > 0);
+        assertTrue(report.driverBuildTime() >= 0);
+        assertTrue(report.getTotalTime() >= report.getTierTime("HighTier"));
+    }
+
+    @Test
+    public void testReportPerTask() {
+        checkReportsEnabled();
+        FloatArray x = new FloatArray(1024);
+        FloatArray y = new FloatArray(1024);
+        x.init(1.0f);
+        y.init(2.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                .task("t0", TestCompilationReport::saxpy, 2.0f, x, y) //
+                .task("t1", TestCompilationReport::scale, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        TornadoExecutionResult executionResult = executionPlan.execute();
+
+        List<CompilationReport> reports = executionResult.getProfilerResult().getCompilationReports();
+        assertEquals(2, reports.size());
+        assertEquals("s0.t0", reports.get(0).taskName());
+        assertEquals("s0.t1", reports.get(1).taskName());
+        reports.forEach(TestCompilationReport::checkReport);
+    }
+
+    @Test
+    public void testReportJson() {
+        checkReportsEnabled();
+        FloatArray y = new FloatArray(256);
+        y.init(2.0f);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, y) //
+                .task("t0", TestCompilationReport::scale, y) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, y);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        TornadoExecutionResult executionResult = executionPlan.execute();
+
+        String json = executionResult.getProfilerResult().getCompilationReportsJson();
+        assertTrue(json.startsWith("["));
+        assertTrue(json.contains("\"task\": \"s0.t0\""));
+        assertTrue(json.contains("\"tier\": \"LowTier\""));
+        assertFalse(json.contains("\"phases\": [\n    ]"));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Tasks that are executed repeatedly with a small set of scalar values. With
+ * specialised variants enabled, each value gets its own kernel variant and,
+ * once the variant cache thrashes, a generic variant is used. The results must
+ * be the same in all cases.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.specialise.variants=True -Dtornado.specialise.variants.size=2" uk.ac.manchester.tornado.unittests.tasks.TestKernelVariants
+ * </code>
+ */
+public class TestKernelVariants extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+
+    public static void boxFilter(FloatArray input, FloatArray output, int radius, float scale) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            float sum = 0.0f;
+            for (int k = -radius; k <= radius; k++) {
+                int index = Math.min(Math.max(i + k, 0), input.getSize() - 1);
+                sum += input.get(index);
+            }
+            output.set(i, scale * sum / (2 * radius + 1));
+        }
+    }
+
+    private static FloatArray createInput() {
+        FloatArray input = new FloatArray(SIZE);
+        Random random = new Random(11);
+        for (int i = 0; i < SIZE; i++) {
+            input.set(i, random.nextFloat());
+        }
+        return input;
+    }
+
+    private static void runBoxFilter(FloatArray input, int radius, float scale) {
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestKernelVariants::boxFilter, input, output, radius, scale) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        FloatArray expected = new FloatArray(SIZE);
+        boxFilter(input, expected, radius, scale);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected.get(i), output.get(i), 1e-4f);
+        }
+    }
+
+    @Test
+    public void testRecurringRadius() {
+        FloatArray input = createInput();
+        int[] radii = { 1, 2, 3, 1, 2, 3, 2, 1 };
+        for (int radius : radii) {
+            runBoxFilter(input, radius, 1.0f);
+        }
+    }
+
+    /**
+     * Every execution uses a different scale, so the cache thrashes and the scale
+     * is passed to a generic variant as a kernel parameter.
+     */
+    @Test
+    public void testThrashingScale() {
+        FloatArray input = createInput();
+        for (int i = 0; i < 12; i++) {
+            runBoxFilter(input, 1 + (i % 2), 0.5f + i);
+        }
+    }
+
+    /**
+     * Two live plans share the same kernel variant. Releasing the variant from
+     * one plan must not free the kernel that the other plan still launches.
+     */
+    @Test
+    public void testVariantSharedAcrossPlans() throws TornadoExecutionPlanException {
+        FloatArray input = createInput();
+        FloatArray outputA = new FloatArray(SIZE);
+        FloatArray outputB = new FloatArray(SIZE);
+        FloatArray expected = new FloatArray(SIZE);
+        boxFilter(input, expected, 2, 1.0f);
+
+        TaskGraph taskGraphA = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestKernelVariants::boxFilter, input, outputA, 2, 1.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, outputA);
+
+        TaskGraph taskGraphB = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestKernelVariants::boxFilter, input, outputB, 2, 1.0f) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, outputB);
+
+        TornadoExecutionPlan executionPlanB = new TornadoExecutionPlan(taskGraphB.snapshot());
+        try (TornadoExecutionPlan executionPlanA = new TornadoExecutionPlan(taskGraphA.snapshot())) {
+            executionPlanA.execute();
+            executionPlanB.execute();
+        }
+
+        // Plan A has released its reference to the variant; plan B still uses it
+        outputB.init(0.0f);
+        executionPlanB.execute();
+        executionPlanB.close();
+
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(expected.get(i), outputA.get(i), 1e-4f);
+            assertEquals(expected.get(i), outputB.get(i), 1e-4f);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.tasks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.ProfilerMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+import uk.ac.manchester.tornado.unittests.tools.Exceptions.UnsupportedConfigurationException;
+
+/**
+ * One execution plan is created per request, with its own data. With shared
+ * kernels enabled, only the first plan compiles the kernel and the following
+ * plans reuse it. The results must be the same in all cases, and the plans
+ * that reuse a kernel must not compile it again.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.kernels.shared=True" uk.ac.manchester.tornado.unittests.tasks.TestSharedKernels
+ * </code>
+ */
+public class TestSharedKernels extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+
+    public static void saxpy(float alpha, FloatArray x, FloatArray y, FloatArray output) {
+        for (@Parallel int i = 0; i < output.getSize(); i++) {
+            output.set(i, alpha * x.get(i) + y.get(i));
+        }
+    }
+
+    private static void checkSharedKernelsEnabled() {
+        if (!Boolean.parseBoolean(System.getProperty("tornado.kernels.shared", "False"))) {
+            throw new UnsupportedConfigurationException("Test requires -Dtornado.kernels.shared=True");
+        }
+    }
+
+    /**
+     * Runs the request in a new execution plan.
+     *
+     * @return the compilation time of the plan, which is zero if the kernel was
+     *     reused.
+     */
+    private static long runRequest(int request, int size, float alpha) {
+        FloatArray x = new FloatArray(size);
+        FloatArray y = new FloatArray(size);
+        FloatArray output = new FloatArray(size);
+        x.init(request);
+        y.init(1.0f);
+
+        TaskGraph taskGraph = new TaskGraph("request" + request) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, x, y) //
+                .task("saxpy", TestSharedKernels::saxpy, alpha, x, y, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        long compileTime;
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            compileTime = executionPlan.withProfiler(ProfilerMode.SILENT).execute().getProfilerResult().getCompileTime();
+        } catch (TornadoExecutionPlanException e) {
+            throw new RuntimeException(e);
+        }
+
+        for (int i = 0; i < size; i++) {
+            assertEquals(alpha * request + 1.0f, output.get(i), 1e-4f);
+        }
+        return compileTime;
+    }
+
+    @Test
+    public void testPlanPerRequest() {
+        for (int request = 0; request < 8; request++) {
+            runRequest(request, SIZE, 2.0f);
+        }
+    }
+
+    /**
+     * The array length and the scalar value are folded into the kernel, so plans
+     * with different values must not share it.
+     */
+    @Test
+    public void testDifferentSpecialisations() {
+        for (int request = 0; request < 8; request++) {
+            runRequest(request, SIZE * (1 + request % 2), 1.0f + request % 3);
+        }
+    }
+
+    /**
+     * Only the first plan compiles the kernel, the following plans reuse it.
+     */
+    @Test
+    public void testKernelReusedAcrossPlans() {
+        checkSharedKernelsEnabled();
+        // The size and the value are not used by other tests, so the first plan compiles
+        assertTrue(runRequest(0, SIZE / 2, 3.0f) > 0);
+        for (int request = 1; request < 8; request++) {
+            assertEquals(0, runRequest(request, SIZE / 2, 3.0f));
+        }
+    }
+
+    /**
+     * Each specialisation is compiled once, by the first plan that uses it, so
+     * there is one kernel per specialisation.
+     */
+    @Test
+    public void testOneKernelPerSpecialisation() {
+        checkSharedKernelsEnabled();
+        Set<Integer> compiledSpecialisations = new HashSet<>();
+        for (int request = 0; request < 12; request++) {
+            int specialisation = request % 4;
+            // Sizes and values that the other tests do not use
+            long compileTime = runRequest(request, SIZE * (3 + specialisation % 2), 5.0f + specialisation / 2);
+            if (compiledSpecialisations.add(specialisation)) {
+                assertTrue(compileTime > 0);
+            } else {
+                assertEquals(0, compileTime);
+            }
+        }
+    }
+}
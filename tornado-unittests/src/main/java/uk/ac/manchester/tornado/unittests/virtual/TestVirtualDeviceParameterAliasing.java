@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.virtual;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.enums.TornadoVMBackendType;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Checks the signature of the generated kernels: array parameters are declared
+ * as restrict (and const when they are only read) only when all array
+ * arguments of the task are distinct.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ *     tornado-test -V --jvm="-Dtornado.device.desc=virtual-device-CPU.json -Dtornado.print.kernel=True -Dtornado.virtual.device=True
+ *     -Dtornado.print.kernel.dir=virtualAliasingOut.out" uk.ac.manchester.tornado.unittests.virtual.TestVirtualDeviceParameterAliasing
+ * </code>
+ */
+public class TestVirtualDeviceParameterAliasing extends TornadoTestBase {
+
+    private static final String SOURCE_DIR = System.getProperty("tornado.print.kernel.dir");
+    private static final int SIZE = 1024;
+
+    private static void add(float[] a, float[] b, float[] c) {
+        for (@Parallel int i = 0; i < c.length; i++) {
+            c[i] = a[i] + b[i];
+        }
+    }
+
+    @After
+    public void after() {
+        // make sure the source file generated is deleted
+        File fileLog = new File(SOURCE_DIR);
+        if (fileLog.exists()) {
+            fileLog.delete();
+        }
+    }
+
+    private static String compileAdd(String taskGraphName, float[] a, float[] b, float[] c) {
+        TaskGraph taskGraph = new TaskGraph(taskGraphName) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestVirtualDeviceParameterAliasing::add, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot());
+        executionPlan.execute();
+
+        String generatedKernel = null;
+        try {
+            generatedKernel = Files.readString(new File(SOURCE_DIR).toPath());
+        } catch (IOException e) {
+            e.printStackTrace();
+            Assert.fail();
+        }
+        return generatedKernel;
+    }
+
+    @Test
+    public void testDistinctArguments() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        String kernel = compileAdd("s0", new float[SIZE], new float[SIZE], new float[SIZE]);
+
+        Assert.assertTrue(kernel.contains("const __global uchar * restrict a"));
+        Assert.assertTrue(kernel.contains("const __global uchar * restrict b"));
+        Assert.assertTrue(kernel.contains("__global uchar * restrict c"));
+        Assert.assertFalse(kernel.contains("const __global uchar * restrict c"));
+    }
+
+    @Test
+    public void testSameInputTwice() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        float[] a = new float[SIZE];
+        String kernel = compileAdd("s1", a, a, new float[SIZE]);
+
+        Assert.assertFalse(kernel.contains("restrict"));
+        Assert.assertTrue(kernel.contains("__global uchar *a"));
+        Assert.assertTrue(kernel.contains("__global uchar *b"));
+        Assert.assertTrue(kernel.contains("__global uchar *c"));
+    }
+
+    @Test
+    public void testInPlaceUpdate() {
+        assertNotBackend(TornadoVMBackendType.PTX);
+        assertNotBackend(TornadoVMBackendType.SPIRV);
+
+        float[] a = new float[SIZE];
+        String kernel = compileAdd("s2", a, new float[SIZE], a);
+
+        Assert.assertFalse(kernel.contains("restrict"));
+        Assert.assertFalse(kernel.contains("const __global"));
+        Assert.assertTrue(kernel.contains("__global uchar *a"));
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2024, APT Group, Department of Computer Science,
+ * The University of Manchester.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package uk.ac.manchester.tornado.unittests.vm;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import uk.ac.manchester.tornado.api.GridScheduler;
+import uk.ac.manchester.tornado.api.TaskGraph;
+import uk.ac.manchester.tornado.api.TornadoExecutionPlan;
+import uk.ac.manchester.tornado.api.WorkerGrid1D;
+import uk.ac.manchester.tornado.api.annotations.Parallel;
+import uk.ac.manchester.tornado.api.enums.DataTransferMode;
+import uk.ac.manchester.tornado.api.exceptions.TornadoExecutionPlanException;
+import uk.ac.manchester.tornado.api.types.arrays.FloatArray;
+import uk.ac.manchester.tornado.unittests.common.TornadoTestBase;
+
+/**
+ * Executions that replay the commands recorded by the TornadoVM interpreter
+ * must produce the same results as executions that run the bytecodes.
+ * <p>
+ * How to run?
+ * </p>
+ * <code>
+ * tornado-test -V --jvm="-Dtornado.vm.replay=True" uk.ac.manchester.tornado.unittests.vm.TestCommandReplay
+ * </code>
+ */
+public class TestCommandReplay extends TornadoTestBase {
+
+    private static final int SIZE = 4096;
+    private static final int EXECUTIONS = 8;
+
+    public static void vectorAdd(FloatArray a, FloatArray b, FloatArray c) {
+        for (@Parallel int i = 0; i < c.getSize(); i++) {
+            c.set(i, a.get(i) + b.get(i));
+        }
+    }
+
+    public static void scale(FloatArray input, FloatArray output) {
+        for (@Parallel int i = 0; i < input.getSize(); i++) {
+            output.set(i, input.get(i) * 2.0f);
+        }
+    }
+
+    private static FloatArray createArray(float value) {
+        FloatArray array = new FloatArray(SIZE);
+        array.init(value);
+        return array;
+    }
+
+    private static void checkResult(FloatArray result, float expected) {
+        for (int i = 0; i < result.getSize(); i++) {
+            assertEquals(expected, result.get(i), 0.0f);
+        }
+    }
+
+    @Test
+    public void testRepeatedExecutions() throws TornadoExecutionPlanException {
+        FloatArray a = createArray(0.0f);
+        FloatArray b = createArray(2.0f);
+        FloatArray c = new FloatArray(SIZE);
+        FloatArray d = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.FIRST_EXECUTION, b) //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a) //
+                .task("t0", TestCommandReplay::vectorAdd, a, b, c) //
+                .task("t1", TestCommandReplay::scale, c, d) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, d);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            for (int execution = 0; execution < EXECUTIONS; execution++) {
+                a.init(execution);
+                executionPlan.execute();
+                checkResult(d, (execution + 2.0f) * 2.0f);
+            }
+        }
+    }
+
+    /**
+     * Binding a new array discards the recorded commands, so the next execution
+     * reads the new array.
+     */
+    @Test
+    public void testBindAfterReplay() throws TornadoExecutionPlanException {
+        FloatArray a = createArray(1.0f);
+        FloatArray b = createArray(2.0f);
+        FloatArray c = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, a, b) //
+                .task("t0", TestCommandReplay::vectorAdd, a, b, c) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, c);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            for (int execution = 0; execution < EXECUTIONS; execution++) {
+                executionPlan.execute();
+                checkResult(c, 3.0f);
+            }
+
+            FloatArray newA = createArray(10.0f);
+            for (int execution = 0; execution < EXECUTIONS; execution++) {
+                executionPlan.bind("t0", 0, newA).execute();
+                checkResult(c, 12.0f);
+            }
+        }
+    }
+
+    @Test
+    public void testGridSchedulerChange() throws TornadoExecutionPlanException {
+        FloatArray input = createArray(3.0f);
+        FloatArray output = new FloatArray(SIZE);
+
+        TaskGraph taskGraph = new TaskGraph("s0") //
+                .transferToDevice(DataTransferMode.EVERY_EXECUTION, input) //
+                .task("t0", TestCommandReplay::scale, input, output) //
+                .transferToHost(DataTransferMode.EVERY_EXECUTION, output);
+
+        try (TornadoExecutionPlan executionPlan = new TornadoExecutionPlan(taskGraph.snapshot())) {
+            executionPlan.withGridScheduler(new GridScheduler("s0.t0", new WorkerGrid1D(SIZE / 2)));
+            for (int execution = 0; execution < EXECUTIONS; execution++) {
+                executionPlan.execute();
+            }
+            for (int i = 0; i < SIZE / 2; i++) {
+                assertEquals(6.0f, output.get(i), 0.0f);
+            }
+
+            // A new grid scheduler must not replay the launches of the previous one
+            executionPlan.withGridScheduler(new GridScheduler("s0.t0", new WorkerGrid1D(SIZE)));
+            for (int execution = 0; execution < EXECUTIONS; execution++) {
+                executionPlan.execute();
+                checkResult(output, 6.0f);
+            }
+        }
+    }
+}